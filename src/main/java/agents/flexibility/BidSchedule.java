@@ -3,14 +3,17 @@
 // SPDX-License-Identifier: Apache-2.0
 package agents.flexibility;
 
+import org.json.JSONObject;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeSpan;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.JSONable;
+import util.StateSnapshot;
 
 /** Represents a bidding schedule for purchasing / selling energy "stored" in a flexibility device
  * 
  * @author Christoph Schimeczek */
-public class BidSchedule {
+public class BidSchedule implements JSONable {
 	static final String ERROR_OVERRIDE = "Arrays in schedule may not be overridden.";
 	static final String ERROR_LENGTH = "Array length does not match schedule duration count in periods.";
 
@@ -153,4 +156,15 @@ public class BidSchedule {
 	public TimeStamp getTimeOfFirstElement() {
 		return timeOfFirstElement;
 	}
-}
\ No newline at end of file
+
+	/** @return timing and all arrays of this schedule */
+	@Override
+	public JSONObject toJson() {
+		return new JSONObject().put("TimeOfFirstElement", timeOfFirstElement.toString())
+				.put("DurationInPeriods", durationInPeriods).put("PeriodInSteps", period.getSteps())
+				.put("RequestedEnergyPerPeriodInMWH", StateSnapshot.toJsonArray(requestedEnergyPerPeriodInMWH))
+				.put("BiddingPricePerPeriodInEURperMWH", StateSnapshot.toJsonArray(biddingPricePerPeriodInEURperMWH))
+				.put("ExpectedInitialInternalEnergyPerPeriodInMWH",
+						StateSnapshot.toJsonArray(expectedInitialInternalEnergyPerPeriodInMWH));
+	}
+}
@@ -4,6 +4,7 @@
 package agents.flexibility;
 
 import static de.dlr.gitlab.fame.time.Constants.STEPS_PER_HOUR;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import agents.storage.Device;
@@ -15,6 +16,7 @@ import de.dlr.gitlab.fame.data.TimeSeries;
 import de.dlr.gitlab.fame.time.Constants.Interval;
 import de.dlr.gitlab.fame.time.TimeSpan;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** A generic device representing any kind of electrical flexibility, e.g., pumped-hydro storages with inflow, reservoir storages,
  * heat pumps, electric vehicle fleets, load-shifting portfolios. See also the
@@ -319,6 +321,20 @@ public class GenericDevice {
 		return variableCostInEURperMWH.getValueLinear(time);
 	}
 
+	/** Adds the current energy content and all device properties at the given times to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to
+	 * @param times at which to add the device properties */
+	public void addFingerprintTo(Fingerprint fingerprint, List<TimeStamp> times) {
+		fingerprint.add(currentEnergyContentInMWH).add(times.size());
+		for (TimeStamp time : times) {
+			fingerprint.add(getExternalChargingPowerInMW(time)).add(getExternalDischargingPowerInMW(time))
+					.add(getChargingEfficiency(time)).add(getDischargingEfficiency(time))
+					.add(getEnergyContentUpperLimitInMWH(time)).add(getEnergyContentLowerLimitInMWH(time))
+					.add(getSelfDischargeRate(time)).add(getNetInflowInMW(time)).add(getVariableCostInEURperMWH(time));
+		}
+	}
+
 	/** Returns current shift time in steps
 	 * 
 	 * @return current shift time in steps */
@@ -7,11 +7,13 @@ import static de.dlr.gitlab.fame.time.Constants.STEPS_PER_HOUR;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
 
-/** Caches properties of a {@link GenericDevice} at a certain time
+/** Caches properties of a {@link GenericDevice} at a certain time; optionally samples all time-dependent properties of a whole
+ * planning horizon at once
  * 
  * @author Christoph Schimeczek, Felix Nitsch, Johannes Kochems */
 public class GenericDeviceCache {
 	static final String ERR_PERIOD_INIT = "GenericDeviceCache's `setPeriod()` must be called at least once before `prepareFor()`.";
+	static final String ERR_HORIZON_INIT = "GenericDeviceCache's `prepareHorizon()` must cover the requested period index: ";
 
 	private final GenericDevice device;
 	private double intervalDurationInHours = Double.NaN;
@@ -25,6 +27,17 @@ public class GenericDeviceCache {
 	private double maxNetDischargingEnergyInMWH;
 	private double netInflowEnergyInMWH;
 
+	private int numberOfHorizonPeriods = 0;
+	private double[] chargingEfficiencies = new double[0];
+	private double[] dischargingEfficiencies = new double[0];
+	private double[] energyContentUpperLimitsInMWH = new double[0];
+	private double[] energyContentLowerLimitsInMWH = new double[0];
+	private double[] selfDischargeRatesPerHour = new double[0];
+	private double[] effectiveSelfDischargeRates = new double[0];
+	private double[] netInflowPowersInMW = new double[0];
+	private double[] externalChargingPowersInMW = new double[0];
+	private double[] externalDischargingPowersInMW = new double[0];
+
 	/** Instantiates a new {@link GenericDeviceCache} for given device
 	 * 
 	 * @param device the {@link GenericDevice} to cache properties for */
@@ -45,20 +58,119 @@ public class GenericDeviceCache {
 	 * @param time to cache the device properties at */
 	public void prepareFor(TimeStamp time) {
 		ensurePeriodIsSet();
-		chargingEfficiency = device.getChargingEfficiency(time);
-		dischargingEfficiency = device.getDischargingEfficiency(time);
-		energyContentUpperLimitInMWH = device.getEnergyContentUpperLimitInMWH(time);
-		energyContentLowerLimitInMWH = device.getEnergyContentLowerLimitInMWH(time);
-		double netInflowPowerInMW = device.getNetInflowInMW(time);
-		effectiveSelfDischargeRate = 1. - Math.pow(1 - device.getSelfDischargeRate(time), intervalDurationInHours);
-		double maxNetChargingPowerInMW = netInflowPowerInMW
-				+ device.getExternalChargingPowerInMW(time) * chargingEfficiency;
+		double selfDischargeRate = calcEffectiveSelfDischarge(device.getSelfDischargeRate(time));
+		cacheValues(device.getChargingEfficiency(time), device.getDischargingEfficiency(time),
+				device.getEnergyContentUpperLimitInMWH(time), device.getEnergyContentLowerLimitInMWH(time), selfDischargeRate,
+				device.getNetInflowInMW(time), device.getExternalChargingPowerInMW(time),
+				device.getExternalDischargingPowerInMW(time));
+	}
+
+	/** @return effective self discharge rate for the previously set {@link #intervalDurationInHours} */
+	private double calcEffectiveSelfDischarge(double selfDischargeRatePerHour) {
+		return 1. - Math.pow(1 - selfDischargeRatePerHour, intervalDurationInHours);
+	}
+
+	/** Caches the given properties and derives the associated maximum energy deltas */
+	private void cacheValues(double chargingEfficiency, double dischargingEfficiency, double upperLimitInMWH,
+			double lowerLimitInMWH, double effectiveSelfDischargeRate, double netInflowPowerInMW, double chargingPowerInMW,
+			double dischargingPowerInMW) {
+		this.chargingEfficiency = chargingEfficiency;
+		this.dischargingEfficiency = dischargingEfficiency;
+		energyContentUpperLimitInMWH = upperLimitInMWH;
+		energyContentLowerLimitInMWH = lowerLimitInMWH;
+		this.effectiveSelfDischargeRate = effectiveSelfDischargeRate;
+		double maxNetChargingPowerInMW = netInflowPowerInMW + chargingPowerInMW * chargingEfficiency;
 		maxNetChargingEnergyInMWH = maxNetChargingPowerInMW * intervalDurationInHours;
-		maxNetDischargingEnergyInMWH = (netInflowPowerInMW
-				- device.getExternalDischargingPowerInMW(time) / dischargingEfficiency) * intervalDurationInHours;
+		maxNetDischargingEnergyInMWH = (netInflowPowerInMW - dischargingPowerInMW / dischargingEfficiency)
+				* intervalDurationInHours;
 		netInflowEnergyInMWH = netInflowPowerInMW * intervalDurationInHours;
 	}
 
+	/** Sets the time granularity from the given starting period and samples all time series information of {@link GenericDevice}
+	 * once for each period of the planning horizon; call {@link #prepareFor(int)} afterwards to cache the properties of a single
+	 * period
+	 * 
+	 * @param startingPeriod first period of the planning horizon
+	 * @param numberOfPeriods number of consecutive periods in the planning horizon */
+	public void prepareHorizon(TimePeriod startingPeriod, int numberOfPeriods) {
+		setPeriod(startingPeriod);
+		ensureHorizonCapacity(numberOfPeriods);
+		numberOfHorizonPeriods = numberOfPeriods;
+		for (int periodIndex = 0; periodIndex < numberOfPeriods; periodIndex++) {
+			TimeStamp time = startingPeriod.shiftByDuration(periodIndex).getStartTime();
+			chargingEfficiencies[periodIndex] = device.getChargingEfficiency(time);
+			dischargingEfficiencies[periodIndex] = device.getDischargingEfficiency(time);
+			energyContentUpperLimitsInMWH[periodIndex] = device.getEnergyContentUpperLimitInMWH(time);
+			energyContentLowerLimitsInMWH[periodIndex] = device.getEnergyContentLowerLimitInMWH(time);
+			selfDischargeRatesPerHour[periodIndex] = device.getSelfDischargeRate(time);
+			effectiveSelfDischargeRates[periodIndex] = calcEffectiveSelfDischarge(selfDischargeRatesPerHour[periodIndex]);
+			netInflowPowersInMW[periodIndex] = device.getNetInflowInMW(time);
+			externalChargingPowersInMW[periodIndex] = device.getExternalChargingPowerInMW(time);
+			externalDischargingPowersInMW[periodIndex] = device.getExternalDischargingPowerInMW(time);
+		}
+	}
+
+	/** Re-allocates horizon arrays only if they are too small for the given number of periods */
+	private void ensureHorizonCapacity(int numberOfPeriods) {
+		if (chargingEfficiencies.length < numberOfPeriods) {
+			chargingEfficiencies = new double[numberOfPeriods];
+			dischargingEfficiencies = new double[numberOfPeriods];
+			energyContentUpperLimitsInMWH = new double[numberOfPeriods];
+			energyContentLowerLimitsInMWH = new double[numberOfPeriods];
+			selfDischargeRatesPerHour = new double[numberOfPeriods];
+			effectiveSelfDischargeRates = new double[numberOfPeriods];
+			netInflowPowersInMW = new double[numberOfPeriods];
+			externalChargingPowersInMW = new double[numberOfPeriods];
+			externalDischargingPowersInMW = new double[numberOfPeriods];
+		}
+	}
+
+	/** Caches all time series information of {@link GenericDevice} at the period with given index from the data sampled by
+	 * {@link #prepareHorizon(TimePeriod, int)}
+	 * 
+	 * @param periodIndex index of the period within the planning horizon, starting at zero */
+	public void prepareFor(int periodIndex) {
+		ensureHorizonCovers(periodIndex);
+		cacheValues(chargingEfficiencies[periodIndex], dischargingEfficiencies[periodIndex],
+				energyContentUpperLimitsInMWH[periodIndex], energyContentLowerLimitsInMWH[periodIndex],
+				effectiveSelfDischargeRates[periodIndex], netInflowPowersInMW[periodIndex],
+				externalChargingPowersInMW[periodIndex], externalDischargingPowersInMW[periodIndex]);
+	}
+
+	/** @throws RuntimeException if the given period index is not covered by the sampled planning horizon */
+	private void ensureHorizonCovers(int periodIndex) {
+		if (periodIndex < 0 || periodIndex >= numberOfHorizonPeriods) {
+			throw new RuntimeException(ERR_HORIZON_INIT + periodIndex);
+		}
+	}
+
+	/** Returns upper limit of energy content at the period with given index of the sampled planning horizon
+	 * 
+	 * @param periodIndex index of the period within the planning horizon
+	 * @return maximum internal energy content of {@link GenericDevice} in MWh */
+	public double getEnergyContentUpperLimitInMWH(int periodIndex) {
+		ensureHorizonCovers(periodIndex);
+		return energyContentUpperLimitsInMWH[periodIndex];
+	}
+
+	/** Returns lower limit of energy content at the period with given index of the sampled planning horizon
+	 * 
+	 * @param periodIndex index of the period within the planning horizon
+	 * @return minimum internal energy content of {@link GenericDevice} in MWh */
+	public double getEnergyContentLowerLimitInMWH(int periodIndex) {
+		ensureHorizonCovers(periodIndex);
+		return energyContentLowerLimitsInMWH[periodIndex];
+	}
+
+	/** Returns hourly self discharge rate at the period with given index of the sampled planning horizon
+	 * 
+	 * @param periodIndex index of the period within the planning horizon
+	 * @return hourly self discharge rate */
+	public double getSelfDischargeRate(int periodIndex) {
+		ensureHorizonCovers(periodIndex);
+		return selfDischargeRatesPerHour[periodIndex];
+	}
+
 	/** @throws RuntimeException if {@link #intervalDurationInHours} is not set */
 	private void ensurePeriodIsSet() {
 		if (Double.isNaN(intervalDurationInHours)) {
@@ -19,6 +19,8 @@ import de.dlr.gitlab.fame.time.Constants.Interval;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeSpan;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache;
+import util.SolveCache.Fingerprint;
 
 /** Base class for strategists that operate some kind of flexibility, e.g., an energy storage or flexible electrolysis
  * 
@@ -187,8 +189,21 @@ public abstract class Strategist {
 	 * @param timePeriod first TimePeriod element of the schedule to be created
 	 * @return created {@link BidSchedule} for the specified {@link TimePeriod} */
 	public BidSchedule createSchedule(TimePeriod timePeriod) {
-		updateSchedule(timePeriod);
-		updateBidSchedule();
+		SolveCache.Key key = SolveCache.isEnabled() ? createSolveKey(timePeriod) : null;
+		double[][] solution = key != null ? SolveCache.get(timePeriod.getStartTime(), key, double[][].class) : null;
+		if (solution != null) {
+			copySolution(solution, new double[][] {demandScheduleInMWH, priceScheduleInEURperMWH,
+					scheduledBidPricesInEURperMWH, getInternalEnergySchedule()});
+		} else {
+			updateSchedule(timePeriod);
+			updateBidSchedule();
+			if (key != null) {
+				solution = new double[4][scheduleDurationPeriods];
+				copySolution(new double[][] {demandScheduleInMWH, priceScheduleInEURperMWH, scheduledBidPricesInEURperMWH,
+						getInternalEnergySchedule()}, solution);
+				SolveCache.put(timePeriod.getStartTime(), key, solution);
+			}
+		}
 		BidSchedule schedule = new BidSchedule(timePeriod, scheduleDurationPeriods);
 		schedule.setBidsScheduleInEURperMWH(scheduledBidPricesInEURperMWH);
 		schedule.setRequestedEnergyPerPeriod(demandScheduleInMWH);
@@ -196,6 +211,40 @@ public abstract class Strategist {
 		return schedule;
 	}
 
+	/** Copies each schedule array of given source to the corresponding array of given target */
+	private void copySolution(double[][] source, double[][] target) {
+		for (int index = 0; index < source.length; index++) {
+			System.arraycopy(source[index], 0, target[index], 0, scheduleDurationPeriods);
+		}
+	}
+
+	/** Returns a key that identifies the optimisation problem solved by {@link #updateSchedule(TimePeriod)} by its complete input;
+	 * strategists with equal keys then share their schedules via the {@link SolveCache}. Override to enable sharing: the key must
+	 * comprise every input that affects the created schedules.
+	 * 
+	 * @param timePeriod first period of the schedule to be created
+	 * @return key of the optimisation problem, or null if schedules of this strategist are not to be shared */
+	protected SolveCache.Key createSolveKey(TimePeriod timePeriod) {
+		return null;
+	}
+
+	/** Adds type, time frame, bid tolerance and all forecasts within the forecast horizon to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to
+	 * @param timePeriod first period of the schedule to be created */
+	protected void addFingerprintTo(Fingerprint fingerprint, TimePeriod timePeriod) {
+		fingerprint.add(getClass().getName()).add(timePeriod).add(forecastSteps).add(scheduleDurationPeriods)
+				.add(bidTolerance);
+		for (int period = 0; period < forecastSteps; period++) {
+			MeritOrderSensitivity sensitivity = sensitivities.get(timePeriod.shiftByDuration(period));
+			if (sensitivity != null) {
+				sensitivity.addFingerprintTo(fingerprint);
+			} else {
+				fingerprint.add(-1L);
+			}
+		}
+	}
+
 	/** Updates the bid schedules considering safety margins for the bid prices and market price limits */
 	protected void updateBidSchedule() {
 		for (int period = 0; period < scheduleDurationPeriods; period++) {
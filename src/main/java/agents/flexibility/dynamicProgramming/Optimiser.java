@@ -10,6 +10,9 @@ import agents.flexibility.dynamicProgramming.states.StateManager;
 import agents.flexibility.dynamicProgramming.states.StateManager.DispatchSchedule;
 import de.dlr.gitlab.fame.time.Constants;
 import de.dlr.gitlab.fame.time.TimePeriod;
+import util.SolveCache;
+import util.SolveCache.Fingerprint;
+import util.jfr.DispatchOptimisationEvent;
 
 /** {@link Optimiser} finds the best dispatch strategy for a {@link GenericDevice} using dynamic programming. The operational
  * states are controlled by a {@link StateManager}, which also assesses the value of transitions between states. The best
@@ -20,6 +23,10 @@ import de.dlr.gitlab.fame.time.TimePeriod;
 public final class Optimiser {
 	static final String ERR_NO_FEASIBLE_SOLUTION = "No feasible transition found.";
 	static final String ERR_OPTIMISATION = "Optimisation failed for TimePeriod: ";
+	static final String ERR_BUDGET = "Planning budget must not be negative: ";
+	static final String ERR_LEVELS = "Number of coarsening levels must be within [0, 16]: ";
+	/** Estimated increase of the number of assessed transitions when halving the state resolution */
+	private static final int REFINEMENT_EFFORT_FACTOR = 4;
 
 	@SuppressWarnings("serial")
 	private class OptimisationError extends Exception {
@@ -36,10 +43,28 @@ public final class Optimiser {
 		MINIMISE
 	}
 
+	/** Result of a planning: dispatch, state resolution it was planned with, and estimated objective gap to the configured
+	 * resolution; never modified, as it may be shared via the {@link SolveCache} */
+	private static final class Plan {
+		final DispatchSchedule dispatch;
+		final double resolution;
+		final double objectiveGap;
+
+		Plan(DispatchSchedule dispatch, double resolution, double objectiveGap) {
+			this.dispatch = dispatch;
+			this.resolution = resolution;
+			this.objectiveGap = objectiveGap;
+		}
+	}
+
 	private final StateManager stateManager;
 	private final BidScheduler bidScheduler;
 	private final double initialAssessmentValue;
 	private final boolean isMaximisation;
+	private long planningBudgetInTransitions = 0;
+	private int coarseningLevels = 0;
+	private long transitionCount;
+	private Plan lastPlan;
 
 	/** Instantiates new {@link Optimiser}
 	 * 
@@ -53,16 +78,139 @@ public final class Optimiser {
 		initialAssessmentValue = isMaximisation ? -Double.MAX_VALUE : Double.MAX_VALUE;
 	}
 
+	/** Limits the effort of each planning: planning starts on a state grid coarsened by factor 2^coarseningLevels and is
+	 * successively refined by factor 2 until the configured resolution is reached or the next refinement is expected to exceed
+	 * the remaining budget; the coarsest planning is always completed. The number of assessed transitions is used as measure of
+	 * effort, rendering results independent of the executing machine.
+	 * 
+	 * @param budgetInTransitions maximum number of transition assessments per planning; 0 disables the budget
+	 * @param coarseningLevels number of refinement levels below the configured resolution; ignored without budget */
+	public void setPlanningBudget(long budgetInTransitions, int coarseningLevels) {
+		if (budgetInTransitions < 0) {
+			throw new IllegalArgumentException(ERR_BUDGET + budgetInTransitions);
+		}
+		if (coarseningLevels < 0 || coarseningLevels > 16) {
+			throw new IllegalArgumentException(ERR_LEVELS + coarseningLevels);
+		}
+		this.planningBudgetInTransitions = budgetInTransitions;
+		this.coarseningLevels = coarseningLevels;
+	}
+
+	/** Creates a new {@link BidSchedule} starting at given period; reuses the dispatch of an identical optimisation problem
+	 * solved before at the same time by any {@link Optimiser}, if the {@link SolveCache} is enabled
+	 * 
+	 * @param startingPeriod first time period of the schedule
+	 * @return created {@link BidSchedule}, owned by the caller */
 	public BidSchedule createSchedule(TimePeriod startingPeriod) {
-		optimise(startingPeriod);
+		SolveCache.Key key = SolveCache.isEnabled() ? createSolveKey(startingPeriod) : null;
+		Plan plan = key != null ? SolveCache.get(startingPeriod.getStartTime(), key, Plan.class) : null;
+		if (plan == null) {
+			plan = planningBudgetInTransitions > 0 ? planWithinBudget(startingPeriod) : plan(startingPeriod);
+			if (key != null) {
+				SolveCache.put(startingPeriod.getStartTime(), key, plan);
+			}
+		}
+		lastPlan = plan;
+		DispatchSchedule dispatch = key != null ? plan.dispatch.copy() : plan.dispatch;
+		return bidScheduler.createBidSchedule(startingPeriod, dispatch);
+	}
+
+	/** @return key comprising the optimisation target, planning budget, bid scheduler and all inputs of the state manager */
+	private SolveCache.Key createSolveKey(TimePeriod startingPeriod) {
+		Fingerprint fingerprint = new Fingerprint().add(isMaximisation ? 1 : 0).add(planningBudgetInTransitions)
+				.add(coarseningLevels).add(bidScheduler.getClass().getName()).add(bidScheduler.getScheduleHorizonInHours());
+		stateManager.addFingerprintTo(fingerprint, startingPeriod);
+		return fingerprint.toKey();
+	}
+
+	/** @return plan at the configured state resolution */
+	private Plan plan(TimePeriod startingPeriod) {
+		try {
+			optimise(startingPeriod);
+		} catch (OptimisationError e) {
+			throw new RuntimeException(e.getMessage(), e);
+		}
+		return new Plan(getBestDispatch(startingPeriod), stateManager.getResolution(), 0);
+	}
+
+	/** @return best plan found from coarse to fine state resolution within the planning budget */
+	private Plan planWithinBudget(TimePeriod startingPeriod) {
+		Plan bestPlan = null;
+		double bestValue = Double.NaN;
+		double previousValue = Double.NaN;
+		long spentTransitions = 0;
+		for (int level = coarseningLevels; level >= 0; level--) {
+			if (bestPlan != null
+					&& spentTransitions + REFINEMENT_EFFORT_FACTOR * transitionCount > planningBudgetInTransitions) {
+				break;
+			}
+			stateManager.setCoarseningFactor(1 << level);
+			try {
+				optimise(startingPeriod);
+			} catch (OptimisationError e) {
+				if (level == 0 && bestPlan == null) {
+					stateManager.setCoarseningFactor(1);
+					throw new RuntimeException(e.getMessage(), e);
+				}
+				spentTransitions += transitionCount;
+				continue;
+			}
+			spentTransitions += transitionCount;
+			double value = stateManager.getBestValue();
+			if (bestPlan == null || !compare(bestValue, value)) {
+				previousValue = bestValue;
+				bestValue = value;
+				double gap = level == 0 ? 0 : Math.abs(bestValue - previousValue);
+				bestPlan = new Plan(getBestDispatch(startingPeriod), stateManager.getResolution(), gap);
+			}
+		}
+		stateManager.setCoarseningFactor(1);
+		return bestPlan;
+	}
+
+	/** @return best dispatch found by the last optimisation over the horizon of the bid scheduler */
+	private DispatchSchedule getBestDispatch(TimePeriod startingPeriod) {
 		int numberOfSchedulingSteps = calcHorizonInPeriodSteps(startingPeriod, bidScheduler.getScheduleHorizonInHours());
-		DispatchSchedule dispatchSchedule = stateManager.getBestDispatchSchedule(numberOfSchedulingSteps);
-		return bidScheduler.createBidSchedule(startingPeriod, dispatchSchedule);
+		return stateManager.getBestDispatchSchedule(numberOfSchedulingSteps);
 	}
 
-	/** Optimise dispatch following an optimisation target */
-	private void optimise(TimePeriod startingPeriod) {
+	/** Returns the state resolution the last created schedule was planned with; coarser than configured if the planning budget
+	 * did not allow for a complete refinement
+	 * 
+	 * @return state resolution of the last planning, or NaN if no schedule was created yet */
+	public double getLastResolution() {
+		return lastPlan != null ? lastPlan.resolution : Double.NaN;
+	}
+
+	/** Returns an estimate of the objective improvement missed by the last planning due to its planning budget: the absolute
+	 * change of the objective value in the last completed refinement step; 0 if the configured resolution was reached
+	 * 
+	 * @return estimated objective gap of the last planning; NaN if no schedule was created yet or no refinement was completed */
+	public double getLastObjectiveGap() {
+		return lastPlan != null ? lastPlan.objectiveGap : Double.NaN;
+	}
+
+	/** Optimise dispatch following an optimisation target; repeats passes as long as the state manager requests refinements */
+	private void optimise(TimePeriod startingPeriod) throws OptimisationError {
+		DispatchOptimisationEvent event = new DispatchOptimisationEvent();
+		event.begin();
 		stateManager.initialise(startingPeriod);
+		long stateCount = 0;
+		transitionCount = 0;
+		do {
+			stateCount += optimisePass(startingPeriod);
+		} while (stateManager.prepareRefinement());
+		if (event.shouldCommit()) {
+			event.optimiser = Optimiser.class.getSimpleName();
+			event.timeStepCount = stateManager.getNumberOfForecastTimeSteps();
+			event.stateCount = stateCount;
+			event.commit();
+		}
+	}
+
+	/** Runs one backward pass over all forecast time steps; returns number of assessed initial states */
+	private long optimisePass(TimePeriod startingPeriod) throws OptimisationError {
+		long stateCount = 0;
 		for (int k = 0; k < stateManager.getNumberOfForecastTimeSteps(); k++) {
 			int step = stateManager.getNumberOfForecastTimeSteps() - k - 1; // step backwards in time
 			TimePeriod timePeriod = startingPeriod.shiftByDuration(step);
@@ -70,22 +218,26 @@ public final class Optimiser {
 			double[] bestValuesNextPeriod = stateManager.getBestValuesNextPeriod();
 			try {
 				if (stateManager.useStateList()) {
-					optimiseWithStateList(bestValuesNextPeriod);
+					stateCount += optimiseWithStateList(bestValuesNextPeriod);
 				} else {
-					optimiseWithBoundaries(bestValuesNextPeriod);
+					stateCount += optimiseWithBoundaries(bestValuesNextPeriod);
 				}
 			} catch (OptimisationError e) {
-				throw new RuntimeException(ERR_OPTIMISATION + timePeriod, e);
+				throw new OptimisationError(ERR_OPTIMISATION + timePeriod + ": " + e.getMessage());
 			}
 		}
+		return stateCount;
 	}
 
-	/** Optimise using lists of initial and final state indices */
-	private void optimiseWithStateList(double[] bestValuesNextPeriod) throws OptimisationError {
-		for (int initialStateIndex : stateManager.getInitialStates()) {
+	/** Optimise using lists of initial and final state indices; returns number of assessed initial states */
+	private int optimiseWithStateList(double[] bestValuesNextPeriod) throws OptimisationError {
+		int[] initialStates = stateManager.getInitialStates();
+		for (int initialStateIndex : initialStates) {
 			double bestAssessmentValue = initialAssessmentValue;
 			int bestFinalStateIndex = Integer.MIN_VALUE;
-			for (int finalStateIndex : stateManager.getFinalStates(initialStateIndex)) {
+			int[] finalStates = stateManager.getFinalStates(initialStateIndex);
+			transitionCount += finalStates.length;
+			for (int finalStateIndex : finalStates) {
 				double value = stateManager.getTransitionValueFor(initialStateIndex, finalStateIndex)
 						+ bestValuesNextPeriod[finalStateIndex];
 				if (compare(value, bestAssessmentValue)) {
@@ -98,6 +250,7 @@ public final class Optimiser {
 			}
 			stateManager.updateBestFinalState(initialStateIndex, bestFinalStateIndex, bestAssessmentValue);
 		}
+		return initialStates.length;
 	}
 
 	/** @return true if given value is better than provided bestValue, false otherwise */
@@ -109,13 +262,14 @@ public final class Optimiser {
 		}
 	}
 
-	/** Optimise using lowest and highest state index */
-	private void optimiseWithBoundaries(double[] bestValuesNextPeriod) throws OptimisationError {
+	/** Optimise using lowest and highest state index; returns number of assessed initial states */
+	private int optimiseWithBoundaries(double[] bestValuesNextPeriod) throws OptimisationError {
 		int[] initialBoundaries = stateManager.getInitialStates();
 		for (int initialStateIndex = initialBoundaries[0]; initialStateIndex <= initialBoundaries[1]; initialStateIndex++) {
 			double bestAssessmentValue = initialAssessmentValue;
 			int bestFinalStateIndex = Integer.MIN_VALUE;
 			int[] finalBoundaries = stateManager.getFinalStates(initialStateIndex);
+			transitionCount += Math.max(0, finalBoundaries[1] - finalBoundaries[0] + 1);
 			for (int finalStateIndex = finalBoundaries[0]; finalStateIndex <= finalBoundaries[1]; finalStateIndex++) {
 				double value = stateManager.getTransitionValueFor(initialStateIndex, finalStateIndex)
 						+ bestValuesNextPeriod[finalStateIndex];
@@ -129,6 +283,7 @@ public final class Optimiser {
 			}
 			stateManager.updateBestFinalState(initialStateIndex, bestFinalStateIndex, bestAssessmentValue);
 		}
+		return Math.max(0, initialBoundaries[1] - initialBoundaries[0] + 1);
 	}
 
 	/** Calculates how many specified time periods fit into the given time horizon
@@ -4,11 +4,13 @@
 package agents.flexibility.dynamicProgramming.assessment;
 
 import java.util.ArrayList;
+import java.util.List;
 import agents.flexibility.dynamicProgramming.Optimiser.Target;
 import agents.flexibility.dynamicProgramming.states.StateManager;
 import agents.forecast.sensitivity.SensitivityForecastProvider.ForecastType;
 import de.dlr.gitlab.fame.communication.message.Message;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** A function to assess transitions between discretised states of a {@link StateManager}
  * 
@@ -42,6 +44,12 @@ public interface AssessmentFunction {
 	 * @param messages to be scraped for forecast data */
 	void storeForecast(ArrayList<Message> messages);
 
+	/** Add type and all forecasts used to assess transitions at the given times to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to
+	 * @param times at which transitions will be assessed */
+	void addFingerprintTo(Fingerprint fingerprint, List<TimeStamp> times);
+
 	/** Get type of target this {@link AssessmentFunction} is connected with
 	 * 
 	 * @return type of assessment target */
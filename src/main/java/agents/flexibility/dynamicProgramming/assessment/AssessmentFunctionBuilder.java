@@ -13,7 +13,10 @@ import de.dlr.gitlab.fame.agent.input.Tree;
  * 
  * @author Christoph Schimeczek, Felix Nitsch, Johannes Kochems */
 public final class AssessmentFunctionBuilder {
-	public static final Tree parameters = Make.newTree().add(Make.newEnum("Type", Type.class)).buildTree();
+	public static final Tree parameters = Make.newTree().add(Make.newEnum("Type", Type.class),
+			Make.newDouble("TabulationStepInMWH").optional()
+					.help("If set, sensitivities are resampled on a uniform energy grid with this step for faster lookups"))
+			.buildTree();
 
 	/** Available {@link AssessmentFunction}s */
 	enum Type {
@@ -35,15 +38,21 @@ public final class AssessmentFunctionBuilder {
 	 * @throws MissingDataException if any required parameter is missing */
 	public static AssessmentFunction build(ParameterData input, GenericDevice device) throws MissingDataException {
 		Type type = input.getEnum("Type", Type.class);
+		SensitivityBasedAssessment assessment;
 		switch (type) {
 			case MAX_PROFIT_PRICE_TAKER:
-				return new MaxProfitPriceTaker(device);
+				assessment = new MaxProfitPriceTaker(device);
+				break;
 			case MIN_SYSTEM_COST:
-				return new MinSystemCost(device);
+				assessment = new MinSystemCost(device);
+				break;
 			case MAX_PROFIT:
-				return new MaxProfit(device);
+				assessment = new MaxProfit(device);
+				break;
 			default:
 				throw new RuntimeException(ERR_NOT_IMPLEMENTED + type);
 		}
+		assessment.setTabulationStep(input.getDoubleOrDefault("TabulationStepInMWH", Double.NaN));
+		return assessment;
 	}
 }
\ No newline at end of file
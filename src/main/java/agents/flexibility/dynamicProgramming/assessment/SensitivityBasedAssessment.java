@@ -4,6 +4,7 @@
 package agents.flexibility.dynamicProgramming.assessment;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.TreeMap;
 import agents.flexibility.GenericDevice;
 import agents.flexibility.GenericDeviceCache;
@@ -12,6 +13,7 @@ import communications.portable.Sensitivity;
 import communications.portable.Sensitivity.InterpolationType;
 import de.dlr.gitlab.fame.communication.message.Message;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** {@link AssessmentFunction} that is based on {@link Sensitivity}
  * 
@@ -21,11 +23,21 @@ public abstract class SensitivityBasedAssessment implements AssessmentFunction {
 	protected Sensitivity currentSensitivity;
 	protected GenericDevice device;
 	protected double currentVariableCostInEURperMWH;
+	private double tabulationStepInMWH = Double.NaN;
 
 	public SensitivityBasedAssessment(GenericDevice device) {
 		this.device = device;
 	}
 
+	/** Enables tabulated lookup of received {@link Sensitivity} values on a uniform grid, see
+	 * {@link Sensitivity#tabulate(double, double)}; the grid covers the maximum external charging or discharging power of the
+	 * device for a period of one hour
+	 * 
+	 * @param tabulationStepInMWH grid step in MWh; NaN disables tabulation */
+	public void setTabulationStep(double tabulationStepInMWH) {
+		this.tabulationStepInMWH = tabulationStepInMWH;
+	}
+
 	@Override
 	public void prepareFor(TimeStamp time) {
 		currentSensitivity = sensitivityForecasts.get(time);
@@ -53,6 +65,11 @@ public abstract class SensitivityBasedAssessment implements AssessmentFunction {
 			sensitivity.setInterpolationType(getInterpolationType());
 			multiplier = sensitivity.getMultiplier();
 			TimeStamp time = inputMessage.getDataItemOfType(PointInTime.class).validAt;
+			if (!Double.isNaN(tabulationStepInMWH)) {
+				double maxPowerInMW = Math.max(device.getExternalChargingPowerInMW(time),
+						Math.abs(device.getExternalDischargingPowerInMW(time)));
+				sensitivity.tabulate(tabulationStepInMWH, maxPowerInMW);
+			}
 			sensitivityForecasts.put(time, sensitivity);
 		}
 		for (var entry : sensitivityForecasts.entrySet()) {
@@ -60,6 +77,19 @@ public abstract class SensitivityBasedAssessment implements AssessmentFunction {
 		}
 	}
 
+	@Override
+	public void addFingerprintTo(Fingerprint fingerprint, List<TimeStamp> times) {
+		fingerprint.add(getClass().getName()).add(tabulationStepInMWH);
+		for (TimeStamp time : times) {
+			Sensitivity sensitivity = sensitivityForecasts.get(time);
+			if (sensitivity != null) {
+				sensitivity.addFingerprintTo(fingerprint);
+			} else {
+				fingerprint.add(-1L);
+			}
+		}
+	}
+
 	/** Returns the type of interpolation used by this kind of {@link AssessmentFunction}
 	 * 
 	 * @return the type of value interpolation used */
@@ -4,14 +4,17 @@
 package agents.flexibility.dynamicProgramming.states;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import agents.flexibility.GenericDevice;
 import agents.flexibility.GenericDeviceCache;
 import agents.flexibility.dynamicProgramming.Optimiser;
+import agents.flexibility.dynamicProgramming.Optimiser.Target;
 import agents.flexibility.dynamicProgramming.assessment.AssessmentFunction;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** States of a device are represented along one dimension, representing its energy content or state of charge
  * 
@@ -19,6 +22,10 @@ import de.dlr.gitlab.fame.time.TimeStamp;
 public class EnergyStateManager implements StateManager {
 	/** Used to avoid rounding errors in floating point calculation of transition steps */
 	private static final double PRECISION_GUARD = 1E-5;
+	/** Assessment value assigned to states outside the corridor; keeps them from being chosen */
+	private static final double OUTSIDE_CORRIDOR_PENALTY = 1E100;
+	static final String ERR_CORRIDOR_WIDTH = "Corridor width must not be negative: ";
+	static final String ERR_CORRIDOR_FACTOR = "Corridor coarsening factor must be at least 2: ";
 	private static final String WARN_IMPERFECT_PLANNING = "Detected suboptimal dispatch planning due to changing storage content levels.";
 	private static final Logger logger = LoggerFactory.getLogger(EnergyStateManager.class);
 
@@ -26,7 +33,7 @@ public class EnergyStateManager implements StateManager {
 	private final GenericDeviceCache deviceCache;
 	private final AssessmentFunction assessmentFunction;
 	private final double planningHorizonInHours;
-	private final double energyResolutionInMWH;
+	private final double configuredResolutionInMWH;
 	private final WaterValues waterValues;
 
 	private int numberOfTimeSteps;
@@ -36,6 +43,13 @@ public class EnergyStateManager implements StateManager {
 	private int numberOfEnergyStates;
 	private TimePeriod startingPeriod;
 	private int currentOptimisationTimeIndex;
+	private double energyResolutionInMWH;
+	private int coarseningFactor = 1;
+	private int corridorWidth = 0;
+	private int corridorCoarseningFactor = 1;
+	private boolean isRefining;
+	private int[] corridorLowerIndices;
+	private int[] corridorUpperIndices;
 
 	private boolean hasSelfDischarge;
 	private double[] transitionValuesCharging;
@@ -48,30 +62,130 @@ public class EnergyStateManager implements StateManager {
 		this.deviceCache = new GenericDeviceCache(device);
 		this.assessmentFunction = assessmentFunction;
 		this.planningHorizonInHours = planningHorizonInHours;
+		this.configuredResolutionInMWH = energyResolutionInMWH;
 		this.energyResolutionInMWH = energyResolutionInMWH;
 		this.waterValues = waterValues;
 	}
 
+	/** Enables two-stage planning: each planning is first solved on an energy grid coarsened by the given factor; then, it is
+	 * solved again at full resolution, but only for states within a corridor around the best dispatch path of the coarse
+	 * solution
+	 * 
+	 * @param widthInCoarseStates half width of the corridor in number of coarse energy states; 0 disables two-stage planning
+	 * @param coarseningFactor ratio of coarse to full energy resolution, at least 2 */
+	public void setCorridor(int widthInCoarseStates, int coarseningFactor) {
+		if (widthInCoarseStates < 0) {
+			throw new IllegalArgumentException(ERR_CORRIDOR_WIDTH + widthInCoarseStates);
+		}
+		if (widthInCoarseStates > 0 && coarseningFactor < 2) {
+			throw new IllegalArgumentException(ERR_CORRIDOR_FACTOR + coarseningFactor);
+		}
+		this.corridorWidth = widthInCoarseStates;
+		this.corridorCoarseningFactor = coarseningFactor;
+	}
+
+	/** @return half width of the corridor in number of coarse energy states; 0 if two-stage planning is disabled */
+	public int getCorridorWidth() {
+		return corridorWidth;
+	}
+
 	@Override
 	public void initialise(TimePeriod startingPeriod) {
 		this.numberOfTimeSteps = Optimiser.calcHorizonInPeriodSteps(startingPeriod, planningHorizonInHours);
 		this.startingPeriod = startingPeriod;
-		deviceCache.setPeriod(startingPeriod);
-		analyseAvailableEnergyLevels();
+		deviceCache.prepareHorizon(startingPeriod, numberOfTimeSteps);
 		analyseSelfDischarge();
+		isRefining = false;
+		energyResolutionInMWH = getResolution() * (corridorWidth > 0 ? corridorCoarseningFactor : 1);
+		setUpStates();
+	}
+
+	/** Determines available energy states at the current energy resolution and allocates planning arrays */
+	private void setUpStates() {
+		analyseAvailableEnergyLevels();
 		bestNextState = new int[numberOfTimeSteps][numberOfEnergyStates];
 		bestValue = new double[numberOfTimeSteps][numberOfEnergyStates];
 		cacheWaterValues();
 	}
 
+	@Override
+	public boolean prepareRefinement() {
+		if (corridorWidth == 0 || isRefining) {
+			return false;
+		}
+		double[] coarsePathInMWH = calcBestPathInMWH();
+		double corridorHalfWidthInMWH = corridorWidth * energyResolutionInMWH;
+		isRefining = true;
+		energyResolutionInMWH = getResolution();
+		setUpStates();
+		corridorLowerIndices = new int[numberOfTimeSteps];
+		corridorUpperIndices = new int[numberOfTimeSteps];
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			corridorLowerIndices[timeIndex] = Math.max(0,
+					energyToCeilIndex(coarsePathInMWH[timeIndex] - corridorHalfWidthInMWH));
+			corridorUpperIndices[timeIndex] = Math.min(numberOfEnergyStates - 1,
+					energyToFloorIndex(coarsePathInMWH[timeIndex] + corridorHalfWidthInMWH));
+		}
+		releaseUnreachableCorridors();
+		double penalty = assessmentFunction.getTargetType() == Target.MAXIMISE ? -OUTSIDE_CORRIDOR_PENALTY
+				: OUTSIDE_CORRIDOR_PENALTY;
+		for (double[] values : bestValue) {
+			Arrays.fill(values, penalty);
+		}
+		return true;
+	}
+
+	/** @return energy levels along the best dispatch path of the last optimisation pass starting at the device's current state */
+	private double[] calcBestPathInMWH() {
+		double[] energiesInMWH = new double[numberOfTimeSteps];
+		int stateIndex = Math.max(0, Math.min(numberOfEnergyStates - 1,
+				calcNearestIndex(device.getCurrentInternalEnergyInMWH())));
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+			energiesInMWH[timeIndex] = stateIndex * energyResolutionInMWH + lowestLevelEnergyInMWH;
+			stateIndex = bestNextState[timeIndex][stateIndex];
+		}
+		return energiesInMWH;
+	}
+
+	/** Turns off refinement at each time step whose corridor cannot be reached from all states of the previous corridor, i.e.
+	 * all energy states are assessed at that time step; thus, each state of a corridor has a reachable successor that is
+	 * assessed. Reachable target ranges grow monotonously with the initial state - checking the corridor's edges suffices. */
+	private void releaseUnreachableCorridors() {
+		for (int timeIndex = 0; timeIndex < numberOfTimeSteps - 1; timeIndex++) {
+			deviceCache.prepareFor(timeIndex);
+			int lowestIndex = Math.max(corridorLowerIndices[timeIndex],
+					energyToCeilIndex(deviceCache.getEnergyContentLowerLimitInMWH()));
+			int highestIndex = Math.min(corridorUpperIndices[timeIndex],
+					energyToFloorIndex(deviceCache.getEnergyContentUpperLimitInMWH()));
+			if (getReachableStates(lowestIndex)[1] < corridorLowerIndices[timeIndex + 1]
+					|| getReachableStates(highestIndex)[0] > corridorUpperIndices[timeIndex + 1]) {
+				corridorLowerIndices[timeIndex + 1] = 0;
+				corridorUpperIndices[timeIndex + 1] = numberOfEnergyStates - 1;
+			}
+		}
+	}
+
+	/** @return true if refining and given state index lies outside the corridor at given time */
+	private boolean isOutsideCorridor(int timeIndex, int stateIndex) {
+		return isRefining && timeIndex < numberOfTimeSteps
+				&& (stateIndex < corridorLowerIndices[timeIndex] || stateIndex > corridorUpperIndices[timeIndex]);
+	}
+
+	/** @return given state index limited to the corridor at given time, if refining; unchanged index otherwise */
+	private int limitToCorridor(int timeIndex, int stateIndex) {
+		if (!isRefining || timeIndex >= numberOfTimeSteps) {
+			return stateIndex;
+		}
+		return Math.max(corridorLowerIndices[timeIndex], Math.min(corridorUpperIndices[timeIndex], stateIndex));
+	}
+
 	/** Sets {@link #lowestLevelEnergyInMWH} and {@link #numberOfEnergyStates} for the current planning horizon */
 	private void analyseAvailableEnergyLevels() {
 		double minLowerLevel = Double.MAX_VALUE;
 		double maxUpperLevel = -Double.MAX_VALUE;
 		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
-			TimeStamp time = getTimeByIndex(timeIndex);
-			double lowerLevel = device.getEnergyContentLowerLimitInMWH(time);
-			double upperLevel = device.getEnergyContentUpperLimitInMWH(time);
+			double lowerLevel = deviceCache.getEnergyContentLowerLimitInMWH(timeIndex);
+			double upperLevel = deviceCache.getEnergyContentUpperLimitInMWH(timeIndex);
 			minLowerLevel = lowerLevel < minLowerLevel ? lowerLevel : minLowerLevel;
 			maxUpperLevel = upperLevel > maxUpperLevel ? upperLevel : maxUpperLevel;
 		}
@@ -103,7 +217,7 @@ public class EnergyStateManager implements StateManager {
 	private void analyseSelfDischarge() {
 		hasSelfDischarge = false;
 		for (int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
-			hasSelfDischarge = device.getSelfDischargeRate(getTimeByIndex(timeIndex)) > 0;
+			hasSelfDischarge = deviceCache.getSelfDischargeRate(timeIndex) > 0;
 			if (hasSelfDischarge) {
 				break;
 			}
@@ -129,9 +243,9 @@ public class EnergyStateManager implements StateManager {
 	@Override
 	public void prepareFor(TimeStamp time) {
 		assessmentFunction.prepareFor(time);
-		deviceCache.prepareFor(time);
 		currentOptimisationTimeIndex = (int) ((time.getStep() - startingPeriod.getStartTime().getStep())
 				/ startingPeriod.getDuration().getSteps());
+		deviceCache.prepareFor(currentOptimisationTimeIndex);
 		if (!hasSelfDischarge) {
 			cacheTransitionValuesNoSelfDischarge();
 		}
@@ -167,13 +281,30 @@ public class EnergyStateManager implements StateManager {
 
 	@Override
 	public int[] getInitialStates() {
-		final int lowestIndex = energyToCeilIndex(deviceCache.getEnergyContentLowerLimitInMWH());
-		final int highestIndex = energyToFloorIndex(deviceCache.getEnergyContentUpperLimitInMWH());
+		int lowestIndex = energyToCeilIndex(deviceCache.getEnergyContentLowerLimitInMWH());
+		int highestIndex = energyToFloorIndex(deviceCache.getEnergyContentUpperLimitInMWH());
+		if (isRefining) {
+			lowestIndex = Math.max(lowestIndex, corridorLowerIndices[currentOptimisationTimeIndex]);
+			highestIndex = Math.min(highestIndex, corridorUpperIndices[currentOptimisationTimeIndex]);
+		}
 		return new int[] {lowestIndex, highestIndex};
 	}
 
+	/** Returns reachable states within the corridor at the next time step, if refining; corridors are reachable from all states
+	 * of the previous corridor, see {@link #releaseUnreachableCorridors()} */
 	@Override
 	public int[] getFinalStates(int initialStateIndex) {
+		int[] reachableStates = getReachableStates(initialStateIndex);
+		int nextTimeIndex = currentOptimisationTimeIndex + 1;
+		if (isRefining && nextTimeIndex < numberOfTimeSteps) {
+			return new int[] {Math.max(reachableStates[0], corridorLowerIndices[nextTimeIndex]),
+					Math.min(reachableStates[1], corridorUpperIndices[nextTimeIndex])};
+		}
+		return reachableStates;
+	}
+
+	/** @return lowest and highest state index reachable from given state index at the currently prepared time step */
+	private int[] getReachableStates(int initialStateIndex) {
 		final double initialEnergyContentInMWH = initialStateIndex * energyResolutionInMWH;
 		final double lowestEnergyContentInMWH = deviceCache.getMinTargetEnergyContentInMWH(initialEnergyContentInMWH);
 		final double highestEnergyContentInMWH = deviceCache.getMaxTargetEnergyContentInMWH(initialEnergyContentInMWH);
@@ -219,12 +350,11 @@ public class EnergyStateManager implements StateManager {
 		double[] internalEnergiesInMWH = new double[schedulingSteps];
 		double[] specificValuesInEURperMWH = new double[schedulingSteps];
 		for (int timeIndex = 0; timeIndex < schedulingSteps; timeIndex++) {
-			TimeStamp time = getTimeByIndex(timeIndex);
-			deviceCache.prepareFor(time);
+			deviceCache.prepareFor(timeIndex);
 
 			internalEnergiesInMWH[timeIndex] = currentInternalEnergyInMWH;
 			int currentEnergyLevelIndex = energyToNearestIndex(currentInternalEnergyInMWH);
-			int nextEnergyLevelIndex = bestNextState[timeIndex][currentEnergyLevelIndex];
+			int nextEnergyLevelIndex = getNextStateIndex(timeIndex, currentEnergyLevelIndex);
 			double plannedEnergyDeltaInMWH = (nextEnergyLevelIndex - currentEnergyLevelIndex) * energyResolutionInMWH;
 
 			double nextInternalEnergyInMWH = calcNextEnergyInMWH(currentInternalEnergyInMWH, plannedEnergyDeltaInMWH);
@@ -232,17 +362,31 @@ public class EnergyStateManager implements StateManager {
 					nextInternalEnergyInMWH);
 			currentInternalEnergyInMWH = nextInternalEnergyInMWH;
 
-			double rawValueDeltaInEUR = getValueOfStorage(timeIndex + 1, nextEnergyLevelIndex)
-					- getValueOfStorage(timeIndex + 1, currentEnergyLevelIndex);
-			specificValuesInEURperMWH[timeIndex] = calcSpecificValue(plannedEnergyDeltaInMWH, rawValueDeltaInEUR);
+			int assessedIndex = limitToCorridor(timeIndex + 1, nextEnergyLevelIndex);
+			int referenceIndex = getReferenceIndex(timeIndex + 1, currentEnergyLevelIndex, assessedIndex);
+			double rawValueDeltaInEUR = getValueOfStorage(timeIndex + 1, assessedIndex)
+					- getValueOfStorage(timeIndex + 1, referenceIndex);
+			specificValuesInEURperMWH[timeIndex] = calcSpecificValue(
+					(assessedIndex - referenceIndex) * energyResolutionInMWH, rawValueDeltaInEUR);
 		}
 		return new DispatchSchedule(externalEnergyDeltaInMWH, internalEnergiesInMWH, specificValuesInEURperMWH);
 	}
 
+	/** @return best next state of given state at given time; if the given state lies outside the corridor, it was not planned:
+	 *         then, the best next state of the closest state in the corridor is targeted, limited to states reachable from the
+	 *         given state */
+	private int getNextStateIndex(int timeIndex, int stateIndex) {
+		if (!isOutsideCorridor(timeIndex, stateIndex)) {
+			return bestNextState[timeIndex][stateIndex];
+		}
+		int targetIndex = bestNextState[timeIndex][limitToCorridor(timeIndex, stateIndex)];
+		int[] reachableStates = getReachableStates(stateIndex);
+		return Math.max(reachableStates[0], Math.min(reachableStates[1], targetIndex));
+	}
+
 	/** @return closest valid index corresponding to given energy level */
 	private int energyToNearestIndex(double energyAmountInMWH) {
-		double energyLevel = Math.round(energyAmountInMWH / energyResolutionInMWH) * energyResolutionInMWH;
-		int nearestIndex = (int) Math.round((energyLevel - lowestLevelEnergyInMWH) / energyResolutionInMWH);
+		int nearestIndex = calcNearestIndex(energyAmountInMWH);
 		int correctedIndex = Math.max(0, Math.min(nearestIndex, numberOfEnergyStates - 1));
 		if (nearestIndex != correctedIndex) {
 			logger.error(WARN_IMPERFECT_PLANNING);
@@ -250,6 +394,12 @@ public class EnergyStateManager implements StateManager {
 		return correctedIndex;
 	}
 
+	/** @return index corresponding to given energy level rounded to closest state; may be out of the range of valid states */
+	private int calcNearestIndex(double energyAmountInMWH) {
+		double energyLevel = Math.round(energyAmountInMWH / energyResolutionInMWH) * energyResolutionInMWH;
+		return (int) Math.round((energyLevel - lowestLevelEnergyInMWH) / energyResolutionInMWH);
+	}
+
 	/** @return next energy level based on current one and planned energy delta; if current energy level is already out of bounds,
 	 *         do <b>not</b> force the planned next energy value onto a modelled energy level. This avoids unplanned dispatch purely
 	 *         because an energy level is out-of-bounds. Instead, follow the original dispatch plan. */
@@ -268,6 +418,19 @@ public class EnergyStateManager implements StateManager {
 		return timeIndex < numberOfTimeSteps ? bestValue[timeIndex][stateIndex] : cachedWaterValuesInEUR[stateIndex];
 	}
 
+	/** @return state to compare the value of the next state against: the current state, or if refining and the current state
+	 *         is outside the corridor at the next time, the closest assessed state different from the next state */
+	private int getReferenceIndex(int nextTimeIndex, int currentStateIndex, int nextStateIndex) {
+		if (!isRefining || nextTimeIndex >= numberOfTimeSteps) {
+			return currentStateIndex;
+		}
+		int referenceIndex = limitToCorridor(nextTimeIndex, currentStateIndex);
+		if (referenceIndex == nextStateIndex && referenceIndex != currentStateIndex) {
+			referenceIndex = limitToCorridor(nextTimeIndex, nextStateIndex + Integer.signum(nextStateIndex - currentStateIndex));
+		}
+		return referenceIndex;
+	}
+
 	/** @return specificValue of a transition with given deltas for energy and value */
 	private double calcSpecificValue(double energyDeltaInMWH, double valueDeltaInEUR) {
 		if (Math.abs(energyDeltaInMWH) > PRECISION_GUARD) {
@@ -276,6 +439,32 @@ public class EnergyStateManager implements StateManager {
 		return 0;
 	}
 
+	@Override
+	public void setCoarseningFactor(int factor) {
+		coarseningFactor = factor;
+		energyResolutionInMWH = getResolution();
+	}
+
+	@Override
+	public double getResolution() {
+		return configuredResolutionInMWH * coarseningFactor;
+	}
+
+	@Override
+	public double getBestValue() {
+		return getValueOfStorage(0, limitToCorridor(0, energyToNearestIndex(device.getCurrentInternalEnergyInMWH())));
+	}
+
+	@Override
+	public void addFingerprintTo(Fingerprint fingerprint, TimePeriod startingPeriod) {
+		ArrayList<TimeStamp> planningTimes = getPlanningTimes(startingPeriod);
+		fingerprint.add(getClass().getName()).add(startingPeriod).add(planningHorizonInHours)
+				.add(configuredResolutionInMWH).add(corridorWidth).add(corridorCoarseningFactor);
+		device.addFingerprintTo(fingerprint, planningTimes);
+		assessmentFunction.addFingerprintTo(fingerprint, planningTimes);
+		waterValues.addFingerprintTo(fingerprint, startingPeriod.shiftByDuration(planningTimes.size()).getStartTime());
+	}
+
 	@Override
 	public ArrayList<TimeStamp> getPlanningTimes(TimePeriod startingPeriod) {
 		int numberOfTimeSteps = Optimiser.calcHorizonInPeriodSteps(startingPeriod, planningHorizonInHours);
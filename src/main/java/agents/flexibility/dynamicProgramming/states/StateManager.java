@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import agents.flexibility.GenericDevice;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** Manages the states allowed within a dynamic programming optimisation
  * 
@@ -29,6 +30,12 @@ public interface StateManager {
 			this.initialInternalEnergiesInMWH = initialInternalEnergiesInMWH;
 			this.specificValuesInEURperMWH = specificValuesInEURperMWH;
 		}
+
+		/** @return deep copy of this {@link DispatchSchedule} */
+		public DispatchSchedule copy() {
+			return new DispatchSchedule(externalEnergyDeltasInMWH.clone(), initialInternalEnergiesInMWH.clone(),
+					specificValuesInEURperMWH.clone());
+		}
 	}
 
 	/** Initialise {@link StateManager} to allow for planning in current planning period
@@ -36,6 +43,11 @@ public interface StateManager {
 	 * @param startingPeriod first time period of an upcoming planning */
 	void initialise(TimePeriod startingPeriod);
 
+	/** Called after each optimisation pass of a planning; prepares another pass on refined states if required
+	 * 
+	 * @return true if another optimisation pass is required, false if the last pass completed the planning */
+	boolean prepareRefinement();
+
 	/** Make {@link StateManager} aware of time currently under assessment
 	 * 
 	 * @param time to be assessed */
@@ -97,6 +109,28 @@ public interface StateManager {
 	 * @return dispatch schedule extending over the given number of scheduling steps */
 	DispatchSchedule getBestDispatchSchedule(int schedulingSteps);
 
+	/** Coarsen the discretisation of states used in subsequent plannings by the given factor
+	 * 
+	 * @param factor to multiply the configured state resolution with; 1 restores the configured resolution */
+	void setCoarseningFactor(int factor);
+
+	/** Get resolution of states currently used for planning
+	 * 
+	 * @return current state resolution */
+	double getResolution();
+
+	/** Get best assessment value of the last planning for the current state of the {@link GenericDevice}
+	 * 
+	 * @return best assessment value obtainable from the device's current state over the planning horizon */
+	double getBestValue();
+
+	/** Add all inputs of a planning starting at given period to given fingerprint: discretisation, device properties, forecasts
+	 * and water values
+	 * 
+	 * @param fingerprint to add the content to
+	 * @param startingPeriod first time period of an upcoming planning */
+	void addFingerprintTo(Fingerprint fingerprint, TimePeriod startingPeriod);
+
 	/** Return starting time of each planning interval in the planning horizon
 	 * 
 	 * @param startingPeriod first interval of the planning horizon
@@ -15,7 +15,15 @@ import de.dlr.gitlab.fame.agent.input.Tree;
  * @author Christoph Schimeczek, Felix Nitsch, Johannes Kochems */
 public class StateManagerBuilder {
 	public static final Tree parameters = Make.newTree().add(Make.newEnum("Type", Type.class),
-			Make.newDouble("PlanningHorizonInHours"), Make.newDouble("EnergyResolutionInMWH"))
+			Make.newDouble("PlanningHorizonInHours"), Make.newDouble("EnergyResolutionInMWH"),
+			Make.newLong("PlanningBudgetInTransitions").optional()
+					.help("Maximum number of assessed state transitions per planning; enables coarse-to-fine planning"),
+			Make.newInt("CoarseningLevels").optional()
+					.help("Number of refinements from coarsest to configured resolution when a planning budget is set"),
+			Make.newInt("CorridorWidth").optional()
+					.help("Half width in coarse energy states of the corridor refined around a coarse solution; enables two-stage planning"),
+			Make.newInt("CorridorCoarseningFactor").optional()
+					.help("Ratio of coarse to configured energy resolution in two-stage planning"))
 			.addAs("WaterValues", WaterValues.parameters)
 			.buildTree();
 
@@ -26,14 +34,19 @@ public class StateManagerBuilder {
 	}
 
 	public static final String ERR_NOT_IMPLEMENTED = "StateManager is not implemented: ";
+	static final int DEFAULT_CORRIDOR_COARSENING_FACTOR = 4;
 
 	public static StateManager build(GenericDevice device, AssessmentFunction assessment, ParameterData input)
 			throws MissingDataException {
 		Type type = input.getEnum("Type", Type.class);
 		switch (type) {
 			case STATE_OF_CHARGE:
-				return new EnergyStateManager(device, assessment, input.getDouble("PlanningHorizonInHours"),
-						input.getDouble("EnergyResolutionInMWH"), new WaterValues(input.getOptionalGroupList("WaterValues")));
+				EnergyStateManager stateManager = new EnergyStateManager(device, assessment,
+						input.getDouble("PlanningHorizonInHours"), input.getDouble("EnergyResolutionInMWH"),
+						new WaterValues(input.getOptionalGroupList("WaterValues")));
+				stateManager.setCorridor(input.getIntegerOrDefault("CorridorWidth", 0),
+						input.getIntegerOrDefault("CorridorCoarseningFactor", DEFAULT_CORRIDOR_COARSENING_FACTOR));
+				return stateManager;
 			default:
 				throw new RuntimeException(ERR_NOT_IMPLEMENTED + type);
 		}
@@ -14,6 +14,7 @@ import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.agent.input.Tree;
 import de.dlr.gitlab.fame.data.TimeSeries;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
 
 /** Interpolates water values for the time and energy content of a flexibility device.
  * 
@@ -112,6 +113,21 @@ public class WaterValues {
 		return insertionPoint - 1;
 	}
 
+	/** Adds the energy contents and their water values at given time to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to
+	 * @param time at which to add the water values */
+	public void addFingerprintTo(Fingerprint fingerprint, TimeStamp time) {
+		if (energyContentsInMWH == null) {
+			fingerprint.add(-1L);
+			return;
+		}
+		fingerprint.add(energyContentsInMWH);
+		for (TimeSeries waterValue : waterValuesInEUR) {
+			fingerprint.add(waterValue.getValueLinear(time));
+		}
+	}
+
 	/** Returns true if any water value interpolation can be provided, false otherwise
 	 * 
 	 * @return true if water value interpolation is possible */
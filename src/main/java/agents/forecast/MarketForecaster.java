@@ -11,6 +11,7 @@ import java.util.TreeMap;
 import agents.markets.DayAheadMarket;
 import agents.markets.meritOrder.MarketClearing;
 import agents.markets.meritOrder.MarketClearingResult;
+import agents.profiling.ProfiledAgent;
 import agents.trader.Trader;
 import communications.message.AmountAtTime;
 import communications.message.ClearingTimes;
@@ -37,7 +38,7 @@ import de.dlr.gitlab.fame.time.TimeStamp;
  * bid forecasts; uses forecasted bids to clear market ahead of time and create own forecasts
  * 
  * @author Christoph Schimeczek */
-public class MarketForecaster extends Agent implements DamForecastProvider {
+public class MarketForecaster extends Agent implements DamForecastProvider, ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree().add(Make.newInt("ForecastPeriodInHours"))
 			.addAs("Clearing", MarketClearing.parameters).buildTree();
 
@@ -77,15 +78,18 @@ public class MarketForecaster extends Agent implements DamForecastProvider {
 		forecastPeriodInHours = input.getInteger("ForecastPeriodInHours");
 
 		/** Send out forecast requests to make other agents prepare their bids ahead of time */
-		call(this::sendForecastRequests).on(Products.ForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(Products.ForecastRequest, this::sendForecastRequests))
+				.on(Products.ForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
 		/** On incoming bid forecasts: clear the market ahead and store the clearing result */
-		call(this::calcMarketClearingForecasts).onAndUse(Trader.Products.BidsForecast);
+		call(profiled(Trader.Products.BidsForecast, this::calcMarketClearingForecasts))
+				.onAndUse(Trader.Products.BidsForecast);
 		/** On outgoing merit order forecasts: provide merit order results to clients */
-		call(this::sendMeritOrderForecast).on(DamForecastProvider.Products.MeritOrderForecast)
+		call(profiled(DamForecastProvider.Products.MeritOrderForecast, this::sendMeritOrderForecast))
+				.on(DamForecastProvider.Products.MeritOrderForecast)
 				.use(DamForecastClient.Products.MeritOrderForecastRequest);
 		/** On outgoing price forecasts: provide merit order results to clients */
-		call(this::sendPriceForecast).on(DamForecastProvider.Products.PriceForecast)
-				.use(DamForecastClient.Products.PriceForecastRequest);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::sendPriceForecast))
+				.on(DamForecastProvider.Products.PriceForecast).use(DamForecastClient.Products.PriceForecastRequest);
 	}
 
 	/** Requests bid forecast for all future hours within forecast period
@@ -132,7 +136,8 @@ public class MarketForecaster extends Agent implements DamForecastProvider {
 		}
 	}
 
-	/** Uses received forecasted Bids to clear market and store the clearing result(s) for later usage
+	/** Uses received forecasted Bids to clear market and store the clearing result(s) for later usage; bids are only awarded if
+	 * a merit order forecast is requested for the clearing
 	 **
 	 * @param messages bid forecast(s) received
 	 * @param contracts not used */
@@ -142,7 +147,7 @@ public class MarketForecaster extends Agent implements DamForecastProvider {
 			TimeStamp requestedTime = entry.getKey();
 			ArrayList<Message> bidsAtRequestedTime = entry.getValue();
 			String clearingId = this + " " + now();
-			MarketClearingResult marketClearingResult = marketClearing.clear(bidsAtRequestedTime, clearingId);
+			MarketClearingResult marketClearingResult = marketClearing.clear(bidsAtRequestedTime, clearingId, true);
 			calculatedForecastContainer.put(requestedTime, marketClearingResult);
 		}
 	}
@@ -98,13 +98,18 @@ public class PriceForecasterApi extends MarketForecaster implements SensitivityF
 		forecastErrorToleranceInEURperMWH = input.getDoubleOrDefault("ForecastErrorToleranceInEURperMWH", -1.);
 		tsResidualLoadInMWh = input.getTimeSeriesOrDefault("ResidualLoadInMWh", null);
 
-		call(this::logClearingPrices).onAndUse(DayAheadMarket.Products.Awards);
-		call(this::registerClearingTime).onAndUse(DayAheadMarket.Products.GateClosureInfo);
-		call(this::sendPriceForecast).on(DamForecastProvider.Products.PriceForecast)
-				.use(DamForecastClient.Products.PriceForecastRequest);
-		call(this::checkClientRegistration).onAndUse(SensitivityForecastClient.Products.ForecastRegistration);
-		call(this::doNothing).onAndUse(SensitivityForecastClient.Products.NetAward);
-		call(this::sendSensitivityForecasts).on(SensitivityForecastProvider.Products.SensitivityForecast)
+		call(profiled(DayAheadMarket.Products.Awards, this::logClearingPrices))
+				.onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(DayAheadMarket.Products.GateClosureInfo, this::registerClearingTime))
+				.onAndUse(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::sendPriceForecast))
+				.on(DamForecastProvider.Products.PriceForecast).use(DamForecastClient.Products.PriceForecastRequest);
+		call(profiled(SensitivityForecastClient.Products.ForecastRegistration, this::checkClientRegistration))
+				.onAndUse(SensitivityForecastClient.Products.ForecastRegistration);
+		call(profiled(SensitivityForecastClient.Products.NetAward, this::doNothing))
+				.onAndUse(SensitivityForecastClient.Products.NetAward);
+		call(profiled(SensitivityForecastProvider.Products.SensitivityForecast, this::sendSensitivityForecasts))
+				.on(SensitivityForecastProvider.Products.SensitivityForecast)
 				.use(SensitivityForecastClient.Products.SensitivityRequest);
 	}
 
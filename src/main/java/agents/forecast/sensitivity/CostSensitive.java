@@ -4,12 +4,12 @@
 package agents.forecast.sensitivity;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import agents.markets.meritOrder.MarketClearingResult;
 import agents.markets.meritOrder.books.OrderBook;
 import agents.markets.meritOrder.books.OrderBookItem;
 import agents.markets.meritOrder.books.SupplyOrderBook;
 import agents.markets.meritOrder.sensitivities.SensitivityItem;
+import agents.markets.meritOrder.sensitivities.SensitivityItems;
 
 /** Provides full merit order assessment for cost / revenues associated with added demand / supply
  * 
@@ -22,12 +22,28 @@ public class CostSensitive implements MarketClearingAssessment {
 	 * associated flexibility device */
 	protected ArrayList<SensitivityItem> additionalSupplyItems = new ArrayList<>();
 
+	/** items extracted from supply and demand books in book order, i.e. sorted by ascending (supply) or descending (demand) price */
+	private final ArrayList<SensitivityItem> supplyLoadItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> supplySupplyItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> demandLoadItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> demandSupplyItems = new ArrayList<>();
+
+	/** Assesses the given result, replacing any previous assessment; as its books are sorted, extracted items are merged in linear
+	 * time instead of being sorted */
 	@Override
 	public final void assess(MarketClearingResult clearingResult) {
+		additionalLoadItems.clear();
+		additionalSupplyItems.clear();
 		extractOrders(clearingResult.getSupplyBook());
 		extractOrders(clearingResult.getDemandBook());
-		additionalLoadItems.sort(getComparator());
-		additionalSupplyItems.sort(getComparator().reversed());
+		SensitivityItems.reverseKeepingTies(supplySupplyItems);
+		SensitivityItems.reverseKeepingTies(demandLoadItems);
+		SensitivityItems.merge(supplyLoadItems, demandLoadItems, true, additionalLoadItems);
+		SensitivityItems.merge(supplySupplyItems, demandSupplyItems, false, additionalSupplyItems);
+		supplyLoadItems.clear();
+		supplySupplyItems.clear();
+		demandLoadItems.clear();
+		demandSupplyItems.clear();
 		setCumulativeValues(additionalLoadItems);
 		setCumulativeValues(additionalSupplyItems);
 	}
@@ -55,10 +71,10 @@ public class CostSensitive implements MarketClearingAssessment {
 		double notAwardedPower = item.getNotAwardedPower();
 		double awardedPower = item.getAwardedPower();
 		if (notAwardedPower > 0) {
-			additionalLoadItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), 0));
+			supplyLoadItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), 0));
 		}
 		if (awardedPower > 0) {
-			additionalSupplyItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), 0.));
+			supplySupplyItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), 0.));
 		}
 	}
 
@@ -68,18 +84,13 @@ public class CostSensitive implements MarketClearingAssessment {
 		double notAwardedPower = item.getNotAwardedPower();
 		double awardedPower = item.getAwardedPower();
 		if (notAwardedPower > 0) {
-			additionalSupplyItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), 0.));
+			demandSupplyItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), 0.));
 		}
 		if (awardedPower > 0) {
-			additionalLoadItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), 0.));
+			demandLoadItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), 0.));
 		}
 	}
 
-	/** @return {@link Comparator} for {@link SensitivityItem}s to be used by this Sensitivity type */
-	private Comparator<SensitivityItem> getComparator() {
-		return SensitivityItem.BY_PRICE;
-	}
-
 	/** Sets cumulative power and monetary value of given sorted {@link SensitivityItem}s */
 	private void setCumulativeValues(ArrayList<SensitivityItem> items) {
 		double cumulatedPower = 0;
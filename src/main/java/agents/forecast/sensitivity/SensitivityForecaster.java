@@ -53,9 +53,12 @@ public class SensitivityForecaster extends MarketForecaster implements Sensitivi
 		int decayInterval = input.getIntegerOrDefault("MultiplierEstimation.DecayInterval", -1);
 		flexibilityAssessor = new FlexibilityAssessor(cutOffFactor, initialEstimateWeight, decayInterval);
 
-		call(this::registerClients).onAndUse(SensitivityForecastClient.Products.ForecastRegistration);
-		call(this::updateForecastMultipliers).onAndUse(SensitivityForecastClient.Products.NetAward);
-		call(this::sendSensitivityForecasts).on(SensitivityForecastProvider.Products.SensitivityForecast)
+		call(profiled(SensitivityForecastClient.Products.ForecastRegistration, this::registerClients))
+				.onAndUse(SensitivityForecastClient.Products.ForecastRegistration);
+		call(profiled(SensitivityForecastClient.Products.NetAward, this::updateForecastMultipliers))
+				.onAndUse(SensitivityForecastClient.Products.NetAward);
+		call(profiled(SensitivityForecastProvider.Products.SensitivityForecast, this::sendSensitivityForecasts))
+				.on(SensitivityForecastProvider.Products.SensitivityForecast)
 				.use(SensitivityForecastClient.Products.SensitivityRequest);
 	}
 
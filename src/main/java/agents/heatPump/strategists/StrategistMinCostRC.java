@@ -16,6 +16,7 @@ import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.data.TimeSeries;
 import de.dlr.gitlab.fame.time.TimePeriod;
+import util.jfr.DispatchOptimisationEvent;
 
 /** Minimises costs for heat pump dispatch by means of passive thermal storage using the thermal response model
  * 
@@ -104,10 +105,18 @@ public class StrategistMinCostRC extends HeatPumpStrategist {
 
 	@Override
 	protected void updateSchedule(TimePeriod timeSegment) {
+		DispatchOptimisationEvent event = new DispatchOptimisationEvent();
+		event.begin();
 		clearPlanningArrays();
 		updateCostsForStateTransitions(timeSegment);
 		optimiseDispatch();
 		updateScheduleArrays(timeSegment);
+		if (event.shouldCommit()) {
+			event.optimiser = StrategistMinCostRC.class.getSimpleName();
+			event.timeStepCount = forecastSteps;
+			event.stateCount = (long) forecastSteps * numberOfTemperatureSteps;
+			event.commit();
+		}
 	}
 
 	/** Replaces all entries in the planning arrays with MAX_VALUE */
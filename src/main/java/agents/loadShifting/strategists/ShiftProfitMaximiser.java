@@ -9,7 +9,7 @@ import agents.loadShifting.LoadShiftingPortfolio;
 import agents.loadShifting.strategists.LoadShiftStateManager.LoadShiftState;
 import agents.markets.meritOrder.sensitivities.MeritOrderSensitivity;
 import agents.markets.meritOrder.sensitivities.PriceSensitivity;
-import agents.markets.meritOrder.sensitivities.StepPower;
+import agents.markets.meritOrder.sensitivities.StepValues;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.time.TimePeriod;
@@ -72,8 +72,7 @@ public class ShiftProfitMaximiser extends LoadShiftingStrategist {
 			int period = forecastSteps - k - 1; // step backwards in time
 			int nextPeriod = period + 1;
 			TimePeriod timePeriod = startTime.shiftByDuration(period);
-			double[] chargePrices = calcChargePrices(timePeriod);
-			StepPower stepPower = calcStepPower(timePeriod);
+			StepValues chargePrices = calcChargePrices(timePeriod);
 			stateManager.insertInitialStates(initialStates);
 			double specificShiftCostsInEURperMWH = portfolio.getVariableShiftCostsInEURPerMWH(timePeriod.getStartTime());
 
@@ -90,7 +89,7 @@ public class ShiftProfitMaximiser extends LoadShiftingStrategist {
 						int powerStateDelta = finalState.calculateStateDelta(initialState);
 						double absPowerDeltaInMWH = Math.abs(powerStateDelta) * portfolio.getEnergyResolutionInMWH();
 						double variableShiftCosts = specificShiftCostsInEURperMWH * absPowerDeltaInMWH;
-						double incomeTransition = calcIncomeTransition(powerStateDelta, chargePrices, stepPower);
+						double incomeTransition = calcIncomeTransition(powerStateDelta, chargePrices);
 						income = incomeTransition + getBestIncome(nextPeriod, finalState)
 								- variableShiftCosts - nextFeasibleStates.get(finalState);
 					}
@@ -106,31 +105,20 @@ public class ShiftProfitMaximiser extends LoadShiftingStrategist {
 		}
 	}
 
-	/** @return price steps for charging & discharging in the specified {@link TimePeriod} */
-	private double[] calcChargePrices(TimePeriod timePeriod) {
+	/** @return price and power steps for charging & discharging in the specified {@link TimePeriod} */
+	private StepValues calcChargePrices(TimePeriod timePeriod) {
 		final PriceSensitivity sensitivity = (PriceSensitivity) getSensitivityForPeriod(timePeriod);
 		if (sensitivity != null) {
-			return sensitivity.getValuesInSteps((stateManager.getNumberOfPowerStates() - 1) / 2);
+			return sensitivity.getStepValues((stateManager.getNumberOfPowerStates() - 1) / 2);
 		} else {
-			return new double[stateManager.getNumberOfPowerStates()];
-		}
-	}
-
-	/** @return power steps for charging & discharging in the specified {@link TimePeriod} */
-	private StepPower calcStepPower(TimePeriod timePeriod) {
-		final PriceSensitivity sensitivity = (PriceSensitivity) getSensitivityForPeriod(timePeriod);
-		if (sensitivity != null) {
-			return sensitivity.getStepPowers((stateManager.getNumberOfPowerStates() - 1) / 2);
-		} else {
-			return new StepPower(0, 0, (stateManager.getNumberOfPowerStates() - 1) / 2);
+			return StepValues.zero((stateManager.getNumberOfPowerStates() - 1) / 2);
 		}
 	}
 
 	/** @return income for a state transition under specified chargePrices */
-	private double calcIncomeTransition(int stateDelta, double[] chargePrices, StepPower stepPower) {
-		int priceArrayIndex = (stateManager.getNumberOfPowerStates() - 1) / 2 + stateDelta;
-		double energyDelta = stepPower.getPower(stateDelta);
-		double price = chargePrices[priceArrayIndex];
+	private double calcIncomeTransition(int stateDelta, StepValues chargePrices) {
+		double energyDelta = chargePrices.getPower(stateDelta);
+		double price = chargePrices.getValue(stateDelta);
 		double chargeLeviesAndTaxes = energyDelta > 0 ? energyDelta * purchaseLeviesAndTaxesInEURperMWH : 0;
 		return -energyDelta * price - chargeLeviesAndTaxes;
 	}
@@ -166,9 +154,7 @@ public class ShiftProfitMaximiser extends LoadShiftingStrategist {
 
 	/** @return electricity price in the specified {@link TimePeriod} for the specified state transition */
 	private double calcPriceInPeriod(TimePeriod timePeriod, int stateDelta) {
-		double[] chargePrices = calcChargePrices(timePeriod);
-		int priceArrayIndex = (stateManager.getNumberOfPowerStates() - 1) / 2 + stateDelta;
-		return chargePrices[priceArrayIndex];
+		return calcChargePrices(timePeriod).getValue(stateDelta);
 	}
 
 	/** @return a {@link PriceSensitivity} item */
@@ -9,6 +9,7 @@ import agents.loadShifting.LoadShiftingPortfolio;
 import agents.loadShifting.strategists.LoadShiftStateManager.LoadShiftState;
 import agents.markets.meritOrder.sensitivities.MarginalCostSensitivity;
 import agents.markets.meritOrder.sensitivities.MeritOrderSensitivity;
+import agents.markets.meritOrder.sensitivities.StepValues;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.time.TimePeriod;
@@ -68,7 +69,7 @@ public class ShiftSystemCostMinimiser extends LoadShiftingStrategist {
 			int period = forecastSteps - k - 1; // step backwards in time
 			int nextPeriod = period + 1;
 			TimePeriod timePeriod = startTime.shiftByDuration(period);
-			double[] costSteps = calcCostSteps(timePeriod);
+			StepValues costSteps = calcCostSteps(timePeriod);
 			stateManager.insertInitialStates(initialStates);
 			double specificShiftCostsInEURperMWH = portfolio.getVariableShiftCostsInEURPerMWH(timePeriod.getStartTime());
 
@@ -85,8 +86,7 @@ public class ShiftSystemCostMinimiser extends LoadShiftingStrategist {
 						int powerStateDelta = finalState.calculateStateDelta(initialState);
 						double absPowerDeltaInMWH = Math.abs(powerStateDelta) * portfolio.getEnergyResolutionInMWH();
 						double variableShiftCosts = specificShiftCostsInEURperMWH * absPowerDeltaInMWH;
-						int costStepIndex = (stateManager.getNumberOfPowerStates() - 1) / 2 + powerStateDelta;
-						cost = costSteps[costStepIndex] + getFollowUpCost(nextPeriod, finalState) + variableShiftCosts
+						cost = costSteps.getValue(powerStateDelta) + getFollowUpCost(nextPeriod, finalState) + variableShiftCosts
 								+ nextFeasibleStates.get(finalState);
 					}
 					if (cost < currentLowestCost) {
@@ -101,12 +101,12 @@ public class ShiftSystemCostMinimiser extends LoadShiftingStrategist {
 		}
 	}
 
-	private double[] calcCostSteps(TimePeriod timePeriod) {
+	private StepValues calcCostSteps(TimePeriod timePeriod) {
 		MarginalCostSensitivity sensitivity = (MarginalCostSensitivity) getSensitivityForPeriod(timePeriod);
 		if (sensitivity != null) {
-			return sensitivity.getValuesInSteps((stateManager.getNumberOfPowerStates() - 1) / 2);
+			return sensitivity.getStepValues((stateManager.getNumberOfPowerStates() - 1) / 2);
 		} else {
-			return new double[stateManager.getNumberOfPowerStates()];
+			return StepValues.zero((stateManager.getNumberOfPowerStates() - 1) / 2);
 		}
 	}
 
@@ -6,6 +6,7 @@ package agents.markets;
 import java.util.ArrayList;
 import java.util.List;
 import agents.markets.meritOrder.MarketClearing;
+import agents.profiling.ProfiledAgent;
 import communications.message.ClearingTimes;
 import de.dlr.gitlab.fame.agent.Agent;
 import de.dlr.gitlab.fame.agent.input.DataProvider;
@@ -24,7 +25,7 @@ import de.dlr.gitlab.fame.time.TimeSpan;
  * implemented on an <b>hour-per-hour</b> basis.
  * 
  * @author Christoph Schimeczek, A. Achraf El Ghazi, Felix Nitsch, Johannes Kochems */
-public abstract class DayAheadMarket extends Agent {
+public abstract class DayAheadMarket extends Agent implements ProfiledAgent {
 	static final String UNKNOWN_BID_TYPE = " is an unknown type of bid: ";
 	static final String LONE_LIST = "At most one element is expected in this list: ";
 
@@ -69,7 +70,7 @@ public abstract class DayAheadMarket extends Agent {
 		gateClosureInfoOffset = new TimeSpan(input.getInteger("GateClosureInfoOffsetInSeconds"));
 
 		/** Sends out ClearingTimes */
-		call(this::sendGateClosureInfo).on(Products.GateClosureInfo);
+		call(profiled(Products.GateClosureInfo, this::sendGateClosureInfo)).on(Products.GateClosureInfo);
 	}
 
 	/** Sends info upon next gate closure to connected traders
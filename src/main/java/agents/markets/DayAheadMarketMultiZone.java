@@ -99,9 +99,11 @@ public class DayAheadMarketMultiZone extends DayAheadMarket {
 			loadTransmissionCapacities(input.getGroupList("Transmission"));
 		}
 
-		call(this::digestBids).onAndUse(DayAheadMarketTrader.Products.Bids);
-		call(this::provideTransmissionAndBids).on(Products.TransmissionAndBids);
-		call(this::clearMarket).on(DayAheadMarket.Products.Awards).use(MarketCoupling.Products.MarketCouplingResult);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::digestBids))
+				.onAndUse(DayAheadMarketTrader.Products.Bids);
+		call(profiled(Products.TransmissionAndBids, this::provideTransmissionAndBids)).on(Products.TransmissionAndBids);
+		call(profiled(DayAheadMarket.Products.Awards, this::clearMarket))
+				.on(DayAheadMarket.Products.Awards).use(MarketCoupling.Products.MarketCouplingResult);
 	}
 
 	/** Loads all transmission capacity time-series and stores them with the corresponding target market zones as key
@@ -29,7 +29,7 @@ public class DayAheadMarketSingleZone extends DayAheadMarket {
 	public DayAheadMarketSingleZone(DataProvider dataProvider) throws MissingDataException {
 		super(dataProvider);
 		/** Clears market by using incoming bids and sending Awards */
-		call(this::clearMarket).on(Products.Awards).use(DayAheadMarketTrader.Products.Bids);
+		call(profiled(Products.Awards, this::clearMarket)).on(Products.Awards).use(DayAheadMarketTrader.Products.Bids);
 	}
 
 	/** Clears the market based on all the bids provided; writes out some market-clearing data
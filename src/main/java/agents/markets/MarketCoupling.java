@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Set;
 import agents.markets.meritOrder.DemandBalancer;
 import agents.markets.meritOrder.books.TransmissionBook;
+import agents.profiling.ProfiledAgent;
 import communications.message.TransmissionCapacity;
 import communications.portable.CouplingData;
 import de.dlr.gitlab.fame.agent.Agent;
@@ -25,13 +26,14 @@ import de.dlr.gitlab.fame.communication.Product;
 import de.dlr.gitlab.fame.communication.message.Message;
 import de.dlr.gitlab.fame.service.output.ComplexIndex;
 import de.dlr.gitlab.fame.service.output.Output;
+import util.OutputReducer;
 
 /** Market coupling Agent that receives MeritOrderBooks from registered individual DayAheadMarket(s). It computes coupled
  * electricity prices aiming at minimising price differences between markets. Sends individual, coupled prices back to its client
  * markets.
  * 
  * @author A. Achraf El Ghazi, Felix Nitsch */
-public class MarketCoupling extends Agent {
+public class MarketCoupling extends Agent implements ProfiledAgent {
 	static final String MULTIPLE_REQUESTS = "Only one coupling request is allow per market, but multiple received from: ";
 	static final String NO_AGENT_FOR_ZONE = "No DayAheadMarket agent found for market zone: ";
 	static final double DEFAULT_DEMAND_SHIFT_OFFSET = 1.0;
@@ -46,7 +48,7 @@ public class MarketCoupling extends Agent {
 	@Input private static final Tree parameters = Make.newTree()
 			.add(Make.newDouble("MinimumDemandOffsetInMWH").optional()
 					.help("Offset added to the demand shift that ensures a price change at the involved markets."))
-			.buildTree();
+			.addAs("OutputReduction", OutputReducer.parameters).buildTree();
 
 	@Output
 	private static enum OutputColumns {
@@ -66,6 +68,7 @@ public class MarketCoupling extends Agent {
 			OutputColumns.UsedTransferCapacityInMWH, TransferKey.class);
 
 	private final DemandBalancer demandBalancer;
+	private final OutputReducer outputReducer;
 	private Map<Long, CouplingData> couplingRequests = new HashMap<>();
 	private Map<Long, TransmissionBook> initialTransmissionBookByMarket = new HashMap<>();
 
@@ -78,8 +81,9 @@ public class MarketCoupling extends Agent {
 		ParameterData input = parameters.join(dataProvider);
 		double minEffectiveDemandOffset = input.getDoubleOrDefault("MinimumDemandOffsetInMWH", DEFAULT_DEMAND_SHIFT_OFFSET);
 		demandBalancer = new DemandBalancer(minEffectiveDemandOffset);
+		outputReducer = OutputReducer.build(input, "OutputReduction", this, OutputColumns.values());
 
-		call(this::clearCoupledMarkets).on(Products.MarketCouplingResult)
+		call(profiled(Products.MarketCouplingResult, this::clearCoupledMarkets)).on(Products.MarketCouplingResult)
 				.use(DayAheadMarketMultiZone.Products.TransmissionAndBids);
 	}
 
@@ -131,11 +135,9 @@ public class MarketCoupling extends Agent {
 				double initialCapacity = initialTransmissionBook.get(i).getRemainingTransferCapacityInMW();
 				String targetMarketZone = transmissionBook.get(i).getTarget();
 				Long targetId = getAgentIdOfMarketZone(targetMarketZone);
-				store(
-						availableCapacity.key(TransferKey.OriginAgentId, originId).key(TransferKey.TargetAgentId, targetId),
-						initialCapacity);
-				store(
-						usedCapacity.key(TransferKey.OriginAgentId, originId).key(TransferKey.TargetAgentId, targetId),
+				outputReducer.store(availableCapacity, TransferKey.OriginAgentId, originId, TransferKey.TargetAgentId,
+						targetId, initialCapacity);
+				outputReducer.store(usedCapacity, TransferKey.OriginAgentId, originId, TransferKey.TargetAgentId, targetId,
 						initialCapacity - remainingCapacity);
 			}
 		}
@@ -0,0 +1,418 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import agents.markets.meritOrder.MarketClearing.ShortagePriceMethod;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.OrderBookItem;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+import agents.markets.meritOrder.books.TransmissionBook;
+import communications.message.TransmissionCapacity;
+import communications.portable.CouplingData;
+
+/** Captures the raw inputs and results of {@link MarketClearing}s and {@link DemandBalancer market couplings} to a compact
+ * binary file, which can be re-run offline with {@link ClearingReplay}.
+ * <p>
+ * Capturing is disabled by default. It is enabled for the whole run by setting the Java system property {@value #PROPERTY} to
+ * the path of the capture file, e.g. via {@code -Damiris.captureClearing=clearings.bin}. The property is evaluated at the
+ * first clearing, unless capturing was started or stopped explicitly before. An existing file is overwritten. Each record is
+ * flushed once written, so that records of all clearings before a crash remain readable. If disabled, order books are not
+ * copied at all.
+ * </p>
+ * <p>
+ * Each record holds the bids of all traders in the order they were added to the books, the clearing settings and, for
+ * couplings, the transmission capacities of each market. Doubles are stored by their bit patterns; replayed inputs are thus
+ * exactly equal to the captured ones.
+ * </p>
+ *
+ * @author agent */
+public final class ClearingCapture {
+	/** Name of the system property that enables capturing and specifies the capture file */
+	public static final String PROPERTY = "amiris.captureClearing";
+	static final String ERR_WRITE = "Could not write clearing capture to file: ";
+	static final String ERR_READ = "Could not read clearing capture from file: ";
+	static final String ERR_FORMAT = "Not a clearing capture file of supported version: ";
+	static final String ERR_RECORD_TYPE = "Unknown record type in clearing capture: ";
+
+	/** Identifies capture files and their version */
+	static final int FILE_MAGIC = 0x414D4331;
+	private static final byte TYPE_CLEARING = 1;
+	private static final byte TYPE_COUPLING = 2;
+
+	private static volatile DataOutputStream stream;
+	private static volatile boolean isConfigured = false;
+	private static String fileName;
+
+	private ClearingCapture() {}
+
+	/** @return true if clearings are to be captured */
+	static boolean isEnabled() {
+		if (!isConfigured) {
+			configureFromProperty();
+		}
+		return stream != null;
+	}
+
+	/** Starts capturing if the system property {@value #PROPERTY} is set and capturing was neither started nor stopped before */
+	private static synchronized void configureFromProperty() {
+		if (!isConfigured) {
+			String file = System.getProperty(PROPERTY);
+			if (file != null && !file.isBlank()) {
+				start(file);
+			}
+			isConfigured = true;
+		}
+	}
+
+	/** Starts capturing to the given file, replacing any previous capture file
+	 *
+	 * @param captureFile to be created or overwritten */
+	static synchronized void start(String captureFile) {
+		stop();
+		try {
+			DataOutputStream newStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(captureFile)));
+			newStream.writeInt(FILE_MAGIC);
+			newStream.flush();
+			fileName = captureFile;
+			stream = newStream;
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + captureFile, e);
+		}
+	}
+
+	/** Stops capturing and closes the capture file, if any; the system property {@value #PROPERTY} is ignored afterwards */
+	static synchronized void stop() {
+		isConfigured = true;
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				throw new RuntimeException(ERR_WRITE + fileName, e);
+			} finally {
+				stream = null;
+			}
+		}
+	}
+
+	/** Appends given record with its captured results to the capture file; ignored if capturing was stopped meanwhile */
+	private static synchronized void append(Record record) {
+		if (stream == null) {
+			return;
+		}
+		try {
+			record.writeTo(stream);
+			stream.flush();
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + fileName, e);
+		}
+	}
+
+	/** Reads all records from the given capture file
+	 *
+	 * @param captureFile to read
+	 * @return records in the order they were captured
+	 * @throws RuntimeException if the file could not be read or is not a capture file */
+	static List<Record> read(String captureFile) {
+		List<Record> records = new ArrayList<>();
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(captureFile)))) {
+			if (input.readInt() != FILE_MAGIC) {
+				throw new RuntimeException(ERR_FORMAT + captureFile);
+			}
+			int type;
+			while ((type = input.read()) >= 0) {
+				records.add(readRecord((byte) type, input));
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_READ + captureFile, e);
+		}
+		return records;
+	}
+
+	/** @return record of given type read from given input */
+	private static Record readRecord(byte type, DataInputStream input) throws IOException {
+		String label = input.readUTF();
+		long nanos = input.readLong();
+		double[] results = new double[input.readInt()];
+		for (int index = 0; index < results.length; index++) {
+			results[index] = input.readDouble();
+		}
+		Record record;
+		switch (type) {
+			case TYPE_CLEARING:
+				record = new Clearing(label, input);
+				break;
+			case TYPE_COUPLING:
+				record = new Coupling(label, input);
+				break;
+			default:
+				throw new RuntimeException(ERR_RECORD_TYPE + type);
+		}
+		record.capturedNanos = nanos;
+		record.capturedResults = results;
+		return record;
+	}
+
+	/** Captured inputs and results of a single clearing or coupling */
+	abstract static class Record {
+		private final String label;
+		private long capturedNanos;
+		private double[] capturedResults;
+
+		Record(String label) {
+			this.label = label;
+		}
+
+		/** Stores given results and appends this record to the capture file
+		 *
+		 * @param nanos wall-clock duration of the captured clearing
+		 * @param results of the clearing in the layout of {@link #getCapturedResults()}, or null if the clearing failed */
+		void finish(long nanos, double[] results) {
+			capturedNanos = nanos;
+			capturedResults = results != null ? results : new double[0];
+			append(this);
+		}
+
+		/** @return label of the captured clearing, e.g. its clearing event id */
+		String getLabel() {
+			return label;
+		}
+
+		/** @return wall-clock duration of the captured clearing in nanoseconds */
+		long getCapturedNanos() {
+			return capturedNanos;
+		}
+
+		/** @return pairs of market price and traded energy, one pair per market; empty if the captured clearing failed */
+		double[] getCapturedResults() {
+			return capturedResults;
+		}
+
+		/** Creates fresh inputs from this record and returns a clearing of these inputs; only calling the returned clearing is
+		 * to be timed
+		 *
+		 * @return clearing that returns results in the layout of {@link #getCapturedResults()} */
+		abstract Supplier<double[]> prepareReplay();
+
+		/** writes type, label, results and inputs of this record */
+		private void writeTo(DataOutputStream output) throws IOException {
+			output.writeByte(getType());
+			output.writeUTF(label);
+			output.writeLong(capturedNanos);
+			output.writeInt(capturedResults.length);
+			for (double value : capturedResults) {
+				output.writeDouble(value);
+			}
+			writeInputs(output);
+		}
+
+		/** @return type identifier of this record */
+		abstract byte getType();
+
+		/** writes the inputs of this record */
+		abstract void writeInputs(DataOutputStream output) throws IOException;
+	}
+
+	/** Inputs of a single {@link MarketClearing} */
+	static final class Clearing extends Record {
+		private final DistributionMethod distributionMethod;
+		private final ShortagePriceMethod shortagePriceMethod;
+		private final List<OrderBookItem> supplyItems;
+		private final List<OrderBookItem> demandItems;
+
+		/** Copies the current items of the given books, which must not be modified before */
+		Clearing(String label, DistributionMethod distributionMethod, ShortagePriceMethod shortagePriceMethod,
+				SupplyOrderBook supplyBook, DemandOrderBook demandBook) {
+			super(label);
+			this.distributionMethod = distributionMethod;
+			this.shortagePriceMethod = shortagePriceMethod;
+			supplyItems = copyItems(supplyBook);
+			demandItems = copyItems(demandBook);
+		}
+
+		private Clearing(String label, DataInputStream input) throws IOException {
+			super(label);
+			distributionMethod = DistributionMethod.valueOf(input.readUTF());
+			shortagePriceMethod = ShortagePriceMethod.valueOf(input.readUTF());
+			supplyItems = readItems(input);
+			demandItems = readItems(input);
+		}
+
+		@Override
+		Supplier<double[]> prepareReplay() {
+			MarketClearing clearing = new MarketClearing(distributionMethod, shortagePriceMethod);
+			SupplyOrderBook supplyBook = fillBook(new SupplyOrderBook(), supplyItems);
+			DemandOrderBook demandBook = fillBook(new DemandOrderBook(), demandItems);
+			return () -> {
+				MarketClearingResult result = clearing.clear(supplyBook, demandBook, getLabel());
+				return new double[] {result.getMarketPriceInEURperMWH(), result.getTradedEnergyInMWH()};
+			};
+		}
+
+		@Override
+		byte getType() {
+			return TYPE_CLEARING;
+		}
+
+		@Override
+		void writeInputs(DataOutputStream output) throws IOException {
+			output.writeUTF(distributionMethod.name());
+			output.writeUTF(shortagePriceMethod.name());
+			writeItems(output, supplyItems);
+			writeItems(output, demandItems);
+		}
+	}
+
+	/** Inputs of a single market coupling by a {@link DemandBalancer} */
+	static final class Coupling extends Record {
+		private static final String LABEL = "MarketCoupling";
+		private final double minEffectiveDemandOffset;
+		private final long[] marketIds;
+		private final String[] origins;
+		private final List<List<OrderBookItem>> supplyItems = new ArrayList<>();
+		private final List<List<OrderBookItem>> demandItems = new ArrayList<>();
+		private final List<List<TransmissionCapacity>> capacities = new ArrayList<>();
+
+		/** Copies the books and transmission capacities of the given requests, which must not be modified before */
+		Coupling(double minEffectiveDemandOffset, Map<Long, CouplingData> couplingRequests) {
+			super(LABEL);
+			this.minEffectiveDemandOffset = minEffectiveDemandOffset;
+			marketIds = new long[couplingRequests.size()];
+			origins = new String[marketIds.length];
+			int index = 0;
+			for (Map.Entry<Long, CouplingData> entry : couplingRequests.entrySet()) {
+				CouplingData data = entry.getValue();
+				marketIds[index] = entry.getKey();
+				origins[index++] = data.getOrigin();
+				supplyItems.add(copyItems(data.getSupplyOrderBook()));
+				demandItems.add(copyItems(data.getDemandOrderBook()));
+				List<TransmissionCapacity> copies = new ArrayList<>();
+				for (TransmissionCapacity capacity : data.getTransmissionBook().getTransmissionCapacities()) {
+					copies.add(capacity.clone());
+				}
+				capacities.add(copies);
+			}
+		}
+
+		private Coupling(String label, DataInputStream input) throws IOException {
+			super(label);
+			minEffectiveDemandOffset = input.readDouble();
+			marketIds = new long[input.readInt()];
+			origins = new String[marketIds.length];
+			for (int index = 0; index < marketIds.length; index++) {
+				marketIds[index] = input.readLong();
+				origins[index] = input.readUTF();
+				supplyItems.add(readItems(input));
+				demandItems.add(readItems(input));
+				List<TransmissionCapacity> marketCapacities = new ArrayList<>();
+				int capacityCount = input.readInt();
+				for (int capacity = 0; capacity < capacityCount; capacity++) {
+					marketCapacities.add(new TransmissionCapacity(input.readUTF(), input.readDouble()));
+				}
+				capacities.add(marketCapacities);
+			}
+		}
+
+		/** @return ids of the coupled markets in the order of their results */
+		long[] getMarketIds() {
+			return marketIds;
+		}
+
+		@Override
+		Supplier<double[]> prepareReplay() {
+			DemandBalancer balancer = new DemandBalancer(minEffectiveDemandOffset);
+			Map<Long, CouplingData> couplingRequests = new HashMap<>();
+			for (int index = 0; index < marketIds.length; index++) {
+				TransmissionBook transmissionBook = new TransmissionBook(origins[index]);
+				for (TransmissionCapacity capacity : capacities.get(index)) {
+					transmissionBook.add(capacity.clone());
+				}
+				couplingRequests.put(marketIds[index],
+						new CouplingData(fillBook(new DemandOrderBook(), demandItems.get(index)),
+								fillBook(new SupplyOrderBook(), supplyItems.get(index)), transmissionBook));
+			}
+			return () -> {
+				balancer.balance(couplingRequests);
+				return balancer.getResults(marketIds);
+			};
+		}
+
+		@Override
+		byte getType() {
+			return TYPE_COUPLING;
+		}
+
+		@Override
+		void writeInputs(DataOutputStream output) throws IOException {
+			output.writeDouble(minEffectiveDemandOffset);
+			output.writeInt(marketIds.length);
+			for (int index = 0; index < marketIds.length; index++) {
+				output.writeLong(marketIds[index]);
+				output.writeUTF(origins[index]);
+				writeItems(output, supplyItems.get(index));
+				writeItems(output, demandItems.get(index));
+				output.writeInt(capacities.get(index).size());
+				for (TransmissionCapacity capacity : capacities.get(index)) {
+					output.writeUTF(capacity.getTarget());
+					output.writeDouble(capacity.getRemainingTransferCapacityInMW());
+				}
+			}
+		}
+	}
+
+	/** @return copies of the items of the given book in their current order, without sorting the book */
+	private static List<OrderBookItem> copyItems(OrderBook book) {
+		List<OrderBookItem> items = book.getItemsWithoutSorting();
+		List<OrderBookItem> copies = new ArrayList<>(items.size());
+		for (OrderBookItem item : items) {
+			copies.add(new OrderBookItem(item.getBid().clone(), item.getTraderUuid()));
+		}
+		return copies;
+	}
+
+	/** @return given book filled with copies of the given items in their order */
+	private static <T extends OrderBook> T fillBook(T book, List<OrderBookItem> items) {
+		for (OrderBookItem item : items) {
+			book.addBid(item.getBid().clone(), item.getTraderUuid());
+		}
+		return book;
+	}
+
+	/** writes count, trader ids and bids of given items */
+	private static void writeItems(DataOutputStream output, List<OrderBookItem> items) throws IOException {
+		output.writeInt(items.size());
+		for (OrderBookItem item : items) {
+			Bid bid = item.getBid();
+			output.writeLong(item.getTraderUuid());
+			output.writeDouble(bid.getEnergyAmountInMWH());
+			output.writeDouble(bid.getOfferPriceInEURperMWH());
+			output.writeDouble(bid.getMarginalCost());
+		}
+	}
+
+	/** @return items read from given input as written by {@link #writeItems(DataOutputStream, List)} */
+	private static List<OrderBookItem> readItems(DataInputStream input) throws IOException {
+		int count = input.readInt();
+		List<OrderBookItem> items = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			long traderUuid = input.readLong();
+			Bid bid = new Bid(input.readDouble(), input.readDouble(), input.readDouble());
+			items.add(new OrderBookItem(bid, traderUuid));
+		}
+		return items;
+	}
+}
@@ -0,0 +1,150 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import agents.markets.meritOrder.ClearingCapture.Record;
+
+/** Re-runs market clearings and couplings captured by {@link ClearingCapture} without running the simulation and reports
+ * their timings and deviations from the captured results
+ *
+ * @author agent */
+public final class ClearingReplay {
+	static final String ERR_USAGE = "Usage: ClearingReplay <capture file> [<repetitions>]";
+	static final String ERR_REPETITIONS = "Repetitions must be positive: ";
+	static final double NANOS_PER_MILLI = 1E6;
+
+	/** Timing and result deviations of a single replayed clearing or coupling */
+	public static final class Report {
+		private final int index;
+		private final String label;
+		private final long capturedNanos;
+		private final long replayNanos;
+		private final double maxPriceDeviation;
+		private final double maxEnergyDeviation;
+
+		private Report(int index, Record record, long replayNanos, double[] results) {
+			this.index = index;
+			this.label = record.getLabel();
+			this.capturedNanos = record.getCapturedNanos();
+			this.replayNanos = replayNanos;
+			double[] captured = record.getCapturedResults();
+			double priceDeviation = 0;
+			double energyDeviation = 0;
+			if (captured.length != results.length) {
+				priceDeviation = Double.NaN;
+				energyDeviation = Double.NaN;
+			} else {
+				for (int position = 0; position < results.length; position += 2) {
+					priceDeviation = Math.max(priceDeviation, deviation(captured[position], results[position]));
+					energyDeviation = Math.max(energyDeviation, deviation(captured[position + 1], results[position + 1]));
+				}
+			}
+			maxPriceDeviation = priceDeviation;
+			maxEnergyDeviation = energyDeviation;
+		}
+
+		/** @return absolute deviation of given values; zero if both are NaN, infinite if only one is NaN */
+		private static double deviation(double captured, double replayed) {
+			if (Double.isNaN(captured) || Double.isNaN(replayed)) {
+				return Double.isNaN(captured) && Double.isNaN(replayed) ? 0 : Double.POSITIVE_INFINITY;
+			}
+			return Math.abs(captured - replayed);
+		}
+
+		/** @return position of the record in the capture file, starting at 0 */
+		public int getIndex() {
+			return index;
+		}
+
+		/** @return label of the clearing, e.g. its clearing event id */
+		public String getLabel() {
+			return label;
+		}
+
+		/** @return wall-clock duration of the captured clearing in nanoseconds */
+		public long getCapturedNanos() {
+			return capturedNanos;
+		}
+
+		/** @return shortest wall-clock duration of the replayed clearing among all repetitions in nanoseconds */
+		public long getReplayNanos() {
+			return replayNanos;
+		}
+
+		/** @return largest absolute deviation of replayed from captured market prices; NaN if the captured clearing failed */
+		public double getMaxPriceDeviation() {
+			return maxPriceDeviation;
+		}
+
+		/** @return largest absolute deviation of replayed from captured traded energy; NaN if the captured clearing failed */
+		public double getMaxEnergyDeviation() {
+			return maxEnergyDeviation;
+		}
+
+		/** @return true if replayed results equal the captured ones */
+		public boolean matches() {
+			return maxPriceDeviation == 0 && maxEnergyDeviation == 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d\t%s\t%.3f ms\t%.3f ms\t%g\t%g", index, label, capturedNanos / NANOS_PER_MILLI,
+					replayNanos / NANOS_PER_MILLI, maxPriceDeviation, maxEnergyDeviation);
+		}
+	}
+
+	private ClearingReplay() {}
+
+	/** Replays all records of the given capture file; stops any active {@link ClearingCapture} first, so that neither the
+	 * capture file is overwritten nor replayed clearings are captured
+	 *
+	 * @param captureFile to read records from
+	 * @param repetitions number of times each record is replayed, each time with fresh inputs; the shortest duration is
+	 *          reported
+	 * @return one report per record in the order of the capture file
+	 * @throws RuntimeException if a replayed clearing fails or the file could not be read */
+	public static List<Report> replay(String captureFile, int repetitions) {
+		if (repetitions <= 0) {
+			throw new IllegalArgumentException(ERR_REPETITIONS + repetitions);
+		}
+		ClearingCapture.stop();
+		List<Record> records = ClearingCapture.read(captureFile);
+		List<Report> reports = new ArrayList<>(records.size());
+		for (int index = 0; index < records.size(); index++) {
+			Record record = records.get(index);
+			long shortestNanos = Long.MAX_VALUE;
+			double[] results = null;
+			for (int repetition = 0; repetition < repetitions; repetition++) {
+				Supplier<double[]> clearing = record.prepareReplay();
+				long start = System.nanoTime();
+				results = clearing.get();
+				shortestNanos = Math.min(shortestNanos, System.nanoTime() - start);
+			}
+			reports.add(new Report(index, record, shortestNanos, results));
+		}
+		return reports;
+	}
+
+	/** Replays a capture file and prints one line per record with its index, label, captured and replayed duration, as well as
+	 * the largest deviations of market prices and traded energy, followed by the number of diverging records
+	 *
+	 * @param args capture file and, optionally, the number of repetitions per record (default: 1) */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			throw new IllegalArgumentException(ERR_USAGE);
+		}
+		int repetitions = args.length == 2 ? Integer.parseInt(args[1]) : 1;
+		List<Report> reports = replay(args[0], repetitions);
+		System.out.println("Index\tLabel\tCaptured\tReplayed\tMaxPriceDeviation\tMaxEnergyDeviation");
+		int divergingCount = 0;
+		for (Report report : reports) {
+			System.out.println(report);
+			divergingCount += report.matches() ? 0 : 1;
+		}
+		System.out.println(divergingCount + " of " + reports.size() + " replayed clearings diverge from capture.");
+	}
+}
@@ -17,6 +17,7 @@ import agents.markets.meritOrder.books.OrderBookItem;
 import agents.markets.meritOrder.books.SupplyOrderBook;
 import agents.markets.meritOrder.books.TransferOrderBook;
 import communications.portable.CouplingData;
+import util.jfr.DemandBalancingEvent;
 
 /** Encapsulates the actual market coupling algorithm; Dispatch the demand among energy exchanges in order to maximise the total
  * welfare. To this end, the algorithm reduces price differences of connected markets by transferring demand bids.
@@ -77,6 +78,25 @@ public class DemandBalancer {
 	 * @param couplingRequests map of market id to CouplingData of all markets that have to be coupled - to be updated by this
 	 *          method */
 	public void balance(Map<Long, CouplingData> couplingRequests) {
+		if (!ClearingCapture.isEnabled()) {
+			balanceRequests(couplingRequests);
+			return;
+		}
+		ClearingCapture.Coupling capture = new ClearingCapture.Coupling(minEffectiveDemandOffset, couplingRequests);
+		long start = System.nanoTime();
+		try {
+			balanceRequests(couplingRequests);
+			capture.finish(System.nanoTime() - start, getResults(capture.getMarketIds()));
+		} catch (RuntimeException e) {
+			capture.finish(System.nanoTime() - start, null);
+			throw e;
+		}
+	}
+
+	/** Balances the demand among given markets; see {@link #balance(Map)} */
+	private void balanceRequests(Map<Long, CouplingData> couplingRequests) {
+		DemandBalancingEvent event = new DemandBalancingEvent();
+		event.begin();
 		clearingResults.clear();
 		this.couplingRequests = couplingRequests;
 		try {
@@ -85,18 +105,39 @@ public class DemandBalancer {
 			logger.trace("Start optimization (energy cost: " + calcEnergyCost() + ")");
 
 			DemandShiftResult demandShiftResult = null;
+			int iterationCount = 0;
 			while (true) {
 				demandShiftResult = getNextCouplingPair(couplingPartners);
 				if (demandShiftResult == null) {
 					break;
 				}
 				applyDemandShiftFromTo(demandShiftResult);
+				iterationCount++;
+			}
+			if (event.shouldCommit()) {
+				event.zoneCount = couplingRequests.size();
+				event.iterationCount = iterationCount;
+				event.commit();
 			}
 		} catch (MeritOrderClearingException e) {
 			throw new RuntimeException(CLEARING_ID + " " + e.getMessage());
 		}
 	}
 
+	/** Returns the results of the last call to {@link #balance(Map)}
+	 * 
+	 * @param marketIds of the markets to return results for
+	 * @return pairs of market price and traded energy, one pair per given market id */
+	double[] getResults(long[] marketIds) {
+		double[] results = new double[2 * marketIds.length];
+		for (int index = 0; index < marketIds.length; index++) {
+			ClearingDetails details = clearingResults.get(marketIds[index]);
+			results[2 * index] = details.marketPriceInEURperMWH;
+			results[2 * index + 1] = details.tradedEnergyInMWH;
+		}
+		return results;
+	}
+
 	/** @return for each candidate EnergyExchange a list of partner EnergyExchange(s) it can get electricity from */
 	private Map<Long, List<Long>> calculateCouplingPartners() {
 		Map<Long, List<Long>> couplingPartners = new HashMap<>();
@@ -17,6 +17,7 @@ import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.agent.input.Tree;
 import de.dlr.gitlab.fame.communication.message.Message;
+import util.jfr.MarketClearingEvent;
 
 /** Performs market clearing of day-ahead market based on provided Bid-messages
  *
@@ -59,6 +60,15 @@ public class MarketClearing {
 				ShortagePriceMethod.ValueOfLostLoad);
 	}
 
+	/** Creates a {@link MarketClearing} with given settings, e.g. to replay a captured clearing
+	 * 
+	 * @param distributionMethod how to distribute energy amounts between multiple price-setting bids
+	 * @param shortagePriceMethod which price to use in case of shortage */
+	MarketClearing(DistributionMethod distributionMethod, ShortagePriceMethod shortagePriceMethod) {
+		this.distributionMethod = distributionMethod;
+		this.shortagePriceMethod = shortagePriceMethod;
+	}
+
 	/** Clears the market based on all the bids provided in form of messages
 	 * 
 	 * @param input unsorted messages containing demand and supply bids
@@ -66,20 +76,22 @@ public class MarketClearing {
 	 * @return {@link MarketClearingResult result} of market clearing
 	 * @throws RuntimeException if the market clearing failed */
 	public MarketClearingResult clear(ArrayList<Message> input, String clearingEventId) {
+		return clear(input, clearingEventId, false);
+	}
+
+	/** Clears the market based on all the bids provided in form of messages
+	 * 
+	 * @param input unsorted messages containing demand and supply bids
+	 * @param clearingEventId string identifying the clearing event
+	 * @param priceOnly if true, bids are awarded only once the books or system cost of the returned result are requested; use
+	 *          this for clearings whose awards are typically not needed, e.g. forecasts
+	 * @return {@link MarketClearingResult result} of market clearing
+	 * @throws RuntimeException if the market clearing failed */
+	public MarketClearingResult clear(ArrayList<Message> input, String clearingEventId, boolean priceOnly) {
 		DemandOrderBook demandBook = new DemandOrderBook();
 		SupplyOrderBook supplyBook = new SupplyOrderBook();
 		fillOrderBooksWithTraderBids(input, supplyBook, demandBook);
-		try {
-			ClearingDetails clearingResult = internalClearing(supplyBook, demandBook);
-			MarketClearingResult marketClearingResult = new MarketClearingResult(clearingResult, demandBook, supplyBook);
-			marketClearingResult.setBooks(supplyBook, demandBook, distributionMethod);
-			if (hasScarcity(supplyBook, demandBook)) {
-				updateResultForScarcity(marketClearingResult, supplyBook);
-			}
-			return marketClearingResult;
-		} catch (MeritOrderClearingException e) {
-			throw new RuntimeException(clearingEventId + ": " + e.getMessage());
-		}
+		return clear(supplyBook, demandBook, clearingEventId, priceOnly);
 	}
 
 	/** Fills received Bids into provided demand or supply OrderBook
@@ -96,8 +108,8 @@ public class MarketClearing {
 			if (bids == null) {
 				logger.warn(WARN_BIDS_MISSING + message.getSenderId());
 			} else {
-				supplyBook.addBids(bids.getSupplyBids(), bids.getTraderUuid());
-				demandBook.addBids(bids.getDemandBids(), bids.getTraderUuid());
+				supplyBook.addBids(bids.getSupplyBids(), bids.getTraderUuid(), bids.areBidsSorted());
+				demandBook.addBids(bids.getDemandBids(), bids.getTraderUuid(), bids.areBidsSorted());
 			}
 		}
 	}
@@ -128,13 +140,64 @@ public class MarketClearing {
 	 * @return {@link MarketClearingResult result} of market clearing
 	 * @throws RuntimeException if the market clearing failed */
 	public MarketClearingResult clear(SupplyOrderBook supplyBook, DemandOrderBook demandBook, String clearingEventId) {
+		return clear(supplyBook, demandBook, clearingEventId, false);
+	}
+
+	/** Clears the market based on a SupplyOrderBook and a DemandOrderBook
+	 * 
+	 * @param supplyBook book of all supply bids
+	 * @param demandBook book of all demand bids
+	 * @param clearingEventId string identifying the clearing event
+	 * @param priceOnly if true, bids are awarded only once the books or system cost of the returned result are requested; price
+	 *          and traded energy are the same as without this option
+	 * @return {@link MarketClearingResult result} of market clearing
+	 * @throws RuntimeException if the market clearing failed */
+	public MarketClearingResult clear(SupplyOrderBook supplyBook, DemandOrderBook demandBook, String clearingEventId,
+			boolean priceOnly) {
+		if (!ClearingCapture.isEnabled()) {
+			return clearBooks(supplyBook, demandBook, clearingEventId, priceOnly);
+		}
+		ClearingCapture.Clearing capture = new ClearingCapture.Clearing(clearingEventId, distributionMethod,
+				shortagePriceMethod, supplyBook, demandBook);
+		long start = System.nanoTime();
+		try {
+			MarketClearingResult result = clearBooks(supplyBook, demandBook, clearingEventId, priceOnly);
+			capture.finish(System.nanoTime() - start,
+					new double[] {result.getMarketPriceInEURperMWH(), result.getTradedEnergyInMWH()});
+			return result;
+		} catch (RuntimeException e) {
+			capture.finish(System.nanoTime() - start, null);
+			throw e;
+		}
+	}
+
+	/** Clears the market based on a SupplyOrderBook and a DemandOrderBook */
+	private MarketClearingResult clearBooks(SupplyOrderBook supplyBook, DemandOrderBook demandBook,
+			String clearingEventId, boolean priceOnly) {
+		MarketClearingEvent event = new MarketClearingEvent();
+		event.begin();
 		try {
 			ClearingDetails clearingResult = internalClearing(supplyBook, demandBook);
 			MarketClearingResult marketClearingResult = new MarketClearingResult(clearingResult, demandBook, supplyBook);
-			marketClearingResult.setBooks(supplyBook, demandBook, distributionMethod);
-			if (hasScarcity(supplyBook, demandBook)) {
+			boolean hasScarcity;
+			if (priceOnly) {
+				marketClearingResult.setBooksDeferred(supplyBook, demandBook, distributionMethod);
+				hasScarcity = demandBook.getAmountOfPowerShortage(supplyBook.getHighestItem(),
+						clearingResult.tradedEnergyInMWH) > 0;
+			} else {
+				marketClearingResult.setBooks(supplyBook, demandBook, distributionMethod);
+				hasScarcity = hasScarcity(supplyBook, demandBook);
+			}
+			if (hasScarcity) {
 				updateResultForScarcity(marketClearingResult, supplyBook);
 			}
+			if (event.shouldCommit()) {
+				event.clearingEventId = clearingEventId;
+				event.supplyBidCount = supplyBook.getOrderBookItems().size();
+				event.demandBidCount = demandBook.getOrderBookItems().size();
+				event.priceInEURperMWH = marketClearingResult.getMarketPriceInEURperMWH();
+				event.commit();
+			}
 			return marketClearingResult;
 		} catch (MeritOrderClearingException e) {
 			throw new RuntimeException(clearingEventId + ": " + e.getMessage());
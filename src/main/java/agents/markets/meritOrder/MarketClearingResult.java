@@ -17,6 +17,10 @@ public class MarketClearingResult {
 	private double marketPriceInEURperMWH;
 	private DemandOrderBook demandBook;
 	private SupplyOrderBook supplyBook;
+	private ClearingDetails clearingDetails;
+	/** Method to award the books with once they are requested; null if books are already awarded */
+	private DistributionMethod deferredDistributionMethod;
+	private double deferredAwardPriceInEURperMWH;
 
 	/** Instantiate with price and awarded energy; books are set separately
 	 * 
@@ -37,6 +41,7 @@ public class MarketClearingResult {
 	public MarketClearingResult(ClearingDetails clearingResult, DemandOrderBook demandBook, SupplyOrderBook supplyBook) {
 		tradedEnergyInMWH = clearingResult.tradedEnergyInMWH;
 		marketPriceInEURperMWH = clearingResult.marketPriceInEURperMWH;
+		clearingDetails = clearingResult;
 		this.demandBook = demandBook;
 		this.supplyBook = supplyBook;
 	}
@@ -52,22 +57,56 @@ public class MarketClearingResult {
 		updateBooks(distributionMethod);
 	}
 
+	/** Set books without awarding their bids; bids are awarded only once the books or the system cost are requested, using the
+	 * current clearing price and traded energy
+	 * 
+	 * @param supplyBook Supply book used to clear the market
+	 * @param demandBook Demand book used to clear the market
+	 * @param distributionMethod defines method of how to award energy when multiple price-setting bids occur */
+	void setBooksDeferred(SupplyOrderBook supplyBook, DemandOrderBook demandBook, DistributionMethod distributionMethod) {
+		this.demandBook = demandBook;
+		this.supplyBook = supplyBook;
+		deferredDistributionMethod = distributionMethod;
+		deferredAwardPriceInEURperMWH = marketPriceInEURperMWH;
+	}
+
 	/** update books, i.e. award contained bids according to their individual results using the provided distribution method */
 	private void updateBooks(DistributionMethod distributionMethod) {
-		supplyBook.updateAwardedPowerInBids(tradedEnergyInMWH, marketPriceInEURperMWH, distributionMethod);
-		demandBook.updateAwardedPowerInBids(tradedEnergyInMWH, marketPriceInEURperMWH, distributionMethod);
+		updateBooks(distributionMethod, marketPriceInEURperMWH);
+	}
+
+	/** update books, i.e. award contained bids at given price using the provided distribution method */
+	private void updateBooks(DistributionMethod distributionMethod, double awardPriceInEURperMWH) {
+		supplyBook.updateAwardedPowerInBids(tradedEnergyInMWH, awardPriceInEURperMWH, distributionMethod);
+		demandBook.updateAwardedPowerInBids(tradedEnergyInMWH, awardPriceInEURperMWH, distributionMethod);
+	}
+
+	/** Awards the bids of books set by {@link #setBooksDeferred(SupplyOrderBook, DemandOrderBook, DistributionMethod)}, if not
+	 * yet done */
+	private void ensureBooksAwarded() {
+		if (deferredDistributionMethod != null) {
+			updateBooks(deferredDistributionMethod, deferredAwardPriceInEURperMWH);
+			deferredDistributionMethod = null;
+		}
 	}
 
 	/** @return updated demand order book used to clear the market */
 	public DemandOrderBook getDemandBook() {
+		ensureBooksAwarded();
 		return demandBook;
 	}
 
 	/** @return updated supply order book used to clear the market */
 	public SupplyOrderBook getSupplyBook() {
+		ensureBooksAwarded();
 		return supplyBook;
 	}
 
+	/** @return details of the market clearing incl. price-setting bids, or null if not available */
+	public ClearingDetails getClearingDetails() {
+		return clearingDetails;
+	}
+
 	/** @return total awarded energy */
 	public double getTradedEnergyInMWH() {
 		return tradedEnergyInMWH;
@@ -80,6 +119,7 @@ public class MarketClearingResult {
 
 	/** @return total system cost from generation based on awarded bids and their associated marginal cost */
 	public double getSystemCostTotalInEUR() {
+		ensureBooksAwarded();
 		double totalSystemCost = 0;
 		for (OrderBookItem item : supplyBook.getOrderBookItems()) {
 			double awardedPower = item.getAwardedPower();
@@ -3,7 +3,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package agents.markets.meritOrder.books;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import agents.markets.meritOrder.Bid;
 import agents.markets.meritOrder.Constants;
@@ -48,6 +47,26 @@ public class DemandOrderBook extends OrderBook implements Cloneable {
 				.mapToDouble(i -> i.getNotAwardedPower()).sum();
 	}
 
+	/** Returns amount of power that the supply is short without requiring awarded bids; equals
+	 * {@link #getAmountOfPowerShortage(OrderBookItem)} once the book is updated with the given traded energy
+	 * 
+	 * @param highestSupplyItem OrderBookItem with highest price and non-zero power from SupplyOrderBook
+	 * @param tradedEnergyInMWH total traded energy of the market clearing
+	 * @return amount of power that the supply is short, i.e. the demand power with a higher price than the last supply offer in
+	 *         excess of the traded energy */
+	public double getAmountOfPowerShortage(OrderBookItem highestSupplyItem, double tradedEnergyInMWH) {
+		ensureSortedOrThrow("Bids have not yet been sorted - most expensive bid is not yet known!");
+		double supplyPrice = highestSupplyItem.getOfferPrice();
+		double demandAboveSupplyPrice = 0;
+		for (OrderBookItem item : orderBookItems) {
+			if (item.getOfferPrice() <= supplyPrice) {
+				break;
+			}
+			demandAboveSupplyPrice = item.getCumulatedPowerUpperValue();
+		}
+		return Math.max(0, demandAboveSupplyPrice - tradedEnergyInMWH);
+	}
+
 	@Override
 	/** @return a deep copy of DemandOrderBook caller */
 	public DemandOrderBook clone() {
@@ -55,11 +74,7 @@ public class DemandOrderBook extends OrderBook implements Cloneable {
 		demandOrderBook.awardedCumulativePower = this.awardedCumulativePower;
 		demandOrderBook.awardedPrice = this.awardedPrice;
 		demandOrderBook.isSorted = false;
-		demandOrderBook.orderBookItems = new ArrayList<OrderBookItem>();
-		for (OrderBookItem orderBookItem : this.orderBookItems) {
-			OrderBookItem newItem = new OrderBookItem(orderBookItem.getBid().clone(), orderBookItem.getTraderUuid());
-			demandOrderBook.orderBookItems.add(newItem);
-		}
+		copyItemsTo(demandOrderBook);
 		return demandOrderBook;
 	}
 }
@@ -7,9 +7,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
+import java.util.Random;
+import java.util.stream.IntStream;
 import agents.markets.DayAheadMarket;
 import agents.markets.meritOrder.Bid;
 import de.dlr.gitlab.fame.communication.transfer.ComponentCollector;
@@ -21,6 +20,8 @@ import de.dlr.gitlab.fame.communication.transfer.Portable;
  * @author Martin Klein, Christoph Schimeczek, A. Achraf El Ghazi */
 public abstract class OrderBook implements Portable {
 	static final String ERR_BID_NEGATIVE_POWER = "Negative bid power is forbidded. Bid: ";
+	/** source of randomness for {@link DistributionMethod#RANDOMIZE} */
+	private static final Random random = new Random();
 
 	/** required for {@link Portable}s */
 	public OrderBook() {}
@@ -43,6 +44,28 @@ public abstract class OrderBook implements Portable {
 	protected ArrayList<OrderBookItem> orderBookItems = new ArrayList<OrderBookItem>();
 	/** tells if this {@link OrderBook} has been yet finalised and sorted */
 	protected boolean isSorted = false;
+	/** number of double-valued fields per item in the serialised form: energy, offer price, marginal cost, cumulated power and
+	 * awarded power */
+	private static final int ITEM_DOUBLE_FIELDS = 5;
+	/** consecutive ranges of {@link #orderBookItems} in the order they were added - only valid while the book is not sorted */
+	private ArrayList<Run> runs = new ArrayList<>();
+	/** tells if any item matches the virtual last bid */
+	private boolean containsVirtualLastBid = false;
+	/** re-used buffer of item indices for {@link DistributionMethod#RANDOMIZE} */
+	private int[] priceSettingIndices = new int[0];
+
+	/** Range of consecutive items that were added together and may already be in sort order */
+	private static final class Run {
+		final int start;
+		int end;
+		final boolean isSorted;
+
+		Run(int start, int end, boolean isSorted) {
+			this.start = start;
+			this.end = end;
+			this.isSorted = isSorted;
+		}
+	}
 
 	/** Adds given {@link Bid} to this {@link OrderBook}; the OrderBook must not be sorted yet
 	 * 
@@ -50,7 +73,23 @@ public abstract class OrderBook implements Portable {
 	 * @param traderUuid id of the trader associated with the bids */
 	public void addBid(Bid bid, long traderUuid) {
 		ensureNotYetSortedOrThrow("OrderBook is already sorted - cannot add further items.");
-		orderBookItems.add(new OrderBookItem(bid, traderUuid));
+		OrderBookItem item = new OrderBookItem(bid, traderUuid);
+		Run lastRun = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+		if (lastRun != null && lastRun.isSorted && lastRun.end == orderBookItems.size()
+				&& getSortComparator().compare(orderBookItems.get(lastRun.end - 1), item) <= 0) {
+			lastRun.end++;
+		} else {
+			runs.add(new Run(orderBookItems.size(), orderBookItems.size() + 1, true));
+		}
+		appendItem(item);
+	}
+
+	/** Appends given item to {@link #orderBookItems} and registers whether it matches the virtual last bid */
+	private void appendItem(OrderBookItem item) {
+		orderBookItems.add(item);
+		if (!containsVirtualLastBid && item.getBid().matches(createVirtualLastBid())) {
+			containsVirtualLastBid = true;
+		}
 	}
 
 	/** Ensures the {@link OrderBook} items are not yet {@link #isSorted sorted}
@@ -78,16 +117,44 @@ public abstract class OrderBook implements Portable {
 	 * @param bids to add to this unsorted OrderBook
 	 * @param traderUuid id of the trader associated with the bids */
 	public void addBids(List<Bid> bids, long traderUuid) {
+		addBids(bids, traderUuid, false);
+	}
+
+	/** Adds multiple {@link Bid}s to this {@link OrderBook}; the OrderBook must not be sorted yet
+	 * 
+	 * @param bids to add to this unsorted OrderBook
+	 * @param traderUuid id of the trader associated with the bids
+	 * @param bidsAreSorted if true, the given bids must already be in the sort order of this {@link OrderBook}, i.e. ascending
+	 *          offer prices for supply and descending offer prices for demand */
+	public void addBids(List<Bid> bids, long traderUuid, boolean bidsAreSorted) {
 		ensureNotYetSortedOrThrow("OrderBook is already sorted - cannot add further items.");
+		if (bids == null || bids.isEmpty()) {
+			return;
+		}
+		int start = orderBookItems.size();
 		for (Bid bid : bids) {
-			orderBookItems.add(new OrderBookItem(bid, traderUuid));
+			appendItem(new OrderBookItem(bid, traderUuid));
 		}
+		runs.add(new Run(start, orderBookItems.size(), bidsAreSorted || bids.size() == 1));
+	}
+
+	/** Copies all items of this {@link OrderBook} to the given empty target book as items with cloned bids, keeping their order
+	 * 
+	 * @param target to copy the items to */
+	protected void copyItemsTo(OrderBook target) {
+		for (OrderBookItem item : orderBookItems) {
+			target.orderBookItems.add(new OrderBookItem(item.getBid().clone(), item.getTraderUuid()));
+		}
+		target.runs.add(new Run(0, orderBookItems.size(), isSorted));
+		target.containsVirtualLastBid = containsVirtualLastBid;
 	}
 
 	/** Removes all stored {@link OrderBookItem OrderBookItems} -- sets status to "unsorted" -- sets {@link OrderBook#awardedPrice}
 	 * and {@link OrderBook#awardedCumulativePower} to {@link Double#NaN} */
 	public void clear() {
 		orderBookItems.clear();
+		runs.clear();
+		containsVirtualLastBid = false;
 		isSorted = false;
 		awardedPrice = Double.NaN;
 		awardedCumulativePower = Double.NaN;
@@ -99,13 +166,20 @@ public abstract class OrderBook implements Portable {
 		return orderBookItems;
 	}
 
+	/** @return read-only view of the items in their current order without sorting this {@link OrderBook}, i.e. in the order they
+	 *         were added unless the book is already sorted */
+	public List<OrderBookItem> getItemsWithoutSorting() {
+		return Collections.unmodifiableList(orderBookItems);
+	}
+
 	/** If {@link OrderBook} is not yet sorted, sorts its items and adds virtual bid at its end; this closes the {@link OrderBook} -
-	 * no further calls to {@link #addBid(Bid, long)} or {@link #addBids(List, long)} are allowed afterwards */
+	 * no further calls to {@link #addBid(Bid, long)} or {@link #addBids(List, long)} are allowed afterwards. Items are sorted by
+	 * merging the ranges of items added together; items with equal price remain in the order they were added. */
 	public void sort() {
 		if (!isSorted) {
 			ensurePositiveBidPower();
 			addVirtualLastBid();
-			orderBookItems.sort(getSortComparator());
+			mergeRuns();
 			cumulatePowerOfItems();
 			isSorted = true;
 		}
@@ -124,13 +198,113 @@ public abstract class OrderBook implements Portable {
 
 	/** Adds bid with 0 power and very high or low price to orderBookItems, ensuring the crossing of supply and demand curves */
 	private void addVirtualLastBid() {
-		Bid lastBid = new Bid(0, getLastBidValue(), 0);
-		for (OrderBookItem orderBookItem : orderBookItems) {
-			if (orderBookItem.getBid().matches(lastBid)) {
-				return;
+		if (!containsVirtualLastBid) {
+			addBid(createVirtualLastBid(), Long.MIN_VALUE);
+		}
+	}
+
+	/** @return new virtual last bid with 0 power and very high or low price */
+	private Bid createVirtualLastBid() {
+		return new Bid(0, getLastBidValue(), 0);
+	}
+
+	/** Sorts each unsorted {@link Run} and merges all runs using a heap of run heads; ties are resolved in favour of the earlier run
+	 * to keep items with equal price in the order they were added */
+	private void mergeRuns() {
+		Comparator<OrderBookItem> comparator = getSortComparator();
+		for (Run run : runs) {
+			if (!run.isSorted) {
+				orderBookItems.subList(run.start, run.end).sort(comparator);
+			}
+		}
+		if (runs.size() > 1) {
+			orderBookItems = new RunMerger(runs, orderBookItems, comparator).merge();
+		}
+		runs.clear();
+	}
+
+	/** Merges sorted runs of items with a binary min-heap of run indices */
+	private static final class RunMerger {
+		private final ArrayList<Run> runs;
+		private final ArrayList<OrderBookItem> items;
+		private final Comparator<OrderBookItem> comparator;
+		private final int[] heap;
+		private final int[] nextPositions;
+		private int heapSize = 0;
+
+		RunMerger(ArrayList<Run> runs, ArrayList<OrderBookItem> items, Comparator<OrderBookItem> comparator) {
+			this.runs = runs;
+			this.items = items;
+			this.comparator = comparator;
+			heap = new int[runs.size()];
+			nextPositions = new int[runs.size()];
+		}
+
+		/** @return new list of all items in merged order */
+		ArrayList<OrderBookItem> merge() {
+			for (int runIndex = 0; runIndex < runs.size(); runIndex++) {
+				Run run = runs.get(runIndex);
+				nextPositions[runIndex] = run.start;
+				if (run.start < run.end) {
+					heap[heapSize] = runIndex;
+					siftUp(heapSize++);
+				}
+			}
+			ArrayList<OrderBookItem> mergedItems = new ArrayList<>(items.size());
+			while (heapSize > 0) {
+				int runIndex = heap[0];
+				mergedItems.add(items.get(nextPositions[runIndex]++));
+				if (nextPositions[runIndex] == runs.get(runIndex).end) {
+					heap[0] = heap[--heapSize];
+				}
+				siftDown(0);
+			}
+			return mergedItems;
+		}
+
+		/** @return true if head of run at given first heap position must precede that at given second heap position */
+		private boolean precedes(int firstPosition, int secondPosition) {
+			int firstRun = heap[firstPosition];
+			int secondRun = heap[secondPosition];
+			int comparison = comparator.compare(items.get(nextPositions[firstRun]), items.get(nextPositions[secondRun]));
+			return comparison < 0 || (comparison == 0 && firstRun < secondRun);
+		}
+
+		private void siftUp(int position) {
+			while (position > 0) {
+				int parent = (position - 1) / 2;
+				if (!precedes(position, parent)) {
+					return;
+				}
+				swap(position, parent);
+				position = parent;
+			}
+		}
+
+		private void siftDown(int position) {
+			while (true) {
+				int smallest = position;
+				int left = 2 * position + 1;
+				int right = left + 1;
+				if (left < heapSize && precedes(left, smallest)) {
+					smallest = left;
+				}
+				if (right < heapSize && precedes(right, smallest)) {
+					smallest = right;
+				}
+				if (smallest == position) {
+					return;
+				}
+				swap(position, smallest);
+				position = smallest;
 			}
 		}
-		addBid(lastBid, Long.MIN_VALUE);
+
+		private void swap(int first, int second) {
+			int temp = heap[first];
+			heap[first] = heap[second];
+			heap[second] = temp;
+		}
 	}
 
 	/** @return the value of the last virtual {@link Bid} depending on the type of order book */
@@ -158,45 +332,58 @@ public abstract class OrderBook implements Portable {
 		this.awardedPrice = awardedPrice;
 		this.awardedCumulativePower = totalAwardedPower;
 
-		awardNonPriceSettingBids();
-		List<OrderBookItem> priceSettingBids = orderBookItems.stream().filter(item -> item.getOfferPrice() == awardedPrice)
-				.collect(Collectors.toList());
-		priceSettingBids.stream().filter(item -> item.getBlockPower() <= 0).forEach(item -> item.setAwardedPower(0));
-		priceSettingBids.removeIf(item -> item.getBlockPower() <= 0);
-
-		if (!priceSettingBids.isEmpty()) {
-			awardPriceSettingBids(priceSettingBids, method);
+		int firstPriceSettingIndex = orderBookItems.size();
+		int lastPriceSettingIndex = -1;
+		boolean hasPriceSettingPower = false;
+		for (int index = 0; index < orderBookItems.size(); index++) {
+			OrderBookItem item = orderBookItems.get(index);
+			if (item.getOfferPrice() == awardedPrice) {
+				firstPriceSettingIndex = Math.min(firstPriceSettingIndex, index);
+				lastPriceSettingIndex = index;
+				if (item.getBlockPower() <= 0) {
+					item.setAwardedPower(0);
+				} else {
+					hasPriceSettingPower = true;
+				}
+			} else {
+				awardNonPriceSettingBid(item);
+			}
 		}
+		if (hasPriceSettingPower) {
+			awardPriceSettingBids(firstPriceSettingIndex, lastPriceSettingIndex, method);
+		}
+	}
+
+	/** Awards power for a bid that is not price setting and therefore is either fully awarded or not at all */
+	private void awardNonPriceSettingBid(OrderBookItem item) {
+		boolean isAwarded = item.getCumulatedPowerUpperValue() <= awardedCumulativePower;
+		item.setAwardedPower(isAwarded ? item.getBlockPower() : 0);
 	}
 
-	/** Awards powers for bids that are not price setting and therefore are either fully awarded or not at all */
-	private void awardNonPriceSettingBids() {
-		Map<Boolean, List<OrderBookItem>> bidsByAwardStatus = orderBookItems.stream()
-				.filter(item -> item.getOfferPrice() != awardedPrice).collect(Collectors
-						.partitioningBy(item -> item.getCumulatedPowerUpperValue() <= awardedCumulativePower));
-		bidsByAwardStatus.get(true).stream().forEach(item -> item.setAwardedPower(item.getBlockPower()));
-		bidsByAwardStatus.get(false).stream().forEach(item -> item.setAwardedPower(0));
+	/** @return true if given item is price setting and offers positive power */
+	private boolean isPriceSettingWithPower(OrderBookItem item) {
+		return item.getOfferPrice() == awardedPrice && item.getBlockPower() > 0;
 	}
 
 	/** Distribute remaining power to award among all price-setting bids according to the given method
 	 * 
-	 * @param priceSettingBids list of all Items that are price setting
+	 * @param firstIndex index of first price-setting item
+	 * @param lastIndex index of last price-setting item
 	 * @param method determines, how power is distributed among multiple price-setting bids */
-	private void awardPriceSettingBids(List<OrderBookItem> priceSettingBids, DistributionMethod method) {
-		double availablePower = calcRemaingPowerToDistribute(priceSettingBids);
+	private void awardPriceSettingBids(int firstIndex, int lastIndex, DistributionMethod method) {
+		double availablePower = calcRemaingPowerToDistribute(firstIndex, lastIndex);
 		switch (method) {
 			case FIRST_COME_FIRST_SERVE:
-				awardFirstComeFirstServe(availablePower, priceSettingBids);
+				awardFirstComeFirstServe(availablePower, firstIndex, lastIndex);
 				break;
 			case SAME_SHARES:
-				double offeredPowerFromPriceSettingBids = priceSettingBids.stream().mapToDouble(i -> i.getBlockPower())
-						.sum();
+				double offeredPowerFromPriceSettingBids = sumPriceSettingPower(firstIndex, lastIndex);
 				double awardShare = availablePower / offeredPowerFromPriceSettingBids;
-				awardSameShares(awardShare, priceSettingBids);
+				awardSameShares(awardShare, firstIndex, lastIndex);
 				break;
 			case RANDOMIZE:
-				Collections.shuffle(priceSettingBids);
-				awardFirstComeFirstServe(availablePower, priceSettingBids);
+				int count = shufflePriceSettingIndices(firstIndex, lastIndex);
+				awardRandomOrder(availablePower, count);
 				break;
 			default:
 				throw new RuntimeException("Power awarding method " + method + " not implemented!");
@@ -204,25 +391,80 @@ public abstract class OrderBook implements Portable {
 	}
 
 	/** Subtracts already distributed power of non-price-setting bids from total power to award */
-	private double calcRemaingPowerToDistribute(List<OrderBookItem> priceSettingBids) {
-		double priceSettingBidsPowerLowerValue = priceSettingBids.stream()
-				.mapToDouble(OrderBookItem::getCumulatedPowerLowerValue).min().orElseThrow(NoSuchElementException::new);
+	private double calcRemaingPowerToDistribute(int firstIndex, int lastIndex) {
+		double priceSettingBidsPowerLowerValue = Double.POSITIVE_INFINITY;
+		for (int index = firstIndex; index <= lastIndex; index++) {
+			OrderBookItem item = orderBookItems.get(index);
+			if (isPriceSettingWithPower(item)) {
+				priceSettingBidsPowerLowerValue = Math.min(priceSettingBidsPowerLowerValue, item.getCumulatedPowerLowerValue());
+			}
+		}
 		return awardedCumulativePower - priceSettingBidsPowerLowerValue;
 	}
 
 	/** see {@link DistributionMethod#FIRST_COME_FIRST_SERVE} */
-	private void awardFirstComeFirstServe(double availablePower, List<OrderBookItem> priceSettingBids) {
-		for (OrderBookItem item : priceSettingBids) {
-			double awardedPower = Math.min(item.getBlockPower(), availablePower);
-			item.setAwardedPower(awardedPower);
-			availablePower -= awardedPower;
+	private void awardFirstComeFirstServe(double availablePower, int firstIndex, int lastIndex) {
+		for (int index = firstIndex; index <= lastIndex; index++) {
+			OrderBookItem item = orderBookItems.get(index);
+			if (isPriceSettingWithPower(item)) {
+				availablePower -= awardUpTo(item, availablePower);
+			}
 		}
 	}
 
+	/** Awards the given item with its block power, but at most with the given available power
+	 * 
+	 * @return awarded power */
+	private double awardUpTo(OrderBookItem item, double availablePower) {
+		double awardedPower = Math.min(item.getBlockPower(), availablePower);
+		item.setAwardedPower(awardedPower);
+		return awardedPower;
+	}
+
+	/** @return sum of block power of all price-setting items in the given index range */
+	private double sumPriceSettingPower(int firstIndex, int lastIndex) {
+		return IntStream.rangeClosed(firstIndex, lastIndex).mapToObj(orderBookItems::get)
+				.filter(this::isPriceSettingWithPower).mapToDouble(OrderBookItem::getBlockPower).sum();
+	}
+
 	/** see {@link DistributionMethod#SAME_SHARES} */
-	private void awardSameShares(double awardShare, List<OrderBookItem> priceSettingBids) {
-		for (OrderBookItem entry : priceSettingBids) {
-			entry.setAwardedPower(entry.getBlockPower() * awardShare);
+	private void awardSameShares(double awardShare, int firstIndex, int lastIndex) {
+		for (int index = firstIndex; index <= lastIndex; index++) {
+			OrderBookItem item = orderBookItems.get(index);
+			if (isPriceSettingWithPower(item)) {
+				item.setAwardedPower(item.getBlockPower() * awardShare);
+			}
+		}
+	}
+
+	/** Collects indices of price-setting items in {@link #priceSettingIndices} and shuffles them using the same Fisher-Yates sweep
+	 * as {@link java.util.Collections#shuffle(List)}
+	 * 
+	 * @return number of price-setting items */
+	private int shufflePriceSettingIndices(int firstIndex, int lastIndex) {
+		int requiredLength = lastIndex - firstIndex + 1;
+		if (priceSettingIndices.length < requiredLength) {
+			priceSettingIndices = new int[requiredLength];
+		}
+		int count = 0;
+		for (int index = firstIndex; index <= lastIndex; index++) {
+			if (isPriceSettingWithPower(orderBookItems.get(index))) {
+				priceSettingIndices[count++] = index;
+			}
+		}
+		for (int position = count; position > 1; position--) {
+			int otherPosition = random.nextInt(position);
+			int swap = priceSettingIndices[position - 1];
+			priceSettingIndices[position - 1] = priceSettingIndices[otherPosition];
+			priceSettingIndices[otherPosition] = swap;
+		}
+		return count;
+	}
+
+	/** see {@link DistributionMethod#RANDOMIZE} */
+	private void awardRandomOrder(double availablePower, int count) {
+		for (int position = 0; position < count; position++) {
+			availablePower -= awardUpTo(orderBookItems.get(priceSettingIndices[position]), availablePower);
 		}
 	}
 
@@ -250,23 +492,54 @@ public abstract class OrderBook implements Portable {
 		return builder.toString();
 	}
 
-	/** required for {@link Portable}s */
+	/** required for {@link Portable}s - items are stored column-wise with one primitive array per field */
 	@Override
 	public void addComponentsTo(ComponentCollector collector) {
-		collector.storeDoubles(awardedPrice, awardedCumulativePower);
-		for (OrderBookItem item : orderBookItems) {
-			collector.storeComponents(item);
+		int itemCount = orderBookItems.size();
+		double[] values = new double[2 + ITEM_DOUBLE_FIELDS * itemCount];
+		long[] traderUuids = new long[itemCount];
+		values[0] = awardedPrice;
+		values[1] = awardedCumulativePower;
+		for (int index = 0; index < itemCount; index++) {
+			OrderBookItem item = orderBookItems.get(index);
+			Bid bid = item.getBid();
+			values[2 + index] = bid.getEnergyAmountInMWH();
+			values[2 + itemCount + index] = bid.getOfferPriceInEURperMWH();
+			values[2 + 2 * itemCount + index] = bid.getMarginalCost();
+			values[2 + 3 * itemCount + index] = item.getCumulatedPowerUpperValue();
+			values[2 + 4 * itemCount + index] = item.getAwardedPower();
+			traderUuids[index] = item.getTraderUuid();
 		}
+		collector.storeInts(itemCount);
+		collector.storeDoubles(values);
+		collector.storeLongs(traderUuids);
 		collector.storeBooleans(isSorted);
 	}
 
 	/** required for {@link Portable}s */
 	@Override
 	public void populate(ComponentProvider provider) {
+		int itemCount = provider.nextInt();
 		awardedPrice = provider.nextDouble();
 		awardedCumulativePower = provider.nextDouble();
-		orderBookItems = provider.nextComponentList(OrderBookItem.class);
+		double[] values = new double[ITEM_DOUBLE_FIELDS * itemCount];
+		for (int index = 0; index < values.length; index++) {
+			values[index] = provider.nextDouble();
+		}
+		orderBookItems = new ArrayList<>(itemCount);
+		Bid virtualLastBid = createVirtualLastBid();
+		containsVirtualLastBid = false;
+		for (int index = 0; index < itemCount; index++) {
+			Bid bid = new Bid(values[index], values[itemCount + index], values[2 * itemCount + index]);
+			OrderBookItem item = new OrderBookItem(bid, provider.nextLong());
+			item.setCumulatedPowerUpperValue(values[3 * itemCount + index]);
+			item.setAwardedPower(values[4 * itemCount + index]);
+			orderBookItems.add(item);
+			containsVirtualLastBid = containsVirtualLastBid || bid.matches(virtualLastBid);
+		}
 		isSorted = provider.nextBoolean();
+		runs.clear();
+		runs.add(new Run(0, itemCount, isSorted));
 	}
 
 	/** Return sum of power across all bids in this OrderBook for given trader
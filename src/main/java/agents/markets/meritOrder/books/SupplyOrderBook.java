@@ -3,7 +3,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package agents.markets.meritOrder.books;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.ListIterator;
@@ -56,11 +55,7 @@ public class SupplyOrderBook extends OrderBook implements Cloneable {
 		newSupplyOrderBook.awardedCumulativePower = this.awardedCumulativePower;
 		newSupplyOrderBook.awardedPrice = this.awardedPrice;
 		newSupplyOrderBook.isSorted = this.isSorted;
-		newSupplyOrderBook.orderBookItems = new ArrayList<OrderBookItem>();
-		for (OrderBookItem orderBookItem : this.orderBookItems) {
-			OrderBookItem newItem = new OrderBookItem(orderBookItem.getBid().clone(), orderBookItem.getTraderUuid());
-			newSupplyOrderBook.orderBookItems.add(newItem);
-		}
+		copyItemsTo(newSupplyOrderBook);
 		return newSupplyOrderBook;
 	}
 }
@@ -34,27 +34,55 @@ public class TransferOrderBook implements Portable, Cloneable {
 		bidsByTrader.computeIfAbsent(traderId, __ -> new ArrayList<Bid>()).add(bid);
 	}
 
+	/** required for {@link Portable}s - bids are stored column-wise with one primitive array per field */
 	@Override
 	public void addComponentsTo(ComponentCollector collector) {
-		collector.storeInts(bidsByTrader.keySet().size());
+		int traderCount = bidsByTrader.size();
+		int[] bidCounts = new int[traderCount + 1];
+		long[] traderIds = new long[traderCount];
+		bidCounts[0] = traderCount;
+		int bidCount = 0;
+		int traderIndex = 0;
 		for (Entry<Long, List<Bid>> entry : bidsByTrader.entrySet()) {
-			collector.storeLongs(entry.getKey());
-			collector.storeInts(entry.getValue().size());
-			for (Bid bid : entry.getValue()) {
-				collector.storeComponents(bid);
+			traderIds[traderIndex] = entry.getKey();
+			bidCounts[++traderIndex] = entry.getValue().size();
+			bidCount += entry.getValue().size();
+		}
+		double[] values = new double[3 * bidCount];
+		int bidIndex = 0;
+		for (List<Bid> bids : bidsByTrader.values()) {
+			for (Bid bid : bids) {
+				values[bidIndex] = bid.getEnergyAmountInMWH();
+				values[bidCount + bidIndex] = bid.getOfferPriceInEURperMWH();
+				values[2 * bidCount + bidIndex] = bid.getMarginalCost();
+				bidIndex++;
 			}
 		}
+		collector.storeInts(bidCounts);
+		collector.storeLongs(traderIds);
+		collector.storeDoubles(values);
 	}
 
 	@Override
 	public void populate(ComponentProvider provider) {
-		int numberOfTraders = provider.nextInt();
-		for (int i = 0; i < numberOfTraders; i++) {
+		int traderCount = provider.nextInt();
+		int[] bidCounts = new int[traderCount];
+		int bidCount = 0;
+		for (int traderIndex = 0; traderIndex < traderCount; traderIndex++) {
+			bidCounts[traderIndex] = provider.nextInt();
+			bidCount += bidCounts[traderIndex];
+		}
+		double[] values = new double[3 * bidCount];
+		for (int index = 0; index < values.length; index++) {
+			values[index] = provider.nextDouble();
+		}
+		int bidIndex = 0;
+		for (int traderIndex = 0; traderIndex < traderCount; traderIndex++) {
 			long traderID = provider.nextLong();
-			int itemCount = provider.nextInt();
 			List<Bid> bids = bidsByTrader.computeIfAbsent(traderID, __ -> new ArrayList<Bid>());
-			for (int j = 0; j < itemCount; j++) {
-				bids.add(provider.nextComponent(Bid.class));
+			for (int j = 0; j < bidCounts[traderIndex]; j++) {
+				bids.add(new Bid(values[bidIndex], values[bidCount + bidIndex], values[2 * bidCount + bidIndex]));
+				bidIndex++;
 			}
 		}
 	}
@@ -9,6 +9,7 @@ import agents.markets.meritOrder.books.DemandOrderBook;
 import agents.markets.meritOrder.books.OrderBook;
 import agents.markets.meritOrder.books.OrderBookItem;
 import agents.markets.meritOrder.books.SupplyOrderBook;
+import util.SolveCache.Fingerprint;
 
 /** Represents changes of a merit-order derived value (e.g. electricity price or system cost) when the awarded power for supply or
  * demand are changed
@@ -26,6 +27,15 @@ public abstract class MeritOrderSensitivity {
 	 * associated flexibility device */
 	protected ArrayList<SensitivityItem> dischargingItems = new ArrayList<>();
 
+	/** items extracted from supply and demand books in book order, i.e. sorted by ascending (supply) or descending (demand) price */
+	private final ArrayList<SensitivityItem> supplyChargingItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> supplyDischargingItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> demandChargingItems = new ArrayList<>();
+	private final ArrayList<SensitivityItem> demandDischargingItems = new ArrayList<>();
+
+	/** step table of the last call to {@link #getStepValues(int)}; null if outdated */
+	private StepValues stepValues;
+
 	int lastChargeIndex = 0;
 	int lastDischargeIndex = 0;
 	double lastChargeEnergy = 0.;
@@ -38,25 +48,41 @@ public abstract class MeritOrderSensitivity {
 	public final void updatePowers(double maxChargePowerInMW, double maxDischargePowerInMW) {
 		this.externalChargingPowerInMW = maxChargePowerInMW;
 		this.externalDischargingPowerInMW = maxDischargePowerInMW;
+		stepValues = null;
 	}
 
-	/** updates sensitivities from given order books
+	/** updates sensitivities from given order books; as the books are sorted, items are merged in linear time instead of being
+	 * sorted - the result is the same as sorting all extracted items stably with the {@link #getComparator() comparator}
 	 * 
 	 * @param supplyBook order book with supply orders after clearing
 	 * @param demandBook order book with demand orders after clearing */
 	public final void updateSensitivities(SupplyOrderBook supplyBook, DemandOrderBook demandBook) {
 		clear();
 		selectOrderBookItems(supplyBook, demandBook);
-		chargingItems.sort(getComparator());
-		dischargingItems.sort(getComparator().reversed());
+		SensitivityItems.reverseKeepingTies(supplyDischargingItems);
+		SensitivityItems.reverseKeepingTies(demandChargingItems);
+		SensitivityItems.merge(supplyChargingItems, demandChargingItems, true, chargingItems);
+		SensitivityItems.merge(supplyDischargingItems, demandDischargingItems, false, dischargingItems);
+		clearExtractedItems();
+		SensitivityItems.sortTies(chargingItems, getComparator());
+		SensitivityItems.sortTies(dischargingItems, getComparator().reversed());
 		setCumulativeValues(chargingItems);
 		setCumulativeValues(dischargingItems);
 	}
 
+	/** clears items extracted from order books */
+	private void clearExtractedItems() {
+		supplyChargingItems.clear();
+		supplyDischargingItems.clear();
+		demandChargingItems.clear();
+		demandDischargingItems.clear();
+	}
+
 	/** clears stored sensitivity data */
 	private void clear() {
 		chargingItems.clear();
 		dischargingItems.clear();
+		stepValues = null;
 	}
 
 	/** pick from given supply and / or demand {@link OrderBook}s - and add picked one(s) to this sensitivity
@@ -73,7 +99,8 @@ public abstract class MeritOrderSensitivity {
 		return item.getBlockPower() > 0;
 	}
 
-	/** Adds entries of given {@link OrderBook} (depending on its type) to either charging or discharging sensitivity
+	/** Adds entries of given {@link OrderBook} (depending on its type) to either charging or discharging sensitivity; at equal
+	 * prices, entries of supply books precede those of demand books
 	 * 
 	 * @param book to be read out */
 	protected void extractOrders(OrderBook book) {
@@ -95,10 +122,10 @@ public abstract class MeritOrderSensitivity {
 		double notAwardedPower = item.getNotAwardedPower();
 		double awardedPower = item.getAwardedPower();
 		if (notAwardedPower > 0) {
-			chargingItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), item.getMarginalCost()));
+			supplyChargingItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), item.getMarginalCost()));
 		}
 		if (awardedPower > 0) {
-			dischargingItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), item.getMarginalCost()));
+			supplyDischargingItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), item.getMarginalCost()));
 		}
 	}
 
@@ -107,14 +134,15 @@ public abstract class MeritOrderSensitivity {
 		double notAwardedPower = item.getNotAwardedPower();
 		double awardedPower = item.getAwardedPower();
 		if (notAwardedPower > 0) {
-			dischargingItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), item.getMarginalCost()));
+			demandDischargingItems.add(new SensitivityItem(notAwardedPower, item.getOfferPrice(), item.getMarginalCost()));
 		}
 		if (awardedPower > 0) {
-			chargingItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), item.getMarginalCost()));
+			demandChargingItems.add(new SensitivityItem(awardedPower, item.getOfferPrice(), item.getMarginalCost()));
 		}
 	}
 
-	/** @return {@link Comparator} for {@link SensitivityItem}s to be used by this Sensitivity type */
+	/** @return {@link Comparator} for {@link SensitivityItem}s to be used by this Sensitivity type; items are already ordered by
+	 *         price, thus the comparator only orders items of equal price */
 	protected abstract Comparator<SensitivityItem> getComparator();
 
 	/** sets cumulative power and monetary value of given sorted {@link SensitivityItem}s */
@@ -187,28 +215,66 @@ public abstract class MeritOrderSensitivity {
 	/** Calculate sensitivity in equally distributed steps of power
 	 * 
 	 * @param numberOfTransitionSteps to determine the granularity of the created sensitivity
-	 * @return values of Sensitivity in (2 * numberOfTransitionSteps + 1) steps, equally dividing max charging and discharging
-	 *         powers; first entry corresponds to maximum discharging power, while the last entry resembles sensitivity value at
-	 *         maximum charging power */
+	 * @return new array of values of Sensitivity in (2 * numberOfTransitionSteps + 1) steps, equally dividing max charging and
+	 *         discharging powers; first entry corresponds to maximum discharging power, while the last entry resembles sensitivity
+	 *         value at maximum charging power */
 	public double[] getValuesInSteps(int numberOfTransitionSteps) {
-		chargingItems.removeIf(i -> i.getCumulatedLowerPower() > externalChargingPowerInMW);
-		dischargingItems.removeIf(i -> i.getCumulatedLowerPower() > externalDischargingPowerInMW);
+		return getStepValues(numberOfTransitionSteps).copyValues();
+	}
 
+	/** Returns values and powers of this sensitivity in equally distributed steps of power; the table is computed once per update
+	 * of sensitivities or powers and then shared by all callers requesting the same number of steps
+	 * 
+	 * @param numberOfTransitionSteps to determine the granularity of the created sensitivity
+	 * @return immutable {@link StepValues} with the values returned by {@link #getValuesInSteps(int)} and the powers of
+	 *         {@link #getStepPowers(int)} */
+	public StepValues getStepValues(int numberOfTransitionSteps) {
+		if (stepValues == null || stepValues.getNumberOfTransitionSteps() != numberOfTransitionSteps) {
+			stepValues = calcStepValues(numberOfTransitionSteps);
+		}
+		return stepValues;
+	}
+
+	/** @return new {@link StepValues} for given number of steps; items beyond maximum powers are ignored */
+	private StepValues calcStepValues(int numberOfTransitionSteps) {
 		double[] values = new double[2 * numberOfTransitionSteps + 1];
 		values[numberOfTransitionSteps] = 0.0;
 
 		double chargingPowerPerStep = externalChargingPowerInMW / numberOfTransitionSteps;
+		int index = 0;
 		for (int step = 1; step <= numberOfTransitionSteps; step++) {
 			double power = chargingPowerPerStep * step;
-			values[numberOfTransitionSteps + step] = getValueCharging(power);
+			index = findItemIndex(chargingItems, index, power, externalChargingPowerInMW);
+			values[numberOfTransitionSteps + step] = index < 0 ? Double.NaN
+					: calcValueOfItemAtPower(chargingItems.get(index), power);
+			index = Math.max(index, 0);
 		}
 
 		double dischargingPowerPerStep = -externalDischargingPowerInMW / numberOfTransitionSteps;
+		index = 0;
 		for (int step = 1; step <= numberOfTransitionSteps; step++) {
 			double power = dischargingPowerPerStep * step;
-			values[numberOfTransitionSteps - step] = getValueDischarging(power);
+			index = findItemIndex(dischargingItems, index, -power, externalDischargingPowerInMW);
+			values[numberOfTransitionSteps - step] = index < 0 ? Double.NaN
+					: calcValueOfItemAtPower(dischargingItems.get(index), power);
+			index = Math.max(index, 0);
+		}
+		return new StepValues(values, getStepPowers(numberOfTransitionSteps), numberOfTransitionSteps);
+	}
+
+	/** @return index of first item at or after given start index with cumulated upper power of at least the given power, or -1 if
+	 *         no such item exists with a cumulated lower power not exceeding the given maximum power */
+	private int findItemIndex(ArrayList<SensitivityItem> items, int startIndex, double power, double maxPower) {
+		for (int index = startIndex; index < items.size(); index++) {
+			SensitivityItem item = items.get(index);
+			if (item.getCumulatedLowerPower() > maxPower) {
+				return -1;
+			}
+			if (item.getCumulatedUpperPower() >= power) {
+				return index;
+			}
 		}
-		return values;
+		return -1;
 	}
 
 	/** Returns power per step depending on given transition step count and stored charging / discharging powers
@@ -228,4 +294,21 @@ public abstract class MeritOrderSensitivity {
 	public boolean isEmpty() {
 		return chargingItems.isEmpty() && dischargingItems.isEmpty();
 	}
+
+	/** Adds the complete content of this sensitivity to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to */
+	public void addFingerprintTo(Fingerprint fingerprint) {
+		fingerprint.add(getClass().getName()).add(externalChargingPowerInMW).add(externalDischargingPowerInMW);
+		addItemsTo(fingerprint, chargingItems);
+		addItemsTo(fingerprint, dischargingItems);
+	}
+
+	/** Adds count and properties of all given items to given fingerprint */
+	private void addItemsTo(Fingerprint fingerprint, ArrayList<SensitivityItem> items) {
+		fingerprint.add(items.size());
+		for (SensitivityItem item : items) {
+			fingerprint.add(item.getPower()).add(item.getPrice()).add(item.getMarginal());
+		}
+	}
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ package agents.markets.meritOrder.sensitivities;
 import java.util.Comparator;
 import agents.markets.meritOrder.books.DemandOrderBook;
 import agents.markets.meritOrder.books.SupplyOrderBook;
+import util.SolveCache.Fingerprint;
 
 /** Despite being of type {@link MeritOrderSensitivity}, these objects store <b>no</b> sensitivity information but only a single
  * electricity price
@@ -25,7 +26,7 @@ public class PriceNoSensitivity extends MeritOrderSensitivity {
 	}
 
 	@Override
-	public double[] getValuesInSteps(int numberOfTransitionSteps) {
+	public StepValues getStepValues(int numberOfTransitionSteps) {
 		throw new RuntimeException("Sensitivities not supported by price forecast with errors");
 	}
 
@@ -53,4 +54,10 @@ public class PriceNoSensitivity extends MeritOrderSensitivity {
 	public double getPriceForecast() {
 		return priceForecastInEURperMWH;
 	}
+
+	@Override
+	public void addFingerprintTo(Fingerprint fingerprint) {
+		super.addFingerprintTo(fingerprint);
+		fingerprint.add(priceForecastInEURperMWH);
+	}
 }
\ No newline at end of file
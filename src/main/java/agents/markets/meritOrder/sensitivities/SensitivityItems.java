@@ -0,0 +1,78 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.sensitivities;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/** Builds price-ordered sequences of {@link SensitivityItem}s from items extracted of sorted order books in linear time. The
+ * resulting order equals that of a stable sort by price of all items in the order they were extracted.
+ *
+ * @author agent */
+public final class SensitivityItems {
+	private SensitivityItems() {}
+
+	/** Reverses the order of given items, but keeps items of equal price in their order; turns a list sorted by descending price
+	 * into one sorted by ascending price (or vice versa) as if it was stably sorted
+	 *
+	 * @param items to reorder in place */
+	public static void reverseKeepingTies(List<SensitivityItem> items) {
+		Collections.reverse(items);
+		int groupStart = 0;
+		for (int index = 1; index <= items.size(); index++) {
+			if (index == items.size() || comparePrice(items.get(groupStart), items.get(index)) != 0) {
+				if (index - groupStart > 1) {
+					Collections.reverse(items.subList(groupStart, index));
+				}
+				groupStart = index;
+			}
+		}
+	}
+
+	/** Appends the items of two lists, each sorted by price in the same direction, to given target in merged order; at equal
+	 * price, items of the first list precede those of the second list
+	 *
+	 * @param first list of items sorted by price
+	 * @param second list of items sorted by price in the same direction as the first one
+	 * @param ascending true if both lists are sorted by ascending price, false if sorted by descending price
+	 * @param target to append merged items to */
+	public static void merge(List<SensitivityItem> first, List<SensitivityItem> second, boolean ascending,
+			List<SensitivityItem> target) {
+		int direction = ascending ? 1 : -1;
+		int firstIndex = 0;
+		int secondIndex = 0;
+		while (firstIndex < first.size() && secondIndex < second.size()) {
+			if (direction * comparePrice(first.get(firstIndex), second.get(secondIndex)) <= 0) {
+				target.add(first.get(firstIndex++));
+			} else {
+				target.add(second.get(secondIndex++));
+			}
+		}
+		target.addAll(first.subList(firstIndex, first.size()));
+		target.addAll(second.subList(secondIndex, second.size()));
+	}
+
+	/** Stably sorts each group of consecutive items with equal price using the given comparator; groups of single items are
+	 * skipped
+	 *
+	 * @param items sorted by price
+	 * @param comparator to order items of equal price with */
+	public static void sortTies(List<SensitivityItem> items, Comparator<SensitivityItem> comparator) {
+		int groupStart = 0;
+		for (int index = 1; index <= items.size(); index++) {
+			if (index == items.size() || comparePrice(items.get(groupStart), items.get(index)) != 0) {
+				if (index - groupStart > 1) {
+					items.subList(groupStart, index).sort(comparator);
+				}
+				groupStart = index;
+			}
+		}
+	}
+
+	/** @return comparison of the items' prices consistent with {@link SensitivityItem#BY_PRICE} */
+	private static int comparePrice(SensitivityItem first, SensitivityItem second) {
+		return Double.compare(first.getPrice(), second.getPrice());
+	}
+}
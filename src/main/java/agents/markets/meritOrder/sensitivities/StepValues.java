@@ -0,0 +1,65 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.sensitivities;
+
+import java.util.Arrays;
+
+/** Immutable table of sensitivity values and powers at equally spaced charging and discharging steps of a
+ * {@link MeritOrderSensitivity}
+ *
+ * @author agent */
+public final class StepValues {
+	private final int numberOfTransitionSteps;
+	private final double[] values;
+	private final double[] powersInMW;
+
+	/** Creates {@link StepValues}
+	 *
+	 * @param values at each step from maximum discharging to maximum charging; not copied, must not be modified afterwards
+	 * @param stepPower power per charging / discharging step
+	 * @param numberOfTransitionSteps number of steps for each of the two energy flow directions */
+	StepValues(double[] values, StepPower stepPower, int numberOfTransitionSteps) {
+		this.numberOfTransitionSteps = numberOfTransitionSteps;
+		this.values = values;
+		powersInMW = new double[values.length];
+		for (int stepDelta = -numberOfTransitionSteps; stepDelta <= numberOfTransitionSteps; stepDelta++) {
+			powersInMW[numberOfTransitionSteps + stepDelta] = stepPower.getPower(stepDelta);
+		}
+	}
+
+	/** Returns {@link StepValues} with zero values and powers, e.g. to be used if no sensitivity is available
+	 *
+	 * @param numberOfTransitionSteps number of steps for each of the two energy flow directions
+	 * @return new {@link StepValues} with all values and powers equal to zero */
+	public static StepValues zero(int numberOfTransitionSteps) {
+		return new StepValues(new double[2 * numberOfTransitionSteps + 1], new StepPower(0, 0, numberOfTransitionSteps),
+				numberOfTransitionSteps);
+	}
+
+	/** Returns sensitivity value at given step delta
+	 *
+	 * @param stepDelta &gt; 0: charging, &lt; 0: discharging; absolute value must not exceed the number of transition steps
+	 * @return value at given step delta */
+	public double getValue(int stepDelta) {
+		return values[numberOfTransitionSteps + stepDelta];
+	}
+
+	/** Returns power at given step delta
+	 *
+	 * @param stepDelta &gt; 0: charging, &lt; 0: discharging; absolute value must not exceed the number of transition steps
+	 * @return power in MW at given step delta, equal to that of the associated {@link StepPower} */
+	public double getPower(int stepDelta) {
+		return powersInMW[numberOfTransitionSteps + stepDelta];
+	}
+
+	/** @return number of steps for each of the two energy flow directions */
+	public int getNumberOfTransitionSteps() {
+		return numberOfTransitionSteps;
+	}
+
+	/** @return copy of all values from maximum discharging to maximum charging */
+	public double[] copyValues() {
+		return Arrays.copyOf(values, values.length);
+	}
+}
@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.TreeMap;
 import java.util.Map.Entry;
 import agents.conventionals.PlantBuildingManager;
 import agents.conventionals.Portfolio;
@@ -26,6 +27,10 @@ import communications.message.FuelCost;
 import communications.message.FuelData;
 import communications.message.PointInTime;
 import de.dlr.gitlab.fame.agent.input.DataProvider;
+import de.dlr.gitlab.fame.agent.input.Input;
+import de.dlr.gitlab.fame.agent.input.Make;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.agent.input.Tree;
 import de.dlr.gitlab.fame.communication.CommUtils;
 import de.dlr.gitlab.fame.communication.Contract;
 import de.dlr.gitlab.fame.communication.Product;
@@ -33,6 +38,7 @@ import de.dlr.gitlab.fame.communication.message.Message;
 import de.dlr.gitlab.fame.service.output.ComplexIndex;
 import de.dlr.gitlab.fame.service.output.Output;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.OutputReducer;
 
 /** Operates a portfolio of conventional power plant units of same type, e.g. nuclear or hard-coal power plant unit. */
 public class ConventionalPlantOperator extends PowerPlantOperator implements FuelsTrader {
@@ -56,6 +62,9 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 		Co2PriceRequest,
 	}
 
+	@Input private static final Tree parameters = Make.newTree()
+			.addAs("OutputReduction", OutputReducer.parameters).buildTree();
+
 	@Output
 	private static enum OutputFields {
 		DispatchedEnergyInMWHperPlant, VariableCostsInEURperPlant, ReceivedMoneyInEURperPlant, Co2EmissionsInT,
@@ -68,9 +77,10 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 	private ArrayList<AmountAtTime> fuelConsumption = new ArrayList<>();
 	private ArrayList<AmountAtTime> co2Emissions = new ArrayList<>();
 
-	private HashMap<TimeStamp, Double> fuelPrice = new HashMap<>();
-	private HashMap<TimeStamp, Double> co2Price = new HashMap<>();
+	private TreeMap<TimeStamp, Double> fuelPrice = new TreeMap<>();
+	private TreeMap<TimeStamp, Double> co2Price = new TreeMap<>();
 	private double lastDispatchedTotalInMW = 0;
+	private final OutputReducer outputReducer;
 
 	private enum PlantsKey {
 		ID
@@ -94,6 +104,9 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 	 * @param dataProvider provides input from config */
 	public ConventionalPlantOperator(DataProvider dataProvider) {
 		super(dataProvider);
+		ParameterData input = parameters.join(dataProvider);
+		outputReducer = OutputReducer.build(input, "OutputReduction", this, OutputFields.values(),
+				PowerPlantOperator.OutputFields.values());
 
 		call(this::updatePortfolio).onAndUse(PlantBuildingManager.Products.PowerPlantPortfolio);
 		call(this::requestFuelPrice).on(FuelsTrader.Products.FuelPriceForecastRequest)
@@ -150,7 +163,7 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 			totalPowerPotentialInMW += totalPowerPotentialPerTimeStamp;
 		}
 		if (contract.getProduct() == PowerPlantOperator.Products.MarginalCost) {
-			store(PowerPlantOperator.OutputFields.OfferedEnergyInMWH, totalPowerPotentialInMW);
+			storeOutput(PowerPlantOperator.OutputFields.OfferedEnergyInMWH, totalPowerPotentialInMW);
 		}
 	}
 
@@ -213,8 +226,8 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 		DispatchResult dispatchResult = updatePowerPlantStatus(getMustRunEnergyInMWH(time), awardedEnergy, time);
 		this.fuelConsumption.add(new AmountAtTime(time, dispatchResult.getFuelConsumptionInThermalMWH()));
 		this.co2Emissions.add(new AmountAtTime(time, dispatchResult.getCo2EmissionsInTons()));
-		store(OutputFields.Co2EmissionsInT, dispatchResult.getCo2EmissionsInTons());
-		store(OutputFields.FuelConsumptionInThermalMWH, dispatchResult.getFuelConsumptionInThermalMWH());
+		outputReducer.store(OutputFields.Co2EmissionsInT, dispatchResult.getCo2EmissionsInTons());
+		outputReducer.store(OutputFields.FuelConsumptionInThermalMWH, dispatchResult.getFuelConsumptionInThermalMWH());
 		return dispatchResult.getVariableCostsInEUR();
 	}
 
@@ -243,6 +256,7 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 		lastDispatchedTotalInMW = totalAwardedEnergyInMWH;
 		double currentFuelPrice = fuelPrice.remove(time);
 		double currentCo2Price = co2Price.remove(time);
+		clearPricesBefore(time);
 		DispatchResult dispatchTotal = new DispatchResult();
 		double remainingAdditionalEnergyInMWH = Math.max(0, totalAwardedEnergyInMWH - remainingMustRunEnergyInMWH);
 
@@ -264,14 +278,11 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 				remainingAdditionalEnergyInMWH -= dispatchedAdditionalPower;
 			}
 			double totalPowerPlantPower = dispatchedMustRunPower + dispatchedAdditionalPower;
-			if (totalPowerPlantPower > 0) {
-				store(dispatch.key(PlantsKey.ID, powerPlant.getId()), totalPowerPlantPower);
-			}
+			outputReducer.storeSparse(dispatch, PlantsKey.ID, powerPlant.getId(), totalPowerPlantPower);
 			DispatchResult plantDispatch = powerPlant.updateGeneration(time, totalPowerPlantPower, currentFuelPrice,
 					currentCo2Price);
-			if (plantDispatch.getVariableCostsInEUR() > 0) {
-				store(variableCosts.key(PlantsKey.ID, powerPlant.getId()), plantDispatch.getVariableCostsInEUR());
-			}
+			outputReducer.storeSparse(variableCosts, PlantsKey.ID, powerPlant.getId(),
+					plantDispatch.getVariableCostsInEUR());
 			dispatchTotal.add(plantDispatch);
 		}
 		if (remainingAdditionalEnergyInMWH > NUMERIC_TOLERANCE) {
@@ -280,6 +291,12 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 		return dispatchTotal;
 	}
 
+	/** Removes fuel and CO2 prices before the given time, e.g., prices stored for forecasts that are never dispatched */
+	private void clearPricesBefore(TimeStamp time) {
+		fuelPrice.headMap(time).clear();
+		co2Price.headMap(time).clear();
+	}
+
 	/** Returns a list of power plants sorted by marginal costs, descending */
 	private List<PowerPlant> getSortedPowerPlantList(TimeStamp time, double fuelPrice, double co2Price) {
 		List<PowerPlant> plants = new ArrayList<>(portfolio.getPowerPlantList());
@@ -314,7 +331,7 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 			double plantPaymentInEUR = totalPaymentInEUR * shareOfLastDispatch;
 			if (Math.abs(plantPaymentInEUR) > 1E-10) {
 				actualPaymentTotalInEUR += plantPaymentInEUR;
-				store(money.key(PlantsKey.ID, plant.getId()), plantPaymentInEUR);
+				outputReducer.store(money, PlantsKey.ID, plant.getId(), plantPaymentInEUR);
 			}
 		}
 		if (Math.abs(actualPaymentTotalInEUR - totalPaymentInEUR) > 1) {
@@ -327,4 +344,9 @@ public class ConventionalPlantOperator extends PowerPlantOperator implements Fue
 		return portfolio.getInstalledCapacityInMW(now());
 	}
 
+	@Override
+	protected void storeOutput(PowerPlantOperator.OutputFields column, double value) {
+		outputReducer.store(column, value);
+	}
+
 }
\ No newline at end of file
@@ -77,9 +77,9 @@ public abstract class PowerPlantOperator extends Agent {
 	 * @param contracts not used */
 	public void executeDispatch(ArrayList<Message> input, List<Contract> contracts) {
 		AmountAtTime award = CommUtils.getExactlyOneEntry(input).getDataItemOfType(AmountAtTime.class);
-		store(OutputFields.AwardedEnergyInMWH, award.amount);
+		storeOutput(OutputFields.AwardedEnergyInMWH, award.amount);
 		double variableCosts = dispatchPlants(award.amount, award.validAt);
-		store(OutputFields.VariableCostsInEUR, variableCosts);
+		storeOutput(OutputFields.VariableCostsInEUR, variableCosts);
 	}
 
 	/** Dispatches associated power plants to generate the specified awarded power
@@ -96,7 +96,7 @@ public abstract class PowerPlantOperator extends Agent {
 	protected void digestPayment(ArrayList<Message> input, List<Contract> contracts) {
 		Message message = CommUtils.getExactlyOneEntry(input);
 		AmountAtTime payout = message.getDataItemOfType(AmountAtTime.class);
-		store(OutputFields.ReceivedMoneyInEUR, payout.amount);
+		storeOutput(OutputFields.ReceivedMoneyInEUR, payout.amount);
 		digestPaymentPerPlant(payout.validAt, payout.amount);
 	}
 
@@ -111,8 +111,16 @@ public abstract class PowerPlantOperator extends Agent {
 	 * @param input not used
 	 * @param contracts not used */
 	protected void reportCosts(ArrayList<Message> input, List<Contract> contracts) {
-		store(OutputFields.InvestmentAnnuityInEUR, annualCost.calcInvestmentAnnuityInEUR(getInstalledCapacityInMW()));
-		store(OutputFields.FixedCostsInEUR, annualCost.calcFixedCostInEUR(getInstalledCapacityInMW()));
+		storeOutput(OutputFields.InvestmentAnnuityInEUR, annualCost.calcInvestmentAnnuityInEUR(getInstalledCapacityInMW()));
+		storeOutput(OutputFields.FixedCostsInEUR, annualCost.calcFixedCostInEUR(getInstalledCapacityInMW()));
+	}
+
+	/** Writes given value to given output column; override to route the columns of this class through another writer
+	 * 
+	 * @param column to write to
+	 * @param value to be written */
+	protected void storeOutput(OutputFields column, double value) {
+		store(column, value);
 	}
 
 	/** @return current installed capacity */
@@ -5,9 +5,9 @@ package agents.policy;
 
 import java.util.EnumMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import agents.policy.SupportPolicy.EnergyCarrier;
 import communications.message.YieldPotential;
@@ -24,6 +24,80 @@ public class MarketData {
 	private EnumMap<EnergyCarrier, TreeMap<TimeStamp, Double>> energyCarrierInfeeds = new EnumMap<>(EnergyCarrier.class);
 	/** Stores electricity market prices over time */
 	private TreeMap<TimeStamp, Double> powerPrices = new TreeMap<>();
+	/** Stores running totals of weighted power prices and their weights per energy carrier over time */
+	private EnumMap<EnergyCarrier, CumulativeValues> cumulativeValuesPerCarrier = new EnumMap<>(EnergyCarrier.class);
+
+	/** Running totals of weighted power prices and of their weights */
+	private static final class Totals {
+		static final Totals ZERO = new Totals(0, 0);
+		final double weightedPriceSum;
+		final double weightSum;
+
+		Totals(double weightedPriceSum, double weightSum) {
+			this.weightedPriceSum = weightedPriceSum;
+			this.weightSum = weightSum;
+		}
+	}
+
+	/** Prefix sums of weighted power prices and weights of one energy carrier, indexed by time; covers a contiguous range of
+	 * time, starting at the first interval it was extended for */
+	private static final class CumulativeValues {
+		/** Totals of all covered data up to and including the associated time */
+		private final TreeMap<TimeStamp, Totals> totalsUpTo = new TreeMap<>();
+		private Totals latestTotals = Totals.ZERO;
+		/** First and last time of the covered range, or null if nothing is covered */
+		private TimeStamp coveredFrom = null;
+		private TimeStamp coveredUpTo = null;
+
+		/** Removes all data and starts to cover time from the given time on */
+		void restartAt(TimeStamp time) {
+			totalsUpTo.clear();
+			latestTotals = Totals.ZERO;
+			coveredFrom = time;
+			coveredUpTo = null;
+		}
+
+		/** Adds given values at given time, which must be later than any previously added time */
+		void append(TimeStamp time, double weightedPrice, double weight) {
+			latestTotals = new Totals(latestTotals.weightedPriceSum + weightedPrice, latestTotals.weightSum + weight);
+			totalsUpTo.put(time, latestTotals);
+		}
+
+		/** @return totals of all covered data up to and including the given time */
+		Totals getTotalsUpTo(TimeStamp time) {
+			Entry<TimeStamp, Totals> entry = totalsUpTo.floorEntry(time);
+			return entry != null ? entry.getValue() : Totals.ZERO;
+		}
+
+		/** @return totals of all covered data strictly before the given time */
+		Totals getTotalsBefore(TimeStamp time) {
+			Entry<TimeStamp, Totals> entry = totalsUpTo.lowerEntry(time);
+			return entry != null ? entry.getValue() : Totals.ZERO;
+		}
+
+		/** Removes totals strictly before given time and rebases the remaining totals to start from zero */
+		void clearBefore(TimeStamp time) {
+			if (coveredUpTo == null || coveredUpTo.isLessThan(time)) {
+				restartAt(null);
+				return;
+			}
+			SortedMap<TimeStamp, Totals> outdated = totalsUpTo.headMap(time);
+			if (!outdated.isEmpty()) {
+				Totals evicted = outdated.get(outdated.lastKey());
+				outdated.clear();
+				totalsUpTo.replaceAll((__, totals) -> subtract(totals, evicted));
+				latestTotals = subtract(latestTotals, evicted);
+			}
+			if (coveredFrom.isLessThan(time)) {
+				coveredFrom = time;
+			}
+		}
+
+		/** @return difference of given minuend and subtrahend */
+		private static Totals subtract(Totals minuend, Totals subtrahend) {
+			return new Totals(minuend.weightedPriceSum - subtrahend.weightedPriceSum, minuend.weightSum - subtrahend.weightSum);
+		}
+	}
 
 	/** Saves given {@link YieldPotential} for a specific {@link EnergyCarrier}
 	 * 
@@ -48,24 +122,42 @@ public class MarketData {
 	 * @param interval to assess
 	 * @return the market value of the given energy carrier in the given time period */
 	public double calcMarketValue(EnergyCarrier energyCarrier, TimePeriod interval) {
-		double numerator = 0;
-		double denominator = 0;
-		Iterator<Entry<TimeStamp, Double>> iterator = powerPrices.entrySet().iterator();
-		while (iterator.hasNext()) {
-			Entry<TimeStamp, Double> entry = iterator.next();
+		CumulativeValues cumulativeValues = cumulativeValuesPerCarrier.computeIfAbsent(energyCarrier,
+				__ -> new CumulativeValues());
+		TimeStamp lastTime = interval.getLastTime();
+		cover(energyCarrier, cumulativeValues, interval.getStartTime(), lastTime);
+		Totals upToLast = cumulativeValues.getTotalsUpTo(lastTime);
+		Totals beforeStart = cumulativeValues.getTotalsBefore(interval.getStartTime());
+		double numerator = upToLast.weightedPriceSum - beforeStart.weightedPriceSum;
+		double denominator = upToLast.weightSum - beforeStart.weightSum;
+		return numerator / denominator;
+	}
+
+	/** Ensures that given running totals cover all power prices from given start time up to (and including) given last time;
+	 * restarts the coverage at the start time if it would otherwise include power prices before the start time that were not
+	 * covered yet */
+	private void cover(EnergyCarrier carrier, CumulativeValues cumulativeValues, TimeStamp startTime, TimeStamp lastTime) {
+		TimeStamp coveredUpTo = cumulativeValues.coveredUpTo;
+		if (cumulativeValues.coveredFrom == null || startTime.isLessThan(cumulativeValues.coveredFrom)
+				|| (coveredUpTo != null && startTime.isGreaterThan(coveredUpTo)
+						&& !powerPrices.subMap(coveredUpTo, false, startTime, false).isEmpty())) {
+			cumulativeValues.restartAt(startTime);
+			coveredUpTo = null;
+		}
+		if (coveredUpTo != null && coveredUpTo.isGreaterEqualTo(lastTime)) {
+			return;
+		}
+		SortedMap<TimeStamp, Double> newPrices = coveredUpTo == null ? powerPrices.subMap(startTime, true, lastTime, true)
+				: powerPrices.subMap(coveredUpTo, false, lastTime, true);
+		for (Entry<TimeStamp, Double> entry : newPrices.entrySet()) {
 			TimeStamp powerPriceTime = entry.getKey();
-			if (powerPriceTime.isGreaterEqualTo(interval.getStartTime())
-					&& powerPriceTime.isLessEqualTo(interval.getLastTime())) {
-				double[] marketValQuotient = calcEnergyCarrierSpecificValue(energyCarrier, powerPriceTime, denominator,
-						numerator);
-				denominator = marketValQuotient[0];
-				numerator = marketValQuotient[1];
-			}
+			double weight = getWeight(carrier, powerPriceTime);
+			cumulativeValues.append(powerPriceTime, weight * entry.getValue(), weight);
 		}
-		return numerator / denominator;
+		cumulativeValues.coveredUpTo = lastTime;
 	}
 
-	/** Calculate the market value elements (denominator and numerator) dependent on RES type:
+	/** Returns the weight of the power price at the given time in the market value calculation dependent on RES type:
 	 * <ul>
 	 * <li>For wind and PV, an average price weighted by the energy carrier feed-in potential (before curtailment) is used.</li>
 	 * <li>For all other RES sources, the unweighed average price (base price) is used.</li>
@@ -73,24 +165,17 @@ public class MarketData {
 	 * 
 	 * @param carrier to calculate market value for
 	 * @param time at which to calculate the market value element
-	 * @param denominator running total of the energyCarrier-specific market value calculation
-	 * @param numerator running total of the energyCarrier-specific market value calculation
-	 * @return double array with the first entry being the updated denominator and the second the updated numerator */
-	private double[] calcEnergyCarrierSpecificValue(EnergyCarrier carrier, TimeStamp time, double denominator,
-			double numerator) {
+	 * @return weight of the power price at the given time */
+	private double getWeight(EnergyCarrier carrier, TimeStamp time) {
 		switch (carrier) {
 			case PV:
 			case WindOn:
 			case WindOff:
-				denominator += energyCarrierInfeeds.get(carrier).get(time);
-				numerator += energyCarrierInfeeds.get(carrier).get(time) * powerPrices.get(time);
-				return new double[] {denominator, numerator};
+				return energyCarrierInfeeds.get(carrier).get(time);
 			case RunOfRiver:
 			case Biogas:
 			case Other:
-				denominator += 1;
-				numerator += powerPrices.get(time);
-				return new double[] {denominator, numerator};
+				return 1;
 			default:
 				throw new RuntimeException(ERR_MISSING_CARRIER + carrier);
 		}
@@ -109,6 +194,9 @@ public class MarketData {
 		for (TreeMap<TimeStamp, Double> infeed : energyCarrierInfeeds.values()) {
 			infeed.headMap(time).clear();
 		}
+		for (CumulativeValues cumulativeValues : cumulativeValuesPerCarrier.values()) {
+			cumulativeValues.clearBefore(time);
+		}
 	}
 
 	/** @return all {@link EnergyCarrier}s that had some infeed yet in this simulation */
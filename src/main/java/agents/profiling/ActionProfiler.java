@@ -0,0 +1,136 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
+import de.dlr.gitlab.fame.communication.Contract;
+import de.dlr.gitlab.fame.communication.message.Message;
+
+/** Measures wall-clock time and memory allocation of agent actions and writes them to the outputs of the executing
+ * {@link ProfiledAgent}.
+ * <p>
+ * Profiling is disabled by default. It is enabled for the whole run by setting the Java system property
+ * {@value #PROPERTY} to "true", e.g. via {@code -Damiris.profileActions=true}. If disabled, actions are not wrapped at all.
+ * Outputs are complex and thus require complex output to be enabled in the FAME setup. Allocations are reported as NaN if
+ * the JVM does not support measuring thread allocation.
+ * </p>
+ * <p>
+ * All profiled actions of an agent that share a triggering product are executed together. Their runtime and allocation are
+ * summed up and written once per execution, after the last of these actions completed.
+ * </p>
+ * 
+ * @author agent */
+public final class ActionProfiler {
+	/** Name of the system property that enables action profiling */
+	public static final String PROPERTY = "amiris.profileActions";
+	static final double NANOS_PER_MILLI = 1E6;
+	static final double BYTES_PER_MEGABYTE = 1024. * 1024.;
+
+	private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+	private static final com.sun.management.ThreadMXBean threadBean = getThreadBean();
+	private static final Map<ProfiledAgent, Map<Enum<?>, ActionTotals>> totalsByAgent = new WeakHashMap<>();
+
+	/** Sums up runtime and allocation of all profiled actions of one agent triggered by the same product */
+	static final class ActionTotals {
+		private final String actionName;
+		private int actionCount = 0;
+		private int executedCount = 0;
+		private double runtimeInMS = 0;
+		private double allocationInMB = 0;
+
+		/** Creates new {@link ActionTotals}
+		 * 
+		 * @param actionName to identify the actions in the output */
+		ActionTotals(String actionName) {
+			this.actionName = actionName;
+		}
+
+		/** Adds one profiled action to the group of actions summed up */
+		void register() {
+			actionCount++;
+		}
+
+		/** Adds runtime and allocation of one executed action; writes the totals to given agent's outputs once all actions of
+		 * the group were executed */
+		void add(ProfiledAgent agent, double runtime, double allocation) {
+			runtimeInMS += runtime;
+			allocationInMB += allocation;
+			if (++executedCount == actionCount) {
+				agent.store(ProfiledAgent.actionRuntime.key(ProfiledAgent.ProfilingKey.Action, actionName), runtimeInMS);
+				agent.store(ProfiledAgent.actionAllocation.key(ProfiledAgent.ProfilingKey.Action, actionName),
+						allocationInMB);
+				executedCount = 0;
+				runtimeInMS = 0;
+				allocationInMB = 0;
+			}
+		}
+	}
+
+	private ActionProfiler() {}
+
+	/** @return thread management bean that supports allocation measurement, or null if not available */
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+					return sunBean;
+				}
+			}
+		} catch (LinkageError | UnsupportedOperationException e) {}
+		return null;
+	}
+
+	/** Returns given action, or a profiling wrapper of it if action profiling is enabled
+	 * 
+	 * @param agent that executes the action and receives the profiling outputs
+	 * @param product that triggers the action
+	 * @param action to be profiled
+	 * @return given action if profiling is disabled, otherwise a profiling wrapper of the action */
+	static BiConsumer<ArrayList<Message>, List<Contract>> profile(ProfiledAgent agent, Enum<?> product,
+			BiConsumer<ArrayList<Message>, List<Contract>> action) {
+		return ENABLED ? wrap(agent, product, action) : action;
+	}
+
+	/** @return wrapper of given action that adds its runtime and allocation to the totals of given agent and product */
+	static BiConsumer<ArrayList<Message>, List<Contract>> wrap(ProfiledAgent agent, Enum<?> product,
+			BiConsumer<ArrayList<Message>, List<Contract>> action) {
+		ActionTotals totals = getTotals(agent, product);
+		totals.register();
+		return (messages, contracts) -> {
+			long allocatedBefore = getAllocatedBytes();
+			long start = System.nanoTime();
+			action.accept(messages, contracts);
+			long runtime = System.nanoTime() - start;
+			long allocatedAfter = getAllocatedBytes();
+			totals.add(agent, runtime / NANOS_PER_MILLI, toMegabytes(allocatedBefore, allocatedAfter));
+		};
+	}
+
+	/** @return totals of all profiled actions of given agent triggered by given product */
+	private static ActionTotals getTotals(ProfiledAgent agent, Enum<?> product) {
+		return totalsByAgent.computeIfAbsent(agent, __ -> new HashMap<>()).computeIfAbsent(product,
+				__ -> new ActionTotals(product.name()));
+	}
+
+	/** @return bytes allocated so far by the current thread, or -1 if not measurable */
+	private static long getAllocatedBytes() {
+		return threadBean != null ? threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	/** @return difference between given allocation counters in megabytes, or NaN if any counter was not measurable */
+	static double toMegabytes(long allocatedBefore, long allocatedAfter) {
+		if (allocatedBefore < 0 || allocatedAfter < 0) {
+			return Double.NaN;
+		}
+		return (allocatedAfter - allocatedBefore) / BYTES_PER_MEGABYTE;
+	}
+}
@@ -0,0 +1,51 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import de.dlr.gitlab.fame.agent.AgentAbility;
+import de.dlr.gitlab.fame.communication.Contract;
+import de.dlr.gitlab.fame.communication.message.Message;
+import de.dlr.gitlab.fame.service.output.ComplexIndex;
+import de.dlr.gitlab.fame.service.output.Output;
+
+/** An agent whose actions can be profiled with an {@link ActionProfiler}; profiling results are written as complex outputs
+ * per action, identified by the product that triggers the action
+ * 
+ * @author agent */
+public interface ProfiledAgent extends AgentAbility {
+	/** Output columns of profiled actions */
+	@Output
+	public static enum ProfilingColumns {
+		/** Complex output; wall-clock time spent in an action in milliseconds */
+		ActionRuntimeInMS,
+		/** Complex output; memory allocated by the executing thread during an action in megabytes */
+		ActionAllocationInMB
+	}
+
+	/** Keys of the profiling outputs */
+	public static enum ProfilingKey {
+		/** Name of the product that triggered the action */
+		Action
+	}
+
+	/** Complex index of action runtime */
+	static final ComplexIndex<ProfilingKey> actionRuntime = ComplexIndex.build(ProfilingColumns.ActionRuntimeInMS,
+			ProfilingKey.class);
+	/** Complex index of action allocation */
+	static final ComplexIndex<ProfilingKey> actionAllocation = ComplexIndex.build(ProfilingColumns.ActionAllocationInMB,
+			ProfilingKey.class);
+
+	/** Returns given action, profiled if action profiling is enabled; use as {@code call(profiled(product, this::action))}
+	 * 
+	 * @param product that triggers the action, used to identify the action in the output
+	 * @param action to be profiled
+	 * @return given action if profiling is disabled, otherwise a profiling wrapper of the action */
+	public default BiConsumer<ArrayList<Message>, List<Contract>> profiled(Enum<?> product,
+			BiConsumer<ArrayList<Message>, List<Contract>> action) {
+		return ActionProfiler.profile(this, product, action);
+	}
+}
@@ -3,15 +3,18 @@
 // SPDX-License-Identifier: Apache-2.0
 package agents.storage;
 
+import org.json.JSONObject;
 import de.dlr.gitlab.fame.agent.input.GroupBuilder;
 import de.dlr.gitlab.fame.agent.input.Make;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import util.JSONable;
+import util.StateSnapshot;
 
 /** Represents a physical energy storage device (e.g. LiIon battery or pumped-hydro plant)
  *
  * @author Christoph Schimeczek */
-public class Device extends AbstractDevice {
+public class Device extends AbstractDevice implements JSONable {
 	private double currentEnergyInStorageInMWH;
 	private double accountedInternalEnergyFlowsInMWH = 0;
 	private double accountedFullStorageCycles = 0;
@@ -111,4 +114,13 @@ public class Device extends AbstractDevice {
 	public double getCurrentEnergyInStorageInMWH() {
 		return currentEnergyInStorageInMWH;
 	}
+
+	/** @return current energy content, internal power and accounted totals of this device */
+	@Override
+	public JSONObject toJson() {
+		return new JSONObject().put("EnergyInStorageInMWH", StateSnapshot.toJsonValue(currentEnergyInStorageInMWH))
+				.put("InternalPowerInMW", StateSnapshot.toJsonValue(internalPowerInMW))
+				.put("AccountedInternalEnergyFlowsInMWH", StateSnapshot.toJsonValue(accountedInternalEnergyFlowsInMWH))
+				.put("AccountedFullStorageCycles", StateSnapshot.toJsonValue(accountedFullStorageCycles));
+	}
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.agent.input.Tree;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache;
+import util.SolveCache.Fingerprint;
 
 /** Provides basic functions for dynamic programming-based optimisation of dispatch strategies. The states storage states
  * considered are the discretised (internal) storage energy levels. The full merit-order forecast information is required to
@@ -58,6 +60,19 @@ public abstract class DynamicProgrammingStrategist extends ArbitrageStrategist {
 		updateScheduleArrays(startTimePeriod);
 	}
 
+	/** Schedules of dynamic programming strategists depend only on the forecasts, the discretisation and the storage device; thus,
+	 * strategists of identical storage devices that receive equal forecasts share their schedules */
+	@Override
+	protected SolveCache.Key createSolveKey(TimePeriod timePeriod) {
+		Fingerprint fingerprint = new Fingerprint();
+		addFingerprintTo(fingerprint, timePeriod);
+		fingerprint.add(numberOfTransitionStates).add(numberOfEnergyStates).add(storage.getInternalPowerInMW())
+				.add(storage.getEnergyStorageCapacityInMWH()).add(storage.getSelfDischargeRatePerHour())
+				.add(storage.getChargingEfficiency()).add(storage.getDischargingEfficiency())
+				.add(storage.getCurrentEnergyInStorageInMWH());
+		return fingerprint.toKey();
+	}
+
 	/** replaces all entries in the planning arrays with 0 or Integer.MIN_VALUE */
 	protected abstract void clearPlanningArrays();
 
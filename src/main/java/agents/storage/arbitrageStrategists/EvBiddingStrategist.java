@@ -6,7 +6,6 @@ package agents.storage.arbitrageStrategists;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import agents.predictionService.InputVariable;
 import agents.predictionService.PredictionRequest;
 import agents.predictionService.PredictionResponse;
@@ -19,6 +18,7 @@ import de.dlr.gitlab.fame.data.TimeSeries;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
 import util.SeriesManipulation;
+import util.TimeWindowedMap;
 import util.UrlModelService;
 
 /** A bidding strategist for Electric Vehicles (EV) using machine-learning (ML) algorithms based on EV's electricity consumption
@@ -39,8 +39,8 @@ public class EvBiddingStrategist {
 	private final TimeSeries electricityConsumptionInMWH;
 	private static final long TIME_STEPS_PER_SLICE = de.dlr.gitlab.fame.time.Constants.STEPS_PER_HOUR;
 
-	public final TreeMap<Long, Double> priceForecastsInEURperMWH = new TreeMap<>();
-	public final TreeMap<Long, Double> netLoadHistoryInMWH = new TreeMap<>();
+	public final TimeWindowedMap<Long, Double> priceForecastsInEURperMWH;
+	public final TimeWindowedMap<Long, Double> netLoadHistoryInMWH;
 
 	private final int electricityPriceForwardWindow;
 	private final int electricityPriceBackwardWindow;
@@ -74,6 +74,9 @@ public class EvBiddingStrategist {
 		electricityConsumptionForwardWindow = predictionWindows.getInteger("ElectricityConsumptionForwardWindow");
 		electricityConsumptionBackwardWindow = predictionWindows.getInteger("ElectricityConsumptionBackwardWindow");
 		loadPredictionBackwardWindow = predictionWindows.getInteger("LoadPredictionBackwardWindow");
+		priceForecastsInEURperMWH = TimeWindowedMap
+				.withSteps((electricityPriceBackwardWindow + forecastPeriodInHours) * TIME_STEPS_PER_SLICE);
+		netLoadHistoryInMWH = TimeWindowedMap.withSteps(loadPredictionBackwardWindow * TIME_STEPS_PER_SLICE);
 	}
 
 	/** Returns the predicted net load for the requested time via the ML model behind the UrlModelService
@@ -39,10 +39,93 @@ public class MultiAgentMedian extends ArbitrageStrategist {
 		CHARGE, DISCHARGE, IDLE
 	};
 
+	/** Distributes energy proportional to non-negative weights, with each element's power capped at a maximum power. Powers of
+	 * saturated elements equal the maximum power, all other powers equal a common level times their weight. The level follows
+	 * the round-based redistribution of remaining energy among non-saturated elements until the capped powers sum up to the
+	 * given energy; each round is evaluated on sorted weights using binary search instead of a loop over all elements. */
+	static final class ProportionalDistributor {
+		private final double[] sortedWeights;
+		private final double[] cumulativeWeights;
+
+		/** Creates a {@link ProportionalDistributor}
+		 * 
+		 * @param maxElements maximum number of elements to distribute energy to in one call */
+		ProportionalDistributor(int maxElements) {
+			sortedWeights = new double[maxElements];
+			cumulativeWeights = new double[maxElements];
+		}
+
+		/** Distributes specified energy to (dis-)charge proportional to given weights in the given element range
+		 * 
+		 * @param energyToCharge positive: charging, negative: discharging
+		 * @param maxPowerInMW maximum absolute power per element
+		 * @param weights non-negative weights per element
+		 * @param powers to be overwritten in the given element range with the distributed (dis-)charging powers
+		 * @param firstElement first element of the range to distribute energy to
+		 * @param elementAfterLastElement element after the last element of the range to distribute energy to */
+		void distribute(double energyToCharge, double maxPowerInMW, double[] weights, double[] powers, int firstElement,
+				int elementAfterLastElement) {
+			int count = 0;
+			for (int element = firstElement; element < elementAfterLastElement; element++) {
+				if (weights[element] > 0) {
+					sortedWeights[count++] = weights[element];
+				}
+			}
+			Arrays.sort(sortedWeights, 0, count);
+			double sumOfWeights = 0;
+			for (int index = 0; index < count; index++) {
+				sumOfWeights += sortedWeights[index];
+				cumulativeWeights[index] = sumOfWeights;
+			}
+			double level = calcLevel(Math.abs(energyToCharge), maxPowerInMW, count);
+			double sign = Math.signum(energyToCharge);
+			for (int element = firstElement; element < elementAfterLastElement; element++) {
+				powers[element] = weights[element] > 0 ? sign * Math.min(maxPowerInMW, level * weights[element]) : 0;
+			}
+		}
+
+		/** @return level reached by rounds that distribute the remaining energy among non-saturated elements proportional to their
+		 *         weights; after each round, the remaining energy is the given energy minus the powers of all elements; rounds end
+		 *         once no energy remains, no further element got saturated, or all weighted elements are saturated */
+		private double calcLevel(double energy, double maxPowerInMW, int count) {
+			double level = 0;
+			double remainingEnergy = energy;
+			int unsaturatedCount = count;
+			while (remainingEnergy > 0 && unsaturatedCount > 0) {
+				level += remainingEnergy / cumulativeWeights[unsaturatedCount - 1];
+				int nextUnsaturatedCount = countUnsaturated(level, maxPowerInMW, unsaturatedCount);
+				double unsaturatedWeights = nextUnsaturatedCount > 0 ? cumulativeWeights[nextUnsaturatedCount - 1] : 0;
+				remainingEnergy = energy - level * unsaturatedWeights - (count - nextUnsaturatedCount) * maxPowerInMW;
+				if (nextUnsaturatedCount == unsaturatedCount) {
+					break;
+				}
+				unsaturatedCount = nextUnsaturatedCount;
+			}
+			return level;
+		}
+
+		/** @return number of smallest sorted weights among the given number of weights whose power at given level is below the
+		 *         maximum power */
+		private int countUnsaturated(double level, double maxPowerInMW, int count) {
+			int low = 0;
+			int high = count;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (level * sortedWeights[middle] < maxPowerInMW) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+
 	private final Polynomial assessmentFunction;
 	private final double[] forecastPrices = new double[forecastSteps];
 	private final double[] internalChargingPowersInMW = new double[forecastSteps];
 	private final double[] assessmentValues = new double[forecastSteps];
+	private final ProportionalDistributor distributor = new ProportionalDistributor(forecastSteps);
 	private double priceMedian;
 	private double maxChargePrice;
 	private double minDischargePrice;
@@ -171,30 +254,8 @@ public class MultiAgentMedian extends ArbitrageStrategist {
 	 * 
 	 * @return total (dis-)charged energy */
 	private double updateChargeSchedule(double energyToCharge, int firstElement, int elementAfterLastElement) {
-		double maxChargingPowerInMW = storage.getInternalPowerInMW();
-		double remainingEnergyToCharge = energyToCharge;
-
-		distributionLoop: while ((remainingEnergyToCharge * energyToCharge) > 0) {
-			double sumOfWeights = 0;
-			for (int element = firstElement; element < elementAfterLastElement; element++) {
-				if (Math.abs(internalChargingPowersInMW[element]) < maxChargingPowerInMW) {
-					sumOfWeights += assessmentValues[element];
-				}
-			}
-			if (sumOfWeights == 0) {
-				break distributionLoop;
-			}
-			double energyPerWeight = remainingEnergyToCharge / sumOfWeights;
-			for (int element = firstElement; element < elementAfterLastElement; element++) {
-				if (Math.abs(internalChargingPowersInMW[element]) < maxChargingPowerInMW) {
-					double chargingPowerInMW = energyPerWeight * assessmentValues[element] + internalChargingPowersInMW[element];
-					chargingPowerInMW = Math.max(-maxChargingPowerInMW, Math.min(maxChargingPowerInMW, chargingPowerInMW));
-					internalChargingPowersInMW[element] = chargingPowerInMW;
-					remainingEnergyToCharge -= chargingPowerInMW;
-				}
-			}
-		}
-
+		distributor.distribute(energyToCharge, storage.getInternalPowerInMW(), assessmentValues, internalChargingPowersInMW,
+				firstElement, elementAfterLastElement);
 		double totalChargedEnergy = 0;
 		for (int element = firstElement; element < elementAfterLastElement; element++) {
 			totalChargedEnergy += internalChargingPowersInMW[element];
@@ -5,7 +5,7 @@ package agents.storage.arbitrageStrategists;
 
 import agents.markets.meritOrder.sensitivities.MeritOrderSensitivity;
 import agents.markets.meritOrder.sensitivities.PriceSensitivity;
-import agents.markets.meritOrder.sensitivities.StepPower;
+import agents.markets.meritOrder.sensitivities.StepValues;
 import agents.storage.Device;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
@@ -18,6 +18,8 @@ import de.dlr.gitlab.fame.time.TimePeriod;
 public class ProfitMaximiser extends DynamicProgrammingStrategist {
 	/** incomeSum[t][i]: income that can be collected in time step t being in internal state i */
 	private final double[][] incomeSum;
+	/** charge prices and powers used in periods without sensitivity */
+	private final StepValues zeroStepValues;
 
 	/** Creates a {@link ProfitMaximiser}
 	 * 
@@ -29,6 +31,7 @@ public class ProfitMaximiser extends DynamicProgrammingStrategist {
 			throws MissingDataException {
 		super(generalInput, specificInput, storage);
 		incomeSum = new double[forecastSteps][numberOfEnergyStates];
+		zeroStepValues = StepValues.zero(numberOfTransitionStates);
 	}
 
 	@Override
@@ -48,8 +51,7 @@ public class ProfitMaximiser extends DynamicProgrammingStrategist {
 			int period = forecastSteps - k - 1; // step backwards in time
 			int nextPeriod = period + 1;
 			TimePeriod timePeriod = firstPeriod.shiftByDuration(period);
-			double[] chargePrices = calcChargePrices(timePeriod);
-			double[] powerDeltasInMW = calcPowerDeltas(timePeriod);
+			StepValues chargePrices = calcChargePrices(timePeriod);
 
 			for (int initialState = 0; initialState < numberOfEnergyStates; initialState++) {
 				double currentBestIncome = -Double.MAX_VALUE;
@@ -58,7 +60,7 @@ public class ProfitMaximiser extends DynamicProgrammingStrategist {
 				int lastFinalState = calcFinalStateUpperBound(initialState);
 				for (int finalState = firstFinalState; finalState <= lastFinalState; finalState++) {
 					int stateDelta = finalState - initialState;
-					double incomeTransition = calcIncomeTransition(stateDelta, chargePrices, powerDeltasInMW);
+					double incomeTransition = calcIncomeTransition(stateDelta, chargePrices);
 					double income = incomeTransition + getBestIncome(nextPeriod, finalState);
 					if (income > currentBestIncome) {
 						currentBestIncome = income;
@@ -74,34 +76,13 @@ public class ProfitMaximiser extends DynamicProgrammingStrategist {
 		}
 	}
 
-	/** @return price steps for charging & discharging in the specified {@link TimePeriod} */
-	private double[] calcChargePrices(TimePeriod timePeriod) {
+	/** @return price and power steps for charging & discharging in the specified {@link TimePeriod} */
+	private StepValues calcChargePrices(TimePeriod timePeriod) {
 		final PriceSensitivity sensitivity = (PriceSensitivity) getSensitivityForPeriod(timePeriod);
 		if (sensitivity != null) {
-			return sensitivity.getValuesInSteps(numberOfTransitionStates);
+			return sensitivity.getStepValues(numberOfTransitionStates);
 		} else {
-			return new double[2 * numberOfTransitionStates + 1];
-		}
-	}
-
-	/** @return powers from max discharging to max charging in the specified {@link TimePeriod} */
-	private double[] calcPowerDeltas(TimePeriod timePeriod) {
-		double[] powerDeltasInMW = new double[numberOfTransitionStates * 2 + 1];
-		StepPower stepPower = calcStepPower(timePeriod);
-		for (int i = -numberOfTransitionStates; i <= numberOfTransitionStates; i++) {
-			int index = i + numberOfTransitionStates;
-			powerDeltasInMW[index] = stepPower.getPower(i);
-		}
-		return powerDeltasInMW;
-	}
-
-	/** @return power steps for charging & discharging in the specified {@link TimePeriod} */
-	private StepPower calcStepPower(TimePeriod timePeriod) {
-		final PriceSensitivity sensitivity = (PriceSensitivity) getSensitivityForPeriod(timePeriod);
-		if (sensitivity != null) {
-			return sensitivity.getStepPowers(numberOfTransitionStates);
-		} else {
-			return new StepPower(0, 0, numberOfTransitionStates);
+			return zeroStepValues;
 		}
 	}
 
@@ -111,10 +92,9 @@ public class ProfitMaximiser extends DynamicProgrammingStrategist {
 	}
 
 	/** @return income for a state transition under specified chargePrices */
-	private double calcIncomeTransition(int stateDelta, double[] chargePrices, double[] powerDeltasInMW) {
-		int arrayIndex = numberOfTransitionStates + stateDelta;
-		double externalEnergyDelta = powerDeltasInMW[arrayIndex];
-		double price = chargePrices[arrayIndex];
+	private double calcIncomeTransition(int stateDelta, StepValues chargePrices) {
+		double externalEnergyDelta = chargePrices.getPower(stateDelta);
+		double price = chargePrices.getValue(stateDelta);
 		return -externalEnergyDelta * price;
 	}
 
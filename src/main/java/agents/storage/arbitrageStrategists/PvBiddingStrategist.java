@@ -6,7 +6,6 @@ package agents.storage.arbitrageStrategists;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import agents.predictionService.InputVariable;
 import agents.predictionService.PredictionRequest;
 import agents.predictionService.PredictionResponse;
@@ -20,6 +19,7 @@ import de.dlr.gitlab.fame.data.TimeSeries;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
 import util.SeriesManipulation;
+import util.TimeWindowedMap;
 import util.UrlModelService;
 
 /** Creates a bidding strategist for PV ML based agents with own load, own electricity production, and own storage.
@@ -51,9 +51,9 @@ public class PvBiddingStrategist {
 	private final int gridInteractionBackwardWindow;
 	private static final long TIME_STEPS_PER_SLICE = de.dlr.gitlab.fame.time.Constants.STEPS_PER_HOUR;
 
-	private final TreeMap<Long, Double> endUserPriceForecastsInEURperMWH = new TreeMap<>();
-	private final TreeMap<Long, Double> netLoadHistoryInMWH = new TreeMap<>();
-	private final TreeMap<Long, Double> storedEnergyHistoryInMWH = new TreeMap<>();
+	private final TimeWindowedMap<Long, Double> endUserPriceForecastsInEURperMWH;
+	private final TimeWindowedMap<Long, Double> netLoadHistoryInMWH;
+	private final TimeWindowedMap<Long, Double> storedEnergyHistoryInMWH;
 
 	/** Create {@link PvBiddingStrategist} based on given input parameters
 	 * 
@@ -76,7 +76,6 @@ public class PvBiddingStrategist {
 		this.tsGenerationProfile = tsGenerationProfile;
 		this.storage = storage;
 		this.forecastPeriodInHours = forecastPeriodInHours;
-		storedEnergyHistoryInMWH.put(0L, storage.getCurrentEnergyInStorageInMWH());
 		energyGenerationForwardWindow = predictionWindows.getInteger("EnergyGenerationForwardWindow");
 		energyGenerationBackwardWindow = predictionWindows.getInteger("EnergyGenerationBackwardWindow");
 		storedEnergyForwardWindow = predictionWindows.getInteger("StoredEnergyForwardWindow");
@@ -86,6 +85,11 @@ public class PvBiddingStrategist {
 		electricityPriceForwardWindow = predictionWindows.getInteger("ElectricityPriceForwardWindow");
 		electricityPriceBackwardWindow = predictionWindows.getInteger("ElectricityPriceBackwardWindow");
 		gridInteractionBackwardWindow = predictionWindows.getInteger("GridInteractionBackwardWindow");
+		endUserPriceForecastsInEURperMWH = TimeWindowedMap
+				.withSteps((electricityPriceBackwardWindow + forecastPeriodInHours) * TIME_STEPS_PER_SLICE);
+		netLoadHistoryInMWH = TimeWindowedMap.withSteps(gridInteractionBackwardWindow * TIME_STEPS_PER_SLICE);
+		storedEnergyHistoryInMWH = TimeWindowedMap.withSteps(storedEnergyBackwardWindow * TIME_STEPS_PER_SLICE);
+		storedEnergyHistoryInMWH.put(0L, storage.getCurrentEnergyInStorageInMWH());
 	}
 
 	/** Returns the predicted net load for the requested time via the ML model behind the UrlModelService
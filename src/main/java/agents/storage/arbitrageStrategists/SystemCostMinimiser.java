@@ -5,6 +5,7 @@ package agents.storage.arbitrageStrategists;
 
 import agents.markets.meritOrder.sensitivities.MarginalCostSensitivity;
 import agents.markets.meritOrder.sensitivities.MeritOrderSensitivity;
+import agents.markets.meritOrder.sensitivities.StepValues;
 import agents.storage.Device;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
@@ -17,6 +18,8 @@ import de.dlr.gitlab.fame.time.TimePeriod;
 public class SystemCostMinimiser extends DynamicProgrammingStrategist {
 	/** costSum[t][i]: summed marginal cost of the best sequence of states starting in period t and internal state i */
 	private final double[][] followUpCostSum;
+	/** marginal cost deltas used in periods without sensitivity */
+	private final StepValues zeroStepValues;
 
 	/** Creates a {@link SystemCostMinimiser}
 	 * 
@@ -28,6 +31,7 @@ public class SystemCostMinimiser extends DynamicProgrammingStrategist {
 			throws MissingDataException {
 		super(generalInput, specificInput, storage);
 		followUpCostSum = new double[forecastSteps][numberOfEnergyStates];
+		zeroStepValues = StepValues.zero(numberOfTransitionStates);
 	}
 
 	@Override
@@ -47,7 +51,7 @@ public class SystemCostMinimiser extends DynamicProgrammingStrategist {
 			int step = forecastSteps - k - 1; // step backwards in time
 			int nextStep = step + 1;
 			TimePeriod timePeriod = startPeriod.shiftByDuration(step);
-			double[] marginalCostDeltaPerStep = calcCostSteps(timePeriod);
+			StepValues marginalCostDeltaPerStep = calcCostSteps(timePeriod);
 
 			for (int initialState = 0; initialState < numberOfEnergyStates; initialState++) {
 				double currentLowestCost = Double.MAX_VALUE;
@@ -56,8 +60,7 @@ public class SystemCostMinimiser extends DynamicProgrammingStrategist {
 				int lastFinalState = calcFinalStateUpperBound(initialState);
 				for (int finalState = firstFinalState; finalState <= lastFinalState; finalState++) {
 					int stateDelta = finalState - initialState;
-					int costStepIndex = numberOfTransitionStates + stateDelta;
-					double cost = marginalCostDeltaPerStep[costStepIndex] + getFollowUpCost(nextStep, finalState);
+					double cost = marginalCostDeltaPerStep.getValue(stateDelta) + getFollowUpCost(nextStep, finalState);
 					if (cost < currentLowestCost) {
 						currentLowestCost = cost;
 						bestFinalState = finalState;
@@ -73,12 +76,12 @@ public class SystemCostMinimiser extends DynamicProgrammingStrategist {
 	}
 
 	/** @return marginal cost delta for each charging or discharging option, i.e. 2 * transitionStates + 1 options */
-	private double[] calcCostSteps(TimePeriod timePeriod) {
+	private StepValues calcCostSteps(TimePeriod timePeriod) {
 		MarginalCostSensitivity sensitivity = (MarginalCostSensitivity) getSensitivityForPeriod(timePeriod);
 		if (sensitivity != null) {
-			return sensitivity.getValuesInSteps(numberOfTransitionStates);
+			return sensitivity.getStepValues(numberOfTransitionStates);
 		} else {
-			return new double[2 * numberOfTransitionStates + 1];
+			return zeroStepValues;
 		}
 	}
 
@@ -80,7 +80,8 @@ public class ConventionalTrader extends TraderWithClients implements PowerPlantS
 		TreeMap<TimeStamp, ArrayList<MarginalsAtTime>> marginalsByTimeStamp = sortMarginalsByTimeStamp(messages);
 		for (Entry<TimeStamp, ArrayList<MarginalsAtTime>> entry : marginalsByTimeStamp.entrySet()) {
 			List<Bid> supplyBids = prepareBids(entry.getValue());
-			fulfilNext(contractToFulfil, new BidsAtTime(entry.getKey(), getId(), supplyBids, null));
+			fulfilNext(contractToFulfil,
+					new BidsAtTime(entry.getKey(), getId(), supplyBids, null, isAscendingInPrice(supplyBids)));
 		}
 	}
 
@@ -109,6 +110,16 @@ public class ConventionalTrader extends TraderWithClients implements PowerPlantS
 		return bids;
 	}
 
+	/** @return true if offer prices of given bids are in ascending order */
+	private boolean isAscendingInPrice(List<Bid> bids) {
+		for (int index = 1; index < bids.size(); index++) {
+			if (Double.compare(bids.get(index).getOfferPriceInEURperMWH(), bids.get(index - 1).getOfferPriceInEURperMWH()) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/** Sends supply {@link Bid}s to {@link DayAheadMarket} and stores offered power
 	 * 
 	 * @param messages marginal cost data from client
@@ -119,7 +130,8 @@ public class ConventionalTrader extends TraderWithClients implements PowerPlantS
 		if (marginals.size() > 0) {
 			List<Bid> supplyBids = prepareBids(marginals);
 			TimeStamp deliveryTime = marginals.get(0).getDeliveryTime();
-			fulfilNext(contractToFulfil, new BidsAtTime(deliveryTime, getId(), supplyBids, null));
+			fulfilNext(contractToFulfil,
+					new BidsAtTime(deliveryTime, getId(), supplyBids, null, isAscendingInPrice(supplyBids)));
 			double totalOfferedPowerInMW = supplyBids.stream().mapToDouble(bid -> bid.getEnergyAmountInMWH()).sum();
 			store(OutputColumns.OfferedEnergyInMWH, totalOfferedPowerInMW);
 		}
@@ -14,6 +14,7 @@ import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
 import agents.markets.meritOrder.Constants;
+import agents.profiling.ProfiledAgent;
 import agents.storage.arbitrageStrategists.EvBiddingStrategist;
 import communications.message.AmountAtTime;
 import communications.message.AwardData;
@@ -38,7 +39,7 @@ import de.dlr.gitlab.fame.time.TimeStamp;
  * predicting the optimised load via connected machine-learning model.
  * 
  * @author A. Achraf El Ghazi, Ulrich Frey */
-public class EvTraderExternal extends FlexibilityTrader {
+public class EvTraderExternal extends FlexibilityTrader implements ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree()
 			.add(
 					Make.newString("ServiceUrl"),
@@ -80,11 +81,13 @@ public class EvTraderExternal extends FlexibilityTrader {
 		biddingStrategist = new EvBiddingStrategist(urlService, modelId, forecastPeriodInHours,
 				availableChargingPowerInMW, elecConsumptionInMWH, input.getGroup("PredictionWindows"));
 
-		call(this::requestPriceForecast).on(DamForecastClient.Products.PriceForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updatePriceForecast).onAndUse(DamForecastProvider.Products.PriceForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(DamForecastClient.Products.PriceForecastRequest, this::requestPriceForecast))
+				.on(DamForecastClient.Products.PriceForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::updatePriceForecast))
+				.onAndUse(DamForecastProvider.Products.PriceForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards)).onAndUse(DayAheadMarket.Products.Awards);
 	}
 
 	/** Requests PriceForecast from contracted partner (Forecaster)
@@ -19,6 +19,7 @@ import agents.forecast.sensitivity.SensitivityForecastProvider;
 import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
+import agents.profiling.ProfiledAgent;
 import communications.message.AmountAtTime;
 import communications.message.AwardData;
 import communications.message.ClearingTimes;
@@ -45,7 +46,7 @@ import de.dlr.gitlab.fame.time.TimeStamp;
  * dynamic programming.
  * 
  * @author Felix Nitsch, Christoph Schimeczek, Johannes Kochems */
-public class GenericFlexibilityTrader extends Trader implements SensitivityForecastClient {
+public class GenericFlexibilityTrader extends Trader implements SensitivityForecastClient, ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree()
 			.addAs("Device", GenericDevice.parameters)
 			.addAs("Assessment", AssessmentFunctionBuilder.parameters)
@@ -59,10 +60,15 @@ public class GenericFlexibilityTrader extends Trader implements SensitivityForec
 		/** Total received money in EUR */
 		ReceivedMoneyInEUR,
 		OfferedChargePriceInEURperMWH, OfferedDischargePriceInEURperMWH, AwardedChargeEnergyInMWH,
-		AwardedDischargeEnergyInMWH, StoredEnergyInMWH, VariableCostsInEUR, DispatchMultiplier
+		AwardedDischargeEnergyInMWH, StoredEnergyInMWH, VariableCostsInEUR, DispatchMultiplier,
+		/** Energy resolution the current schedule was planned with */
+		PlanningResolutionInMWH,
+		/** Estimated objective value missed by the current schedule due to a limited planning budget */
+		PlanningObjectiveGapInEUR
 	}
 
 	private static final TimeSpan OPERATION_PERIOD = new TimeSpan(1, Interval.HOURS);
+	private static final int DEFAULT_COARSENING_LEVELS = 3;
 
 	private final GenericDevice device;
 	private final AssessmentFunction assessmentFunction;
@@ -80,17 +86,24 @@ public class GenericFlexibilityTrader extends Trader implements SensitivityForec
 
 		device = new GenericDevice(input.getGroup("Device"));
 		assessmentFunction = AssessmentFunctionBuilder.build(input.getGroup("Assessment"), device);
-		stateManager = StateManagerBuilder.build(device, assessmentFunction, input.getGroup("StateDiscretisation"));
+		ParameterData discretisation = input.getGroup("StateDiscretisation");
+		stateManager = StateManagerBuilder.build(device, assessmentFunction, discretisation);
 		var bidScheduler = BidSchedulerBuilder.build(input.getGroup("Bidding"));
 		strategist = new Optimiser(stateManager, bidScheduler, assessmentFunction.getTargetType());
-
-		call(this::registerAtForecaster).on(SensitivityForecastClient.Products.ForecastRegistration);
-		call(this::requestElectricityForecast).on(SensitivityForecastClient.Products.SensitivityRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateForecast).onAndUse(SensitivityForecastProvider.Products.SensitivityForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).onAndUse(DayAheadMarket.Products.Awards);
-		call(this::sendAward).on(SensitivityForecastClient.Products.NetAward).use(DayAheadMarket.Products.Awards);
+		strategist.setPlanningBudget(discretisation.getLongOrDefault("PlanningBudgetInTransitions", 0L),
+				discretisation.getIntegerOrDefault("CoarseningLevels", DEFAULT_COARSENING_LEVELS));
+
+		call(profiled(SensitivityForecastClient.Products.ForecastRegistration, this::registerAtForecaster))
+				.on(SensitivityForecastClient.Products.ForecastRegistration);
+		call(profiled(SensitivityForecastClient.Products.SensitivityRequest, this::requestElectricityForecast))
+				.on(SensitivityForecastClient.Products.SensitivityRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(SensitivityForecastProvider.Products.SensitivityForecast, this::updateForecast))
+				.onAndUse(SensitivityForecastProvider.Products.SensitivityForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards)).onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(SensitivityForecastClient.Products.NetAward, this::sendAward))
+				.on(SensitivityForecastClient.Products.NetAward).use(DayAheadMarket.Products.Awards);
 	}
 
 	/** Send registration information to {@link SensitivityForecastProvider}
@@ -146,6 +159,8 @@ public class GenericFlexibilityTrader extends Trader implements SensitivityForec
 					new BidsAtTime(targetTime, getId(), Arrays.asList(supplyBid), Arrays.asList(demandBid)));
 		}
 		store(Outputs.DispatchMultiplier, assessmentFunction.getMultiplier());
+		store(Outputs.PlanningResolutionInMWH, strategist.getLastResolution());
+		store(Outputs.PlanningObjectiveGapInEUR, strategist.getLastObjectiveGap());
 	}
 
 	/** Clears past sensitivities and creates new schedule based on current energy storage level
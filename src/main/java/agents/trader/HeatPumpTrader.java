@@ -26,6 +26,7 @@ import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
 import agents.markets.meritOrder.Constants;
+import agents.profiling.ProfiledAgent;
 import agents.storage.Device;
 import communications.message.AwardData;
 import communications.message.ClearingTimes;
@@ -49,7 +50,7 @@ import endUser.EndUserTariff;
 /** Buys electricity for a portfolio of heat pumps at the EnergyExchange
  * 
  * @author Evelyn Sperber, Christoph Schimeczek */
-public class HeatPumpTrader extends FlexibilityTrader {
+public class HeatPumpTrader extends FlexibilityTrader implements ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree().addAs("Device", Device.parameters.optional().buildTree())
 			.addAs("StrategyBasic", HeatPumpStrategist.parameters)
 			.addAs("HeatingInputData", HeatingInputData.parameters).addAs("HeatPump", HeatPump.parameters)
@@ -94,14 +95,17 @@ public class HeatPumpTrader extends FlexibilityTrader {
 		ParameterData strategyBasic = input.getGroup("StrategyBasic");
 		strategist = createStrategist(strategyBasic, building, heatPump, heatingData, strategyParams, device);
 
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.MeritOrderForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateMeritOrderForecast).onAndUse(DamForecastProvider.Products.MeritOrderForecast);
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.PriceForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateElectricityPriceForecast).onAndUse(DamForecastProvider.Products.PriceForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(DamForecastClient.Products.MeritOrderForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.MeritOrderForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.MeritOrderForecast, this::updateMeritOrderForecast))
+				.onAndUse(DamForecastProvider.Products.MeritOrderForecast);
+		call(profiled(DamForecastClient.Products.PriceForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.PriceForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::updateElectricityPriceForecast))
+				.onAndUse(DamForecastProvider.Products.PriceForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards)).onAndUse(DayAheadMarket.Products.Awards);
 	}
 
 	/** Creates a heat pump strategist
@@ -14,6 +14,7 @@ import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
 import agents.markets.meritOrder.Constants;
+import agents.profiling.ProfiledAgent;
 import agents.storage.Device;
 import agents.storage.arbitrageStrategists.PvBiddingStrategist;
 import communications.message.AmountAtTime;
@@ -41,7 +42,7 @@ import endUser.EndUserTariff;
  * model.
  * 
  * @author A. Achraf El Ghazi, Christoph Schimeczek, Ulrich Frey */
-public class HouseholdPvTraderExternal extends FlexibilityTrader {
+public class HouseholdPvTraderExternal extends FlexibilityTrader implements ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree()
 			.add(Make.newDouble("InstalledGenerationPowerInMW"),
 					Make.newSeries("LoadInMW"),
@@ -84,11 +85,13 @@ public class HouseholdPvTraderExternal extends FlexibilityTrader {
 				tsGenerationProfile, storage, forecastPeriodInHours, input.getGroup("PredictionWindows"));
 		tariffStrategist = new EndUserTariff(input.getGroup("Policy"), input.getGroup("BusinessModel"));
 
-		call(this::requestPriceForecast).on(DamForecastClient.Products.PriceForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updatePriceForecast).onAndUse(DamForecastProvider.Products.PriceForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(DamForecastClient.Products.PriceForecastRequest, this::requestPriceForecast))
+				.on(DamForecastClient.Products.PriceForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::updatePriceForecast))
+				.onAndUse(DamForecastProvider.Products.PriceForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards)).onAndUse(DayAheadMarket.Products.Awards);
 	}
 
 	/** Requests PriceForecast from contracted partner (Forecaster)
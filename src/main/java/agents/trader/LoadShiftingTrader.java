@@ -15,6 +15,7 @@ import agents.loadShifting.strategists.LoadShiftingStrategist;
 import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
+import agents.profiling.ProfiledAgent;
 import communications.message.AwardData;
 import communications.message.ClearingTimes;
 import communications.portable.BidsAtTime;
@@ -35,7 +36,7 @@ import endUser.EndUserTariff;
 /** Offers load adjustment possibilities of a {@link LoadShiftingPortfolio} at the energy exchange
  * 
  * @author Johannes Kochems, Christoph Schimeczek */
-public class LoadShiftingTrader extends FlexibilityTrader {
+public class LoadShiftingTrader extends FlexibilityTrader implements ProfiledAgent {
 	@Input private static final Tree parameters = Make.newTree()
 			.addAs("LoadShiftingPortfolio", LoadShiftingPortfolio.parameters)
 			.addAs("Strategy", LoadShiftingStrategist.parameters)
@@ -66,14 +67,18 @@ public class LoadShiftingTrader extends FlexibilityTrader {
 		this.endUserTariff = new EndUserTariff(input.getGroup("Policy"), input.getGroup("BusinessModel"));
 		this.strategist = LoadShiftingStrategist.createStrategist(input.getGroup("Strategy"), endUserTariff, portfolio);
 
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.MeritOrderForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateMeritOrderForecast).onAndUse(DamForecastProvider.Products.MeritOrderForecast);
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.PriceForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateElectricityPriceForecast).onAndUse(DamForecastProvider.Products.PriceForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).on(DayAheadMarket.Products.Awards).use(DayAheadMarket.Products.Awards);
+		call(profiled(DamForecastClient.Products.MeritOrderForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.MeritOrderForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.MeritOrderForecast, this::updateMeritOrderForecast))
+				.onAndUse(DamForecastProvider.Products.MeritOrderForecast);
+		call(profiled(DamForecastClient.Products.PriceForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.PriceForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::updateElectricityPriceForecast))
+				.onAndUse(DamForecastProvider.Products.PriceForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards))
+				.on(DayAheadMarket.Products.Awards).use(DayAheadMarket.Products.Awards);
 	}
 
 	/** Prepares and sends Bids to the contracted partner
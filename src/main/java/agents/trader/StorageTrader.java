@@ -6,6 +6,7 @@ package agents.trader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.json.JSONObject;
 import agents.flexibility.BidSchedule;
 import agents.flexibility.Strategist;
 import agents.forecast.DamForecastClient;
@@ -15,6 +16,7 @@ import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
 import agents.markets.meritOrder.Bid;
 import agents.markets.meritOrder.Constants;
+import agents.profiling.ProfiledAgent;
 import agents.storage.Device;
 import agents.storage.arbitrageStrategists.ArbitrageStrategist;
 import agents.storage.arbitrageStrategists.FileDispatcher;
@@ -33,11 +35,13 @@ import de.dlr.gitlab.fame.communication.message.Message;
 import de.dlr.gitlab.fame.service.output.Output;
 import de.dlr.gitlab.fame.time.TimePeriod;
 import de.dlr.gitlab.fame.time.TimeStamp;
+import util.JSONable;
+import util.StateSnapshot;
 
 /** Sells and buys energy utilising a Storage {@link Device} at the {@link DayAheadMarket}
  * 
  * @author Christoph Schimeczek, Johannes Kochems, Farzad Sarfarazi, Felix Nitsch */
-public class StorageTrader extends FlexibilityTrader {
+public class StorageTrader extends FlexibilityTrader implements ProfiledAgent, JSONable {
 	@Input private static final Tree parameters = Make.newTree().addAs("Device", Device.parameters.buildTree())
 			.addAs("Strategy", ArbitrageStrategist.parameters).buildTree();
 
@@ -61,15 +65,19 @@ public class StorageTrader extends FlexibilityTrader {
 		this.storage = new Device(input.getGroup("Device"));
 		this.strategist = ArbitrageStrategist.createStrategist(input.getGroup("Strategy"), storage);
 
-		call(this::prepareForecasts).on(Trader.Products.BidsForecast).use(MarketForecaster.Products.ForecastRequest);
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.MeritOrderForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateMeritOrderForecast).onAndUse(DamForecastProvider.Products.MeritOrderForecast);
-		call(this::requestElectricityForecast).on(DamForecastClient.Products.PriceForecastRequest)
-				.use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::updateElectricityPriceForecast).onAndUse(DamForecastProvider.Products.PriceForecast);
-		call(this::prepareBids).on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
-		call(this::digestAwards).onAndUse(DayAheadMarket.Products.Awards);
+		call(profiled(Trader.Products.BidsForecast, this::prepareForecasts))
+				.on(Trader.Products.BidsForecast).use(MarketForecaster.Products.ForecastRequest);
+		call(profiled(DamForecastClient.Products.MeritOrderForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.MeritOrderForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.MeritOrderForecast, this::updateMeritOrderForecast))
+				.onAndUse(DamForecastProvider.Products.MeritOrderForecast);
+		call(profiled(DamForecastClient.Products.PriceForecastRequest, this::requestElectricityForecast))
+				.on(DamForecastClient.Products.PriceForecastRequest).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DamForecastProvider.Products.PriceForecast, this::updateElectricityPriceForecast))
+				.onAndUse(DamForecastProvider.Products.PriceForecast);
+		call(profiled(DayAheadMarketTrader.Products.Bids, this::prepareBids))
+				.on(DayAheadMarketTrader.Products.Bids).use(DayAheadMarket.Products.GateClosureInfo);
+		call(profiled(DayAheadMarket.Products.Awards, this::digestAwards)).onAndUse(DayAheadMarket.Products.Awards);
 	}
 
 	/** Prepares forecasts and sends them to the {@link MarketForecaster}; Calling this function will throw an Exception for
@@ -168,6 +176,7 @@ public class StorageTrader extends FlexibilityTrader {
 		store(OutputFields.StoredEnergyInMWH, storage.getCurrentEnergyInStorageInMWH());
 		store(FlexibilityTrader.Outputs.ReceivedMoneyInEUR, revenues);
 		store(FlexibilityTrader.Outputs.VariableCostsInEUR, costs);
+		StateSnapshot.writeIfDue(getId(), getClass().getSimpleName(), now(), this);
 	}
 
 	@Override
@@ -179,4 +188,10 @@ public class StorageTrader extends FlexibilityTrader {
 	protected Strategist getStrategist() {
 		return strategist;
 	}
+
+	/** @return state of the storage device and current bid schedule, for diagnostic {@link StateSnapshot}s */
+	@Override
+	public JSONObject toJson() {
+		return new JSONObject().put("Device", storage.toJson()).put("Schedule", schedule != null ? schedule.toJson() : null);
+	}
 }
\ No newline at end of file
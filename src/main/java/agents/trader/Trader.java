@@ -4,7 +4,9 @@
 package agents.trader;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
 import agents.markets.DayAheadMarket;
 import agents.markets.DayAheadMarketTrader;
@@ -74,15 +76,24 @@ public abstract class Trader extends Agent implements DayAheadMarketTrader {
 		return marginals;
 	}
 
-	/** @param contracts whose receivers are searched for given agentId
-	 * @param agentId to search for
-	 * @return first matching contract from given list of {@link Contract}s where the given agentID is receiver */
-	protected Contract getMatchingContract(List<Contract> contracts, long agentId) {
+	/** @param contracts to be indexed by their receiver
+	 * @return map of receiver IDs to the first {@link Contract} from given list where the ID is receiver */
+	protected static HashMap<Long, Contract> mapContractsByReceiver(List<Contract> contracts) {
+		HashMap<Long, Contract> contractsByReceiver = new HashMap<>(contracts.size() * 2);
 		for (Contract contract : contracts) {
-			if (agentId == contract.getReceiverId()) {
-				return contract;
-			}
+			contractsByReceiver.putIfAbsent(contract.getReceiverId(), contract);
+		}
+		return contractsByReceiver;
+	}
+
+	/** @param contractsByReceiver contracts mapped by their receiver, see {@link #mapContractsByReceiver(List)}
+	 * @param agentId to search for
+	 * @return contract where the given agentID is receiver */
+	protected static Contract getMatchingContract(Map<Long, Contract> contractsByReceiver, long agentId) {
+		Contract contract = contractsByReceiver.get(agentId);
+		if (contract == null) {
+			throw new RuntimeException(ERR_NO_CONTRACT_IN_LIST + agentId);
 		}
-		throw new RuntimeException(ERR_NO_CONTRACT_IN_LIST + agentId);
+		return contract;
 	}
-}
\ No newline at end of file
+}
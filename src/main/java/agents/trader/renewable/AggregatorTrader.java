@@ -4,6 +4,8 @@
 package agents.trader.renewable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -55,7 +57,7 @@ public abstract class AggregatorTrader extends TraderWithClients implements Powe
 	@Input private static final Tree parameters = Make.newTree().addAs("ForecastError", PowerForecastError.parameters)
 			.buildTree();
 
-	private static final double BIN_WIDTH = 1E-5;
+	static final double BIN_WIDTH = 1E-5;
 
 	static final String ERR_NO_MESSAGE_FOUND = "No client data received for client: ";
 	static final String ERR_SUPPORT_INFO = "Support info not implemented: ";
@@ -109,10 +111,34 @@ public abstract class AggregatorTrader extends TraderWithClients implements Powe
 		}
 	}
 
+	/** Index of {@link ClientData} by the type of their {@link TechnologySet}; set types are matched by equality */
+	static final class ClientIndex {
+		private final HashMap<String, List<ClientData>> clientsBySetType = new HashMap<>();
+
+		/** Replaces given previous data of a client by its given current data
+		 * 
+		 * @param previousData of the client, or null if the client was not registered before
+		 * @param currentData of the client */
+		void replace(ClientData previousData, ClientData currentData) {
+			if (previousData != null) {
+				clientsBySetType.get(previousData.getTechnologySet().setType).remove(previousData);
+			}
+			clientsBySetType.computeIfAbsent(currentData.getTechnologySet().setType, __ -> new ArrayList<>()).add(currentData);
+		}
+
+		/** @return unmodifiable list of client data with given set type in order of registration; empty if there is none */
+		List<ClientData> get(String setType) {
+			List<ClientData> clients = clientsBySetType.get(setType);
+			return clients != null ? Collections.unmodifiableList(clients) : Collections.emptyList();
+		}
+	}
+
 	/** Submitted Bids */
 	protected final TreeMap<TimeStamp, List<ProducerBid>> submittedBidsByTime = new TreeMap<>();
 	/** Map to store all client, i.e. {@link RenewablePlantOperator}, specific data */
 	protected final HashMap<Long, ClientData> clientMap = new HashMap<>();
+	/** Index of client data in {@link #clientMap} by type of their {@link TechnologySet} */
+	private final ClientIndex clientsBySetType = new ClientIndex();
 	/** Stores the power prices from {@link DayAheadMarket} */
 	protected final TreeMap<TimeStamp, Double> powerPrices = new TreeMap<>();
 	/** Adds random errors (normally distributed) to the amount of offered power */
@@ -151,10 +177,15 @@ public abstract class AggregatorTrader extends TraderWithClients implements Powe
 		for (Contract contract : contracts) {
 			long clientId = contract.getSenderId();
 			ClientData clientData = searchClientData(messages, clientId);
-			clientMap.put(clientId, clientData);
+			addClient(clientId, clientData);
 		}
 	}
 
+	/** Adds given client data to {@link #clientMap} and the index by set type, replacing any previous data of that client */
+	private void addClient(long clientId, ClientData clientData) {
+		clientsBySetType.replace(clientMap.put(clientId, clientData), clientData);
+	}
+
 	/** Find client data based on client's Id */
 	private ClientData searchClientData(ArrayList<Message> messages, long clientId) {
 		for (Message message : messages) {
@@ -196,14 +227,9 @@ public abstract class AggregatorTrader extends TraderWithClients implements Powe
 	/** Return all data of clients that match the given setType
 	 * 
 	 * @param setType to search for
-	 * @return client data for given set type */
+	 * @return unmodifiable list of client data for given set type */
 	protected List<ClientData> getClientDataForSetType(String setType) {
-		List<ClientData> clients = new ArrayList<>();
-		for (ClientData clientData : clientMap.values()) {
-			if (clientData.getTechnologySet().setType == setType) {
-				clients.add(clientData);
-			}
-		}
+		List<ClientData> clients = clientsBySetType.get(setType);
 		if (clients.isEmpty()) {
 			throw new RuntimeException(this + ERR_NO_CLIENT_FOR_SET + setType);
 		}
@@ -328,47 +354,71 @@ public abstract class AggregatorTrader extends TraderWithClients implements Powe
 		store(DayAheadMarketTrader.OutputColumns.AwardedEnergyInMWH, award.supplyEnergyInMWH);
 		double energyToDispatch = award.supplyEnergyInMWH;
 		List<ProducerBid> submittedBids = submittedBidsByTime.remove(award.beginOfDeliveryInterval);
+		submittedBidsByTime.headMap(award.beginOfDeliveryInterval).clear();
 		submittedBids.sort(Comparator.comparingDouble(ProducerBid::getOfferPrice));
+		HashMap<Long, Contract> contractsByReceiver = mapContractsByReceiver(contracts);
 
-		HashMap<Integer, List<ProducerBid>> bidsBinnedByOfferPrice = getBinnedBids(submittedBids);
-		double actualProductionPotentialInMWH = 0;
-		for (var bids : bidsBinnedByOfferPrice.values()) {
-			double productionPotentialInBinInMWH = bids.stream().mapToDouble(b -> b.powerPotential).sum();
-			actualProductionPotentialInMWH += productionPotentialInBinInMWH;
-			double assignmentShare = Math.min(1., energyToDispatch / productionPotentialInBinInMWH);
-			for (ProducerBid bid : bids) {
-				double dispatchedEnergy = assignmentShare * bid.powerPotential;
-				energyToDispatch = Math.max(0, energyToDispatch - dispatchedEnergy);
-				logClientDispatchAndRevenues(dispatchedEnergy, award.powerPriceInEURperMWH, bid.producerUuid,
-						award.beginOfDeliveryInterval);
-				Contract matchingContract = getMatchingContract(contracts, bid.producerUuid);
-				fulfilNext(matchingContract, new AmountAtTime(award.beginOfDeliveryInterval, dispatchedEnergy));
-			}
+		double[] offerPrices = new double[submittedBids.size()];
+		double[] powerPotentials = new double[submittedBids.size()];
+		for (int index = 0; index < submittedBids.size(); index++) {
+			offerPrices[index] = submittedBids.get(index).getOfferPrice();
+			powerPotentials[index] = submittedBids.get(index).powerPotential;
+		}
+		double[] dispatchedEnergies = new double[submittedBids.size()];
+		double actualProductionPotentialInMWH = distributeDispatch(offerPrices, powerPotentials, energyToDispatch,
+				dispatchedEnergies);
+		for (int index = 0; index < submittedBids.size(); index++) {
+			ProducerBid bid = submittedBids.get(index);
+			logClientDispatchAndRevenues(dispatchedEnergies[index], award.powerPriceInEURperMWH, bid.producerUuid,
+					award.beginOfDeliveryInterval);
+			Contract matchingContract = getMatchingContract(contractsByReceiver, bid.producerUuid);
+			fulfilNext(matchingContract, new AmountAtTime(award.beginOfDeliveryInterval, dispatchedEnergies[index]));
 		}
 		powerPrices.put(award.beginOfDeliveryInterval, award.powerPriceInEURperMWH);
 		store(OutputColumns.TrueGenerationPotentialInMWH, actualProductionPotentialInMWH);
 	}
 
-	/** Return given bids in offer-price bins - bids with similar offer price are mapped to the same bin
+	/** Distributes given energy to bids in ascending order of their offer-price bins; within a bin, energy is distributed
+	 * proportional to the bids' power potentials
+	 * 
+	 * @param offerPrices of the bids in ascending order
+	 * @param powerPotentials of the bids, in the same order
+	 * @param energyToDispatch awarded energy to be distributed
+	 * @param dispatchedEnergies to be overwritten with the energy dispatched to each bid, in the same order
+	 * @return total power potential of all bids */
+	static double distributeDispatch(double[] offerPrices, double[] powerPotentials, double energyToDispatch,
+			double[] dispatchedEnergies) {
+		int[] binStartIndices = getBinStartIndices(offerPrices);
+		double totalPowerPotential = 0;
+		for (int binIndex = 0; binIndex < binStartIndices.length; binIndex++) {
+			int binEndIndex = binIndex + 1 < binStartIndices.length ? binStartIndices[binIndex + 1] : offerPrices.length;
+			double powerPotentialInBin = Arrays.stream(powerPotentials, binStartIndices[binIndex], binEndIndex).sum();
+			totalPowerPotential += powerPotentialInBin;
+			double assignmentShare = Math.min(1., energyToDispatch / powerPotentialInBin);
+			for (int index = binStartIndices[binIndex]; index < binEndIndex; index++) {
+				dispatchedEnergies[index] = assignmentShare * powerPotentials[index];
+				energyToDispatch = Math.max(0, energyToDispatch - dispatchedEnergies[index]);
+			}
+		}
+		return totalPowerPotential;
+	}
+
+	/** Return start indices of offer-price bins in given offer prices - similar offer prices are assigned to the same bin
 	 * 
-	 * @param bids ordered by offer price in ascending order
-	 * @return bids in bins by offer price; to counter numerical instability bids within a small tolerance band are assigned the
-	 *         same bin */
-	private HashMap<Integer, List<ProducerBid>> getBinnedBids(List<ProducerBid> bids) {
-		HashMap<Integer, List<ProducerBid>> binnedBids = new HashMap<>();
+	 * @param offerPrices in ascending order
+	 * @return ascending indices of the first offer price in each bin; to counter numerical instability offer prices within a
+	 *         small tolerance band are assigned the same bin */
+	private static int[] getBinStartIndices(double[] offerPrices) {
+		int[] binStartIndices = new int[offerPrices.length];
+		int binCount = 0;
 		double lowestOfferPriceInBin = Double.NEGATIVE_INFINITY;
-		int binIndex = -1;
-		List<ProducerBid> bidsInBin = new ArrayList<>();
-		for (ProducerBid bid : bids) {
-			if (bid.getOfferPrice() - BIN_WIDTH > lowestOfferPriceInBin) {
-				binIndex++;
-				lowestOfferPriceInBin = bid.getOfferPrice();
-				bidsInBin = new ArrayList<>();
-				binnedBids.put(binIndex, bidsInBin);
+		for (int index = 0; index < offerPrices.length; index++) {
+			if (offerPrices[index] - BIN_WIDTH > lowestOfferPriceInBin) {
+				binStartIndices[binCount++] = index;
+				lowestOfferPriceInBin = offerPrices[index];
 			}
-			bidsInBin.add(bid);
 		}
-		return binnedBids;
+		return Arrays.copyOf(binStartIndices, binCount);
 	}
 
 	/** Logs actual dispatch and revenue for client at given delivery time
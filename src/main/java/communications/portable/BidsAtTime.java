@@ -3,6 +3,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package communications.portable;
 
+import java.util.ArrayList;
 import java.util.List;
 import agents.markets.meritOrder.Bid;
 import de.dlr.gitlab.fame.communication.transfer.ComponentCollector;
@@ -22,6 +23,8 @@ public class BidsAtTime implements Portable {
 	private TimeStamp deliveryTime;
 	/** id of the trader that is associated with the bids */
 	private long traderUuid;
+	/** true if supply bids are ordered by ascending and demand bids by descending offer price */
+	private boolean bidsAreSorted = false;
 
 	/** required for {@link Portable}s */
 	public BidsAtTime() {}
@@ -39,29 +42,74 @@ public class BidsAtTime implements Portable {
 		this.demandBids = demandBids;
 	}
 
+	/** Create a Bid message
+	 * 
+	 * @param deliveryTime at which the bids shall be valid
+	 * @param traderUuid id of the trader that is associated with the bids
+	 * @param supplyBids list of supplyBids, may be null or empty
+	 * @param demandBids list of demandBids, may be null or empty
+	 * @param bidsAreSorted true if supply bids are ordered by ascending and demand bids by descending offer price */
+	public BidsAtTime(TimeStamp deliveryTime, long traderUuid, List<Bid> supplyBids, List<Bid> demandBids,
+			boolean bidsAreSorted) {
+		this(deliveryTime, traderUuid, supplyBids, demandBids);
+		this.bidsAreSorted = bidsAreSorted;
+	}
+
+	/** Stores bids as contiguous primitive arrays: one length prefix per side, followed by energies, offer prices and marginal
+	 * costs of all supply bids and then of all demand bids */
 	@Override
 	public void addComponentsTo(ComponentCollector collector) {
 		collector.storeComponents(deliveryTime);
 		collector.storeLongs(traderUuid);
-		if (supplyBids != null) {
-			collector.storeInts(supplyBids.size());
-			supplyBids.stream().forEach(bid -> collector.storeComponents(bid));
-		} else {
-			collector.storeInts(0);
+		collector.storeBooleans(bidsAreSorted);
+		collector.storeInts(countBids(supplyBids), countBids(demandBids));
+		storePacked(collector, supplyBids);
+		storePacked(collector, demandBids);
+	}
+
+	/** @return number of given bids, or 0 if bids are null */
+	private static int countBids(List<Bid> bids) {
+		return bids != null ? bids.size() : 0;
+	}
+
+	/** Stores energies, offer prices and marginal costs of given bids (if any) as three primitive arrays */
+	private static void storePacked(ComponentCollector collector, List<Bid> bids) {
+		int bidCount = countBids(bids);
+		if (bidCount == 0) {
+			return;
 		}
-		if (demandBids != null) {
-			demandBids.stream().forEach(bid -> collector.storeComponents(bid));
+		double[] values = new double[3 * bidCount];
+		for (int index = 0; index < bidCount; index++) {
+			Bid bid = bids.get(index);
+			values[index] = bid.getEnergyAmountInMWH();
+			values[bidCount + index] = bid.getOfferPriceInEURperMWH();
+			values[2 * bidCount + index] = bid.getMarginalCost();
 		}
+		collector.storeDoubles(values);
 	}
 
 	@Override
 	public void populate(ComponentProvider provider) {
 		deliveryTime = provider.nextComponent(TimeStamp.class);
 		traderUuid = provider.nextLong();
+		bidsAreSorted = provider.nextBoolean();
 		int supplyBidCount = provider.nextInt();
-		List<Bid> allBids = provider.nextComponentList(Bid.class);
-		supplyBids = allBids.subList(0, supplyBidCount);
-		demandBids = allBids.subList(supplyBidCount, allBids.size());
+		int demandBidCount = provider.nextInt();
+		supplyBids = readPacked(provider, supplyBidCount);
+		demandBids = readPacked(provider, demandBidCount);
+	}
+
+	/** @return given number of bids read from energies, offer prices and marginal costs stored as three primitive arrays */
+	private static List<Bid> readPacked(ComponentProvider provider, int bidCount) {
+		double[] values = new double[3 * bidCount];
+		for (int index = 0; index < values.length; index++) {
+			values[index] = provider.nextDouble();
+		}
+		List<Bid> bids = new ArrayList<>(bidCount);
+		for (int index = 0; index < bidCount; index++) {
+			bids.add(new Bid(values[index], values[bidCount + index], values[2 * bidCount + index]));
+		}
+		return bids;
 	}
 
 	/** @return supply bids from the associated trader for the respective bidding time */
@@ -74,6 +122,11 @@ public class BidsAtTime implements Portable {
 		return demandBids;
 	}
 
+	/** @return true if supply bids are ordered by ascending and demand bids by descending offer price */
+	public boolean areBidsSorted() {
+		return bidsAreSorted;
+	}
+
 	/** @return the UUID of the trader associated with the bids */
 	public long getTraderUuid() {
 		return traderUuid;
@@ -7,6 +7,7 @@ import agents.forecast.sensitivity.MarketClearingAssessment;
 import de.dlr.gitlab.fame.communication.transfer.ComponentCollector;
 import de.dlr.gitlab.fame.communication.transfer.ComponentProvider;
 import de.dlr.gitlab.fame.communication.transfer.Portable;
+import util.SolveCache.Fingerprint;
 
 /** A Message that contains the sensitivity of a merit order forecast depending on additional demand or supply. The type of
  * sensitivity is unspecified here and should be known to the client.
@@ -14,6 +15,8 @@ import de.dlr.gitlab.fame.communication.transfer.Portable;
  * @author Johannes Kochems, Christoph Schimeczek */
 public class Sensitivity implements Portable {
 	static final String ERR_INTERPOLATION_TYPE = "Interpolation type not implemented: ";
+	static final String ERR_GRID_STEP = "Tabulation grid step must be positive, but was: ";
+	static final String ERR_GRID_RANGE = "Tabulation range must not be negative, but was: ";
 
 	/** Available types of interpolation used during value calculations */
 	public enum InterpolationType {
@@ -37,6 +40,13 @@ public class Sensitivity implements Portable {
 
 	private InterpolationType interpolationType;
 
+	private double gridStepInMWH = Double.NaN;
+	private double gridRangeInMWH = Double.NaN;
+	/** values at requested energies of k * gridStepInMWH; null if no tabulation is applied */
+	private double[] positiveGridValues;
+	/** values at requested energies of -k * gridStepInMWH; null if no tabulation is applied */
+	private double[] negativeGridValues;
+
 	/** required for {@link Portable}s */
 	public Sensitivity() {}
 
@@ -63,11 +73,23 @@ public class Sensitivity implements Portable {
 	 * 
 	 * @param multiplier to be applied in future calls to {@link #getValue(double)} */
 	public void updateMultiplier(double multiplier) {
+		boolean hasChanged = this.multiplier != multiplier;
 		this.multiplier = multiplier;
 		lastDemandIndex = 1;
 		lastSupplyIndex = 1;
 		lastDemandEnergy = 0;
 		lastSupplyEnergy = 0;
+		if (hasChanged && isTabulated()) {
+			resampleGrid();
+		}
+	}
+
+	/** Adds the complete content of this sensitivity to given fingerprint
+	 * 
+	 * @param fingerprint to add the content to */
+	public void addFingerprintTo(Fingerprint fingerprint) {
+		fingerprint.add(multiplier).add(interpolationType == null ? -1 : interpolationType.ordinal()).add(gridStepInMWH)
+				.add(gridRangeInMWH).add(demandPowers).add(demandValues).add(supplyPowers).add(supplyValues);
 	}
 
 	/** Set the type of interpolation to be used during value calculations
@@ -75,6 +97,47 @@ public class Sensitivity implements Portable {
 	 * @param interpolationType to be used during calculations in {@link #getValue(double)} */
 	public void setInterpolationType(InterpolationType interpolationType) {
 		this.interpolationType = interpolationType;
+		if (isTabulated()) {
+			resampleGrid();
+		}
+	}
+
+	/** Resamples the demand and supply curves onto a uniform grid of requested energies. Subsequent calls to
+	 * {@link #getValue(double)} within the given range linearly interpolate between the two enclosing grid values, which equal
+	 * the exact values at the grid points. Requests beyond the range, or next to grid points without value, use the exact
+	 * curves. The grid is resampled automatically if the multiplier or the interpolation type change. The interpolation type
+	 * must be set before calling this method.
+	 * 
+	 * @param gridStepInMWH distance of grid points in terms of requested energy, must be positive
+	 * @param gridRangeInMWH maximum absolute requested energy to be covered by the grid, must not be negative */
+	public void tabulate(double gridStepInMWH, double gridRangeInMWH) {
+		if (!(gridStepInMWH > 0)) {
+			throw new IllegalArgumentException(ERR_GRID_STEP + gridStepInMWH);
+		}
+		if (!(gridRangeInMWH >= 0)) {
+			throw new IllegalArgumentException(ERR_GRID_RANGE + gridRangeInMWH);
+		}
+		this.gridStepInMWH = gridStepInMWH;
+		this.gridRangeInMWH = gridRangeInMWH;
+		resampleGrid();
+	}
+
+	/** @return true if values are looked up from a uniform grid set by {@link #tabulate(double, double)} */
+	public boolean isTabulated() {
+		return positiveGridValues != null;
+	}
+
+	/** Samples exact values at each grid point covering the grid range in both directions */
+	private void resampleGrid() {
+		int numberOfGridPoints = (int) Math.ceil(gridRangeInMWH / gridStepInMWH) + 2;
+		positiveGridValues = new double[numberOfGridPoints];
+		negativeGridValues = new double[numberOfGridPoints];
+		for (int index = 0; index < numberOfGridPoints; index++) {
+			positiveGridValues[index] = calcValue(index * gridStepInMWH);
+		}
+		for (int index = 0; index < numberOfGridPoints; index++) {
+			negativeGridValues[index] = calcValue(-index * gridStepInMWH);
+		}
 	}
 
 	/** Returns sensitivity value for given requested energy delta
@@ -82,6 +145,27 @@ public class Sensitivity implements Portable {
 	 * @param requestedEnergyInMWH demand &gt; 0; supply &lt; 0
 	 * @return sensitivity value */
 	public double getValue(double requestedEnergyInMWH) {
+		return positiveGridValues != null ? getTabulatedValue(requestedEnergyInMWH) : calcValue(requestedEnergyInMWH);
+	}
+
+	/** @return value linearly interpolated between the enclosing grid points, or the exact value if these are not available */
+	private double getTabulatedValue(double requestedEnergyInMWH) {
+		double position = requestedEnergyInMWH / gridStepInMWH;
+		double[] gridValues = position >= 0 ? positiveGridValues : negativeGridValues;
+		double absolutePosition = Math.abs(position);
+		if (absolutePosition < gridValues.length - 1) {
+			int index = (int) absolutePosition;
+			double lowerValue = gridValues[index];
+			double value = lowerValue + (gridValues[index + 1] - lowerValue) * (absolutePosition - index);
+			if (!Double.isNaN(value)) {
+				return value;
+			}
+		}
+		return calcValue(requestedEnergyInMWH);
+	}
+
+	/** @return exact value for given requested energy delta, searched on the demand or supply curve */
+	private double calcValue(double requestedEnergyInMWH) {
 		double modifiedEnergy = multiplier * requestedEnergyInMWH;
 		if (modifiedEnergy > 0) {
 			return getValueAddedDemand(modifiedEnergy);
@@ -0,0 +1,28 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package de.dlr.gitlab.fame.service;
+
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+
+/** Gives access to the input data already read by an {@link InputManager}, which FAME only offers within its own package; this
+ * avoids parsing the input file a second time
+ *
+ * @author agent */
+public final class InputDataAccess {
+	static final String NO_INSTANCE = "Do not instantiate class: ";
+
+	InputDataAccess() {
+		throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+	}
+
+	/** Returns the input data read by the given manager
+	 *
+	 * @param inputManager that read an input file
+	 * @return input data read by the given manager, or null if it did not read any file, e.g. if not on the input process */
+	public static InputData getReadInput(InputManager inputManager) {
+		DataStorage storage = inputManager.getInputDataStorage();
+		return storage != null ? storage.getInput() : null;
+	}
+}
@@ -0,0 +1,109 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package de.dlr.gitlab.fame.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import de.dlr.gitlab.fame.data.TimeSeries;
+import de.dlr.gitlab.fame.mpi.MpiManager;
+import de.dlr.gitlab.fame.protobuf.Contracts.ProtoContract;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.AgentDao;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.SimulationParam;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import de.dlr.gitlab.fame.service.input.JavaPackageNames;
+
+/** An {@link InputManager} that serves input data parsed beforehand instead of reading an input file, e.g. to simulate
+ * several variants of one scenario without parsing the scenario again for each of them. FAME's {@link InputManager} only
+ * accepts input from a file and keeps it in private fields; hence, this class provides all of its input accessors from the
+ * given data.
+ * <p>
+ * Input is not distributed to other processes: use only for simulations with a single process.
+ * </p>
+ *
+ * @author agent */
+public class ParsedInputManager extends InputManager {
+	static final String ERR_MULTI_PROCESS = "Parsed input cannot be distributed, process count must be 1 but was: ";
+
+	private final DataStorage storage;
+
+	/** Creates a new {@link ParsedInputManager}
+	 *
+	 * @param mpiManager of the simulation; must not comprise more than one process
+	 * @param storage parsed input data and model of the simulation
+	 * @throws IllegalArgumentException if the simulation has more than one process */
+	public ParsedInputManager(MpiManager mpiManager, DataStorage storage) {
+		super(mpiManager);
+		if (mpiManager.getProcessCount() != 1) {
+			throw new IllegalArgumentException(ERR_MULTI_PROCESS + mpiManager.getProcessCount());
+		}
+		this.storage = storage;
+	}
+
+	/** Does not read any file: input was parsed beforehand
+	 *
+	 * @param fileName ignored */
+	@Override
+	public void read(String fileName) {}
+
+	/** Does nothing: input is available on the only process */
+	@Override
+	public void distribute() {}
+
+	/** @return parsed input data */
+	protected InputData getInput() {
+		return storage.getInput();
+	}
+
+	@Override
+	public SimulationParam getConfig() {
+		return getInput().getSimulation();
+	}
+
+	/** @return new time series for each time series definition of the parsed input */
+	@Override
+	public Map<Integer, TimeSeries> getTimeSeries() {
+		HashMap<Integer, TimeSeries> seriesById = new HashMap<>();
+		for (TimeSeriesDao dao : getInput().getTimeSeriesList()) {
+			if (seriesById.put(dao.getSeriesId(), new TimeSeries(dao)) != null) {
+				throw new RuntimeException(ERR_TIME_SERIES_INDEX_COLLISION + dao.getSeriesId());
+			}
+		}
+		return Collections.unmodifiableMap(seriesById);
+	}
+
+	@Override
+	public List<AgentDao> getAgentConfigs() {
+		return getInput().getAgentsList();
+	}
+
+	@Override
+	public ArrayList<ProtoContract> getContractPrototypes() {
+		return new ArrayList<>(getInput().getContractsList());
+	}
+
+	@Override
+	public JavaPackageNames getPackageNames() {
+		return new JavaPackageNames(storage.getModel());
+	}
+
+	@Override
+	boolean inputIsSet() {
+		return storage.hasInput();
+	}
+
+	@Override
+	boolean modelIsSet() {
+		return storage.hasModel();
+	}
+
+	@Override
+	DataStorage getInputDataStorage() {
+		return storage;
+	}
+}
@@ -0,0 +1,146 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import de.dlr.gitlab.fame.data.TimeSeries;
+import de.dlr.gitlab.fame.mpi.MpiFacade;
+import de.dlr.gitlab.fame.mpi.MpiInstantiator;
+import de.dlr.gitlab.fame.mpi.MpiManager;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import de.dlr.gitlab.fame.service.InputDataAccess;
+import de.dlr.gitlab.fame.service.InputManager;
+import de.dlr.gitlab.fame.service.ParsedInputManager;
+import de.dlr.gitlab.fame.service.Simulator;
+import de.dlr.gitlab.fame.setup.FameRunner;
+import de.dlr.gitlab.fame.setup.Setup;
+import de.dlr.gitlab.fame.setup.YamlDefaultsProvider;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import picocli.CommandLine;
+
+/** Runs a simulation like {@link FameRunner} with the same command line arguments, but agents receive one canonical
+ * {@link TimeSeries} per distinct series content from the {@link TimeSeriesRegistry}, e.g. if many agents are parameterised
+ * with copies of the same profile. This is the main class of the executable AMIRIS jar.
+ *
+ * @author agent */
+public final class InterningRunner {
+	static final String NO_INSTANCE = "Do not instantiate class: ";
+
+	private static TimeStamp stopTime;
+
+	/** An {@link InputManager} that hands out interned time series */
+	static class InterningInputManager extends InputManager {
+		private final MpiManager mpiManager;
+		private List<TimeSeriesDao> seriesDaos;
+
+		/** Creates a new {@link InterningInputManager}
+		 *
+		 * @param mpiManager of the simulation */
+		InterningInputManager(MpiManager mpiManager) {
+			super(mpiManager);
+			this.mpiManager = mpiManager;
+		}
+
+		/** Reads the given file as FAME does; the input process additionally keeps the parsed time series definitions to intern
+		 * them */
+		@Override
+		public void read(String fileName) {
+			super.read(fileName);
+			if (mpiManager.isInputOutputProcess()) {
+				seriesDaos = InputDataAccess.getReadInput(this).getTimeSeriesList();
+			}
+		}
+
+		/** @return canonical series from {@link TimeSeriesRegistry} on the input process, FAME's series on all other processes */
+		@Override
+		public Map<Integer, TimeSeries> getTimeSeries() {
+			return seriesDaos != null ? TimeSeriesRegistry.internAll(seriesDaos) : super.getTimeSeries();
+		}
+	}
+
+	/** A {@link ParsedInputManager} that hands out interned time series */
+	static class InterningParsedInputManager extends ParsedInputManager {
+		/** Creates a new {@link InterningParsedInputManager}
+		 *
+		 * @param mpiManager of the simulation, comprising a single process
+		 * @param storage parsed input data and model of the simulation */
+		InterningParsedInputManager(MpiManager mpiManager, DataStorage storage) {
+			super(mpiManager, storage);
+		}
+
+		/** @return canonical series from {@link TimeSeriesRegistry} */
+		@Override
+		public Map<Integer, TimeSeries> getTimeSeries() {
+			return TimeSeriesRegistry.internAll(getInput().getTimeSeriesList());
+		}
+	}
+
+	InterningRunner() {
+		throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+	}
+
+	/** Runs a simulation and terminates the JVM afterwards, like {@link FameRunner#main(String[])}
+	 *
+	 * @param args command line arguments of FAME, e.g. "-f input.pb -o output.pb" */
+	public static void main(String[] args) {
+		simulate(createSetup(args));
+		System.exit(0);
+	}
+
+	/** Creates a simulation setup from the given arguments like {@link FameRunner} does, i.e. with defaults from FAME's
+	 * defaults file
+	 *
+	 * @param args command line arguments of FAME
+	 * @return setup of a simulation */
+	public static Setup createSetup(String... args) {
+		Setup setup = new Setup();
+		CommandLine commandLine = new CommandLine(setup);
+		commandLine.setDefaultValueProvider(new YamlDefaultsProvider(new File(FameRunner.DEFAULTS_FILE)));
+		commandLine.execute(args);
+		return setup;
+	}
+
+	/** @return stop time of the simulation currently run by {@link #simulate(Setup)}, or null if no simulation was started by
+	 *         this runner */
+	public static TimeStamp getStopTime() {
+		return stopTime;
+	}
+
+	/** Runs a simulation with the given setup; clears the {@link TimeSeriesRegistry} and {@link SolveCache} afterwards
+	 *
+	 * @param setup of the simulation, including input and output file */
+	public static void simulate(Setup setup) {
+		simulate(setup, InterningInputManager::new);
+	}
+
+	/** Runs a single-process simulation of the given parsed input; the input file of the given setup is not read. Clears the
+	 * {@link TimeSeriesRegistry} and {@link SolveCache} afterwards.
+	 *
+	 * @param setup of the simulation, including the output file
+	 * @param input parsed input data and model of the simulation */
+	public static void simulate(Setup setup, DataStorage input) {
+		simulate(setup, mpiManager -> new InterningParsedInputManager(mpiManager, input));
+	}
+
+	/** Runs a simulation with the given setup and input manager created for it */
+	private static void simulate(Setup setup, Function<MpiManager, InputManager> createInputManager) {
+		MpiFacade mpi = MpiInstantiator.getMpi(setup.getMpiMode(), new String[0]);
+		mpi.initialise(setup.getMpiArgs());
+		MpiManager mpiManager = new MpiManager(mpi);
+		InputManager inputManager = FameRunner.loadAndDistributeInputData(createInputManager.apply(mpiManager),
+				setup.getInputFile());
+		stopTime = new TimeStamp(inputManager.getConfig().getStopTime());
+		Simulator simulator = new Simulator(mpiManager, inputManager, setup);
+		simulator.warmUp();
+		simulator.run();
+		mpi.invokeFinalize();
+		TimeSeriesRegistry.clear();
+		SolveCache.clear();
+		stopTime = null;
+	}
+}
@@ -0,0 +1,327 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import de.dlr.gitlab.fame.agent.Agent;
+import de.dlr.gitlab.fame.agent.input.Make;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import de.dlr.gitlab.fame.agent.input.Tree;
+import de.dlr.gitlab.fame.service.output.ComplexIndex;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+/** Reduces the amount of output written by an agent: each output column may be passed through, aggregated over a calendar
+ * period, sampled or dropped. Columns without configuration are passed through.
+ * <p>
+ * Aggregated values are written together with the last value of their period, i.e. if the next value of the series is
+ * expected in a later period or after the simulation's stop time. The next value is expected one output interval later: the
+ * shortest time between two values stored so far to the series. Only if a series skips the last output interval of a period,
+ * its aggregate is written with the next stored value. The stop time is taken from the simulation started by
+ * {@link InterningRunner}.
+ * </p>
+ * <p>
+ * Sum and mean refer to the values passed to the reducer within the period. Agents that omit zero values from their output
+ * pass them via {@link #storeSparse(ComplexIndex, Enum, Object, double)}: these zeros are not written, but counted by the
+ * mean. Only columns routed through the reducer may be configured; configuration of any other column is rejected.
+ * </p>
+ *
+ * @author agent */
+public class OutputReducer {
+	static final String ERR_PERIOD_MISSING = "Period required for output reduction method %s of column %s";
+	static final String ERR_INTERVAL_INVALID = "SamplingInterval must be positive for column %s";
+	static final String ERR_STOP_TIME_MISSING = "Simulation stop time unknown, but required for output reduction method %s of column %s - run the simulation with util.InterningRunner";
+	static final String ERR_COLUMN_NOT_ROUTED = "Output reduction not available for column %s; reducible columns are: %s";
+
+	/** Methods to reduce output of a column */
+	public enum Method {
+		/** Write every value */
+		PASS_THROUGH,
+		/** Write sum of values per period */
+		SUM,
+		/** Write mean of values per period, counting all values passed to the reducer within the period */
+		MEAN,
+		/** Write only every n-th value */
+		SAMPLE,
+		/** Do not write any value */
+		DROP
+	}
+
+	/** Calendar periods to aggregate output over */
+	public enum Period {
+		/** One day */
+		DAY,
+		/** One month of {@link Constants#HOURS_PER_NORM_MONTH} hours, matching months of FAME's calendar */
+		MONTH,
+		/** One year of 365 days */
+		YEAR
+	}
+
+	/** Input parameters of an {@link OutputReducer} */
+	public static final Tree parameters = Make.newTree().optional()
+			.add(Make.newGroup("Columns").list().add(Make.newString("Column"), Make.newEnum("Method", Method.class),
+					Make.newEnum("Period", Period.class).optional(), Make.newInt("SamplingInterval").optional()))
+			.buildTree();
+
+	/** Receiver of the reduced output, typically an {@link Agent} */
+	interface Target {
+		/** Writes given value to the given simple output column */
+		void store(Enum<?> column, double value);
+
+		/** Writes given value to the given complex output column with its keys set */
+		void store(ComplexIndex<?> index, Object value);
+
+		/** @return current simulation time */
+		TimeStamp now();
+	}
+
+	/** Reduction settings of one column */
+	private static final class Reduction {
+		final Method method;
+		final Period period;
+		final int samplingInterval;
+
+		Reduction(Method method, Period period, int samplingInterval) {
+			this.method = method;
+			this.period = period;
+			this.samplingInterval = samplingInterval;
+		}
+	}
+
+	/** Aggregation state of one output series, i.e. a column with a specific set of key values */
+	private static final class SeriesState {
+		long periodIndex = Long.MIN_VALUE;
+		double sum = 0;
+		int count = 0;
+		long sampleCount = 0;
+		long lastStep = Long.MIN_VALUE;
+		long intervalInSteps = Long.MAX_VALUE;
+	}
+
+	private static final long STEPS_PER_YEAR = Constants.DAYS_PER_YEAR * Constants.STEPS_PER_DAY;
+	private static final long STEPS_PER_MONTH = Constants.HOURS_PER_NORM_MONTH * Constants.STEPS_PER_HOUR;
+	private static final Reduction PASS_THROUGH = new Reduction(Method.PASS_THROUGH, null, 1);
+
+	private final Target target;
+	private final TimeStamp stopTime;
+	private final Set<String> routedColumns;
+	private final HashMap<String, Reduction> reductionsByColumn = new HashMap<>();
+	private final HashMap<List<Object>, SeriesState> statesBySeries = new HashMap<>();
+
+	/** Returns {@link OutputReducer} built from group of given input and group name; if the group is not present or input is
+	 * null, all output is passed through
+	 *
+	 * @param input {@link ParameterData} containing a group with {@link #parameters}
+	 * @param groupName of the group that contains {@link #parameters}
+	 * @param agent to write the reduced output
+	 * @param routedColumns all output columns the agent writes via the returned reducer; only these may be configured
+	 * @return new {@link OutputReducer} parameterised from given input */
+	public static OutputReducer build(ParameterData input, String groupName, Agent agent, Enum<?>[]... routedColumns) {
+		Target target = new Target() {
+			@Override
+			public void store(Enum<?> column, double value) {
+				agent.store(column, value);
+			}
+
+			@Override
+			public void store(ComplexIndex<?> index, Object value) {
+				agent.store(index, value);
+			}
+
+			@Override
+			public TimeStamp now() {
+				return agent.now();
+			}
+		};
+		List<ParameterData> columns = new ArrayList<>();
+		if (input != null) {
+			ParameterData group = input.getOptionalGroup(groupName);
+			if (group != null) {
+				columns = group.getOptionalGroupList("Columns");
+			}
+		}
+		Set<String> names = new HashSet<>();
+		for (Enum<?>[] columnGroup : routedColumns) {
+			for (Enum<?> column : columnGroup) {
+				names.add(column.name());
+			}
+		}
+		return new OutputReducer(target, columns, names, InterningRunner.getStopTime());
+	}
+
+	/** Creates an {@link OutputReducer}
+	 *
+	 * @param target to write the reduced output to
+	 * @param columns reduction settings per column, matching the "Columns" list of {@link #parameters}
+	 * @param routedColumns names of all columns written via this reducer; only these may be configured
+	 * @param stopTime of the simulation, required if any column is aggregated */
+	OutputReducer(Target target, List<ParameterData> columns, Set<String> routedColumns, TimeStamp stopTime) {
+		this.target = target;
+		this.stopTime = stopTime;
+		this.routedColumns = routedColumns;
+		for (ParameterData column : columns) {
+			try {
+				String name = column.getString("Column");
+				Method method = column.getEnum("Method", Method.class);
+				Period period = column.getEnumOrDefault("Period", Period.class, null);
+				int samplingInterval = column.getIntegerOrDefault("SamplingInterval", 1);
+				ensureValid(name, method, period, samplingInterval);
+				reductionsByColumn.put(name, new Reduction(method, period, samplingInterval));
+			} catch (MissingDataException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/** @throws RuntimeException if settings of the given column are inconsistent */
+	private void ensureValid(String name, Method method, Period period, int samplingInterval) {
+		if (!routedColumns.contains(name)) {
+			throw new RuntimeException(String.format(ERR_COLUMN_NOT_ROUTED, name, routedColumns));
+		}
+		if ((method == Method.SUM || method == Method.MEAN) && period == null) {
+			throw new RuntimeException(String.format(ERR_PERIOD_MISSING, method, name));
+		}
+		if ((method == Method.SUM || method == Method.MEAN) && stopTime == null) {
+			throw new RuntimeException(String.format(ERR_STOP_TIME_MISSING, method, name));
+		}
+		if (method == Method.SAMPLE && samplingInterval < 1) {
+			throw new RuntimeException(String.format(ERR_INTERVAL_INVALID, name));
+		}
+	}
+
+	/** Writes given value to given simple output column according to its configured reduction
+	 *
+	 * @param column to write to
+	 * @param value to be written */
+	public void store(Enum<?> column, double value) {
+		Reduction reduction = getReduction(column);
+		if (reduction.method == Method.PASS_THROUGH) {
+			target.store(column, value);
+		} else if (reduction.method != Method.DROP) {
+			reduce(reduction, List.of(column), value, result -> target.store(column, result));
+		}
+	}
+
+	/** Writes given value to given complex output column with one key according to its configured reduction
+	 *
+	 * @param <T> type of the index keys
+	 * @param index complex output column to write to
+	 * @param key of the index
+	 * @param keyValue value of the key
+	 * @param value to be written */
+	public <T extends Enum<T>> void store(ComplexIndex<T> index, T key, Object keyValue, double value) {
+		Reduction reduction = getReduction(index.getField());
+		if (reduction.method == Method.PASS_THROUGH) {
+			target.store(index.key(key, keyValue), value);
+		} else if (reduction.method != Method.DROP) {
+			reduce(reduction, Arrays.asList(index.getField(), key, keyValue), value,
+					result -> target.store(index.key(key, keyValue), result));
+		}
+	}
+
+	/** Like {@link #store(ComplexIndex, Enum, Object, double)}, but for columns that omit zero values from their output: a zero
+	 * value is not written if passed through or sampled and does not advance sampling, but is included in sum and mean
+	 *
+	 * @param <T> type of the index keys
+	 * @param index complex output column to write to
+	 * @param key of the index
+	 * @param keyValue value of the key
+	 * @param value to be written unless zero */
+	public <T extends Enum<T>> void storeSparse(ComplexIndex<T> index, T key, Object keyValue, double value) {
+		Method method = getReduction(index.getField()).method;
+		if (value != 0 || method == Method.SUM || method == Method.MEAN) {
+			store(index, key, keyValue, value);
+		}
+	}
+
+	/** Writes given value to given complex output column with two keys according to its configured reduction
+	 *
+	 * @param <T> type of the index keys
+	 * @param index complex output column to write to
+	 * @param firstKey of the index
+	 * @param firstValue value of the first key
+	 * @param secondKey of the index
+	 * @param secondValue value of the second key
+	 * @param value to be written */
+	public <T extends Enum<T>> void store(ComplexIndex<T> index, T firstKey, Object firstValue, T secondKey,
+			Object secondValue, double value) {
+		Reduction reduction = getReduction(index.getField());
+		if (reduction.method == Method.PASS_THROUGH) {
+			target.store(index.key(firstKey, firstValue).key(secondKey, secondValue), value);
+		} else if (reduction.method != Method.DROP) {
+			reduce(reduction, Arrays.asList(index.getField(), firstKey, firstValue, secondKey, secondValue), value,
+					result -> target.store(index.key(firstKey, firstValue).key(secondKey, secondValue), result));
+		}
+	}
+
+	/** @return reduction configured for given column, or pass-through if not configured */
+	private Reduction getReduction(Enum<?> column) {
+		return reductionsByColumn.getOrDefault(column.name(), PASS_THROUGH);
+	}
+
+	/** Applies given sampling or aggregation to the series identified by given key */
+	private void reduce(Reduction reduction, List<Object> seriesKey, double value, DoubleConsumer writer) {
+		SeriesState state = statesBySeries.computeIfAbsent(seriesKey, __ -> new SeriesState());
+		if (reduction.method == Method.SAMPLE) {
+			if (state.sampleCount++ % reduction.samplingInterval == 0) {
+				writer.accept(value);
+			}
+			return;
+		}
+		long step = target.now().getStep();
+		if (step > state.lastStep && state.lastStep != Long.MIN_VALUE) {
+			state.intervalInSteps = Math.min(state.intervalInSteps, step - state.lastStep);
+		}
+		state.lastStep = step;
+		long periodIndex = getPeriodIndex(reduction.period, step);
+		if (state.count > 0 && state.periodIndex != periodIndex) {
+			writeAggregate(reduction, state, writer);
+		}
+		state.periodIndex = periodIndex;
+		state.sum += value;
+		state.count++;
+		if (isLastOfPeriod(reduction.period, state, step)) {
+			writeAggregate(reduction, state, writer);
+		}
+	}
+
+	/** @return true if the next value of the given series is expected in a later period or after the stop time */
+	private boolean isLastOfPeriod(Period period, SeriesState state, long step) {
+		if (state.intervalInSteps == Long.MAX_VALUE) {
+			return step >= stopTime.getStep();
+		}
+		long nextStep = step + state.intervalInSteps;
+		return nextStep > stopTime.getStep() || getPeriodIndex(period, nextStep) != state.periodIndex;
+	}
+
+	/** Writes sum or mean of given state and resets it */
+	private void writeAggregate(Reduction reduction, SeriesState state, DoubleConsumer writer) {
+		writer.accept(reduction.method == Method.SUM ? state.sum : state.sum / state.count);
+		state.sum = 0;
+		state.count = 0;
+	}
+
+	/** @return index of the given period type that contains the given time step; consecutive periods have consecutive indices */
+	static long getPeriodIndex(Period period, long step) {
+		switch (period) {
+			case DAY:
+				return Math.floorDiv(step, Constants.STEPS_PER_DAY);
+			case MONTH:
+				long year = Math.floorDiv(step, STEPS_PER_YEAR);
+				long monthOfYear = Math.min((step - year * STEPS_PER_YEAR) / STEPS_PER_MONTH, Constants.MONTHS_PER_YEAR - 1);
+				return year * Constants.MONTHS_PER_YEAR + monthOfYear;
+			case YEAR:
+				return Math.floorDiv(step, STEPS_PER_YEAR);
+			default:
+				throw new RuntimeException("Period not implemented: " + period);
+		}
+	}
+}
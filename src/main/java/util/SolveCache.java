@@ -0,0 +1,184 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeMap;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+/** Shares results of dispatch optimisations among agents of the same process. Scenarios often contain several identical
+ * flexibility agents that receive equal forecasts and would thus solve the very same optimisation problem. Solutions are stored
+ * with a {@link Key} that contains the complete inputs of an optimisation - agents with equal keys reuse the stored solution
+ * instead of solving again.
+ *
+ * Entries are stored per start time of the planned schedule. Whenever a solution for a later start time is requested or stored,
+ * all entries for earlier start times are evicted, i.e. memory is only occupied by solutions of the current tick. Stored
+ * solutions are never handed out for modification: users store and receive copies or immutable values.
+ *
+ * The cache is disabled by default. It is enabled for the whole run by setting the Java system property {@value #PROPERTY} to
+ * "true", e.g. via {@code -Damiris.solveCache=true}. It is shared by all simulations of a process and must be cleared between
+ * simulations, see {@link #clear()}.
+ *
+ * @author agent */
+public final class SolveCache {
+	/** Name of Java system property to enable the cache */
+	public static final String PROPERTY = "amiris.solveCache";
+	static final String NO_INSTANCE = "Do not instantiate class: ";
+
+	private static volatile boolean enabled = "true".equalsIgnoreCase(System.getProperty(PROPERTY));
+	private static final TreeMap<TimeStamp, HashMap<Key, Object>> entriesByTime = new TreeMap<>();
+	private static long hitCount = 0;
+
+	/** Identifies an optimisation problem by its complete input content; created via {@link Fingerprint#toKey()} */
+	public static final class Key {
+		private final long[] content;
+		private final int hashCode;
+
+		private Key(long[] content) {
+			this.content = content;
+			this.hashCode = Arrays.hashCode(content);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key otherKey = (Key) other;
+			return hashCode == otherKey.hashCode && Arrays.equals(content, otherKey.content);
+		}
+	}
+
+	/** Collects all inputs of an optimisation problem; doubles are compared bitwise */
+	public static final class Fingerprint {
+		private long[] content = new long[256];
+		private int size = 0;
+
+		/** Adds given value to this fingerprint
+		 *
+		 * @param value to be added
+		 * @return this {@link Fingerprint} */
+		public Fingerprint add(long value) {
+			if (size == content.length) {
+				content = Arrays.copyOf(content, 2 * size);
+			}
+			content[size++] = value;
+			return this;
+		}
+
+		/** Adds given value to this fingerprint
+		 *
+		 * @param value to be added
+		 * @return this {@link Fingerprint} */
+		public Fingerprint add(double value) {
+			return add(Double.doubleToLongBits(value));
+		}
+
+		/** Adds the length and all values of given array to this fingerprint
+		 *
+		 * @param values to be added
+		 * @return this {@link Fingerprint} */
+		public Fingerprint add(double[] values) {
+			add(values.length);
+			for (double value : values) {
+				add(value);
+			}
+			return this;
+		}
+
+		/** Adds the length and all characters of given text to this fingerprint
+		 *
+		 * @param text to be added
+		 * @return this {@link Fingerprint} */
+		public Fingerprint add(String text) {
+			add(text.length());
+			for (int index = 0; index < text.length(); index++) {
+				add(text.charAt(index));
+			}
+			return this;
+		}
+
+		/** Adds start and duration of given period to this fingerprint
+		 *
+		 * @param timePeriod to be added
+		 * @return this {@link Fingerprint} */
+		public Fingerprint add(TimePeriod timePeriod) {
+			return add(timePeriod.getStartTime().getStep()).add(timePeriod.getDuration().getSteps());
+		}
+
+		/** @return new {@link Key} with the current content of this fingerprint */
+		public Key toKey() {
+			return new Key(Arrays.copyOf(content, size));
+		}
+	}
+
+	SolveCache() {
+		throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+	}
+
+	/** @return true if solutions are to be shared */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/** Enables or disables sharing of solutions and removes all stored solutions
+	 *
+	 * @param isEnabled true if solutions are to be shared */
+	public static synchronized void setEnabled(boolean isEnabled) {
+		enabled = isEnabled;
+		clear();
+	}
+
+	/** Returns solution stored for given key at given start time and evicts all entries of earlier start times
+	 *
+	 * @param <T> type of the stored solution
+	 * @param startTime of the planned schedule
+	 * @param key identifying the optimisation problem
+	 * @param type of the stored solution
+	 * @return stored solution or null if no solution is stored for the given key; stored solutions must not be modified */
+	public static synchronized <T> T get(TimeStamp startTime, Key key, Class<T> type) {
+		HashMap<Key, Object> entries = getEntries(startTime);
+		Object solution = entries.get(key);
+		if (solution != null) {
+			hitCount++;
+		}
+		return type.cast(solution);
+	}
+
+	/** @return entries for given start time after eviction of entries of earlier start times */
+	private static HashMap<Key, Object> getEntries(TimeStamp startTime) {
+		entriesByTime.headMap(startTime).clear();
+		return entriesByTime.computeIfAbsent(startTime, __ -> new HashMap<>());
+	}
+
+	/** Stores given solution for given key at given start time and evicts all entries of earlier start times
+	 *
+	 * @param startTime of the planned schedule
+	 * @param key identifying the optimisation problem
+	 * @param solution to be stored; must not be modified afterwards */
+	public static synchronized void put(TimeStamp startTime, Key key, Object solution) {
+		getEntries(startTime).put(key, solution);
+	}
+
+	/** @return number of solutions that were reused since the start of the simulation */
+	public static synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/** Removes all stored solutions and resets the hit count; call between simulations run in the same process */
+	public static synchronized void clear() {
+		entriesByTime.clear();
+		hitCount = 0;
+	}
+}
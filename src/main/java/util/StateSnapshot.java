@@ -0,0 +1,146 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+/** Writes snapshots of the mutable state of agents to a file for diagnostics, e.g. to inspect storage levels and schedules of
+ * a long simulation at a given year without adding output columns. Snapshots cannot be used to resume a simulation: FAME
+ * offers no way to restore its scheduling and messaging state.
+ * <p>
+ * Snapshots are disabled by default. They are enabled for the whole run by setting the Java system property
+ * {@value #PROPERTY} to the path of the snapshot file, e.g. via {@code -Damiris.stateSnapshot=states.jsonl}. An existing file
+ * is overwritten. Each agent writes its first snapshot at its first reporting time and then one snapshot per interval,
+ * configured in hours by the system property {@value #INTERVAL_PROPERTY} - one year by default. The file holds one JSON object
+ * per line and snapshot, comprising time, agent id, agent type and the agent's {@link JSONable state}.
+ * </p>
+ *
+ * @author agent */
+public final class StateSnapshot {
+	/** Name of the system property that enables snapshots and specifies the snapshot file */
+	public static final String PROPERTY = "amiris.stateSnapshot";
+	/** Name of the system property that specifies the interval between two snapshots of an agent in hours */
+	public static final String INTERVAL_PROPERTY = "amiris.stateSnapshotIntervalInHours";
+	static final String ERR_WRITE = "Could not write state snapshot to file: ";
+	static final String ERR_INTERVAL = "Snapshot interval must be positive: ";
+	static final long DEFAULT_INTERVAL_IN_HOURS = Constants.HOURS_PER_NORM_YEAR;
+
+	static final String KEY_TIME_STEP = "TimeStep";
+	static final String KEY_TIME = "Time";
+	static final String KEY_AGENT_ID = "AgentId";
+	static final String KEY_AGENT_TYPE = "AgentType";
+	static final String KEY_STATE = "State";
+
+	private static final HashMap<Long, Long> lastIntervalByAgent = new HashMap<>();
+	private static Writer writer;
+	private static boolean isConfigured = false;
+	private static String fileName;
+	private static long intervalInSteps;
+
+	private StateSnapshot() {}
+
+	/** Starts snapshots if the system property {@value #PROPERTY} is set and snapshots were neither started nor stopped before */
+	private static void configureFromProperty() {
+		String file = System.getProperty(PROPERTY);
+		if (file != null && !file.isBlank()) {
+			start(file, Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_IN_HOURS));
+		}
+		isConfigured = true;
+	}
+
+	/** Starts writing snapshots to the given file, replacing any previous snapshot file
+	 *
+	 * @param snapshotFile to be created or overwritten
+	 * @param intervalInHours between two snapshots of an agent */
+	static synchronized void start(String snapshotFile, long intervalInHours) {
+		if (intervalInHours < 1) {
+			throw new IllegalArgumentException(ERR_INTERVAL + intervalInHours);
+		}
+		stop();
+		try {
+			writer = new BufferedWriter(new FileWriter(snapshotFile));
+			fileName = snapshotFile;
+			intervalInSteps = intervalInHours * Constants.STEPS_PER_HOUR;
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + snapshotFile, e);
+		}
+	}
+
+	/** Stops snapshots and closes the snapshot file, if any; the system property {@value #PROPERTY} is ignored afterwards */
+	static synchronized void stop() {
+		isConfigured = true;
+		lastIntervalByAgent.clear();
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				throw new RuntimeException(ERR_WRITE + fileName, e);
+			} finally {
+				writer = null;
+			}
+		}
+	}
+
+	/** Writes a snapshot of the given agent's state if snapshots are enabled and the agent's last snapshot lies in an earlier
+	 * interval; the state is only created if a snapshot is written
+	 *
+	 * @param agentId of the reporting agent
+	 * @param agentType of the reporting agent, e.g. its class name
+	 * @param time of the snapshot
+	 * @param state of the agent, evaluated only if due */
+	public static synchronized void writeIfDue(long agentId, String agentType, TimeStamp time, JSONable state) {
+		if (!isConfigured) {
+			configureFromProperty();
+		}
+		if (writer == null) {
+			return;
+		}
+		long interval = Math.floorDiv(time.getStep(), intervalInSteps);
+		Long lastInterval = lastIntervalByAgent.get(agentId);
+		if (lastInterval != null && lastInterval >= interval) {
+			return;
+		}
+		lastIntervalByAgent.put(agentId, interval);
+		JSONObject snapshot = new JSONObject().put(KEY_TIME_STEP, time.getStep()).put(KEY_TIME, time.toString())
+				.put(KEY_AGENT_ID, agentId).put(KEY_AGENT_TYPE, agentType).put(KEY_STATE, state.toJson());
+		try {
+			writer.write(snapshot.toString());
+			writer.write(System.lineSeparator());
+			writer.flush();
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + fileName, e);
+		}
+	}
+
+	/** Returns given value as JSON value; values that JSON cannot represent, i.e. NaN and infinities, are returned as strings
+	 *
+	 * @param value to convert
+	 * @return given value, or its string representation if it is not finite */
+	public static Object toJsonValue(double value) {
+		return Double.isFinite(value) ? (Object) value : String.valueOf(value);
+	}
+
+	/** Returns given values as JSON array, see {@link #toJsonValue(double)}
+	 *
+	 * @param values to convert, may be null
+	 * @return JSON array of the given values, or null if values is null */
+	public static JSONArray toJsonArray(double[] values) {
+		if (values == null) {
+			return null;
+		}
+		JSONArray array = new JSONArray();
+		for (double value : values) {
+			array.put(toJsonValue(value));
+		}
+		return array;
+	}
+}
@@ -0,0 +1,77 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import de.dlr.gitlab.fame.data.TimeSeries;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+
+/** Deduplicates time series at input level: each distinct content of {@link TimeSeriesDao}s is represented by a single
+ * canonical {@link TimeSeries} of FAME, which is handed out for all series IDs with that content
+ *
+ * @author agent */
+public final class TimeSeriesRegistry {
+	static final String NO_INSTANCE = "Do not instantiate class: ";
+
+	/** Content of a time series definition, compared by time steps and values */
+	private static final class Content {
+		private final List<Long> timeSteps;
+		private final List<Double> values;
+
+		Content(TimeSeriesDao dao) {
+			this.timeSteps = dao.getTimeStepsList();
+			this.values = dao.getValuesList();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Content)) {
+				return false;
+			}
+			Content content = (Content) other;
+			return timeSteps.equals(content.timeSteps) && values.equals(content.values);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(timeSteps, values);
+		}
+	}
+
+	private static final HashMap<Content, TimeSeries> seriesByContent = new HashMap<>();
+
+	TimeSeriesRegistry() {
+		throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+	}
+
+	/** Returns the canonical series for the content of the given definition; definitions with identical time steps and values
+	 * yield the same instance, created from the first of these definitions
+	 *
+	 * @param dao definition of a time series
+	 * @return canonical {@link TimeSeries} with the given content */
+	public static synchronized TimeSeries intern(TimeSeriesDao dao) {
+		return seriesByContent.computeIfAbsent(new Content(dao), __ -> new TimeSeries(dao));
+	}
+
+	/** Returns the canonical series for each of the given definitions
+	 *
+	 * @param daos definitions of time series
+	 * @return unmodifiable map of series ID to canonical {@link TimeSeries} */
+	public static Map<Integer, TimeSeries> internAll(List<TimeSeriesDao> daos) {
+		HashMap<Integer, TimeSeries> seriesById = new HashMap<>();
+		for (TimeSeriesDao dao : daos) {
+			seriesById.put(dao.getSeriesId(), intern(dao));
+		}
+		return Collections.unmodifiableMap(seriesById);
+	}
+
+	/** Removes all registered series; call between simulations run in the same JVM */
+	public static synchronized void clear() {
+		seriesByContent.clear();
+	}
+}
@@ -0,0 +1,63 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+/** A {@link TreeMap} of time-associated data that retains only a bounded history: whenever an entry is put, entries older than a
+ * given horizon before the latest key are evicted. The latest entry at or before that horizon is kept, thus floor look-ups
+ * within the horizon yield the same results as with an unbounded map.
+ *
+ * @param <K> type of keys, associated with a time step
+ * @param <V> type of values
+ * @author agent */
+public class TimeWindowedMap<K, V> extends TreeMap<K, V> {
+	private static final long serialVersionUID = 1L;
+	static final String ERR_NEGATIVE_HORIZON = "Retention horizon must not be negative: ";
+
+	private final long horizonInSteps;
+	private final ToLongFunction<K> stepOfKey;
+
+	/** Creates a new {@link TimeWindowedMap}
+	 *
+	 * @param horizonInSteps entries whose keys are more than this number of steps before the latest key are evicted
+	 * @param stepOfKey returns the time step associated with a key; must be ascending in the natural order of keys */
+	public TimeWindowedMap(long horizonInSteps, ToLongFunction<K> stepOfKey) {
+		if (horizonInSteps < 0) {
+			throw new IllegalArgumentException(ERR_NEGATIVE_HORIZON + horizonInSteps);
+		}
+		this.horizonInSteps = horizonInSteps;
+		this.stepOfKey = stepOfKey;
+	}
+
+	/** @param <V> type of values
+	 * @param horizonInSteps entries more than this number of steps before the latest step are evicted
+	 * @return new {@link TimeWindowedMap} with time steps as keys */
+	public static <V> TimeWindowedMap<Long, V> withSteps(long horizonInSteps) {
+		return new TimeWindowedMap<>(horizonInSteps, Long::longValue);
+	}
+
+	/** @param <V> type of values
+	 * @param horizonInSteps entries more than this number of steps before the latest time stamp are evicted
+	 * @return new {@link TimeWindowedMap} with {@link TimeStamp}s as keys */
+	public static <V> TimeWindowedMap<TimeStamp, V> withTimeStamps(long horizonInSteps) {
+		return new TimeWindowedMap<>(horizonInSteps, TimeStamp::getStep);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		V previous = super.put(key, value);
+		evictBefore(stepOfKey.applyAsLong(lastKey()) - horizonInSteps);
+		return previous;
+	}
+
+	/** Removes entries before given step, but keeps the latest entry at or before it */
+	private void evictBefore(long cutOffStep) {
+		while (size() > 1 && stepOfKey.applyAsLong(higherKey(firstKey())) <= cutOffStep) {
+			pollFirstEntry();
+		}
+	}
+}
@@ -14,6 +14,7 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -30,6 +31,7 @@ import de.dlr.gitlab.fame.agent.input.Make;
 import de.dlr.gitlab.fame.agent.input.ParameterData;
 import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
 import de.dlr.gitlab.fame.agent.input.Tree;
+import util.jfr.ExternalServiceCallEvent;
 
 /** Caller for external model that is executed via post requests to a URL; <br>
  * usage; Create an anonymous (child) class with<br>
@@ -152,6 +154,8 @@ public abstract class UrlModelService<T extends JSONable, U> {
 	 * @param requestBody to be submitted to the external model
 	 * @return response string from external model */
 	private String call(String requestBody) {
+		ExternalServiceCallEvent event = new ExternalServiceCallEvent();
+		event.begin();
 		try {
 			HttpURLConnection connection = connectToService();
 			logger.info("Sending request to service at: " + serviceUrl);
@@ -161,6 +165,12 @@ public abstract class UrlModelService<T extends JSONable, U> {
 			connection.disconnect();
 			logger.debug(response);
 			logger.info("Response received from service at: " + serviceUrl);
+			if (event.shouldCommit()) {
+				event.serviceUrl = serviceUrl.toString();
+				event.requestBytes = requestBody.getBytes(StandardCharsets.UTF_8).length;
+				event.responseBytes = response.getBytes(StandardCharsets.UTF_8).length;
+				event.commit();
+			}
 			return response;
 		} catch (IOException e) {
 			throw new RuntimeException(ERR_GENERAL_IO + serviceUrl, e);
@@ -0,0 +1,24 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Java Flight Recorder event covering one balancing of demand among coupled markets
+ * 
+ * @author agent */
+@Name("amiris.DemandBalancing")
+@Label("Demand Balancing")
+@Category({"AMIRIS", "Markets"})
+@Description("Balancing of demand among coupled day-ahead markets")
+public final class DemandBalancingEvent extends Event {
+	/** Number of coupled market zones */
+	@Label("Zones") public int zoneCount;
+	/** Number of demand shifts applied */
+	@Label("Iterations") public int iterationCount;
+}
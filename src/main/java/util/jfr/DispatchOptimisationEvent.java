@@ -0,0 +1,26 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Java Flight Recorder event covering one dispatch optimisation of a flexibility strategist
+ * 
+ * @author agent */
+@Name("amiris.DispatchOptimisation")
+@Label("Dispatch Optimisation")
+@Category({"AMIRIS", "Flexibility"})
+@Description("Dispatch optimisation of a flexibility device")
+public final class DispatchOptimisationEvent extends Event {
+	/** Name of the optimising class */
+	@Label("Optimiser") public String optimiser;
+	/** Number of time steps in the optimisation horizon */
+	@Label("Time Steps") public int timeStepCount;
+	/** Number of initial states assessed over all time steps */
+	@Label("States") public long stateCount;
+}
@@ -0,0 +1,27 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Java Flight Recorder event covering one request to an external model service
+ * 
+ * @author agent */
+@Name("amiris.ExternalServiceCall")
+@Label("External Service Call")
+@Category({"AMIRIS", "External"})
+@Description("Request to an external model service")
+public final class ExternalServiceCallEvent extends Event {
+	/** URL of the called service */
+	@Label("Service URL") public String serviceUrl;
+	/** Size of the request body */
+	@Label("Request Size") @DataAmount public long requestBytes;
+	/** Size of the response body */
+	@Label("Response Size") @DataAmount public long responseBytes;
+}
@@ -0,0 +1,28 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Java Flight Recorder event covering one clearing of a merit order market
+ * 
+ * @author agent */
+@Name("amiris.MarketClearing")
+@Label("Market Clearing")
+@Category({"AMIRIS", "Markets"})
+@Description("Clearing of supply and demand order books")
+public final class MarketClearingEvent extends Event {
+	/** Identifier of the clearing event */
+	@Label("Clearing Event") public String clearingEventId;
+	/** Number of supply bids in the cleared book */
+	@Label("Supply Bids") public int supplyBidCount;
+	/** Number of demand bids in the cleared book */
+	@Label("Demand Bids") public int demandBidCount;
+	/** Resulting market price */
+	@Label("Price in EUR per MWh") public double priceInEURperMWH;
+}
@@ -0,0 +1,204 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import de.dlr.gitlab.fame.service.ParsedInputManager;
+import de.dlr.gitlab.fame.service.input.FileReader;
+import de.dlr.gitlab.fame.setup.FameRunner;
+import de.dlr.gitlab.fame.setup.Setup;
+import util.InterningRunner;
+
+/** Runs several {@link ScenarioVariant}s of one base scenario in parallel, each writing to its own output file.
+ * <p>
+ * FAME and AMIRIS keep simulation state in static fields, e.g. of FAME's action scheduling or AMIRIS' caches, which prohibits
+ * concurrent simulations within one JVM. Hence, variants are distributed among at most a given number of worker JVMs that
+ * run at the same time. Each worker parses the base scenario once and simulates its share of variants one after another
+ * in-process: each variant is derived from the parsed base and handed to FAME via a {@link ParsedInputManager}, without
+ * writing or parsing an input file per variant. {@link InterningRunner} clears AMIRIS' caches after each simulation, thus
+ * each variant yields the same outputs as if it was run on its own.
+ * </p>
+ *
+ * @author agent */
+public class BatchRunner {
+	static final String ERR_USAGE = "Usage: BatchRunner <input file> <variants file> <output folder> [<thread count>]";
+	static final String ERR_WORKER_USAGE = "Usage: BatchRunner.Worker <input file> <variants file> <output folder> "
+			+ "<worker index> <worker count>";
+	static final String ERR_NO_FOLDER = "Could not create output folder: ";
+	static final String ERR_THREAD_COUNT = "Thread count must be positive: ";
+	static final String ERR_WORKER_FAILED = "Simulation failed with exit code %d, see log file: %s";
+	static final String ERR_WORKER_START = "Could not start worker with log file: ";
+	static final String ERR_INTERRUPTED = "Interrupted while waiting for worker with log file: ";
+	static final String OUTPUT_ENDING = ".pb";
+	static final String BASE_FILE_NAME = "BatchBase.input.pb";
+	static final String VARIANTS_FILE_NAME = "BatchVariants.yaml";
+	static final String WORKER_LOG_PREFIX = "BatchWorker";
+	static final String LOG_ENDING = ".log";
+
+	private final DataStorage base;
+	private final String baseFile;
+	private final int threadCount;
+
+	/** Runs a share of the variants of a batch, see {@link #main(String[])} */
+	public static final class Worker {
+		static final String NO_INSTANCE = "Do not instantiate class: ";
+
+		Worker() {
+			throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+		}
+
+		/** Parses the base scenario once and simulates every n-th variant of a variants file, one after another; terminates
+		 * the JVM afterwards
+		 *
+		 * @param args input file of the base scenario, variants file, output folder, index of this worker and count of all
+		 *          workers of the batch */
+		public static void main(String[] args) {
+			if (args.length != 5) {
+				throw new IllegalArgumentException(ERR_WORKER_USAGE);
+			}
+			DataStorage base = FileReader.read(args[0]);
+			List<ScenarioVariant> variants = ScenarioVariant.readVariants(args[1]);
+			int workerCount = Integer.parseInt(args[4]);
+			for (int index = Integer.parseInt(args[3]); index < variants.size(); index += workerCount) {
+				ScenarioVariant variant = variants.get(index);
+				String outputFile = getOutputFile(new File(args[2]), variant);
+				Setup setup = InterningRunner.createSetup("-f", args[0], "-o", outputFile, "--add-timestamp=false");
+				InterningRunner.simulate(setup, variant.applyTo(base));
+			}
+			System.exit(0);
+		}
+	}
+
+	/** Creates a new {@link BatchRunner} for the given base scenario
+	 *
+	 * @param base parsed input of the base scenario
+	 * @param threadCount maximum number of variants simulated at the same time */
+	public BatchRunner(DataStorage base, int threadCount) {
+		this(base, null, threadCount);
+	}
+
+	/** Creates a new {@link BatchRunner} reading the base scenario from the given file
+	 *
+	 * @param inputFile FAME protobuf input file of the base scenario
+	 * @param threadCount maximum number of variants simulated at the same time */
+	public BatchRunner(String inputFile, int threadCount) {
+		this(null, inputFile, threadCount);
+	}
+
+	/** Creates a new {@link BatchRunner} for a base scenario given either parsed or as file */
+	private BatchRunner(DataStorage base, String baseFile, int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException(ERR_THREAD_COUNT + threadCount);
+		}
+		this.base = base;
+		this.baseFile = baseFile;
+		this.threadCount = threadCount;
+	}
+
+	/** Runs all given variants, distributed among worker JVMs
+	 *
+	 * @param variants to be simulated
+	 * @param outputFolder to write one output file per variant to, named after the variant, and one log file per worker
+	 * @return names of the output files written, in the order of the given variants */
+	public List<String> runAll(List<ScenarioVariant> variants, String outputFolder) {
+		File folder = new File(outputFolder);
+		if (!folder.isDirectory() && !folder.mkdirs()) {
+			throw new RuntimeException(ERR_NO_FOLDER + outputFolder);
+		}
+		String inputFile = baseFile;
+		if (inputFile == null) {
+			inputFile = new File(folder, BASE_FILE_NAME).getPath();
+			ScenarioGenerator.write(base, inputFile);
+		}
+		String variantsFile = new File(folder, VARIANTS_FILE_NAME).getPath();
+		ScenarioVariant.writeVariants(variants, variantsFile);
+
+		int workerCount = Math.min(threadCount, variants.size());
+		List<Process> workers = new ArrayList<>();
+		List<String> logFiles = new ArrayList<>();
+		try {
+			for (int index = 0; index < workerCount; index++) {
+				String logFile = new File(folder, WORKER_LOG_PREFIX + index + LOG_ENDING).getPath();
+				logFiles.add(logFile);
+				workers.add(startWorker(logFile, Worker.class.getName(), inputFile, variantsFile, outputFolder,
+						String.valueOf(index), String.valueOf(workerCount)));
+			}
+			for (int index = 0; index < workers.size(); index++) {
+				awaitWorker(workers.get(index), logFiles.get(index));
+			}
+		} finally {
+			workers.forEach(Process::destroy);
+		}
+		List<String> outputFiles = new ArrayList<>();
+		for (ScenarioVariant variant : variants) {
+			outputFiles.add(getOutputFile(folder, variant));
+		}
+		return outputFiles;
+	}
+
+	/** @return name of the output file of the given variant in the given folder */
+	private static String getOutputFile(File folder, ScenarioVariant variant) {
+		return new File(folder, variant.getName() + OUTPUT_ENDING).getPath();
+	}
+
+	/** Runs the simulation of the given input file with FAME's own {@link FameRunner} in a separate JVM, as a reference for
+	 * the outputs of variants
+	 *
+	 * @param inputFile FAME protobuf input file
+	 * @param outputFile to write the simulation's output to
+	 * @param logFile to write the console output of the simulation to */
+	public static void runIsolated(String inputFile, String outputFile, String logFile) {
+		awaitWorker(startWorker(logFile, FameRunner.class.getName(), "-f", inputFile, "-o", outputFile,
+				"--add-timestamp=false"), logFile);
+	}
+
+	/** Starts a JVM with the current class path that runs the given main class with the given arguments
+	 *
+	 * @throws RuntimeException if the worker could not be started */
+	private static Process startWorker(String logFile, String mainClass, String... args) {
+		List<String> command = new ArrayList<>(List.of(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+				"-cp", System.getProperty("java.class.path"), mainClass));
+		command.addAll(List.of(args));
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectErrorStream(true).redirectOutput(new File(logFile));
+		try {
+			return builder.start();
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WORKER_START + logFile, e);
+		}
+	}
+
+	/** Waits for the given worker to end
+	 *
+	 * @throws RuntimeException if the worker did not end successfully */
+	private static void awaitWorker(Process worker, String logFile) {
+		try {
+			int exitCode = worker.waitFor();
+			if (exitCode != 0) {
+				throw new RuntimeException(String.format(ERR_WORKER_FAILED, exitCode, logFile));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ERR_INTERRUPTED + logFile, e);
+		}
+	}
+
+	/** Runs all variants of a variants file on a base scenario
+	 *
+	 * @param args input file of the base scenario, YAML file of variants (see {@link ScenarioVariant#readVariants(String)}),
+	 *          folder for the output files and, optionally, the maximum number of parallel simulations - defaults to the
+	 *          number of available processors */
+	public static void main(String[] args) {
+		if (args.length != 3 && args.length != 4) {
+			throw new IllegalArgumentException(ERR_USAGE);
+		}
+		int threadCount = args.length == 4 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		new BatchRunner(args[0], threadCount).runAll(ScenarioVariant.readVariants(args[1]), args[2]);
+	}
+}
@@ -0,0 +1,628 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import de.dlr.gitlab.fame.protobuf.Contracts.ProtoContract;
+import de.dlr.gitlab.fame.protobuf.Field.NestedField;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.AgentDao;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.StringSetDao;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.StringSetDao.StringSetEntry;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Model.ModelData;
+import de.dlr.gitlab.fame.protobuf.Model.ModelData.JavaPackages;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import de.dlr.gitlab.fame.time.Constants;
+
+/** Generates synthetic, internally consistent AMIRIS scenarios of configurable size as FAME protobuf input. A scenario comprises
+ * a number of market zones with transmission capacities between them, conventional power plant blocks, variable renewable
+ * operators marketed by one aggregator per zone, and flexibility agents, i.e. storage, load shifting and heat pump traders. All
+ * parameters and profiles are drawn from a {@link Random} with the given seed; equal settings thus always yield the same
+ * scenario.
+ * <p>
+ * Agent attributes follow the AMIRIS input schema; use {@link SchemaChecker} to verify a generated scenario against it.
+ * </p>
+ *
+ * @author agent */
+public class ScenarioGenerator {
+	static final String ERR_NEGATIVE = "Number of %s must not be negative: %d";
+	static final String ERR_NO_ZONE = "At least one market zone is required.";
+	static final String ERR_NO_HOURS = "Horizon must comprise at least one hour.";
+	static final String ERR_WRITE = "Could not write scenario to file: ";
+
+	/** Header of FAME protobuf input files, padded to a fixed length of 30 characters */
+	static final String FILE_HEADER = "fameprotobufstreamfilev002    ";
+	static final int FIRST_YEAR = 2020;
+	static final long START_OFFSET_IN_SECONDS = -120L;
+
+	private static final long HOUR = Constants.STEPS_PER_HOUR;
+	private static final long YEAR = Constants.DAYS_PER_YEAR * Constants.STEPS_PER_DAY;
+	private static final long MONTH = Constants.HOURS_PER_NORM_MONTH * HOUR;
+	/** Aggregators pay their clients monthly, shortly before the end of each month, see {@link agents.policy.SupportPolicy} */
+	private static final long AGGREGATOR_PAYOUT_OFFSET = MONTH - 1796L;
+	private static final int FORECASTER_PERIOD_IN_HOURS = 48;
+	private static final int FLEXIBILITY_FORECAST_PERIOD_IN_HOURS = 24;
+	private static final int FLEXIBILITY_SCHEDULE_DURATION_IN_HOURS = 12;
+	private static final int PROFILE_MARGIN_IN_HOURS = 48;
+
+	/** Conventional fuel with its typical plant and price characteristics */
+	private enum Fuel {
+		NUCLEAR(0, 0.33, 0.33, 3, 1000), LIGNITE(0.364, 0.38, 0.43, 5, 700), HARD_COAL(0.341, 0.40, 0.46, 20, 500),
+		NATURAL_GAS(0.201, 0.45, 0.60, 50, 300), OIL(0.28, 0.30, 0.40, 60, 150);
+
+		final double co2EmissionsInTperMWH;
+		final double minEfficiency;
+		final double maxEfficiency;
+		final double priceInEURperMWH;
+		final double blockSizeInMW;
+
+		Fuel(double co2EmissionsInTperMWH, double minEfficiency, double maxEfficiency, double priceInEURperMWH,
+				double blockSizeInMW) {
+			this.co2EmissionsInTperMWH = co2EmissionsInTperMWH;
+			this.minEfficiency = minEfficiency;
+			this.maxEfficiency = maxEfficiency;
+			this.priceInEURperMWH = priceInEURperMWH;
+			this.blockSizeInMW = blockSizeInMW;
+		}
+	}
+
+	/** Types of flexibility agents, assigned in turn */
+	private enum Flexibility {
+		STORAGE, LOAD_SHIFTING, HEAT_PUMP
+	}
+
+	/** Agents of one market zone */
+	private static final class Zone {
+		final String name;
+		long marketId;
+		long forecasterId;
+		long demandTraderId;
+		long aggregatorId;
+		double conventionalCapacityInMW;
+		double renewableCapacityInMW;
+		final List<Long> plantBuilderIds = new ArrayList<>();
+		final List<Long> conventionalOperatorIds = new ArrayList<>();
+		final List<Long> conventionalTraderIds = new ArrayList<>();
+		final List<Long> renewableOperatorIds = new ArrayList<>();
+		final List<Long> flexibilityIds = new ArrayList<>();
+
+		Zone(String name) {
+			this.name = name;
+		}
+	}
+
+	private final long seed;
+	private int zoneCount = 1;
+	private int conventionalBlockCount = 2;
+	private int renewableOperatorCount = 2;
+	private int flexibilityAgentCount = 1;
+	private int horizonInHours = 24;
+	private String schema = "";
+
+	private Random random;
+	private long nextAgentId;
+	private InputData.Builder input;
+	private HashMap<Double, Integer> constantSeriesIds;
+
+	/** Creates a {@link ScenarioGenerator} with a small default size
+	 *
+	 * @param seed of all random draws and of the simulation itself */
+	public ScenarioGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/** @param zoneCount number of market zones; more than one zone creates coupled markets
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setZoneCount(int zoneCount) {
+		if (zoneCount < 1) {
+			throw new IllegalArgumentException(ERR_NO_ZONE);
+		}
+		this.zoneCount = zoneCount;
+		return this;
+	}
+
+	/** @param conventionalBlockCount number of conventional power plant blocks, distributed evenly across zones
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setConventionalBlockCount(int conventionalBlockCount) {
+		this.conventionalBlockCount = ensureNotNegative(conventionalBlockCount, "conventional blocks");
+		return this;
+	}
+
+	/** @param renewableOperatorCount number of variable renewable operators, distributed evenly across zones
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setRenewableOperatorCount(int renewableOperatorCount) {
+		this.renewableOperatorCount = ensureNotNegative(renewableOperatorCount, "renewable operators");
+		return this;
+	}
+
+	/** @param flexibilityAgentCount number of storage, load shifting and heat pump traders - in this order and repeated -
+	 *          distributed evenly across zones
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setFlexibilityAgentCount(int flexibilityAgentCount) {
+		this.flexibilityAgentCount = ensureNotNegative(flexibilityAgentCount, "flexibility agents");
+		return this;
+	}
+
+	/** @param horizonInHours number of simulated hours, starting at the beginning of {@link #FIRST_YEAR}
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setHorizonInHours(int horizonInHours) {
+		if (horizonInHours < 1) {
+			throw new IllegalArgumentException(ERR_NO_HOURS);
+		}
+		this.horizonInHours = horizonInHours;
+		return this;
+	}
+
+	/** @param schema content of the schema file to embed in the generated input
+	 * @return this {@link ScenarioGenerator} */
+	public ScenarioGenerator setSchema(String schema) {
+		this.schema = schema;
+		return this;
+	}
+
+	/** @throws IllegalArgumentException if given count is negative */
+	private static int ensureNotNegative(int count, String what) {
+		if (count < 0) {
+			throw new IllegalArgumentException(String.format(ERR_NEGATIVE, what, count));
+		}
+		return count;
+	}
+
+	/** @return time step at which the simulation starts */
+	public static long getStartTime() {
+		return getYearStart() + START_OFFSET_IN_SECONDS;
+	}
+
+	/** @return first time step of {@link #FIRST_YEAR} */
+	private static long getYearStart() {
+		return (FIRST_YEAR - 2000) * YEAR;
+	}
+
+	/** Generates a new scenario from the current settings; repeated calls yield identical scenarios
+	 *
+	 * @return complete input and model data for a FAME simulation */
+	public DataStorage generate() {
+		random = new Random(seed);
+		nextAgentId = 1;
+		constantSeriesIds = new HashMap<>();
+		input = InputData.newBuilder().setRunId(seed).setSchema(schema);
+		input.setSimulation(InputData.SimulationParam.newBuilder().setStartTime(getStartTime())
+				.setStopTime(getYearStart() + horizonInHours * HOUR + START_OFFSET_IN_SECONDS).setRandomSeed(seed));
+
+		List<Zone> zones = new ArrayList<>();
+		for (int index = 0; index < zoneCount; index++) {
+			zones.add(new Zone("Zone" + (index + 1)));
+		}
+		addStringSets(zones);
+		long carbonMarketId = addCarbonMarket();
+		long fuelsMarketId = addFuelsMarket();
+		for (int block = 0; block < conventionalBlockCount; block++) {
+			addConventionalBlock(zones.get(block % zoneCount));
+		}
+		for (int operator = 0; operator < renewableOperatorCount; operator++) {
+			addRenewableOperator(zones.get(operator % zoneCount), operator);
+		}
+		for (int flexibility = 0; flexibility < flexibilityAgentCount; flexibility++) {
+			addFlexibility(zones.get(flexibility % zoneCount), Flexibility.values()[flexibility % Flexibility.values().length]);
+		}
+		for (Zone zone : zones) {
+			addZoneAgents(zone, zones);
+			addZoneContracts(zone, carbonMarketId, fuelsMarketId);
+		}
+		if (zoneCount > 1) {
+			addMarketCoupling(zones);
+		}
+		return DataStorage.newBuilder().setInput(input).setModel(createModel()).build();
+	}
+
+	/** Writes given scenario to a FAME protobuf input file
+	 *
+	 * @param scenario to be written
+	 * @param fileName of the file to be created or overwritten
+	 * @throws RuntimeException if the file could not be written */
+	public static void write(DataStorage scenario, String fileName) {
+		byte[] content = scenario.toByteArray();
+		try (DataOutputStream stream = new DataOutputStream(new FileOutputStream(fileName))) {
+			stream.write(FILE_HEADER.getBytes(StandardCharsets.UTF_8));
+			stream.writeInt(content.length);
+			stream.write(content);
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + fileName, e);
+		}
+	}
+
+	/** @return model data naming the Java packages of AMIRIS agents, data items and portables */
+	private ModelData createModel() {
+		JavaPackages packages = JavaPackages.newBuilder().addAgents("agents").addDataItems("communications.message")
+				.addPortables("communications").addPortables("agents").addPortables("de.dlr.gitlab.fame.time").build();
+		return ModelData.newBuilder().setName("AMIRIS").setVersion("synthetic").setPackageDefinition(packages).build();
+	}
+
+	/** Adds string sets of fuel types, policy sets and market zones */
+	private void addStringSets(List<Zone> zones) {
+		StringSetDao.Builder fuelTypes = input.addStringSetsBuilder().setName("FuelType");
+		for (Fuel fuel : Fuel.values()) {
+			fuelTypes.addValues(StringSetEntry.newBuilder().setName(fuel.name()));
+		}
+		StringSetDao.Builder marketZones = input.addStringSetsBuilder().setName("MarketZone");
+		for (Zone zone : zones) {
+			marketZones.addValues(StringSetEntry.newBuilder().setName(zone.name));
+		}
+	}
+
+	/** @return id of the newly added {@link agents.markets.CarbonMarket} with fixed CO2 prices */
+	private long addCarbonMarket() {
+		return addAgent("CarbonMarket", stringField("OperationMode", "FIXED"),
+				seriesField("Co2Prices", constant(round(20 + 60 * random.nextDouble()))));
+	}
+
+	/** @return id of the newly added {@link agents.markets.FuelsMarket} with prices for all fuels */
+	private long addFuelsMarket() {
+		List<NestedField> prices = new ArrayList<>();
+		for (Fuel fuel : Fuel.values()) {
+			double price = round(fuel.priceInEURperMWH * (0.8 + 0.4 * random.nextDouble()));
+			prices.add(group(String.valueOf(prices.size()), stringField("FuelType", fuel.name()),
+					seriesField("Price", constant(price)), doubleField("ConversionFactor", 1.0)));
+		}
+		return addAgent("FuelsMarket", group("FuelPrices", prices.toArray(new NestedField[0])));
+	}
+
+	/** Adds a plant builder with a single block, its operator and the operator's trader to the given zone */
+	private void addConventionalBlock(Zone zone) {
+		Fuel fuel = Fuel.values()[random.nextInt(Fuel.values().length)];
+		double blockSizeInMW = round(fuel.blockSizeInMW * (0.5 + random.nextDouble()));
+		zone.conventionalCapacityInMW += blockSizeInMW;
+		NestedField prototype = group("Prototype", stringField("FuelType", fuel.name()),
+				doubleField("SpecificCo2EmissionsInTperMWH", fuel.co2EmissionsInTperMWH),
+				seriesField("OutageFactor", constant(round(0.1 * random.nextDouble()))),
+				seriesField("OpexVarInEURperMWH", constant(round(5 * random.nextDouble()))),
+				doubleField("CyclingCostInEURperMW", 0));
+		NestedField efficiency = group("Efficiency", seriesField("Minimal", constant(fuel.minEfficiency)),
+				seriesField("Maximal", constant(fuel.maxEfficiency)));
+		zone.plantBuilderIds.add(addAgent("PredefinedPlantBuilder", longField("PortfolioBuildingOffsetInSeconds", 60L),
+				prototype, efficiency, doubleField("BlockSizeInMW", blockSizeInMW),
+				seriesField("InstalledPowerInMW", constant(blockSizeInMW))));
+		zone.conventionalOperatorIds.add(addAgent("ConventionalPlantOperator"));
+		zone.conventionalTraderIds.add(addAgent("ConventionalTrader", doubleField("minMarkup", 0),
+				doubleField("maxMarkup", 0)));
+	}
+
+	/** Adds a variable renewable operator with photovoltaic or wind yield to the given zone */
+	private void addRenewableOperator(Zone zone, int index) {
+		boolean isPv = index % 2 == 0;
+		double installedPowerInMW = round(200 + 800 * random.nextDouble());
+		zone.renewableCapacityInMW += installedPowerInMW;
+		int yieldSeries = isPv ? addProfile("PvYield" + index, this::pvYield) : addProfile("WindYield" + index, windYield());
+		zone.renewableOperatorIds.add(addAgent("VariableRenewableOperator",
+				stringField("EnergyCarrier", isPv ? "PV" : "WindOn"),
+				seriesField("InstalledPowerInMW", constant(installedPowerInMW)),
+				seriesField("OpexVarInEURperMWH", constant(0)), seriesField("YieldProfile", yieldSeries)));
+	}
+
+	/** Adds a flexibility agent of given type to the given zone */
+	private void addFlexibility(Zone zone, Flexibility type) {
+		switch (type) {
+			case STORAGE:
+				zone.flexibilityIds.add(addStorage());
+				break;
+			case LOAD_SHIFTING:
+				zone.flexibilityIds.add(addLoadShifting());
+				break;
+			case HEAT_PUMP:
+				zone.flexibilityIds.add(addHeatPump());
+				break;
+			default:
+				throw new RuntimeException("Flexibility not implemented: " + type);
+		}
+	}
+
+	/** @return id of a new profit-maximising {@link agents.trader.StorageTrader} */
+	private long addStorage() {
+		NestedField device = group("Device", doubleField("EnergyToPowerRatio", 1 + random.nextInt(8)),
+				doubleField("SelfDischargeRatePerHour", 0), doubleField("ChargingEfficiency", 0.9),
+				doubleField("DischargingEfficiency", 0.9), doubleField("InitialEnergyLevelInMWH", 0),
+				doubleField("InstalledPowerInMW", round(50 + 150 * random.nextDouble())));
+		NestedField strategy = group("Strategy", stringField("StrategistType", "SINGLE_AGENT_MAX_PROFIT"),
+				intField("ForecastPeriodInHours", FLEXIBILITY_FORECAST_PERIOD_IN_HOURS),
+				intField("ScheduleDurationInHours", FLEXIBILITY_SCHEDULE_DURATION_IN_HOURS),
+				group("SingleAgent", intField("ModelledChargingSteps", 10)));
+		return addAgent("StorageTrader", device, strategy);
+	}
+
+	/** @return id of a new profit-maximising {@link agents.trader.LoadShiftingTrader} */
+	private long addLoadShifting() {
+		double powerInMW = round(20 + 80 * random.nextDouble());
+		NestedField portfolio = group("LoadShiftingPortfolio", doubleField("InitialEnergyLevelInMWH", 0),
+				intField("InitialShiftTimeInHours", 0), doubleField("PowerInMW", powerInMW),
+				seriesField("PowerUpAvailability", constant(1)), seriesField("PowerDownAvailability", constant(1)),
+				doubleField("EnergyResolutionInMWH", powerInMW / 4), doubleField("EnergyLimitUpInMWH", powerInMW * 2),
+				doubleField("EnergyLimitDownInMWH", powerInMW * 2), intField("MaximumShiftTimeInHours", 4),
+				seriesField("VariableShiftCostsInEURPerMWH", constant(1)),
+				seriesField("BaselineLoadTimeSeries", constant(0.5)), doubleField("BaselinePeakLoadInMW", powerInMW * 2));
+		NestedField strategy = group("Strategy", stringField("StrategistType", "SINGLE_AGENT_MAX_PROFIT"),
+				intField("ForecastPeriodInHours", FLEXIBILITY_FORECAST_PERIOD_IN_HOURS),
+				intField("ScheduleDurationInHours", FLEXIBILITY_SCHEDULE_DURATION_IN_HOURS),
+				group("SingleAgent", doubleField("PurchaseLeviesAndTaxesInEURperMWH", 0)),
+				group("FixedDispatch", seriesField("EnergySchedule", constant(0)),
+						seriesField("ShiftTimeSchedule", constant(0))),
+				group("Api", stringField("ServiceUrl", "http://localhost"), intField("UseAnnualLimit", 0),
+						stringField("Solver", "cbc"), seriesField("PriceSensitivityEstimate", constant(0))));
+		return addAgent("LoadShiftingTrader", portfolio, strategy, createPolicy(), createBusinessModel());
+	}
+
+	/** @return id of a new cost-minimising {@link agents.trader.HeatPumpTrader} with a resistance-capacity building model */
+	private long addHeatPump() {
+		NestedField strategyBasic = group("StrategyBasic",
+				intField("ForecastPeriodInHours", FLEXIBILITY_FORECAST_PERIOD_IN_HOURS),
+				intField("ScheduleDurationInHours", FLEXIBILITY_SCHEDULE_DURATION_IN_HOURS));
+		NestedField heatPump = group("HeatPump", doubleField("MinElectricHeatPumpPowerInKW", 0.5),
+				doubleField("MaxElectricHeatPumpPowerInKW", 3), doubleField("MinCOP", 2), doubleField("MaxCOP", 4),
+				doubleField("HeatPumpPenetrationFactor", 1),
+				seriesField("InstalledUnits", constant(round(1000 + 9000 * random.nextDouble()))));
+		NestedField heatingData = group("HeatingInputData",
+				seriesField("TemperatureProfile", addProfile("Temperature", temperature())),
+				seriesField("SolarRadiation", addProfile("SolarRadiation", hour -> 0.5 * pvYield(hour))),
+				seriesField("PvProfile", addProfile("PvYield", this::pvYield)),
+				seriesField("HeatDemandProfile", constant(0)));
+		NestedField strategy = group("Strategy", intField("ModelledChargingSteps", 10),
+				stringField("HeatPumpStrategistType", "MIN_COST_RC"),
+				seriesField("MinimalRoomTemperatureInC", constant(20)),
+				seriesField("MaximalRoomTemperatureInC", constant(22)),
+				seriesField("MeanRoomTemperatureInC", constant(21)));
+		NestedField building = group("Building", doubleField("Ria", 5), doubleField("Ci", 10), doubleField("Ai", 5),
+				doubleField("HeatingLimitTemperatureInC", 15), doubleField("InternalHeatGainsInKW", 0.3));
+		NestedField device = group("Device", doubleField("EnergyToPowerRatio", 1), doubleField("SelfDischargeRatePerHour", 0),
+				doubleField("ChargingEfficiency", 1), doubleField("DischargingEfficiency", 1),
+				doubleField("InitialEnergyLevelInMWH", 0), doubleField("InstalledPowerInMW", 1));
+		return addAgent("HeatPumpTrader", strategyBasic, heatPump, device, heatingData, strategy, building, createPolicy(),
+				createBusinessModel());
+	}
+
+	/** @return end user tariff policy without any levies or charges, passing through the power price */
+	private NestedField createPolicy() {
+		int zero = constant(0);
+		return group("Policy", seriesField("EEGSurchargeInEURPerMWH", zero),
+				seriesField("VolumetricNetworkChargeInEURPerMWH", zero), seriesField("ElectricityTaxInEURPerMWH", zero),
+				seriesField("OtherSurchargesInEURPerMWH", zero),
+				group("DynamicTariffComponents",
+						group("0", stringField("ComponentName", "POWER_PRICE"), seriesField("Multiplier", constant(1)))),
+				doubleField("VAT", 0), seriesField("CapacityBasedNetworkChargesInEURPerMW", zero),
+				seriesField("FixedNetworkChargesInEURPerYear", zero));
+	}
+
+	/** @return end user business model without profit margin */
+	private NestedField createBusinessModel() {
+		return group("BusinessModel", doubleField("ProfitMarginInEURPerMWH", 0),
+				seriesField("AverageMarketPriceInEURPerMWH", constant(50)));
+	}
+
+	/** Adds market, forecaster, demand and trader agents of given zone */
+	private void addZoneAgents(Zone zone, List<Zone> zones) {
+		NestedField clearing = group("Clearing", stringField("DistributionMethod", "SAME_SHARES"));
+		NestedField gateClosure = intField("GateClosureInfoOffsetInSeconds", 31);
+		if (zoneCount > 1) {
+			List<NestedField> transmissions = new ArrayList<>();
+			for (Zone other : zones) {
+				if (other != zone) {
+					transmissions.add(group(String.valueOf(transmissions.size()), stringField("MarketZone", other.name),
+							seriesField("CapacityInMW", constant(round(100 + 900 * random.nextDouble())))));
+				}
+			}
+			zone.marketId = addAgent("DayAheadMarketMultiZone", clearing, gateClosure,
+					stringField("MarketZone", zone.name), group("Transmission", transmissions.toArray(new NestedField[0])));
+		} else {
+			zone.marketId = addAgent("DayAheadMarketSingleZone", clearing, gateClosure);
+		}
+		zone.forecasterId = addAgent("MarketForecaster", clearing,
+				intField("ForecastPeriodInHours", FORECASTER_PERIOD_IN_HOURS));
+		double meanDemandInMW = Math.max(100, 0.6 * (zone.conventionalCapacityInMW + 0.3 * zone.renewableCapacityInMW));
+		int demandSeries = addProfile("Demand" + zone.name, demand(meanDemandInMW));
+		zone.demandTraderId = addAgent("DemandTrader", group("Loads", group("0", seriesField("DemandSeries", demandSeries),
+				seriesField("ValueOfLostLoad", constant(3000)))));
+		zone.aggregatorId = addAgent("NoSupportTrader", doubleField("ShareOfRevenues", 0));
+	}
+
+	/** Adds a market coupling agent connected to the markets of all given zones; senders act one second before delivery,
+	 * thus the markets' TransmissionAndBids must be delivered later than one second after the Bids they contain */
+	private void addMarketCoupling(List<Zone> zones) {
+		long couplingId = addAgent("MarketCoupling");
+		for (Zone zone : zones) {
+			addContract(zone.marketId, couplingId, "TransmissionAndBids", 2, HOUR);
+			addContract(couplingId, zone.marketId, "MarketCouplingResult", 3, HOUR);
+		}
+	}
+
+	/** Adds all contracts of the agents of given zone */
+	private void addZoneContracts(Zone zone, long carbonMarketId, long fuelsMarketId) {
+		List<Long> traders = new ArrayList<>(zone.conventionalTraderIds);
+		traders.addAll(Arrays.asList(zone.aggregatorId, zone.demandTraderId));
+		List<Long> bidders = new ArrayList<>(traders);
+		bidders.addAll(zone.flexibilityIds);
+
+		for (int index = 0; index < zone.plantBuilderIds.size(); index++) {
+			addContract(zone.plantBuilderIds.get(index), zone.conventionalOperatorIds.get(index), "PowerPlantPortfolio", -60,
+					YEAR);
+		}
+		for (long operator : zone.renewableOperatorIds) {
+			addContract(operator, zone.aggregatorId, "SetRegistration", -37, YEAR);
+		}
+		addContract(zone.marketId, zone.forecasterId, "GateClosureInfo", -30, HOUR);
+		for (long bidder : bidders) {
+			addContract(zone.marketId, bidder, "GateClosureInfo", -30, HOUR);
+		}
+
+		for (long trader : traders) {
+			addContract(zone.forecasterId, trader, "ForecastRequest", -29, HOUR);
+		}
+		for (int index = 0; index < zone.conventionalTraderIds.size(); index++) {
+			addClientContracts(zone.conventionalTraderIds.get(index), List.of(zone.conventionalOperatorIds.get(index)), 6,
+					HOUR);
+		}
+		addClientContracts(zone.aggregatorId, zone.renewableOperatorIds, AGGREGATOR_PAYOUT_OFFSET, MONTH);
+		for (long operator : zone.conventionalOperatorIds) {
+			addContract(operator, fuelsMarketId, "FuelPriceForecastRequest", -27, HOUR);
+			addContract(operator, carbonMarketId, "Co2PriceForecastRequest", -27, HOUR);
+			addContract(fuelsMarketId, operator, "FuelPriceForecast", -26, HOUR);
+			addContract(carbonMarketId, operator, "Co2PriceForecast", -26, HOUR);
+			addContract(operator, fuelsMarketId, "FuelPriceRequest", -3, HOUR);
+			addContract(operator, carbonMarketId, "Co2PriceRequest", -3, HOUR);
+			addContract(fuelsMarketId, operator, "FuelPrice", -2, HOUR);
+			addContract(carbonMarketId, operator, "Co2Price", -2, HOUR);
+		}
+		for (long trader : traders) {
+			addContract(trader, zone.forecasterId, "BidsForecast", -24, HOUR);
+		}
+		for (long flexibility : zone.flexibilityIds) {
+			addContract(flexibility, zone.forecasterId, "MeritOrderForecastRequest", -23, HOUR);
+			addContract(zone.forecasterId, flexibility, "MeritOrderForecast", -22, HOUR);
+		}
+
+		for (long bidder : bidders) {
+			addContract(bidder, zone.marketId, "Bids", 0, HOUR);
+			addContract(zone.marketId, bidder, "Awards", 4, HOUR);
+		}
+	}
+
+	/** Adds forecast, marginal cost, dispatch and payout contracts between a trader and its plant operator clients */
+	private void addClientContracts(long traderId, List<Long> operatorIds, long payoutOffset, long payoutInterval) {
+		for (long operator : operatorIds) {
+			addContract(traderId, operator, "ForecastRequestForward", -28, HOUR);
+			addContract(operator, traderId, "MarginalCostForecast", -25, HOUR);
+			addContract(traderId, operator, "GateClosureForward", -9, HOUR);
+			addContract(operator, traderId, "MarginalCost", -1, HOUR);
+			addContract(traderId, operator, "DispatchAssignment", 5, HOUR);
+			addContract(traderId, operator, "Payout", payoutOffset, payoutInterval);
+		}
+	}
+
+	/** Adds a contract with first delivery at given offset to the start of the first year */
+	private void addContract(long senderId, long receiverId, String product, long offsetInSeconds, long interval) {
+		input.addContracts(ProtoContract.newBuilder().setSenderId(senderId).setReceiverId(receiverId)
+				.setProductName(product).setFirstDeliveryTime(getYearStart() + offsetInSeconds)
+				.setDeliveryIntervalInSteps(interval));
+	}
+
+	/** @return id of the newly added agent of given class with given fields */
+	private long addAgent(String className, NestedField... fields) {
+		long id = nextAgentId++;
+		input.addAgents(AgentDao.newBuilder().setId(id).setClassName(className).addAllFields(Arrays.asList(fields)));
+		return id;
+	}
+
+	/** @return id of a time series with given constant value from year 2000 to the year after the horizon, shared among all
+	 *         fields of the same value */
+	private int constant(double value) {
+		return constantSeriesIds.computeIfAbsent(value, __ -> addSeries("Constant" + value,
+				new long[] {0L, getYearStart() + (horizonInHours * HOUR / YEAR + 2) * YEAR}, new double[] {value, value}));
+	}
+
+	/** Hourly profile value at given hour after the start of the first year */
+	@FunctionalInterface
+	private interface Profile {
+		double valueAt(long hour);
+	}
+
+	/** @return id of a new hourly time series from given profile covering the horizon, forecasts and a margin */
+	private int addProfile(String name, Profile profile) {
+		long[] timeSteps = new long[getProfileLength()];
+		double[] values = new double[timeSteps.length];
+		for (int index = 0; index < timeSteps.length; index++) {
+			timeSteps[index] = getProfileStep(index);
+			values[index] = round(profile.valueAt(index - PROFILE_MARGIN_IN_HOURS));
+		}
+		return addSeries(name, timeSteps, values);
+	}
+
+	/** @return number of hourly values of each profile */
+	private int getProfileLength() {
+		return horizonInHours + FORECASTER_PERIOD_IN_HOURS + 2 * PROFILE_MARGIN_IN_HOURS;
+	}
+
+	/** @return time step of the profile value with given index */
+	private long getProfileStep(int index) {
+		return getYearStart() + (index - PROFILE_MARGIN_IN_HOURS) * HOUR;
+	}
+
+	/** @return id of a newly added time series */
+	private int addSeries(String name, long[] timeSteps, double[] values) {
+		int id = input.getTimeSeriesCount();
+		TimeSeriesDao.Builder series = input.addTimeSeriesBuilder().setSeriesId(id).setSeriesName(name + "_" + id);
+		for (int index = 0; index < timeSteps.length; index++) {
+			series.addTimeSteps(timeSteps[index]).addValues(values[index]);
+		}
+		return id;
+	}
+
+	/** @return photovoltaic yield in [0, 1] following the sun between 6 am and 6 pm */
+	private double pvYield(long hour) {
+		double hourOfDay = Math.floorMod(hour, 24);
+		return Math.max(0, Math.sin(Math.PI * (hourOfDay - 6) / 12));
+	}
+
+	/** @return wind yield in [0, 1] following a random, auto-correlated walk */
+	private Profile windYield() {
+		double[] level = {random.nextDouble()};
+		return __ -> {
+			level[0] = Math.min(1, Math.max(0, level[0] + 0.2 * (random.nextDouble() - 0.5)));
+			return level[0];
+		};
+	}
+
+	/** @return ambient temperature in °C with daily cycle and random deviation */
+	private Profile temperature() {
+		double meanInC = -5 + 15 * random.nextDouble();
+		return hour -> meanInC + 4 * Math.sin(2 * Math.PI * (Math.floorMod(hour, 24) - 9) / 24)
+				+ random.nextGaussian();
+	}
+
+	/** @return demand in MW around given mean with daily cycle and random deviation */
+	private Profile demand(double meanInMW) {
+		return hour -> meanInMW * (1 + 0.2 * Math.sin(2 * Math.PI * (Math.floorMod(hour, 24) - 8) / 24)
+				+ 0.03 * random.nextGaussian());
+	}
+
+	/** @return given value rounded to three decimals for readable input */
+	private static double round(double value) {
+		return Math.round(value * 1000) / 1000.;
+	}
+
+	/** @return field with given name and double value */
+	private static NestedField doubleField(String name, double value) {
+		return NestedField.newBuilder().setFieldName(name).addDoubleValues(value).build();
+	}
+
+	/** @return field with given name and integer value */
+	private static NestedField intField(String name, int value) {
+		return NestedField.newBuilder().setFieldName(name).addIntValues(value).build();
+	}
+
+	/** @return field with given name and long value */
+	private static NestedField longField(String name, long value) {
+		return NestedField.newBuilder().setFieldName(name).addLongValues(value).build();
+	}
+
+	/** @return field with given name and string value, also used for enums and string sets */
+	private static NestedField stringField(String name, String value) {
+		return NestedField.newBuilder().setFieldName(name).addStringValues(value).build();
+	}
+
+	/** @return field with given name referring to the time series of given id */
+	private static NestedField seriesField(String name, int seriesId) {
+		return NestedField.newBuilder().setFieldName(name).setSeriesId(seriesId).build();
+	}
+
+	/** @return field with given name containing given inner fields; list entries are groups named by their index */
+	private static NestedField group(String name, NestedField... fields) {
+		return NestedField.newBuilder().setFieldName(name).addAllFields(Arrays.asList(fields)).build();
+	}
+}
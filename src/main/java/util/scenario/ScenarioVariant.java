@@ -0,0 +1,275 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.yaml.snakeyaml.Yaml;
+import de.dlr.gitlab.fame.protobuf.Field.NestedField;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.AgentDao;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+
+/** A named variant of a base scenario that overrides the random seed and / or scales numeric attributes of agents, e.g.
+ * fuel prices or installed capacities. Time series referenced by scaled attributes are copied under a new id, thus the
+ * unmodified parts of the base scenario remain shared among all its variants.
+ *
+ * @author agent */
+public class ScenarioVariant {
+	static final String ERR_READ = "Could not read variants file: ";
+	static final String ERR_WRITE = "Could not write variants file: ";
+	static final String ERR_NO_MATCH = "Variant '%s': no attribute '%s' found for agents of type %s";
+	static final String ERR_NO_NAME = "Each variant requires a name.";
+
+	static final String KEY_VARIANTS = "Variants";
+	static final String KEY_NAME = "Name";
+	static final String KEY_SEED = "Seed";
+	static final String KEY_SCALINGS = "Scalings";
+	static final String KEY_AGENT_TYPE = "AgentType";
+	static final String KEY_AGENT_ID = "AgentId";
+	static final String KEY_ATTRIBUTE = "Attribute";
+	static final String KEY_FACTOR = "Factor";
+
+	/** Multiplies an attribute of all agents of a type (or of a single agent) by a constant factor */
+	public static final class Scaling {
+		private final String agentType;
+		private final Long agentId;
+		private final String[] attributePath;
+		private final double factor;
+
+		/** Creates a new {@link Scaling}
+		 *
+		 * @param agentType type of agents whose attribute is to be scaled
+		 * @param agentId id of the only agent to be modified, or null to modify all agents of the given type
+		 * @param attribute dot-separated path of the attribute; all entries of lists along the path are scaled
+		 * @param factor to multiply values with */
+		public Scaling(String agentType, Long agentId, String attribute, double factor) {
+			this.agentType = agentType;
+			this.agentId = agentId;
+			this.attributePath = attribute.split("\\.");
+			this.factor = factor;
+		}
+
+		/** @return true if the given agent is addressed by this scaling */
+		private boolean matches(AgentDao agent) {
+			return agent.getClassName().equals(agentType) && (agentId == null || agent.getId() == agentId);
+		}
+
+		/** @return this scaling as an entry of a variants file */
+		private Map<String, Object> toEntry() {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put(KEY_AGENT_TYPE, agentType);
+			if (agentId != null) {
+				entry.put(KEY_AGENT_ID, agentId);
+			}
+			entry.put(KEY_ATTRIBUTE, String.join(".", attributePath));
+			entry.put(KEY_FACTOR, factor);
+			return entry;
+		}
+
+		@Override
+		public String toString() {
+			return agentType + (agentId != null ? "#" + agentId : "") + ":" + String.join(".", attributePath) + "*" + factor;
+		}
+	}
+
+	private final String name;
+	private final Long seed;
+	private final List<Scaling> scalings;
+
+	/** Creates a new {@link ScenarioVariant}
+	 *
+	 * @param name of the variant, also used to name its output file
+	 * @param seed new random seed of the simulation, or null to keep the seed of the base scenario
+	 * @param scalings to be applied to the base scenario in the given order */
+	public ScenarioVariant(String name, Long seed, List<Scaling> scalings) {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException(ERR_NO_NAME);
+		}
+		this.name = name;
+		this.seed = seed;
+		this.scalings = Collections.unmodifiableList(new ArrayList<>(scalings));
+	}
+
+	/** Reads variants from a YAML file of the form
+	 *
+	 * <pre>
+	 * Variants:
+	 *   - Name: HighGasPrice
+	 *     Seed: 7                         # optional
+	 *     Scalings:                       # optional
+	 *       - AgentType: FuelsMarket
+	 *         AgentId: 3                  # optional
+	 *         Attribute: FuelPrices.Price
+	 *         Factor: 1.5
+	 * </pre>
+	 *
+	 * @param fileName of the variants file
+	 * @return all variants in the order of the file
+	 * @throws RuntimeException if the file cannot be read */
+	@SuppressWarnings("unchecked")
+	public static List<ScenarioVariant> readVariants(String fileName) {
+		Map<String, Object> content;
+		try (InputStream stream = new FileInputStream(fileName)) {
+			content = new Yaml().load(stream);
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_READ + fileName, e);
+		}
+		List<ScenarioVariant> variants = new ArrayList<>();
+		for (Map<String, Object> entry : (List<Map<String, Object>>) content.get(KEY_VARIANTS)) {
+			List<Scaling> scalings = new ArrayList<>();
+			for (Map<String, Object> scaling : (List<Map<String, Object>>) entry.getOrDefault(KEY_SCALINGS, List.of())) {
+				Number agentId = (Number) scaling.get(KEY_AGENT_ID);
+				scalings.add(new Scaling((String) scaling.get(KEY_AGENT_TYPE), agentId != null ? agentId.longValue() : null,
+						(String) scaling.get(KEY_ATTRIBUTE), ((Number) scaling.get(KEY_FACTOR)).doubleValue()));
+			}
+			Number seed = (Number) entry.get(KEY_SEED);
+			variants.add(new ScenarioVariant(String.valueOf(entry.get(KEY_NAME)), seed != null ? seed.longValue() : null,
+					scalings));
+		}
+		return variants;
+	}
+
+	/** Writes given variants to a YAML file that {@link #readVariants(String)} reads
+	 *
+	 * @param variants to be written
+	 * @param fileName of the variants file
+	 * @throws RuntimeException if the file cannot be written */
+	public static void writeVariants(List<ScenarioVariant> variants, String fileName) {
+		List<Map<String, Object>> entries = new ArrayList<>();
+		for (ScenarioVariant variant : variants) {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put(KEY_NAME, variant.name);
+			if (variant.seed != null) {
+				entry.put(KEY_SEED, variant.seed);
+			}
+			List<Map<String, Object>> scalings = new ArrayList<>();
+			for (Scaling scaling : variant.scalings) {
+				scalings.add(scaling.toEntry());
+			}
+			entry.put(KEY_SCALINGS, scalings);
+			entries.add(entry);
+		}
+		try (Writer writer = new FileWriter(fileName)) {
+			new Yaml().dump(Map.of(KEY_VARIANTS, entries), writer);
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_WRITE + fileName, e);
+		}
+	}
+
+	/** Derives this variant from the given base scenario; the base scenario remains unchanged
+	 *
+	 * @param base scenario to derive the variant from
+	 * @return new scenario with seed and scalings of this variant applied
+	 * @throws RuntimeException if a scaling addresses no attribute in the base scenario */
+	public DataStorage applyTo(DataStorage base) {
+		Derivation derivation = new Derivation(base.getInput());
+		if (seed != null) {
+			derivation.input.setSimulation(derivation.input.getSimulation().toBuilder().setRandomSeed(seed));
+		}
+		for (Scaling scaling : scalings) {
+			derivation.apply(scaling);
+		}
+		return base.toBuilder().setInput(derivation.input).build();
+	}
+
+	/** Modifies a copy of given input data; sub-messages not affected by a scaling are shared with the original */
+	private final class Derivation {
+		private final InputData.Builder input;
+		private final Map<Integer, TimeSeriesDao> seriesById = new HashMap<>();
+		private final Map<String, Integer> scaledSeriesIds = new HashMap<>();
+		private int nextSeriesId = 0;
+
+		Derivation(InputData original) {
+			input = original.toBuilder();
+			for (TimeSeriesDao series : original.getTimeSeriesList()) {
+				seriesById.put(series.getSeriesId(), series);
+				nextSeriesId = Math.max(nextSeriesId, series.getSeriesId() + 1);
+			}
+		}
+
+		/** Applies given scaling to all matching agents */
+		void apply(Scaling scaling) {
+			boolean found = false;
+			for (int index = 0; index < input.getAgentsCount(); index++) {
+				AgentDao agent = input.getAgents(index);
+				if (scaling.matches(agent)) {
+					AgentDao.Builder builder = agent.toBuilder();
+					for (int fieldIndex = 0; fieldIndex < builder.getFieldsCount(); fieldIndex++) {
+						NestedField field = builder.getFields(fieldIndex);
+						if (field.getFieldName().equals(scaling.attributePath[0])) {
+							builder.setFields(fieldIndex, scale(field, scaling, 1));
+							found = true;
+						}
+					}
+					input.setAgents(index, builder);
+				}
+			}
+			if (!found) {
+				throw new RuntimeException(String.format(ERR_NO_MATCH, name, String.join(".", scaling.attributePath),
+						scaling.agentType));
+			}
+		}
+
+		/** @return copy of given field with values scaled at the end of the given path; list entries are traversed */
+		private NestedField scale(NestedField field, Scaling scaling, int depth) {
+			NestedField.Builder builder = field.toBuilder();
+			if (depth == scaling.attributePath.length) {
+				for (int index = 0; index < builder.getDoubleValuesCount(); index++) {
+					builder.setDoubleValues(index, builder.getDoubleValues(index) * scaling.factor);
+				}
+				if (field.hasSeriesId()) {
+					builder.setSeriesId(scaleSeries(field.getSeriesId(), scaling.factor));
+				}
+				return builder.build();
+			}
+			for (int index = 0; index < builder.getFieldsCount(); index++) {
+				NestedField inner = builder.getFields(index);
+				if (field.getIsList() || isListEntry(inner)) {
+					builder.setFields(index, scale(inner, scaling, depth));
+				} else if (inner.getFieldName().equals(scaling.attributePath[depth])) {
+					builder.setFields(index, scale(inner, scaling, depth + 1));
+				}
+			}
+			return builder.build();
+		}
+
+		/** @return id of a copy of the series with given id scaled by given factor; equal scalings of a series are reused */
+		private int scaleSeries(int seriesId, double factor) {
+			return scaledSeriesIds.computeIfAbsent(seriesId + "*" + factor, __ -> {
+				TimeSeriesDao.Builder series = seriesById.get(seriesId).toBuilder().setSeriesId(nextSeriesId++);
+				for (int index = 0; index < series.getValuesCount(); index++) {
+					series.setValues(index, series.getValues(index) * factor);
+				}
+				input.addTimeSeries(series);
+				return series.getSeriesId();
+			});
+		}
+	}
+
+	/** @return true if given field is an entry of a list group, which are named by their index */
+	private static boolean isListEntry(NestedField field) {
+		return !field.getFieldName().isEmpty() && field.getFieldName().chars().allMatch(Character::isDigit);
+	}
+
+	/** @return name of this variant */
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name + (seed != null ? " (seed " + seed + ")" : "") + " " + scalings;
+	}
+}
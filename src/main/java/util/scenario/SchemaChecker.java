@@ -0,0 +1,127 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import de.dlr.gitlab.fame.protobuf.Field.NestedField;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.AgentDao;
+
+/** Checks agents of FAME input data against the agent types and attributes of an AMIRIS schema file
+ *
+ * @author agent */
+public final class SchemaChecker {
+	static final String NO_INSTANCE = "Do not instantiate class: ";
+	static final String ERR_READ = "Could not read schema file: ";
+	static final String ERR_UNKNOWN_TYPE = "Agent %d: unknown type %s";
+	static final String ERR_UNKNOWN_ATTRIBUTE = "Agent %d: unknown attribute %s";
+	static final String ERR_MISSING_ATTRIBUTE = "Agent %d: missing mandatory attribute %s";
+	static final String ERR_INVALID_VALUE = "Agent %d: value %s not allowed for attribute %s";
+
+	private static final int MAX_ALIASES = 10_000;
+
+	SchemaChecker() {
+		throw new IllegalStateException(NO_INSTANCE + getClass().getCanonicalName());
+	}
+
+	/** Reads the schema file with given name
+	 *
+	 * @param fileName of the schema file in YAML format
+	 * @return content of the schema file
+	 * @throws RuntimeException if the schema file cannot be read */
+	public static Map<String, Object> readSchema(String fileName) {
+		LoaderOptions options = new LoaderOptions();
+		options.setMaxAliasesForCollections(MAX_ALIASES);
+		try (InputStream stream = new FileInputStream(fileName)) {
+			return new Yaml(options).load(stream);
+		} catch (IOException e) {
+			throw new RuntimeException(ERR_READ + fileName, e);
+		}
+	}
+
+	/** Returns all violations of the given schema by agents of the given input: unknown types, unknown attributes, missing
+	 * mandatory attributes and values not allowed for enum attributes
+	 *
+	 * @param input to be checked
+	 * @param schema content as returned by {@link #readSchema(String)}
+	 * @return descriptions of all violations found, empty if input complies with the schema */
+	@SuppressWarnings("unchecked")
+	public static List<String> findViolations(InputData input, Map<String, Object> schema) {
+		Map<String, Object> agentTypes = (Map<String, Object>) schema.get("AgentTypes");
+		List<String> violations = new ArrayList<>();
+		for (AgentDao agent : input.getAgentsList()) {
+			Map<String, Object> agentType = (Map<String, Object>) agentTypes.get(agent.getClassName());
+			if (agentType == null) {
+				violations.add(String.format(ERR_UNKNOWN_TYPE, agent.getId(), agent.getClassName()));
+			} else {
+				Map<String, Object> attributes = (Map<String, Object>) agentType.get("Attributes");
+				checkFields(agent.getId(), "", agent.getFieldsList(), attributes, violations);
+			}
+		}
+		return violations;
+	}
+
+	/** Adds violations of given fields against given attribute specifications to given list */
+	@SuppressWarnings("unchecked")
+	private static void checkFields(long agentId, String path, List<NestedField> fields, Map<String, Object> attributes,
+			List<String> violations) {
+		Set<String> presentNames = new HashSet<>();
+		for (NestedField field : fields) {
+			String name = field.getFieldName();
+			presentNames.add(name);
+			Map<String, Object> specification = attributes != null ? (Map<String, Object>) attributes.get(name) : null;
+			if (specification == null) {
+				violations.add(String.format(ERR_UNKNOWN_ATTRIBUTE, agentId, path + name));
+				continue;
+			}
+			checkEnumValues(agentId, path + name, field, specification, violations);
+			Map<String, Object> nested = (Map<String, Object>) specification.get("NestedAttributes");
+			if (nested == null) {
+				continue;
+			}
+			if (Boolean.TRUE.equals(specification.get("List"))) {
+				for (NestedField entry : field.getFieldsList()) {
+					checkFields(agentId, path + name + "." + entry.getFieldName() + ".", entry.getFieldsList(), nested,
+							violations);
+				}
+			} else {
+				checkFields(agentId, path + name + ".", field.getFieldsList(), nested, violations);
+			}
+		}
+		if (attributes != null) {
+			for (Entry<String, Object> entry : attributes.entrySet()) {
+				Map<String, Object> specification = (Map<String, Object>) entry.getValue();
+				boolean isMandatory = !Boolean.FALSE.equals(specification.get("Mandatory"));
+				if (isMandatory && !presentNames.contains(entry.getKey())) {
+					violations.add(String.format(ERR_MISSING_ATTRIBUTE, agentId, path + entry.getKey()));
+				}
+			}
+		}
+	}
+
+	/** Adds violations of given field's string values against allowed values of given enum specification to given list */
+	@SuppressWarnings("unchecked")
+	private static void checkEnumValues(long agentId, String name, NestedField field, Map<String, Object> specification,
+			List<String> violations) {
+		Object values = specification.get("Values");
+		if (!"enum".equals(specification.get("AttributeType")) || !(values instanceof Map)) {
+			return;
+		}
+		for (String value : field.getStringValuesList()) {
+			if (!((Map<String, Object>) values).containsKey(value)) {
+				violations.add(String.format(ERR_INVALID_VALUE, agentId, value, name));
+			}
+		}
+	}
+}
@@ -6,6 +6,7 @@ package agents.flexibility;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsFatalMessage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -258,4 +259,39 @@ public class GenericDeviceCacheTest {
 		cacheFor(QUARTER_HOUR);
 		assertEquals(-44, deviceCache.getMaxNetDischargingEnergyInMWH(), 1E-12);
 	}
+
+	@Test
+	public void prepareForIndex_afterPrepareHorizon_equalsPrepareForTime() {
+		setupGenericDeviceCache(100, 80, 0.9, 0.8, 500, -20, 0.1, 10);
+		TimePeriod startingPeriod = new TimePeriod(new TimeStamp(0), QUARTER_HOUR);
+		deviceCache.prepareHorizon(startingPeriod, 4);
+		deviceCache.prepareFor(2);
+		double maxCharging = deviceCache.getMaxNetChargingEnergyInMWH();
+		double maxDischarging = deviceCache.getMaxNetDischargingEnergyInMWH();
+		double transition = deviceCache.simulateTransition(50, 20);
+		deviceCache.prepareFor(startingPeriod.shiftByDuration(2).getStartTime());
+		assertEquals(deviceCache.getMaxNetChargingEnergyInMWH(), maxCharging, 1E-12);
+		assertEquals(deviceCache.getMaxNetDischargingEnergyInMWH(), maxDischarging, 1E-12);
+		assertEquals(deviceCache.simulateTransition(50, 20), transition, 1E-12);
+	}
+
+	@Test
+	public void prepareHorizon_samplesLimitsPerPeriod() {
+		setupGenericDeviceCache(0, 0, 1, 1, 500, 0, 0, 0);
+		TimeStamp secondTime = new TimeStamp(ONE_HOUR.getSteps());
+		when(mockDevice.getEnergyContentUpperLimitInMWH(secondTime)).thenReturn(300.);
+		when(mockDevice.getSelfDischargeRate(secondTime)).thenReturn(0.2);
+		deviceCache.prepareHorizon(new TimePeriod(new TimeStamp(0), ONE_HOUR), 3);
+		assertEquals(500, deviceCache.getEnergyContentUpperLimitInMWH(0), 1E-12);
+		assertEquals(300, deviceCache.getEnergyContentUpperLimitInMWH(1), 1E-12);
+		assertEquals(0.2, deviceCache.getSelfDischargeRate(1), 1E-12);
+		assertEquals(0, deviceCache.getSelfDischargeRate(2), 1E-12);
+	}
+
+	@Test
+	public void prepareForIndex_outsideHorizon_throws() {
+		setupGenericDeviceCache(0, 0, 1, 1, 500, 0, 0, 0);
+		deviceCache.prepareHorizon(new TimePeriod(new TimeStamp(0), ONE_HOUR), 3);
+		assertThrowsFatalMessage(GenericDeviceCache.ERR_HORIZON_INIT, () -> deviceCache.prepareFor(3));
+	}
 }
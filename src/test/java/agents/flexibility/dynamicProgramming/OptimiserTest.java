@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.flexibility.dynamicProgramming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import agents.flexibility.BidSchedule;
+import agents.flexibility.dynamicProgramming.Optimiser.Target;
+import agents.flexibility.dynamicProgramming.bidding.BidScheduler;
+import agents.flexibility.dynamicProgramming.states.StateManager;
+import agents.flexibility.dynamicProgramming.states.StateManager.DispatchSchedule;
+import de.dlr.gitlab.fame.time.Constants.Interval;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeSpan;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache;
+
+public class OptimiserTest {
+	private static final int FINEST_STATE_COUNT = 64;
+	private final TimePeriod period = new TimePeriod(new TimeStamp(0), new TimeSpan(1, Interval.HOURS));
+	private StateManager stateManager;
+	private BidScheduler bidScheduler;
+	private int coarseningFactor;
+	private Optimiser optimiser;
+
+	@BeforeEach
+	public void setUp() {
+		SolveCache.clear();
+		coarseningFactor = 1;
+		stateManager = mock(StateManager.class);
+		when(stateManager.getNumberOfForecastTimeSteps()).thenReturn(1);
+		when(stateManager.useStateList()).thenReturn(false);
+		doAnswer(call -> coarseningFactor = call.getArgument(0)).when(stateManager).setCoarseningFactor(anyInt());
+		when(stateManager.getInitialStates()).thenAnswer(__ -> new int[] {0, stateCount() - 1});
+		when(stateManager.getFinalStates(anyInt())).thenAnswer(__ -> new int[] {0, stateCount() - 1});
+		when(stateManager.getBestValuesNextPeriod()).thenAnswer(__ -> new double[stateCount()]);
+		when(stateManager.getResolution()).thenAnswer(__ -> (double) coarseningFactor);
+		when(stateManager.getBestValue()).thenAnswer(__ -> 100. - coarseningFactor);
+		when(stateManager.getBestDispatchSchedule(anyInt())).thenReturn(mock(DispatchSchedule.class));
+		bidScheduler = mock(BidScheduler.class);
+		when(bidScheduler.getScheduleHorizonInHours()).thenReturn(1.);
+		when(bidScheduler.createBidSchedule(any(), any())).thenAnswer(__ -> new BidSchedule(period, 1));
+		optimiser = new Optimiser(stateManager, bidScheduler, Target.MAXIMISE);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SolveCache.setEnabled(false);
+	}
+
+	/** @return number of states at current coarsening; each planning assesses its square number of transitions */
+	private int stateCount() {
+		return FINEST_STATE_COUNT / coarseningFactor;
+	}
+
+	@Test
+	public void createSchedule_noBudget_plansAtConfiguredResolution() {
+		optimiser.createSchedule(period);
+		verify(stateManager, never()).setCoarseningFactor(anyInt());
+		assertEquals(1., optimiser.getLastResolution());
+		assertEquals(0., optimiser.getLastObjectiveGap());
+	}
+
+	@Test
+	public void createSchedule_sufficientBudget_reachesConfiguredResolution() {
+		optimiser.setPlanningBudget(100_000, 3);
+		optimiser.createSchedule(period);
+		assertEquals(1., optimiser.getLastResolution());
+		assertEquals(0., optimiser.getLastObjectiveGap());
+	}
+
+	@Test
+	public void createSchedule_limitedBudget_stopsBeforeExceedingBudget() {
+		optimiser.setPlanningBudget(500, 3);
+		optimiser.createSchedule(period);
+		assertEquals(4., optimiser.getLastResolution());
+		assertEquals(4., optimiser.getLastObjectiveGap());
+		assertEquals(1, coarseningFactor);
+	}
+
+	@Test
+	public void createSchedule_tinyBudget_completesCoarsestPlanning() {
+		optimiser.setPlanningBudget(1, 3);
+		optimiser.createSchedule(period);
+		assertEquals(8., optimiser.getLastResolution());
+		assertTrue(Double.isNaN(optimiser.getLastObjectiveGap()));
+	}
+
+	@Test
+	public void createSchedule_cachedSolution_returnsNewSchedule() {
+		SolveCache.setEnabled(true);
+		BidSchedule first = optimiser.createSchedule(period);
+		BidSchedule second = new Optimiser(stateManager, bidScheduler, Target.MAXIMISE).createSchedule(period);
+		assertEquals(1, SolveCache.getHitCount());
+		assertNotSame(first, second);
+	}
+
+	@Test
+	public void getLastResolution_noSchedule_NaN() {
+		assertTrue(Double.isNaN(optimiser.getLastResolution()));
+	}
+
+	@Test
+	public void setPlanningBudget_negativeBudget_throws() {
+		assertThrowsMessage(IllegalArgumentException.class, Optimiser.ERR_BUDGET, () -> optimiser.setPlanningBudget(-1, 3));
+	}
+
+	@Test
+	public void setPlanningBudget_negativeLevels_throws() {
+		assertThrowsMessage(IllegalArgumentException.class, Optimiser.ERR_LEVELS, () -> optimiser.setPlanningBudget(1, -1));
+	}
+}
@@ -0,0 +1,214 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.flexibility.dynamicProgramming.states;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsMessage;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import agents.flexibility.BidSchedule;
+import agents.flexibility.GenericDevice;
+import agents.flexibility.dynamicProgramming.Optimiser;
+import agents.flexibility.dynamicProgramming.Optimiser.Target;
+import agents.flexibility.dynamicProgramming.assessment.AssessmentFunction;
+import agents.flexibility.dynamicProgramming.bidding.BidScheduler;
+import agents.flexibility.dynamicProgramming.states.StateManager.DispatchSchedule;
+import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.Constants.Interval;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeSpan;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache;
+
+public class EnergyStateManagerTest {
+	private static final double HORIZON_IN_HOURS = 24;
+	private static final double CAPACITY_IN_MWH = 100;
+	private static final double POWER_IN_MW = 25;
+	private static final double RESOLUTION_IN_MWH = 0.25;
+	private static final double PRICE_SLOPE = 0.5;
+	private final TimePeriod period = new TimePeriod(new TimeStamp(0), new TimeSpan(1, Interval.HOURS));
+
+	private DoubleUnaryOperator priceInHour;
+	private double currentEnergyInMWH;
+	private double currentPrice;
+	private DispatchSchedule lastDispatch;
+
+	/** Result of one planning: dispatch, best value and number of assessed state transitions */
+	private static class Result {
+		DispatchSchedule dispatch;
+		double bestValue;
+		long transitionCount;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		SolveCache.clear();
+		priceInHour = hour -> 50 + 30 * Math.sin(2 * Math.PI * hour / 24.);
+		currentEnergyInMWH = CAPACITY_IN_MWH / 2;
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SolveCache.clear();
+	}
+
+	private GenericDevice mockDevice() {
+		Map<String, Double> values = Map.of("getChargingEfficiency", 1., "getDischargingEfficiency", 1.,
+				"getEnergyContentUpperLimitInMWH", CAPACITY_IN_MWH, "getEnergyContentLowerLimitInMWH", 0.,
+				"getSelfDischargeRate", 0., "getNetInflowInMW", 0., "getExternalChargingPowerInMW", POWER_IN_MW,
+				"getExternalDischargingPowerInMW", POWER_IN_MW);
+		return mock(GenericDevice.class, call -> {
+			String name = call.getMethod().getName();
+			if (name.equals("getCurrentInternalEnergyInMWH")) {
+				return currentEnergyInMWH;
+			}
+			return values.containsKey(name) ? values.get(name) : RETURNS_DEFAULTS.answer(call);
+		});
+	}
+
+	/** @return assessment of a price-making device: each MWh of external energy delta shifts the price by a constant slope */
+	private AssessmentFunction mockAssessment() {
+		AssessmentFunction assessment = mock(AssessmentFunction.class);
+		when(assessment.getTargetType()).thenReturn(Target.MAXIMISE);
+		doAnswer(call -> {
+			double hour = ((TimeStamp) call.getArgument(0)).getStep() / (double) Constants.STEPS_PER_HOUR;
+			currentPrice = priceInHour.applyAsDouble(hour);
+			return null;
+		}).when(assessment).prepareFor(any());
+		when(assessment.assessTransition(anyDouble())).thenAnswer(call -> {
+			double delta = call.getArgument(0);
+			return -delta * (currentPrice + PRICE_SLOPE * delta);
+		});
+		return assessment;
+	}
+
+	private long transitionCount;
+
+	private EnergyStateManager createStateManager(int corridorWidth, int corridorFactor) throws MissingDataException {
+		EnergyStateManager stateManager = new EnergyStateManager(mockDevice(), mockAssessment(),
+				HORIZON_IN_HOURS, RESOLUTION_IN_MWH, new WaterValues(null)) {
+			@Override
+			public double getTransitionValueFor(int initialStateIndex, int finalStateIndex) {
+				transitionCount++;
+				return super.getTransitionValueFor(initialStateIndex, finalStateIndex);
+			}
+		};
+		stateManager.setCorridor(corridorWidth, corridorFactor);
+		return stateManager;
+	}
+
+	private Result plan(int corridorWidth, int corridorFactor) throws MissingDataException {
+		return plan(createStateManager(corridorWidth, corridorFactor));
+	}
+
+	private Result plan(EnergyStateManager stateManager) {
+		transitionCount = 0;
+		BidScheduler bidScheduler = mock(BidScheduler.class);
+		when(bidScheduler.getScheduleHorizonInHours()).thenReturn(HORIZON_IN_HOURS);
+		when(bidScheduler.createBidSchedule(any(), any())).thenAnswer(call -> {
+			lastDispatch = call.getArgument(1);
+			return new BidSchedule(period, 1);
+		});
+		new Optimiser(stateManager, bidScheduler, Target.MAXIMISE).createSchedule(period);
+		Result result = new Result();
+		result.dispatch = lastDispatch;
+		result.bestValue = stateManager.getBestValue();
+		result.transitionCount = transitionCount;
+		return result;
+	}
+
+	private void assertSameDispatch(Result expected, Result actual) {
+		assertArrayEquals(expected.dispatch.externalEnergyDeltasInMWH, actual.dispatch.externalEnergyDeltasInMWH, 1E-9);
+		assertArrayEquals(expected.dispatch.initialInternalEnergiesInMWH, actual.dispatch.initialInternalEnergiesInMWH, 1E-9);
+		assertEquals(expected.bestValue, actual.bestValue, 1E-6);
+	}
+
+	@Test
+	public void createSchedule_corridorAroundSmoothOptimum_reproducesFullResolution() throws MissingDataException {
+		Result full = plan(0, 1);
+		Result refined = plan(2, 4);
+		assertSameDispatch(full, refined);
+		assertTrue(refined.transitionCount < full.transitionCount / 2);
+	}
+
+	@Test
+	public void createSchedule_corridor_specificValuesWithinPriceRange() throws MissingDataException {
+		Result refined = plan(2, 4);
+		double maxPriceImpact = PRICE_SLOPE * POWER_IN_MW;
+		for (int hour = 0; hour < HORIZON_IN_HOURS - 1; hour++) { // last hour is valued by water values, which are zero here
+			if (refined.dispatch.externalEnergyDeltasInMWH[hour] != 0) {
+				double value = refined.dispatch.specificValuesInEURperMWH[hour];
+				assertTrue(value >= 20 - maxPriceImpact && value <= 80 + maxPriceImpact, "hour " + hour);
+			}
+		}
+	}
+
+	@Test
+	public void createSchedule_narrowCorridorOnVolatilePrices_missesOptimum() throws MissingDataException {
+		priceInHour = hour -> 50 + 30 * Math.sin(2 * Math.PI * hour / 24.) + 15 * Math.sin(2 * Math.PI * hour / 3.);
+		Result full = plan(0, 1);
+		assertTrue(plan(1, 4).bestValue < full.bestValue - 1E-3);
+		assertSameDispatch(full, plan(2, 4));
+	}
+
+	@Test
+	public void getBestDispatchSchedule_energyBelowCorridor_chargesTowardsCorridor() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(1, 4);
+		plan(stateManager);
+		currentEnergyInMWH = 10;
+		DispatchSchedule dispatch = stateManager.getBestDispatchSchedule(2);
+		assertEquals(10, dispatch.initialInternalEnergiesInMWH[0], 1E-9);
+		assertEquals(POWER_IN_MW, dispatch.externalEnergyDeltasInMWH[0], 1E-9);
+		assertEquals(10 + POWER_IN_MW, dispatch.initialInternalEnergiesInMWH[1], 1E-9);
+	}
+
+	@Test
+	public void prepareRefinement_noCorridor_false() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(0, 1);
+		stateManager.initialise(period);
+		assertFalse(stateManager.prepareRefinement());
+	}
+
+	@Test
+	public void prepareRefinement_corridor_trueOnlyOnce() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(1, 2);
+		stateManager.initialise(period);
+		assertTrue(stateManager.prepareRefinement());
+		assertFalse(stateManager.prepareRefinement());
+	}
+
+	@Test
+	public void getResolution_corridor_returnsFullResolution() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(1, 4);
+		stateManager.initialise(period);
+		assertEquals(RESOLUTION_IN_MWH, stateManager.getResolution());
+	}
+
+	@Test
+	public void setCorridor_negativeWidth_throws() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(0, 1);
+		assertThrowsMessage(IllegalArgumentException.class, EnergyStateManager.ERR_CORRIDOR_WIDTH,
+				() -> stateManager.setCorridor(-1, 4));
+	}
+
+	@Test
+	public void setCorridor_factorBelowTwo_throws() throws MissingDataException {
+		EnergyStateManager stateManager = createStateManager(0, 1);
+		assertThrowsMessage(IllegalArgumentException.class, EnergyStateManager.ERR_CORRIDOR_FACTOR,
+				() -> stateManager.setCorridor(1, 1));
+	}
+}
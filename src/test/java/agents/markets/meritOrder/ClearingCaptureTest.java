@@ -0,0 +1,133 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import agents.markets.meritOrder.ClearingReplay.Report;
+import agents.markets.meritOrder.MarketClearing.ShortagePriceMethod;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+import agents.markets.meritOrder.books.TransmissionBook;
+import communications.message.TransmissionCapacity;
+import communications.portable.CouplingData;
+
+public class ClearingCaptureTest {
+	@TempDir private File tempDir;
+
+	@AfterEach
+	public void stopCapture() {
+		ClearingCapture.stop();
+	}
+
+	private SupplyOrderBook createSupply(double priceOffset) {
+		SupplyOrderBook book = new SupplyOrderBook();
+		book.addBids(List.of(new Bid(40, priceOffset + 30, 25), new Bid(20, priceOffset + 10, 5)), 1L, false);
+		book.addBids(List.of(new Bid(30, priceOffset + 20, 15), new Bid(50, priceOffset + 60, 55)), 2L, true);
+		return book;
+	}
+
+	private DemandOrderBook createDemand(double amount) {
+		DemandOrderBook book = new DemandOrderBook();
+		book.addBid(new Bid(amount, 3000, Double.NaN), 3L);
+		book.addBids(List.of(new Bid(15, 25, Double.NaN), new Bid(10, 50, Double.NaN)), 4L, false);
+		return book;
+	}
+
+	private CouplingData createCouplingData(String origin, String target, double priceOffset, double demand) {
+		TransmissionBook transmission = new TransmissionBook(origin);
+		transmission.add(new TransmissionCapacity(target, 25));
+		return new CouplingData(createDemand(demand), createSupply(priceOffset), transmission);
+	}
+
+	@Test
+	public void replay_capturedClearings_reproducesResults() {
+		String file = new File(tempDir, "clearing.bin").getPath();
+		ClearingCapture.start(file);
+		MarketClearing clearing = new MarketClearing(DistributionMethod.SAME_SHARES, ShortagePriceMethod.LastSupplyPrice);
+		MarketClearingResult normal = clearing.clear(createSupply(0), createDemand(50), "normal");
+		MarketClearingResult shortage = clearing.clear(createSupply(0), createDemand(200), "shortage");
+		ClearingCapture.stop();
+
+		List<Report> reports = ClearingReplay.replay(file, 2);
+		assertEquals(2, reports.size());
+		assertEquals("normal", reports.get(0).getLabel());
+		assertEquals("shortage", reports.get(1).getLabel());
+		for (Report report : reports) {
+			assertTrue(report.matches(), report.toString());
+			assertTrue(report.getReplayNanos() > 0);
+		}
+		List<ClearingCapture.Record> records = ClearingCapture.read(file);
+		assertArrayEquals(new double[] {normal.getMarketPriceInEURperMWH(), normal.getTradedEnergyInMWH()},
+				records.get(0).getCapturedResults());
+		assertEquals(60., shortage.getMarketPriceInEURperMWH());
+		assertArrayEquals(new double[] {60., shortage.getTradedEnergyInMWH()}, records.get(1).getCapturedResults());
+	}
+
+	@Test
+	public void replay_capturedCoupling_reproducesResults() {
+		Map<Long, CouplingData> requests = new HashMap<>();
+		requests.put(10L, createCouplingData("DE", "AT", 40, 80));
+		requests.put(11L, createCouplingData("AT", "DE", 0, 40));
+		String file = new File(tempDir, "coupling.bin").getPath();
+		ClearingCapture.start(file);
+		DemandBalancer balancer = new DemandBalancer(0.1);
+		balancer.balance(requests);
+		ClearingCapture.stop();
+
+		List<ClearingCapture.Record> records = ClearingCapture.read(file);
+		assertEquals(1, records.size());
+		ClearingCapture.Coupling coupling = (ClearingCapture.Coupling) records.get(0);
+		assertArrayEquals(balancer.getResults(coupling.getMarketIds()), coupling.getCapturedResults());
+		List<Report> reports = ClearingReplay.replay(file, 1);
+		assertTrue(reports.get(0).matches(), reports.get(0).toString());
+	}
+
+	@Test
+	public void clear_captureDisabled_writesNothing() throws IOException {
+		String file = new File(tempDir, "disabled.bin").getPath();
+		ClearingCapture.start(file);
+		ClearingCapture.stop();
+		long size = Files.size(new File(file).toPath());
+		assertFalse(ClearingCapture.isEnabled());
+		new MarketClearing(DistributionMethod.SAME_SHARES, ShortagePriceMethod.ValueOfLostLoad).clear(createSupply(0),
+				createDemand(50), "ignored");
+		assertEquals(size, Files.size(new File(file).toPath()));
+		assertEquals(0, ClearingReplay.replay(file, 1).size());
+	}
+
+	@Test
+	public void replay_whileCapturingToSameFile_keepsCaptureAndRecordsNothing() throws IOException {
+		String file = new File(tempDir, "active.bin").getPath();
+		ClearingCapture.start(file);
+		new MarketClearing(DistributionMethod.SAME_SHARES, ShortagePriceMethod.LastSupplyPrice).clear(createSupply(0),
+				createDemand(50), "captured");
+		byte[] captured = Files.readAllBytes(new File(file).toPath());
+
+		List<Report> reports = ClearingReplay.replay(file, 2);
+		assertEquals(1, reports.size());
+		assertFalse(ClearingCapture.isEnabled());
+		assertArrayEquals(captured, Files.readAllBytes(new File(file).toPath()));
+	}
+
+	@Test
+	public void read_otherFile_throws() throws IOException {
+		File file = new File(tempDir, "other.bin");
+		Files.writeString(file.toPath(), "no capture");
+		assertThrows(RuntimeException.class, () -> ClearingCapture.read(file.getPath()));
+	}
+}
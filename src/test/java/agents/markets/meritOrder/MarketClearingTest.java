@@ -0,0 +1,75 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import agents.markets.meritOrder.MarketClearing.ShortagePriceMethod;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.OrderBookItem;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+
+public class MarketClearingTest {
+	private static final int MARKET_COUNT = 200;
+
+	/** Fills given books with random bids of few traders at few distinct prices, often causing scarcity */
+	private void fillRandomBooks(Random random, SupplyOrderBook supplyBook, DemandOrderBook demandBook) {
+		for (long trader = 0; trader < 4; trader++) {
+			List<Bid> supply = new ArrayList<>();
+			List<Bid> demand = new ArrayList<>();
+			for (int bid = 0; bid < 5; bid++) {
+				supply.add(new Bid(random.nextInt(20), 10 * random.nextInt(8), random.nextDouble() * 50));
+				demand.add(new Bid(random.nextInt(30), random.nextBoolean() ? 3000 : 10 * random.nextInt(10), Double.NaN));
+			}
+			supplyBook.addBids(supply, trader);
+			demandBook.addBids(demand, trader);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(ShortagePriceMethod.class)
+	public void clear_priceOnly_sameResultsAndAwardsAsFullClearing(ShortagePriceMethod shortagePriceMethod) {
+		MarketClearing clearing = new MarketClearing(DistributionMethod.SAME_SHARES, shortagePriceMethod);
+		Random random = new Random(3);
+		int scarcityCount = 0;
+		for (int market = 0; market < MARKET_COUNT; market++) {
+			long seed = random.nextLong();
+			SupplyOrderBook fullSupply = new SupplyOrderBook();
+			DemandOrderBook fullDemand = new DemandOrderBook();
+			fillRandomBooks(new Random(seed), fullSupply, fullDemand);
+			SupplyOrderBook priceOnlySupply = new SupplyOrderBook();
+			DemandOrderBook priceOnlyDemand = new DemandOrderBook();
+			fillRandomBooks(new Random(seed), priceOnlySupply, priceOnlyDemand);
+
+			MarketClearingResult full = clearing.clear(fullSupply, fullDemand, "full");
+			MarketClearingResult priceOnly = clearing.clear(priceOnlySupply, priceOnlyDemand, "priceOnly", true);
+			assertEquals(full.getMarketPriceInEURperMWH(), priceOnly.getMarketPriceInEURperMWH(), "market " + market);
+			assertEquals(full.getTradedEnergyInMWH(), priceOnly.getTradedEnergyInMWH(), "market " + market);
+			assertTrue(Double.isNaN(priceOnlySupply.getOrderBookItems().get(0).getAwardedPower()));
+
+			assertEquals(full.getSystemCostTotalInEUR(), priceOnly.getSystemCostTotalInEUR());
+			assertAwardsEqual(full.getSupplyBook(), priceOnly.getSupplyBook());
+			assertAwardsEqual(full.getDemandBook(), priceOnly.getDemandBook());
+			scarcityCount += fullDemand.getAmountOfPowerShortage(fullSupply.getHighestItem()) > 0 ? 1 : 0;
+		}
+		assertTrue(scarcityCount > 0 && scarcityCount < MARKET_COUNT);
+	}
+
+	/** asserts that the items of both books have equal awarded power */
+	private void assertAwardsEqual(OrderBook expected, OrderBook actual) {
+		List<OrderBookItem> expectedItems = expected.getOrderBookItems();
+		List<OrderBookItem> actualItems = actual.getOrderBookItems();
+		assertEquals(expectedItems.size(), actualItems.size());
+		for (int index = 0; index < expectedItems.size(); index++) {
+			assertEquals(expectedItems.get(index).getAwardedPower(), actualItems.get(index).getAwardedPower());
+		}
+	}
+}
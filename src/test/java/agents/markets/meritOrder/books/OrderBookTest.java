@@ -0,0 +1,196 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.books;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import agents.markets.meritOrder.Bid;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import testUtils.Portables;
+
+public class OrderBookTest {
+	private SupplyOrderBook supplyBook;
+
+	@BeforeEach
+	public void setUp() {
+		supplyBook = new SupplyOrderBook();
+		supplyBook.addBid(new Bid(10, 5), 1L);
+		supplyBook.addBid(new Bid(20, 30), 2L);
+		supplyBook.addBid(new Bid(0, 30), 3L);
+		supplyBook.addBid(new Bid(30, 30), 4L);
+		supplyBook.addBid(new Bid(15, 70), 5L);
+		supplyBook.sort();
+	}
+
+	/** @return awarded power of given trader */
+	private double awardOf(long traderId) {
+		return supplyBook.getTradersSumOfPower(traderId);
+	}
+
+	@Test
+	public void updateAwardedPowerInBids_firstComeFirstServe_awardsInBookOrder() {
+		supplyBook.updateAwardedPowerInBids(35, 30, DistributionMethod.FIRST_COME_FIRST_SERVE);
+		assertEquals(10, awardOf(1L), 1E-12);
+		assertEquals(20, awardOf(2L), 1E-12);
+		assertEquals(0, awardOf(3L), 1E-12);
+		assertEquals(5, awardOf(4L), 1E-12);
+		assertEquals(0, awardOf(5L), 1E-12);
+	}
+
+	@Test
+	public void updateAwardedPowerInBids_sameShares_awardsProportionally() {
+		supplyBook.updateAwardedPowerInBids(35, 30, DistributionMethod.SAME_SHARES);
+		assertEquals(10, awardOf(1L), 1E-12);
+		assertEquals(10, awardOf(2L), 1E-12);
+		assertEquals(0, awardOf(3L), 1E-12);
+		assertEquals(15, awardOf(4L), 1E-12);
+		assertEquals(0, awardOf(5L), 1E-12);
+	}
+
+	@Test
+	public void updateAwardedPowerInBids_sameShares_awardsEqualStreamBasedShares() {
+		Random random = new Random(29);
+		SupplyOrderBook book = new SupplyOrderBook();
+		double[] powers = new double[200];
+		for (int index = 0; index < powers.length; index++) {
+			powers[index] = random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+			book.addBid(new Bid(powers[index], 42), index);
+		}
+		book.sort();
+		double awardedPower = Arrays.stream(powers).sum() * 0.3;
+		book.updateAwardedPowerInBids(awardedPower, 42, DistributionMethod.SAME_SHARES);
+		double share = awardedPower / book.getOrderBookItems().stream().filter(item -> item.getBlockPower() > 0)
+				.mapToDouble(OrderBookItem::getBlockPower).sum();
+		for (OrderBookItem item : book.getOrderBookItems()) {
+			if (item.getBlockPower() > 0) {
+				assertEquals(item.getBlockPower() * share, item.getAwardedPower(), 0);
+			}
+		}
+	}
+
+	@Test
+	public void updateAwardedPowerInBids_randomize_awardsAllPowerToPriceSettingBids() {
+		for (int trial = 0; trial < 20; trial++) {
+			supplyBook.updateAwardedPowerInBids(35, 30, DistributionMethod.RANDOMIZE);
+			assertEquals(10, awardOf(1L), 1E-12);
+			assertEquals(25, awardOf(2L) + awardOf(4L), 1E-12);
+			assertEquals(0, awardOf(3L), 1E-12);
+			assertEquals(0, awardOf(5L), 1E-12);
+		}
+	}
+
+	@Test
+	public void updateAwardedPowerInBids_noPriceSettingBid_awardsBlocksBelowAwardedPower() {
+		supplyBook.updateAwardedPowerInBids(60, 50, DistributionMethod.FIRST_COME_FIRST_SERVE);
+		ArrayList<OrderBookItem> items = supplyBook.getOrderBookItems();
+		double total = 0;
+		for (OrderBookItem item : items) {
+			total += item.getAwardedPower();
+		}
+		assertEquals(60, total, 1E-12);
+		assertEquals(0, awardOf(5L), 1E-12);
+	}
+
+	@Test
+	public void sort_mixedRunsWithTies_keepsInsertionOrderOfEqualPrices() {
+		SupplyOrderBook book = new SupplyOrderBook();
+		book.addBids(Arrays.asList(new Bid(1, 10), new Bid(1, 20), new Bid(1, 30)), 1L, true);
+		book.addBid(new Bid(1, 20), 2L);
+		book.addBids(Arrays.asList(new Bid(1, 30), new Bid(1, 10)), 3L, false);
+		book.addBid(new Bid(1, 10), 4L);
+		long[] expectedTraders = {1L, 3L, 4L, 1L, 2L, 1L, 3L, Long.MIN_VALUE};
+		ArrayList<OrderBookItem> items = book.getOrderBookItems();
+		assertEquals(expectedTraders.length, items.size());
+		for (int index = 0; index < expectedTraders.length; index++) {
+			assertEquals(expectedTraders[index], items.get(index).getTraderUuid());
+		}
+	}
+
+	@Test
+	public void sort_virtualLastBidAlreadyAdded_isNotDuplicated() {
+		DemandOrderBook book = new DemandOrderBook();
+		book.addBid(new Bid(5, 10), 1L);
+		book.sort();
+		DemandOrderBook clone = book.clone();
+		for (OrderBookItem item : book.getOrderBookItems()) {
+			clone.addBid(item.getBid().clone(), item.getTraderUuid());
+		}
+		assertEquals(4, clone.getOrderBookItems().size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = {1L, 7L, 42L})
+	public void sort_randomRuns_matchesStableSort(long seed) {
+		Random random = new Random(seed);
+		DemandOrderBook book = new DemandOrderBook();
+		ArrayList<OrderBookItem> expected = new ArrayList<>();
+		for (int traderIndex = 0; traderIndex < 30; traderIndex++) {
+			long trader = traderIndex;
+			int count = random.nextInt(6);
+			List<Bid> bids = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				bids.add(new Bid(1 + random.nextInt(10), random.nextInt(8) * 10));
+			}
+			boolean sorted = random.nextBoolean();
+			if (sorted) {
+				bids.sort((a, b) -> Double.compare(b.getOfferPriceInEURperMWH(), a.getOfferPriceInEURperMWH()));
+			}
+			if (random.nextBoolean()) {
+				book.addBids(bids, trader, sorted);
+			} else {
+				bids.forEach(bid -> book.addBid(bid, trader));
+			}
+			bids.forEach(bid -> expected.add(new OrderBookItem(bid, trader)));
+		}
+		expected.sort(OrderBookItem.BY_PRICE.reversed());
+		ArrayList<OrderBookItem> items = book.getOrderBookItems();
+		assertEquals(expected.size() + 1, items.size());
+		for (int index = 0; index < expected.size(); index++) {
+			assertEquals(expected.get(index).getTraderUuid(), items.get(index).getTraderUuid());
+			assertEquals(expected.get(index).getOfferPrice(), items.get(index).getOfferPrice());
+			assertEquals(expected.get(index).getBlockPower(), items.get(index).getBlockPower());
+		}
+	}
+
+	@Test
+	public void roundTrip_awardedSupplyBook_restoresItemsAndAwards() {
+		supplyBook.updateAwardedPowerInBids(35, 30, DistributionMethod.SAME_SHARES);
+		SupplyOrderBook result = Portables.roundTrip(supplyBook);
+		assertTrue(result.isSorted);
+		assertEquals(supplyBook.awardedPrice, result.awardedPrice);
+		assertEquals(supplyBook.awardedCumulativePower, result.awardedCumulativePower);
+		ArrayList<OrderBookItem> expected = supplyBook.getOrderBookItems();
+		ArrayList<OrderBookItem> items = result.getOrderBookItems();
+		assertEquals(expected.size(), items.size());
+		for (int index = 0; index < expected.size(); index++) {
+			assertEquals(expected.get(index).getTraderUuid(), items.get(index).getTraderUuid());
+			assertEquals(expected.get(index).getBlockPower(), items.get(index).getBlockPower());
+			assertEquals(expected.get(index).getOfferPrice(), items.get(index).getOfferPrice());
+			assertEquals(expected.get(index).getMarginalCost(), items.get(index).getMarginalCost());
+			assertEquals(expected.get(index).getCumulatedPowerUpperValue(), items.get(index).getCumulatedPowerUpperValue());
+			assertEquals(expected.get(index).getAwardedPower(), items.get(index).getAwardedPower());
+		}
+	}
+
+	@Test
+	public void roundTrip_unsortedDemandBook_sortsLikeOriginal() {
+		DemandOrderBook book = new DemandOrderBook();
+		book.addBid(new Bid(5, 10), 1L);
+		book.addBid(new Bid(5, 50), 2L);
+		DemandOrderBook result = Portables.roundTrip(book);
+		ArrayList<OrderBookItem> items = result.getOrderBookItems();
+		assertEquals(3, items.size());
+		assertEquals(2L, items.get(0).getTraderUuid());
+		assertEquals(1L, items.get(1).getTraderUuid());
+		assertEquals(Long.MIN_VALUE, items.get(2).getTraderUuid());
+	}
+}
@@ -0,0 +1,39 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.books;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import agents.markets.meritOrder.Bid;
+import testUtils.Portables;
+
+public class TransferOrderBookTest {
+	@Test
+	public void roundTrip_multipleTraders_restoresBidsPerTrader() {
+		TransferOrderBook book = new TransferOrderBook();
+		book.addBid(new Bid(10, 20, 5), 1L);
+		book.addBid(new Bid(15, 25), 1L);
+		book.addTraderBids(2L, List.of());
+		book.addBid(new Bid(30, 40, 35), 3L);
+		TransferOrderBook result = Portables.roundTrip(book);
+		assertEquals(book.getTraders(), result.getTraders());
+		for (long trader : book.getTraders()) {
+			List<Bid> expected = book.getBidsOf(trader);
+			List<Bid> actual = result.getBidsOf(trader);
+			assertEquals(expected.size(), actual.size());
+			for (int index = 0; index < expected.size(); index++) {
+				assertEquals(expected.get(index).getEnergyAmountInMWH(), actual.get(index).getEnergyAmountInMWH());
+				assertEquals(expected.get(index).getOfferPriceInEURperMWH(), actual.get(index).getOfferPriceInEURperMWH());
+				assertEquals(expected.get(index).getMarginalCost(), actual.get(index).getMarginalCost());
+			}
+		}
+	}
+
+	@Test
+	public void roundTrip_empty_restoresEmptyBook() {
+		assertTrue(Portables.roundTrip(new TransferOrderBook()).getTraders().isEmpty());
+	}
+}
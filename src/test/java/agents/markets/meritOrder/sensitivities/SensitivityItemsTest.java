@@ -0,0 +1,112 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.sensitivities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import agents.markets.meritOrder.Bid;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.OrderBookItem;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+
+public class SensitivityItemsTest {
+	private static final int BOOK_COUNT = 100;
+
+	/** @return random book with few distinct prices and powers to provoke ties, awarded up to given power at given price */
+	private <T extends OrderBook> T createAwardedBook(T book, Random random, double awardedPower, double awardedPrice) {
+		for (long trader = 0; trader < 5; trader++) {
+			List<Bid> bids = new ArrayList<>();
+			for (int bid = 0; bid < 8; bid++) {
+				bids.add(new Bid(5 * random.nextInt(4), 10 * random.nextInt(6), random.nextInt(100)));
+			}
+			book.addBids(bids, trader);
+		}
+		book.sort();
+		book.updateAwardedPowerInBids(awardedPower, awardedPrice, DistributionMethod.SAME_SHARES);
+		return book;
+	}
+
+	/** @return items extracted in book order and stably sorted by given comparator as done before linear merging */
+	private List<SensitivityItem> sortAsBefore(boolean charging, Comparator<SensitivityItem> comparator,
+			OrderBook... books) {
+		List<SensitivityItem> items = new ArrayList<>();
+		for (OrderBook book : books) {
+			boolean isSupply = book instanceof SupplyOrderBook;
+			for (OrderBookItem item : book.getOrderBookItems()) {
+				if (item.getBlockPower() <= 0) {
+					continue;
+				}
+				double power = isSupply == charging ? item.getNotAwardedPower() : item.getAwardedPower();
+				if (power > 0) {
+					items.add(new SensitivityItem(power, item.getOfferPrice(), item.getMarginalCost()));
+				}
+			}
+		}
+		items.sort(charging ? comparator : comparator.reversed());
+		return items;
+	}
+
+	private void assertSameItems(List<SensitivityItem> expected, List<SensitivityItem> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int index = 0; index < expected.size(); index++) {
+			assertEquals(expected.get(index).getPrice(), actual.get(index).getPrice());
+			assertEquals(expected.get(index).getPower(), actual.get(index).getPower());
+			assertEquals(expected.get(index).getMarginal(), actual.get(index).getMarginal());
+		}
+	}
+
+	@Test
+	public void updateSensitivities_priceSensitivity_equalsStableSort() {
+		Random random = new Random(11);
+		for (int run = 0; run < BOOK_COUNT; run++) {
+			SupplyOrderBook supply = createAwardedBook(new SupplyOrderBook(), random, 60, 30);
+			DemandOrderBook demand = createAwardedBook(new DemandOrderBook(), random, 60, 30);
+			PriceSensitivity sensitivity = new PriceSensitivity();
+			sensitivity.updateSensitivities(supply, demand);
+			assertSameItems(sortAsBefore(true, SensitivityItem.BY_PRICE, supply, demand), sensitivity.chargingItems);
+			assertSameItems(sortAsBefore(false, SensitivityItem.BY_PRICE, supply, demand), sensitivity.dischargingItems);
+		}
+	}
+
+	@Test
+	public void updateSensitivities_marginalCostSensitivity_equalsStableSort() {
+		Random random = new Random(12);
+		for (int run = 0; run < BOOK_COUNT; run++) {
+			SupplyOrderBook supply = createAwardedBook(new SupplyOrderBook(), random, 60, 30);
+			DemandOrderBook demand = createAwardedBook(new DemandOrderBook(), random, 60, 30);
+			MarginalCostSensitivity sensitivity = new MarginalCostSensitivity();
+			sensitivity.updateSensitivities(supply, demand);
+			Comparator<SensitivityItem> comparator = SensitivityItem.BY_PRICE_THEN_POWER;
+			assertSameItems(sortAsBefore(true, comparator, supply), sensitivity.chargingItems);
+			assertSameItems(sortAsBefore(false, comparator, supply), sensitivity.dischargingItems);
+		}
+	}
+
+	@Test
+	public void reverseKeepingTies_descending_ascendingWithTiesInOrder() {
+		SensitivityItem a = new SensitivityItem(1, 3, 0);
+		SensitivityItem b = new SensitivityItem(2, 2, 0);
+		SensitivityItem c = new SensitivityItem(3, 2, 0);
+		SensitivityItem d = new SensitivityItem(4, 1, 0);
+		List<SensitivityItem> items = new ArrayList<>(List.of(a, b, c, d));
+		SensitivityItems.reverseKeepingTies(items);
+		assertEquals(List.of(d, b, c, a), items);
+	}
+
+	@Test
+	public void merge_equalPrices_firstListPrecedes() {
+		SensitivityItem first = new SensitivityItem(1, 2, 0);
+		SensitivityItem second = new SensitivityItem(2, 2, 0);
+		SensitivityItem low = new SensitivityItem(3, 1, 0);
+		List<SensitivityItem> target = new ArrayList<>();
+		SensitivityItems.merge(List.of(first), List.of(low, second), true, target);
+		assertEquals(List.of(low, first, second), target);
+	}
+}
@@ -0,0 +1,111 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.markets.meritOrder.sensitivities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import agents.markets.meritOrder.Bid;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+
+public class StepValuesTest {
+	private static final int STEPS = 7;
+
+	private <T extends OrderBook> T createAwardedBook(T book, Random random) {
+		for (long trader = 0; trader < 4; trader++) {
+			List<Bid> bids = new ArrayList<>();
+			for (int bid = 0; bid < 6; bid++) {
+				bids.add(new Bid(5 + random.nextInt(20), 10 * random.nextInt(6), random.nextInt(100)));
+			}
+			book.addBids(bids, trader);
+		}
+		book.sort();
+		book.updateAwardedPowerInBids(100, 30, DistributionMethod.SAME_SHARES);
+		return book;
+	}
+
+	private MeritOrderSensitivity createSensitivity(MeritOrderSensitivity sensitivity, Random random) {
+		sensitivity.updateSensitivities(createAwardedBook(new SupplyOrderBook(), random),
+				createAwardedBook(new DemandOrderBook(), random));
+		sensitivity.updatePowers(1 + random.nextInt(200), 1 + random.nextInt(200));
+		return sensitivity;
+	}
+
+	/** @return values as computed before step tables were introduced: truncating the item lists first */
+	private double[] calcValuesAsBefore(MeritOrderSensitivity sensitivity, double chargingPower, double dischargingPower) {
+		sensitivity.chargingItems.removeIf(i -> i.getCumulatedLowerPower() > chargingPower);
+		sensitivity.dischargingItems.removeIf(i -> i.getCumulatedLowerPower() > dischargingPower);
+		double[] values = new double[2 * STEPS + 1];
+		for (int step = 1; step <= STEPS; step++) {
+			values[STEPS + step] = sensitivity.getValue(chargingPower / STEPS * step);
+			values[STEPS - step] = sensitivity.getValue(-dischargingPower / STEPS * step);
+		}
+		return values;
+	}
+
+	private void assertTableEqualsPreviousValues(MeritOrderSensitivity sensitivity) {
+		double chargingPower = sensitivity.externalChargingPowerInMW;
+		double dischargingPower = sensitivity.externalDischargingPowerInMW;
+		int chargingItemCount = sensitivity.chargingItems.size();
+		int dischargingItemCount = sensitivity.dischargingItems.size();
+		StepValues table = sensitivity.getStepValues(STEPS);
+		assertEquals(chargingItemCount, sensitivity.chargingItems.size());
+		assertEquals(dischargingItemCount, sensitivity.dischargingItems.size());
+
+		double[] expected = calcValuesAsBefore(sensitivity, chargingPower, dischargingPower);
+		StepPower stepPower = new StepPower(chargingPower, dischargingPower, STEPS);
+		for (int stepDelta = -STEPS; stepDelta <= STEPS; stepDelta++) {
+			assertEquals(expected[STEPS + stepDelta], table.getValue(stepDelta));
+			assertEquals(stepPower.getPower(stepDelta), table.getPower(stepDelta));
+		}
+	}
+
+	@Test
+	public void getStepValues_priceSensitivity_equalsTruncatedLookup() {
+		Random random = new Random(21);
+		for (int run = 0; run < 100; run++) {
+			assertTableEqualsPreviousValues(createSensitivity(new PriceSensitivity(), random));
+		}
+	}
+
+	@Test
+	public void getStepValues_marginalCostSensitivity_equalsTruncatedLookup() {
+		Random random = new Random(22);
+		for (int run = 0; run < 100; run++) {
+			assertTableEqualsPreviousValues(createSensitivity(new MarginalCostSensitivity(), random));
+		}
+	}
+
+	@Test
+	public void getStepValues_repeatedCalls_tableReusedUntilPowersChange() {
+		MeritOrderSensitivity sensitivity = createSensitivity(new PriceSensitivity(), new Random(23));
+		StepValues first = sensitivity.getStepValues(STEPS);
+		assertSame(first, sensitivity.getStepValues(STEPS));
+		sensitivity.updatePowers(10, 10);
+		assertNotSame(first, sensitivity.getStepValues(STEPS));
+	}
+
+	@Test
+	public void getValuesInSteps_modifiedResult_tableUnchanged() {
+		MeritOrderSensitivity sensitivity = createSensitivity(new PriceSensitivity(), new Random(24));
+		double[] values = sensitivity.getValuesInSteps(STEPS);
+		double expected = values[STEPS];
+		values[STEPS] = 42;
+		assertEquals(expected, sensitivity.getStepValues(STEPS).getValue(0));
+	}
+
+	@Test
+	public void zero_anyStep_returnsZero() {
+		StepValues zero = StepValues.zero(3);
+		assertEquals(0, zero.getValue(-3));
+		assertEquals(0, zero.getPower(3));
+	}
+}
@@ -0,0 +1,97 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.policy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import agents.policy.SupportPolicy.EnergyCarrier;
+import communications.message.YieldPotential;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeSpan;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+public class MarketDataTest {
+	private static final double[] PRICES = {10., 20., 30., 40., 50., 60.};
+	private static final double[] YIELDS = {0., 1., 2., 1., 0., 4.};
+	private MarketData marketData;
+
+	@BeforeEach
+	public void setUp() {
+		marketData = new MarketData();
+		for (int hour = 0; hour < PRICES.length; hour++) {
+			TimeStamp time = new TimeStamp(hour);
+			marketData.addYieldValue(new YieldPotential(time, YIELDS[hour], EnergyCarrier.PV));
+			marketData.addElectricityPrice(time, PRICES[hour]);
+		}
+	}
+
+	/** @return period starting at given first time and ending at given last time */
+	private TimePeriod period(long firstTime, long lastTime) {
+		return new TimePeriod(new TimeStamp(firstTime), new TimeSpan(lastTime - firstTime + 1));
+	}
+
+	@Test
+	public void calcMarketValue_weightedCarrier_returnsYieldWeightedPrice() {
+		assertEquals((20. + 60. + 40.) / 4., marketData.calcMarketValue(EnergyCarrier.PV, period(1, 3)), 1E-12);
+		assertEquals((20. + 60. + 40. + 240.) / 8., marketData.calcMarketValue(EnergyCarrier.PV, period(0, 5)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_baseCarrier_returnsAveragePrice() {
+		assertEquals(35., marketData.calcMarketValue(EnergyCarrier.Other, period(0, 5)), 1E-12);
+		assertEquals(40., marketData.calcMarketValue(EnergyCarrier.Biogas, period(2, 4)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_intervalQueriedBeforeEarlierInterval_sameResult() {
+		double later = marketData.calcMarketValue(EnergyCarrier.Other, period(3, 5));
+		double earlier = marketData.calcMarketValue(EnergyCarrier.Other, period(0, 2));
+		assertEquals(50., later, 1E-12);
+		assertEquals(20., earlier, 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_pricesAddedAfterPreviousCalculation_areConsidered() {
+		marketData.calcMarketValue(EnergyCarrier.Other, period(0, 5));
+		marketData.addElectricityPrice(new TimeStamp(6), 70.);
+		assertEquals(60., marketData.calcMarketValue(EnergyCarrier.Other, period(4, 6)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_afterClearBefore_ignoresEvictedData() {
+		marketData.calcMarketValue(EnergyCarrier.Other, period(0, 5));
+		marketData.clearBefore(new TimeStamp(3));
+		assertEquals(50., marketData.calcMarketValue(EnergyCarrier.Other, period(3, 5)), 1E-12);
+		assertEquals(50., marketData.calcMarketValue(EnergyCarrier.Other, period(0, 5)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_carrierWithoutInfeedBeforeInterval_considersIntervalOnly() {
+		for (int hour = 3; hour < PRICES.length; hour++) {
+			marketData.addYieldValue(new YieldPotential(new TimeStamp(hour), 1., EnergyCarrier.WindOn));
+		}
+		assertEquals(50., marketData.calcMarketValue(EnergyCarrier.WindOn, period(3, 5)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_carrierWithoutInfeedBetweenIntervals_considersIntervalsOnly() {
+		for (int hour : new int[] {0, 1, 4, 5}) {
+			marketData.addYieldValue(new YieldPotential(new TimeStamp(hour), 1., EnergyCarrier.WindOn));
+		}
+		assertEquals(15., marketData.calcMarketValue(EnergyCarrier.WindOn, period(0, 1)), 1E-12);
+		assertEquals(55., marketData.calcMarketValue(EnergyCarrier.WindOn, period(4, 5)), 1E-12);
+	}
+
+	@Test
+	public void calcMarketValue_largeTotalsBeforeClearBefore_keepsPrecision() {
+		MarketData data = new MarketData();
+		for (int hour = 0; hour < 6; hour++) {
+			data.addElectricityPrice(new TimeStamp(hour), hour < 2 ? 1E17 : 1.5);
+		}
+		data.calcMarketValue(EnergyCarrier.Other, period(0, 2));
+		data.clearBefore(new TimeStamp(2));
+		assertEquals(1.5, data.calcMarketValue(EnergyCarrier.Other, period(3, 5)), 1E-12);
+	}
+}
\ No newline at end of file
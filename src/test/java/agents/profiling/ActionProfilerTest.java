@@ -0,0 +1,101 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import de.dlr.gitlab.fame.communication.Contract;
+import de.dlr.gitlab.fame.communication.message.Message;
+import de.dlr.gitlab.fame.service.output.ComplexIndex;
+
+public class ActionProfilerTest {
+	private enum Products {
+		Bids
+	}
+
+	private final ProfiledAgent agent = mock(ProfiledAgent.class);
+	private final ArrayList<Message> messages = new ArrayList<>();
+	private final List<Contract> contracts = new ArrayList<>();
+
+	@Test
+	public void profile_disabled_returnsSameAction() {
+		BiConsumer<ArrayList<Message>, List<Contract>> action = (m, c) -> {};
+		assertSame(action, ActionProfiler.profile(agent, Products.Bids, action));
+	}
+
+	@Test
+	public void wrap_executesActionWithGivenArguments() {
+		List<Object> received = new ArrayList<>();
+		ActionProfiler.wrap(agent, Products.Bids, (m, c) -> {
+			received.add(m);
+			received.add(c);
+		}).accept(messages, contracts);
+		assertSame(messages, received.get(0));
+		assertSame(contracts, received.get(1));
+	}
+
+	@Test
+	public void wrap_storesRuntimeAndAllocationOfAction() {
+		ActionProfiler.wrap(agent, Products.Bids, (m, c) -> {
+			long[] data = new long[1024 * 1024];
+			data[0] = 1;
+		}).accept(messages, contracts);
+		ArgumentCaptor<Object> values = ArgumentCaptor.forClass(Object.class);
+		verify(agent, times(2)).store(any(ComplexIndex.class), values.capture());
+		double runtime = (double) values.getAllValues().get(0);
+		double allocation = (double) values.getAllValues().get(1);
+		assertTrue(runtime >= 0);
+		assertTrue(Double.isNaN(allocation) || allocation >= 8.);
+	}
+
+	@Test
+	public void wrap_storesOutputsKeyedByProduct() {
+		ActionProfiler.wrap(agent, Products.Bids, (m, c) -> {}).accept(messages, contracts);
+		verify(agent).store(eq(ProfiledAgent.actionRuntime), anyDouble());
+		verify(agent).store(eq(ProfiledAgent.actionAllocation), anyDouble());
+	}
+
+	@Test
+	public void wrap_actionsOfSameProduct_storeTotalsOnceAfterLastAction() {
+		BiConsumer<ArrayList<Message>, List<Contract>> first = ActionProfiler.wrap(agent, Products.Bids, (m, c) -> {});
+		BiConsumer<ArrayList<Message>, List<Contract>> second = ActionProfiler.wrap(agent, Products.Bids, (m, c) -> {});
+		first.accept(messages, contracts);
+		verify(agent, times(0)).store(any(ComplexIndex.class), any());
+		second.accept(messages, contracts);
+		verify(agent, times(2)).store(any(ComplexIndex.class), any());
+		first.accept(messages, contracts);
+		second.accept(messages, contracts);
+		verify(agent, times(4)).store(any(ComplexIndex.class), any());
+	}
+
+	@Test
+	public void actionTotals_sumsValuesOfAllActions() {
+		ActionProfiler.ActionTotals totals = new ActionProfiler.ActionTotals("Bids");
+		totals.register();
+		totals.register();
+		totals.add(agent, 1., 2.);
+		totals.add(agent, 3., 4.);
+		ArgumentCaptor<Object> values = ArgumentCaptor.forClass(Object.class);
+		verify(agent, times(2)).store(any(ComplexIndex.class), values.capture());
+		assertEquals(List.of(4., 6.), values.getAllValues());
+	}
+
+	@Test
+	public void toMegabytes_unmeasurable_returnsNaN() {
+		assertTrue(Double.isNaN(ActionProfiler.toMegabytes(-1, 10)));
+		assertEquals(2., ActionProfiler.toMegabytes(0, 2 * 1024 * 1024), 1E-12);
+	}
+}
@@ -0,0 +1,41 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.storage.arbitrageStrategists;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+import communications.message.AwardData;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeSpan;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+public class EvBiddingStrategistTest {
+	private static final long HOUR = Constants.STEPS_PER_HOUR;
+	private static final int BACKWARD_WINDOW = 24;
+	private static final int FORECAST_PERIOD_IN_HOURS = 12;
+
+	private EvBiddingStrategist createStrategist() throws MissingDataException {
+		ParameterData windows = mock(ParameterData.class);
+		when(windows.getInteger(anyString())).thenReturn(BACKWARD_WINDOW);
+		return new EvBiddingStrategist("http://localhost", "model", FORECAST_PERIOD_IN_HOURS, null, null, windows);
+	}
+
+	@Test
+	public void histories_multiYearTimeline_remainBounded() throws MissingDataException {
+		EvBiddingStrategist strategist = createStrategist();
+		long hours = 3L * Constants.DAYS_PER_YEAR * 24L;
+		for (long hour = 0; hour < hours; hour++) {
+			TimeStamp time = new TimeStamp(hour * HOUR);
+			strategist.updateLoadHistory(new AwardData(1., 2., 3., time));
+			strategist.storeElectricityPriceForecast(time.laterBy(new TimeSpan(FORECAST_PERIOD_IN_HOURS * HOUR)), 4.);
+		}
+		assertEquals(BACKWARD_WINDOW + 1, strategist.netLoadHistoryInMWH.size());
+		assertEquals(BACKWARD_WINDOW + FORECAST_PERIOD_IN_HOURS + 1, strategist.priceForecastsInEURperMWH.size());
+	}
+}
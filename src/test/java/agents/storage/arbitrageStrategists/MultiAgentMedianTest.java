@@ -0,0 +1,110 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.storage.arbitrageStrategists;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import agents.storage.arbitrageStrategists.MultiAgentMedian.ProportionalDistributor;
+
+public class MultiAgentMedianTest {
+	private static final int SIZE = 8;
+
+	@ParameterizedTest
+	@CsvSource({"100, 50, 0, 25, 25", "120, 50, 0, 35, 35", "-90, -45, 0, -22.5, -22.5", "500, 50, 0, 50, 50",
+			"0, 0, 0, 0, 0"})
+	public void distribute_knownCases_correctPowers(double energy, double p0, double p1, double p2, double p3) {
+		double[] weights = {2, 0, 1, 1};
+		double[] powers = new double[weights.length];
+		new ProportionalDistributor(SIZE).distribute(energy, 50, weights, powers, 0, weights.length);
+		assertArrayEquals(new double[] {p0, p1, p2, p3}, powers, 1E-12);
+	}
+
+	@Test
+	public void distribute_cappingInSeveralRounds_distributesFullEnergy() {
+		double[] weights = {4, 3, 1};
+		double[] powers = new double[weights.length];
+		new ProportionalDistributor(SIZE).distribute(24, 10, weights, powers, 0, weights.length);
+		assertArrayEquals(new double[] {10, 10, 4}, powers, 1E-12);
+	}
+
+	@Test
+	public void distribute_cappingInSeveralRounds_originalStoppedEarly() {
+		double[] weights = {4, 3, 1};
+		double[] powers = new double[weights.length];
+		distributeAsOriginal(24, 10, weights, powers, 0, weights.length);
+		assertArrayEquals(new double[] {10, 10, 3.5}, powers, 1E-12);
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = {1L, 7L, 42L, 1234L})
+	public void distribute_randomCases_matchesOriginalDistributionIfComplete(long seed) {
+		Random random = new Random(seed);
+		int length = 168;
+		for (int trial = 0; trial < 50; trial++) {
+			double[] weights = new double[length];
+			for (int i = 0; i < length; i++) {
+				weights[i] = random.nextDouble() < 0.2 ? 0 : Math.pow(random.nextDouble() * 10, 2);
+			}
+			int first = random.nextInt(length / 2);
+			int afterLast = first + 1 + random.nextInt(length - first);
+			double maxPower = 1 + random.nextDouble() * 100;
+			double energy = (random.nextDouble() - 0.5) * 2 * maxPower * (afterLast - first);
+
+			double[] expected = new double[length];
+			distributeAsOriginal(energy, maxPower, weights, expected, first, afterLast);
+			double[] powers = new double[length];
+			new ProportionalDistributor(length).distribute(energy, maxPower, weights, powers, first, afterLast);
+			double maxEnergy = 0;
+			for (int i = first; i < afterLast; i++) {
+				maxEnergy += weights[i] > 0 ? maxPower : 0;
+			}
+			double targetEnergy = Math.signum(energy) * Math.min(Math.abs(energy), maxEnergy);
+			assertEquals(targetEnergy, sum(powers, first, afterLast), 1E-6);
+			if (Math.abs(sum(expected, first, afterLast) - targetEnergy) < 1E-6) {
+				assertArrayEquals(expected, powers, 1E-6);
+			}
+		}
+	}
+
+	/** @return sum of given values in the given range */
+	private double sum(double[] values, int first, int afterLast) {
+		double sum = 0;
+		for (int i = first; i < afterLast; i++) {
+			sum += values[i];
+		}
+		return sum;
+	}
+
+	/** Unchanged copy of the original distribution loop of {@link MultiAgentMedian}, operating on given arrays */
+	private void distributeAsOriginal(double energyToCharge, double maxChargingPowerInMW, double[] assessmentValues,
+			double[] internalChargingPowersInMW, int firstElement, int elementAfterLastElement) {
+		double remainingEnergyToCharge = energyToCharge;
+
+		distributionLoop: while ((remainingEnergyToCharge * energyToCharge) > 0) {
+			double sumOfWeights = 0;
+			for (int element = firstElement; element < elementAfterLastElement; element++) {
+				if (Math.abs(internalChargingPowersInMW[element]) < maxChargingPowerInMW) {
+					sumOfWeights += assessmentValues[element];
+				}
+			}
+			if (sumOfWeights == 0) {
+				break distributionLoop;
+			}
+			double energyPerWeight = remainingEnergyToCharge / sumOfWeights;
+			for (int element = firstElement; element < elementAfterLastElement; element++) {
+				if (Math.abs(internalChargingPowersInMW[element]) < maxChargingPowerInMW) {
+					double chargingPowerInMW = energyPerWeight * assessmentValues[element] + internalChargingPowersInMW[element];
+					chargingPowerInMW = Math.max(-maxChargingPowerInMW, Math.min(maxChargingPowerInMW, chargingPowerInMW));
+					internalChargingPowersInMW[element] = chargingPowerInMW;
+					remainingEnergyToCharge -= chargingPowerInMW;
+				}
+			}
+		}
+	}
+}
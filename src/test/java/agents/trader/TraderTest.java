@@ -0,0 +1,51 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.trader;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import de.dlr.gitlab.fame.communication.Contract;
+
+public class TraderTest {
+	private Contract mockContract(long receiverId) {
+		Contract contract = mock(Contract.class);
+		when(contract.getReceiverId()).thenReturn(receiverId);
+		return contract;
+	}
+
+	@Test
+	public void getMatchingContract_severalContractsPerReceiver_returnsFirstAsListSearch() {
+		List<Contract> contracts = new ArrayList<>();
+		for (long receiverId : new long[] {5L, 7L, 5L, 9L, 7L, 5L}) {
+			contracts.add(mockContract(receiverId));
+		}
+		Map<Long, Contract> contractsByReceiver = Trader.mapContractsByReceiver(contracts);
+		for (long receiverId : new long[] {5L, 7L, 9L}) {
+			assertSame(findFirstContract(contracts, receiverId), Trader.getMatchingContract(contractsByReceiver, receiverId));
+		}
+	}
+
+	@Test
+	public void getMatchingContract_unknownReceiver_throws() {
+		Map<Long, Contract> contractsByReceiver = Trader.mapContractsByReceiver(List.of(mockContract(5L)));
+		assertThrowsMessage(RuntimeException.class, Trader.ERR_NO_CONTRACT_IN_LIST,
+				() -> Trader.getMatchingContract(contractsByReceiver, 6L));
+	}
+
+	/** Copy of the original linear search for the first contract with given receiver */
+	private Contract findFirstContract(List<Contract> contracts, long agentId) {
+		for (Contract contract : contracts) {
+			if (agentId == contract.getReceiverId()) {
+				return contract;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,138 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package agents.trader.renewable;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import agents.policy.PolicyItem.SupportInstrument;
+import agents.policy.SupportPolicy.EnergyCarrier;
+import agents.trader.ClientData;
+import agents.trader.renewable.AggregatorTrader.ClientIndex;
+import communications.message.TechnologySet;
+
+public class AggregatorTraderTest {
+	/** @return new client data of given set type; the type is copied so that it is equal to, but not the same as, the given one */
+	private ClientData createClient(String setType) {
+		return new ClientData(new TechnologySet(new String(setType), EnergyCarrier.PV, SupportInstrument.FIT), 1.);
+	}
+
+	@Test
+	public void clientIndex_addedClients_foundBySetType() {
+		ClientIndex index = new ClientIndex();
+		ClientData first = createClient("PV");
+		ClientData second = createClient("Wind");
+		ClientData third = createClient("PV");
+		index.replace(null, first);
+		index.replace(null, second);
+		index.replace(null, third);
+		assertEquals(List.of(first, third), index.get(new String("PV")));
+		assertEquals(List.of(second), index.get("Wind"));
+	}
+
+	@Test
+	public void clientIndex_unknownSetType_empty() {
+		ClientIndex index = new ClientIndex();
+		index.replace(null, createClient("PV"));
+		assertTrue(index.get("Wind").isEmpty());
+	}
+
+	@Test
+	public void clientIndex_reregisteredClient_replacesPreviousData() {
+		ClientIndex index = new ClientIndex();
+		ClientData other = createClient("PV");
+		ClientData previous = createClient("PV");
+		index.replace(null, other);
+		index.replace(null, previous);
+		ClientData current = createClient("PV");
+		index.replace(previous, current);
+		assertEquals(List.of(other, current), index.get("PV"));
+	}
+
+	@Test
+	public void clientIndex_reregisteredClientWithNewSetType_movesToNewSetType() {
+		ClientIndex index = new ClientIndex();
+		ClientData previous = createClient("PV");
+		index.replace(null, previous);
+		ClientData current = createClient("Wind");
+		index.replace(previous, current);
+		assertTrue(index.get("PV").isEmpty());
+		assertEquals(List.of(current), index.get("Wind"));
+	}
+
+	@Test
+	public void distributeDispatch_tiedOfferPrices_shareBinProportionally() {
+		double[] offerPrices = {1., 2., 2., 2. + AggregatorTrader.BIN_WIDTH / 2, 3.};
+		double[] powerPotentials = {10., 10., 20., 10., 50.};
+		double[] dispatched = new double[offerPrices.length];
+		double total = AggregatorTrader.distributeDispatch(offerPrices, powerPotentials, 30., dispatched);
+		assertArrayEquals(new double[] {10., 5., 10., 5., 0.}, dispatched, 1E-12);
+		assertEquals(100., total, 1E-12);
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = {1L, 7L, 42L, 1234L})
+	public void distributeDispatch_randomCasesWithTies_matchesOriginalDispatch(long seed) {
+		Random random = new Random(seed);
+		for (int trial = 0; trial < 50; trial++) {
+			int count = 1 + random.nextInt(200);
+			double[] offerPrices = new double[count];
+			double[] powerPotentials = new double[count];
+			for (int index = 0; index < count; index++) {
+				double price = random.nextInt(20) * 5.;
+				offerPrices[index] = random.nextBoolean() ? price : price + random.nextDouble() * 2 * AggregatorTrader.BIN_WIDTH;
+				powerPotentials[index] = random.nextDouble() < 0.1 ? 0 : random.nextDouble() * 100;
+			}
+			Arrays.sort(offerPrices);
+			double energyToDispatch = random.nextDouble() * Arrays.stream(powerPotentials).sum() * 1.2;
+
+			double[] expected = new double[count];
+			double expectedTotal = distributeAsOriginal(offerPrices, powerPotentials, energyToDispatch, expected);
+			double[] dispatched = new double[count];
+			double total = AggregatorTrader.distributeDispatch(offerPrices, powerPotentials, energyToDispatch, dispatched);
+			assertArrayEquals(expected, dispatched, 0.);
+			assertEquals(expectedTotal, total, 0.);
+		}
+	}
+
+	/** Copy of the original binning and distribution of {@link AggregatorTrader} dispatch assignment, operating on arrays of bid
+	 * data instead of bid objects */
+	private double distributeAsOriginal(double[] offerPrices, double[] powerPotentials, double energyToDispatch,
+			double[] dispatchedEnergies) {
+		HashMap<Integer, List<Integer>> bidsBinnedByOfferPrice = new HashMap<>();
+		double lowestOfferPriceInBin = Double.NEGATIVE_INFINITY;
+		int binIndex = -1;
+		List<Integer> bidsInBin = new ArrayList<>();
+		for (int bid = 0; bid < offerPrices.length; bid++) {
+			if (offerPrices[bid] - AggregatorTrader.BIN_WIDTH > lowestOfferPriceInBin) {
+				binIndex++;
+				lowestOfferPriceInBin = offerPrices[bid];
+				bidsInBin = new ArrayList<>();
+				bidsBinnedByOfferPrice.put(binIndex, bidsInBin);
+			}
+			bidsInBin.add(bid);
+		}
+
+		double actualProductionPotentialInMWH = 0;
+		for (var bids : bidsBinnedByOfferPrice.values()) {
+			double productionPotentialInBinInMWH = bids.stream().mapToDouble(b -> powerPotentials[b]).sum();
+			actualProductionPotentialInMWH += productionPotentialInBinInMWH;
+			double assignmentShare = Math.min(1., energyToDispatch / productionPotentialInBinInMWH);
+			for (int bid : bids) {
+				double dispatchedEnergy = assignmentShare * powerPotentials[bid];
+				energyToDispatch = Math.max(0, energyToDispatch - dispatchedEnergy);
+				dispatchedEnergies[bid] = dispatchedEnergy;
+			}
+		}
+		return actualProductionPotentialInMWH;
+	}
+}
@@ -0,0 +1,69 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package communications.portable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import agents.markets.meritOrder.Bid;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import testUtils.Portables;
+
+public class BidsAtTimeTest {
+	private static final TimeStamp TIME = new TimeStamp(42L);
+
+	/** asserts that given lists contain matching bids in the same order; null is treated as empty list */
+	private void assertBidsMatch(List<Bid> expected, List<Bid> actual) {
+		List<Bid> expectedBids = expected != null ? expected : List.of();
+		assertEquals(expectedBids.size(), actual.size());
+		for (int index = 0; index < expectedBids.size(); index++) {
+			Bid expectedBid = expectedBids.get(index);
+			Bid actualBid = actual.get(index);
+			assertEquals(expectedBid.getEnergyAmountInMWH(), actualBid.getEnergyAmountInMWH());
+			assertEquals(expectedBid.getOfferPriceInEURperMWH(), actualBid.getOfferPriceInEURperMWH());
+			assertEquals(expectedBid.getMarginalCost(), actualBid.getMarginalCost());
+		}
+	}
+
+	@Test
+	public void roundTrip_supplyAndDemand_restoresBids() {
+		List<Bid> supply = Arrays.asList(new Bid(10, 20, 15), new Bid(5, 30));
+		List<Bid> demand = Arrays.asList(new Bid(7, 3000, 0));
+		BidsAtTime result = Portables.roundTrip(new BidsAtTime(TIME, 7L, supply, demand, true));
+		assertEquals(TIME, result.getDeliveryTime());
+		assertEquals(7L, result.getTraderUuid());
+		assertTrue(result.areBidsSorted());
+		assertBidsMatch(supply, result.getSupplyBids());
+		assertBidsMatch(demand, result.getDemandBids());
+	}
+
+	@Test
+	public void roundTrip_emptyAndNullBids_restoresEmptyLists() {
+		BidsAtTime result = Portables.roundTrip(new BidsAtTime(TIME, 1L, null, new ArrayList<>()));
+		assertFalse(result.areBidsSorted());
+		assertTrue(result.getSupplyBids().isEmpty());
+		assertTrue(result.getDemandBids().isEmpty());
+	}
+
+	@Test
+	public void roundTrip_hugeBidLists_restoresBids() {
+		Random random = new Random(3L);
+		List<Bid> supply = new ArrayList<>();
+		List<Bid> demand = new ArrayList<>();
+		for (int index = 0; index < 100_000; index++) {
+			supply.add(new Bid(random.nextDouble() * 100, random.nextDouble() * 500, random.nextDouble() * 400));
+			if (index % 2 == 0) {
+				demand.add(new Bid(random.nextDouble() * 100, random.nextDouble() * 3000));
+			}
+		}
+		BidsAtTime result = Portables.roundTrip(new BidsAtTime(TIME, 3L, supply, demand));
+		assertBidsMatch(supply, result.getSupplyBids());
+		assertBidsMatch(demand, result.getDemandBids());
+	}
+}
@@ -0,0 +1,88 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package communications.portable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import agents.forecast.sensitivity.MarketClearingAssessment;
+import communications.portable.Sensitivity.InterpolationType;
+
+public class SensitivityTest {
+	private Sensitivity createSensitivity(double multiplier, InterpolationType type) {
+		MarketClearingAssessment assessment = mock(MarketClearingAssessment.class);
+		when(assessment.getDemandSensitivityPowers()).thenReturn(new double[] {0, 10, 20, 40});
+		when(assessment.getDemandSensitivityValues()).thenReturn(new double[] {0, 100, 300, 1100});
+		when(assessment.getSupplySensitivityPowers()).thenReturn(new double[] {0, 20, 30});
+		when(assessment.getSupplySensitivityValues()).thenReturn(new double[] {0, 400, 550});
+		Sensitivity sensitivity = new Sensitivity(assessment, multiplier);
+		sensitivity.setInterpolationType(type);
+		return sensitivity;
+	}
+
+	@ParameterizedTest
+	@EnumSource(InterpolationType.class)
+	public void getValue_tabulatedAtGridPoints_equalsExactValue(InterpolationType type) {
+		Sensitivity exact = createSensitivity(0.7, type);
+		Sensitivity tabulated = createSensitivity(0.7, type);
+		tabulated.tabulate(2.5, 50);
+		for (int index = -25; index <= 25; index++) {
+			double energy = index * 2.5;
+			assertEquals(exact.getValue(energy), tabulated.getValue(energy), 1E-9, "energy " + energy);
+		}
+	}
+
+	@Test
+	public void getValue_cumulativeWithBreakpointsOnGrid_equalsExactValue() {
+		Sensitivity exact = createSensitivity(1, InterpolationType.CUMULATIVE);
+		Sensitivity tabulated = createSensitivity(1, InterpolationType.CUMULATIVE);
+		tabulated.tabulate(5, 40);
+		for (double energy = -30; energy <= 40; energy += 0.37) {
+			assertEquals(exact.getValue(energy), tabulated.getValue(energy), 1E-9, "energy " + energy);
+		}
+	}
+
+	@Test
+	public void getValue_beyondGridRange_returnsExactValue() {
+		Sensitivity exact = createSensitivity(1, InterpolationType.DIRECT);
+		Sensitivity tabulated = createSensitivity(1, InterpolationType.DIRECT);
+		tabulated.tabulate(3, 10);
+		assertEquals(exact.getValue(27.3), tabulated.getValue(27.3), 1E-9);
+		assertEquals(exact.getValue(-21), tabulated.getValue(-21), 1E-9);
+		assertTrue(Double.isNaN(tabulated.getValue(1000)));
+	}
+
+	@Test
+	public void updateMultiplier_tabulated_resamplesGrid() {
+		Sensitivity exact = createSensitivity(2, InterpolationType.CUMULATIVE);
+		Sensitivity tabulated = createSensitivity(1, InterpolationType.CUMULATIVE);
+		tabulated.tabulate(2.5, 20);
+		tabulated.updateMultiplier(2);
+		assertEquals(exact.getValue(7.5), tabulated.getValue(7.5), 1E-9);
+		assertEquals(exact.getValue(-5), tabulated.getValue(-5), 1E-9);
+	}
+
+	@Test
+	public void isTabulated_notTabulated_false() {
+		assertFalse(createSensitivity(1, InterpolationType.DIRECT).isTabulated());
+	}
+
+	@Test
+	public void tabulate_nonPositiveStep_throws() {
+		Sensitivity sensitivity = createSensitivity(1, InterpolationType.DIRECT);
+		assertThrowsMessage(IllegalArgumentException.class, Sensitivity.ERR_GRID_STEP, () -> sensitivity.tabulate(0, 10));
+	}
+
+	@Test
+	public void tabulate_negativeRange_throws() {
+		Sensitivity sensitivity = createSensitivity(1, InterpolationType.DIRECT);
+		assertThrowsMessage(IllegalArgumentException.class, Sensitivity.ERR_GRID_RANGE, () -> sensitivity.tabulate(1, -1));
+	}
+}
@@ -0,0 +1,38 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package testUtils;
+
+import java.util.List;
+import com.google.protobuf.InvalidProtocolBufferException;
+import de.dlr.gitlab.fame.communication.transfer.Composer;
+import de.dlr.gitlab.fame.communication.transfer.Portable;
+import de.dlr.gitlab.fame.communication.transfer.PortableUidManager;
+import de.dlr.gitlab.fame.protobuf.Agent.NestedItem;
+
+/** Utility functions to test serialisation of {@link Portable}s
+ *
+ * @author agent */
+public final class Portables {
+	private static Composer composer;
+
+	/** @return copy of given portable after it was decomposed, written to bytes, parsed and composed again */
+	@SuppressWarnings("unchecked")
+	public static <T extends Portable> T roundTrip(T portable) {
+		Composer composer = getComposer();
+		byte[] bytes = composer.decompose(portable).toByteArray();
+		try {
+			return (T) composer.compose(NestedItem.parseFrom(bytes));
+		} catch (InvalidProtocolBufferException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/** @return composer that knows all {@link Portable}s of this project */
+	private static synchronized Composer getComposer() {
+		if (composer == null) {
+			composer = new Composer(new PortableUidManager(List.of("agents", "communications")), null, 10);
+		}
+		return composer;
+	}
+}
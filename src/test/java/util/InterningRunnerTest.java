@@ -0,0 +1,55 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.io.File;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import de.dlr.gitlab.fame.data.TimeSeries;
+import de.dlr.gitlab.fame.mpi.MpiFacade;
+import de.dlr.gitlab.fame.mpi.MpiFacade.MpiMode;
+import de.dlr.gitlab.fame.mpi.MpiInstantiator;
+import de.dlr.gitlab.fame.mpi.MpiManager;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import util.InterningRunner.InterningInputManager;
+import util.scenario.ScenarioGenerator;
+
+public class InterningRunnerTest {
+	@TempDir private File tempDir;
+
+	@AfterEach
+	public void tearDown() {
+		TimeSeriesRegistry.clear();
+	}
+
+	private TimeSeriesDao createDao(int id, double value) {
+		return TimeSeriesDao.newBuilder().setSeriesId(id).setSeriesName("series" + id).addTimeSteps(0L).addValues(value)
+				.build();
+	}
+
+	@Test
+	public void getTimeSeries_duplicateContent_returnsSharedInstance() {
+		DataStorage scenario = new ScenarioGenerator(42).setHorizonInHours(6).generate();
+		InputData input = scenario.getInput().toBuilder().addTimeSeries(createDao(1001, 5.)).addTimeSeries(createDao(1002, 6.))
+				.addTimeSeries(createDao(1003, 5.)).build();
+		String fileName = new File(tempDir, "input.pb").getPath();
+		ScenarioGenerator.write(scenario.toBuilder().setInput(input).build(), fileName);
+		MpiFacade mpi = MpiInstantiator.getMpi(MpiMode.SINGLE_CORE, new String[0]);
+		mpi.initialise(new String[0]);
+		InterningInputManager inputManager = new InterningInputManager(new MpiManager(mpi));
+		inputManager.read(fileName);
+
+		Map<Integer, TimeSeries> seriesById = inputManager.getTimeSeries();
+		assertEquals(input.getTimeSeriesCount(), seriesById.size());
+		assertSame(seriesById.get(1001), seriesById.get(1003));
+		assertNotSame(seriesById.get(1001), seriesById.get(1002));
+	}
+}
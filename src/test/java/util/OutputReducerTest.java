@@ -0,0 +1,217 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsFatalMessage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import de.dlr.gitlab.fame.service.output.ComplexIndex;
+import de.dlr.gitlab.fame.service.output.Output;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import util.OutputReducer.Method;
+import util.OutputReducer.Period;
+
+public class OutputReducerTest {
+	private static final long HOUR = Constants.STEPS_PER_HOUR;
+	private static final long DAY = Constants.STEPS_PER_DAY;
+	private static final TimeStamp STOP_TIME = new TimeStamp(10 * 365 * DAY);
+	private static final Set<String> ROUTED = Set.of("A", "B", "Complex");
+
+	@Output
+	private enum Columns {
+		A, B, Complex
+	}
+
+	private enum Keys {
+		ID
+	}
+
+	/** Records all written values together with the time they were written at */
+	private static class RecordingTarget implements OutputReducer.Target {
+		final List<String> records = new ArrayList<>();
+		long step = 0;
+
+		@Override
+		public void store(Enum<?> column, double value) {
+			records.add(step + ":" + column + "=" + value);
+		}
+
+		@Override
+		public void store(ComplexIndex<?> index, Object value) {
+			records.add(step + ":" + index.getField() + "=" + value);
+		}
+
+		@Override
+		public TimeStamp now() {
+			return new TimeStamp(step);
+		}
+	}
+
+	private final RecordingTarget target = new RecordingTarget();
+
+	private ParameterData mockColumn(String column, Method method, Period period, Integer interval)
+			throws MissingDataException {
+		ParameterData data = mock(ParameterData.class);
+		when(data.getString("Column")).thenReturn(column);
+		when(data.getEnum("Method", Method.class)).thenReturn(method);
+		when(data.getEnumOrDefault(eq("Period"), eq(Period.class), any())).thenReturn(period);
+		when(data.getIntegerOrDefault(eq("SamplingInterval"), any())).thenReturn(interval != null ? interval : 1);
+		return data;
+	}
+
+	private OutputReducer createReducer(ParameterData... columns) {
+		return new OutputReducer(target, List.of(columns), ROUTED, STOP_TIME);
+	}
+
+	/** stores given values of column A, one per hour, starting at given step */
+	private void storeHourly(OutputReducer reducer, long startStep, double... values) {
+		for (int i = 0; i < values.length; i++) {
+			target.step = startStep + i * HOUR;
+			reducer.store(Columns.A, values[i]);
+		}
+	}
+
+	@Test
+	public void store_unconfiguredColumn_passesThrough() {
+		OutputReducer reducer = createReducer();
+		storeHourly(reducer, 0, 1., 2.);
+		assertEquals(List.of("0:A=1.0", HOUR + ":A=2.0"), target.records);
+	}
+
+	@Test
+	public void store_drop_writesNothing() throws MissingDataException {
+		OutputReducer reducer = createReducer(mockColumn("A", Method.DROP, null, null));
+		storeHourly(reducer, 0, 1., 2.);
+		reducer.store(Columns.B, 3.);
+		assertEquals(List.of(HOUR + ":B=3.0"), target.records);
+	}
+
+	@Test
+	public void store_sample_writesEveryNthValueStartingWithFirst() throws MissingDataException {
+		OutputReducer reducer = createReducer(mockColumn("A", Method.SAMPLE, null, 3));
+		storeHourly(reducer, 0, 1., 2., 3., 4., 5., 6., 7.);
+		assertEquals(List.of("0:A=1.0", 3 * HOUR + ":A=4.0", 6 * HOUR + ":A=7.0"), target.records);
+	}
+
+	@Test
+	public void store_sumPerDay_writesAtLastHourOfDay() throws MissingDataException {
+		OutputReducer reducer = createReducer(mockColumn("A", Method.SUM, Period.DAY, null));
+		double[] values = new double[48];
+		for (int hour = 0; hour < values.length; hour++) {
+			values[hour] = hour;
+		}
+		storeHourly(reducer, 0, values);
+		assertEquals(List.of(23 * HOUR + ":A=276.0", 47 * HOUR + ":A=852.0"), target.records);
+	}
+
+	@Test
+	public void store_sumPerDayTwoHourInterval_writesAtLastIntervalOfDay() throws MissingDataException {
+		OutputReducer reducer = createReducer(mockColumn("A", Method.SUM, Period.DAY, null));
+		for (int index = 0; index < 24; index++) {
+			target.step = index * 2 * HOUR;
+			reducer.store(Columns.A, 1.);
+		}
+		assertEquals(List.of(22 * HOUR + ":A=12.0", 46 * HOUR + ":A=12.0"), target.records);
+	}
+
+	@Test
+	public void store_meanPerDay_averagesStoredValuesOnly() throws MissingDataException {
+		OutputReducer reducer = createReducer(mockColumn("A", Method.MEAN, Period.DAY, null));
+		storeHourly(reducer, 0, 1., 2., 6.);
+		storeHourly(reducer, 5 * HOUR, 10.);
+		storeHourly(reducer, DAY - HOUR, 6.);
+		assertEquals(List.of((DAY - HOUR) + ":A=5.0"), target.records);
+	}
+
+	@Test
+	public void store_sumPerDayUntilStopTime_writesPartialDayAtLastValue() throws MissingDataException {
+		OutputReducer reducer = new OutputReducer(target, List.of(mockColumn("A", Method.SUM, Period.DAY, null)), ROUTED,
+				new TimeStamp(DAY + 2 * HOUR));
+		double[] values = new double[27];
+		Arrays.fill(values, 1.);
+		storeHourly(reducer, 0, values);
+		assertEquals(List.of(23 * HOUR + ":A=24.0", (DAY + 2 * HOUR) + ":A=3.0"), target.records);
+	}
+
+	@Test
+	public void store_complexSumPerYear_aggregatesPerKeyValueAtEndOfYear() throws MissingDataException {
+		ComplexIndex<Keys> index = ComplexIndex.build(Columns.Complex, Keys.class);
+		OutputReducer reducer = createReducer(mockColumn("Complex", Method.SUM, Period.YEAR, null));
+		double[][] valuesPerKey = {{2., 3., 1.}, {5., 0., 1.}};
+		for (int hour = 0; hour < 3; hour++) {
+			target.step = 365 * DAY + (hour - 2) * HOUR;
+			for (int key = 0; key < valuesPerKey.length; key++) {
+				reducer.store(index, Keys.ID, (long) key, valuesPerKey[key][hour]);
+			}
+		}
+		long lastHourOfYear = 365 * DAY - HOUR;
+		assertEquals(List.of(lastHourOfYear + ":Complex=5.0", lastHourOfYear + ":Complex=5.0"), target.records);
+	}
+
+	@Test
+	public void constructor_sumWithoutStopTime_throws() throws MissingDataException {
+		List<ParameterData> columns = List.of(mockColumn("A", Method.SUM, Period.DAY, null));
+		assertThrowsFatalMessage("stop time unknown", () -> new OutputReducer(target, columns, ROUTED, null));
+	}
+
+	@Test
+	public void constructor_columnNotRouted_throws() throws MissingDataException {
+		List<ParameterData> columns = List.of(mockColumn("Other", Method.DROP, null, null));
+		assertThrowsFatalMessage("not available for column Other",
+				() -> new OutputReducer(target, columns, ROUTED, STOP_TIME));
+	}
+
+	@Test
+	public void storeSparse_passThrough_omitsZeros() {
+		ComplexIndex<Keys> index = ComplexIndex.build(Columns.Complex, Keys.class);
+		OutputReducer reducer = createReducer();
+		reducer.storeSparse(index, Keys.ID, 1L, 0.);
+		reducer.storeSparse(index, Keys.ID, 1L, 2.);
+		assertEquals(List.of("0:Complex=2.0"), target.records);
+	}
+
+	@Test
+	public void storeSparse_meanPerDay_countsZeros() throws MissingDataException {
+		ComplexIndex<Keys> index = ComplexIndex.build(Columns.Complex, Keys.class);
+		OutputReducer reducer = createReducer(mockColumn("Complex", Method.MEAN, Period.DAY, null));
+		for (int hour = 0; hour < 24; hour++) {
+			target.step = hour * HOUR;
+			reducer.storeSparse(index, Keys.ID, 1L, hour < 6 ? 4. : 0.);
+		}
+		assertEquals(List.of(23 * HOUR + ":Complex=1.0"), target.records);
+	}
+
+	@Test
+	public void constructor_sumWithoutPeriod_throws() throws MissingDataException {
+		ParameterData column = mockColumn("A", Method.SUM, null, null);
+		assertThrowsFatalMessage("Period required", () -> createReducer(column));
+	}
+
+	@Test
+	public void constructor_sampleWithNonPositiveInterval_throws() throws MissingDataException {
+		ParameterData column = mockColumn("A", Method.SAMPLE, null, 0);
+		assertThrowsFatalMessage("SamplingInterval", () -> createReducer(column));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"0, 0", "30, 0", "31, 1", "59, 1", "61, 2", "334, 10", "335, 11", "364, 11", "365, 12", "396, 13"})
+	public void getPeriodIndex_month_matchesFameCalendar(long day, long expectedMonth) {
+		assertEquals(expectedMonth, OutputReducer.getPeriodIndex(Period.MONTH, day * DAY));
+		String calendarMonth = new TimeStamp(day * DAY).toString().substring(9, 11);
+		assertEquals(expectedMonth % 12 + 1, Integer.parseInt(calendarMonth));
+	}
+}
@@ -0,0 +1,176 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static testUtils.Exceptions.assertThrowsMessage;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import agents.flexibility.BidSchedule;
+import agents.flexibility.Strategist;
+import agents.storage.Device;
+import agents.storage.arbitrageStrategists.ArbitrageStrategist;
+import agents.storage.arbitrageStrategists.ArbitrageStrategist.StrategistType;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.agent.input.ParameterData.MissingDataException;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import util.SolveCache.Fingerprint;
+import util.SolveCache.Key;
+
+public class SolveCacheTest {
+	private static final long HOUR = Constants.STEPS_PER_HOUR;
+
+	@BeforeEach
+	public void setUp() {
+		SolveCache.setEnabled(true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SolveCache.setEnabled(false);
+	}
+
+	private ArbitrageStrategist createStrategist(double initialEnergyInMWH) throws MissingDataException {
+		ParameterData deviceInput = mock(ParameterData.class);
+		Map<String, Double> values = Map.of("EnergyToPowerRatio", 4., "SelfDischargeRatePerHour", 0.,
+				"ChargingEfficiency", 0.9, "DischargingEfficiency", 0.95, "InitialEnergyLevelInMWH", initialEnergyInMWH,
+				"InstalledPowerInMW", 50.);
+		when(deviceInput.getDouble(anyString())).thenAnswer(call -> values.get(call.getArgument(0)));
+		Device device = new Device(deviceInput);
+
+		ParameterData input = mock(ParameterData.class, call -> call.getMethod().getName().endsWith("OrDefault")
+				? call.getArgument(call.getArguments().length - 1)
+				: RETURNS_DEFAULTS.answer(call));
+		when(input.getInteger("ForecastPeriodInHours")).thenReturn(24);
+		when(input.getInteger("ScheduleDurationInHours")).thenReturn(12);
+		when(input.getInteger("ModelledChargingSteps")).thenReturn(10);
+		when(input.getEnum("StrategistType", StrategistType.class)).thenReturn(StrategistType.MAX_PROFIT_PRICE_TAKER);
+		when(input.getGroup(anyString())).thenReturn(input);
+		ArbitrageStrategist strategist = ArbitrageStrategist.createStrategist(input, device);
+
+		TimePeriod firstPeriod = new TimePeriod(new TimeStamp(0), Strategist.OPERATION_PERIOD);
+		for (TimeStamp missing : strategist.getTimesMissingElectricityForecasts(firstPeriod)) {
+			double price = 50 + 30 * Math.sin(missing.getStep() / (double) HOUR / 4.);
+			strategist.storeElectricityPriceForecast(new TimePeriod(missing, Strategist.OPERATION_PERIOD), price);
+		}
+		return strategist;
+	}
+
+	private void assertSchedulesEqual(BidSchedule expected, BidSchedule actual) {
+		for (long hour = 0; hour < 12; hour++) {
+			TimeStamp time = new TimeStamp(hour * HOUR);
+			assertEquals(expected.getScheduledEnergyPurchaseInMWH(time), actual.getScheduledEnergyPurchaseInMWH(time));
+			assertEquals(expected.getScheduledEnergySalesInMWH(time), actual.getScheduledEnergySalesInMWH(time));
+			assertEquals(expected.getScheduledBidInHourInEURperMWH(time), actual.getScheduledBidInHourInEURperMWH(time));
+		}
+	}
+
+	@Test
+	public void constructor_throws() {
+		assertThrowsMessage(IllegalStateException.class, SolveCache.NO_INSTANCE, () -> new SolveCache());
+	}
+
+	@Test
+	public void toKey_equalContent_keysEqual() {
+		Key first = new Fingerprint().add("A").add(1.5).add(new double[] {1, 2}).toKey();
+		Key second = new Fingerprint().add("A").add(1.5).add(new double[] {1, 2}).toKey();
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+	}
+
+	@Test
+	public void toKey_differentContent_keysDiffer() {
+		Key first = new Fingerprint().add(new double[] {1}).add(new double[] {2, 3}).toKey();
+		Key second = new Fingerprint().add(new double[] {1, 2}).add(new double[] {3}).toKey();
+		assertNotEquals(first, second);
+	}
+
+	@Test
+	public void add_manyValues_allConsidered() {
+		Fingerprint first = new Fingerprint();
+		Fingerprint second = new Fingerprint();
+		for (int index = 0; index < 1000; index++) {
+			first.add(index);
+			second.add(index == 999 ? -1 : index);
+		}
+		assertNotEquals(first.toKey(), second.toKey());
+	}
+
+	@Test
+	public void get_storedAtSameTime_returnsSolution() {
+		Key key = new Fingerprint().add(1L).toKey();
+		Object solution = new Object();
+		SolveCache.put(new TimeStamp(5), key, solution);
+		assertSame(solution, SolveCache.get(new TimeStamp(5), new Fingerprint().add(1L).toKey(), Object.class));
+	}
+
+	@Test
+	public void get_laterTime_evictsEarlierSolutions() {
+		Key key = new Fingerprint().add(1L).toKey();
+		SolveCache.put(new TimeStamp(5), key, new Object());
+		assertNull(SolveCache.get(new TimeStamp(6), key, Object.class));
+		assertNull(SolveCache.get(new TimeStamp(5), key, Object.class));
+	}
+
+	@Test
+	public void clear_afterHit_removesSolutionsAndResetsHitCount() {
+		Key key = new Fingerprint().add(1L).toKey();
+		SolveCache.put(new TimeStamp(5), key, new Object());
+		SolveCache.get(new TimeStamp(5), key, Object.class);
+		SolveCache.clear();
+		assertEquals(0, SolveCache.getHitCount());
+		assertNull(SolveCache.get(new TimeStamp(5), key, Object.class));
+	}
+
+	@Test
+	public void setEnabled_false_disablesCache() {
+		SolveCache.setEnabled(false);
+		assertFalse(SolveCache.isEnabled());
+	}
+
+	@Test
+	public void createSchedule_identicalStrategists_shareSolution() throws MissingDataException {
+		TimePeriod period = new TimePeriod(new TimeStamp(0), Strategist.OPERATION_PERIOD);
+		BidSchedule first = createStrategist(100).createSchedule(period);
+		long hits = SolveCache.getHitCount();
+		BidSchedule second = createStrategist(100).createSchedule(period);
+		assertEquals(hits + 1, SolveCache.getHitCount());
+		assertNotSame(first, second);
+		assertSchedulesEqual(first, second);
+	}
+
+	@Test
+	public void createSchedule_cachedSolution_equalsFreshSolve() throws MissingDataException {
+		TimePeriod period = new TimePeriod(new TimeStamp(0), Strategist.OPERATION_PERIOD);
+		SolveCache.setEnabled(false);
+		BidSchedule fresh = createStrategist(100).createSchedule(period);
+		SolveCache.setEnabled(true);
+		createStrategist(100).createSchedule(period);
+		BidSchedule cached = createStrategist(100).createSchedule(period);
+		assertEquals(1, SolveCache.getHitCount());
+		assertSchedulesEqual(fresh, cached);
+	}
+
+	@Test
+	public void createSchedule_differentInitialEnergy_solvesAgain() throws MissingDataException {
+		TimePeriod period = new TimePeriod(new TimeStamp(0), Strategist.OPERATION_PERIOD);
+		createStrategist(100).createSchedule(period);
+		long hits = SolveCache.getHitCount();
+		createStrategist(80).createSchedule(period);
+		assertEquals(hits, SolveCache.getHitCount());
+	}
+}
@@ -0,0 +1,105 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static testUtils.Exceptions.assertThrowsMessage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+public class StateSnapshotTest {
+	private static final long STEPS_PER_DAY = 24 * Constants.STEPS_PER_HOUR;
+
+	@TempDir private File tempDir;
+
+	@AfterEach
+	public void tearDown() {
+		StateSnapshot.stop();
+	}
+
+	private JSONable stateOf(double value) {
+		return new JSONable() {
+			@Override
+			public JSONObject toJson() {
+				return new JSONObject().put("Value", StateSnapshot.toJsonValue(value));
+			}
+		};
+	}
+
+	private List<String> readLines(File file) throws IOException {
+		return Files.readAllLines(file.toPath());
+	}
+
+	@Test
+	public void writeIfDue_notStarted_writesNothing() {
+		StateSnapshot.stop();
+		StateSnapshot.writeIfDue(1L, "Agent", new TimeStamp(0L), new JSONable() {
+			@Override
+			public JSONObject toJson() {
+				throw new AssertionError("State must not be evaluated");
+			}
+		});
+	}
+
+	@Test
+	public void writeIfDue_severalSteps_writesOnePerAgentAndInterval() throws IOException {
+		File file = new File(tempDir, "states.jsonl");
+		StateSnapshot.start(file.getPath(), 24);
+		for (long step : new long[] {0L, 1L, STEPS_PER_DAY - 1, STEPS_PER_DAY, 3 * STEPS_PER_DAY + 5}) {
+			StateSnapshot.writeIfDue(1L, "AgentA", new TimeStamp(step), stateOf(step));
+			StateSnapshot.writeIfDue(2L, "AgentB", new TimeStamp(step), stateOf(-step));
+		}
+		List<String> lines = readLines(file);
+		assertEquals(6, lines.size());
+		JSONObject first = new JSONObject(lines.get(0));
+		assertEquals(0L, first.getLong(StateSnapshot.KEY_TIME_STEP));
+		assertEquals(1L, first.getLong(StateSnapshot.KEY_AGENT_ID));
+		assertEquals("AgentA", first.getString(StateSnapshot.KEY_AGENT_TYPE));
+		JSONObject last = new JSONObject(lines.get(5));
+		assertEquals(3 * STEPS_PER_DAY + 5, last.getLong(StateSnapshot.KEY_TIME_STEP));
+		assertEquals(2L, last.getLong(StateSnapshot.KEY_AGENT_ID));
+		assertEquals(-(3 * STEPS_PER_DAY + 5), last.getJSONObject(StateSnapshot.KEY_STATE).getLong("Value"));
+	}
+
+	@Test
+	public void writeIfDue_stopped_writesNoMore() throws IOException {
+		File file = new File(tempDir, "states.jsonl");
+		StateSnapshot.start(file.getPath(), 1);
+		StateSnapshot.writeIfDue(1L, "Agent", new TimeStamp(0L), stateOf(1));
+		StateSnapshot.stop();
+		StateSnapshot.writeIfDue(1L, "Agent", new TimeStamp(STEPS_PER_DAY), stateOf(2));
+		assertEquals(1, readLines(file).size());
+	}
+
+	@Test
+	public void start_intervalNotPositive_throws() {
+		assertThrowsMessage(IllegalArgumentException.class, StateSnapshot.ERR_INTERVAL,
+				() -> StateSnapshot.start(new File(tempDir, "states.jsonl").getPath(), 0));
+	}
+
+	@Test
+	public void toJsonArray_nonFiniteValues_writtenAsStrings() {
+		JSONArray array = StateSnapshot.toJsonArray(new double[] {1.5, Double.NaN, Double.POSITIVE_INFINITY});
+		assertEquals(1.5, array.getDouble(0), 1E-12);
+		assertEquals("NaN", array.getString(1));
+		assertEquals("Infinity", array.getString(2));
+		assertTrue(new JSONObject().put("Values", array).toString().contains("\"NaN\""));
+	}
+
+	@Test
+	public void toJsonArray_null_returnsNull() {
+		assertNull(StateSnapshot.toJsonArray(null));
+	}
+}
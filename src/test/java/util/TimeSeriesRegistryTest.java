@@ -0,0 +1,73 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import de.dlr.gitlab.fame.data.TimeSeries;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+public class TimeSeriesRegistryTest {
+	private static final long[] TIME_STEPS = {0L, 10L, 20L};
+
+	@AfterEach
+	public void tearDown() {
+		TimeSeriesRegistry.clear();
+	}
+
+	private TimeSeriesDao createDao(int id, long[] timeSteps, double[] values) {
+		TimeSeriesDao.Builder builder = TimeSeriesDao.newBuilder();
+		for (int i = 0; i < values.length; i++) {
+			builder.addTimeSteps(timeSteps[i]);
+			builder.addValues(values[i]);
+		}
+		return builder.setSeriesId(id).setSeriesName("series" + id).build();
+	}
+
+	@Test
+	public void intern_identicalContent_returnsSameInstance() {
+		TimeSeries first = TimeSeriesRegistry.intern(createDao(1, TIME_STEPS, new double[] {1., 2., 3.}));
+		TimeSeries second = TimeSeriesRegistry.intern(createDao(2, TIME_STEPS, new double[] {1., 2., 3.}));
+		assertSame(first, second);
+		assertEquals(1, second.getId());
+	}
+
+	@Test
+	public void intern_differentContent_returnsDifferentInstances() {
+		TimeSeries first = TimeSeriesRegistry.intern(createDao(1, TIME_STEPS, new double[] {1., 2., 3.}));
+		TimeSeries second = TimeSeriesRegistry.intern(createDao(2, TIME_STEPS, new double[] {1., 2., 4.}));
+		assertNotSame(first, second);
+	}
+
+	@Test
+	public void intern_returnsFameSeriesWithGivenContent() {
+		TimeSeries series = TimeSeriesRegistry.intern(createDao(1, TIME_STEPS, new double[] {1., 2., 3.}));
+		assertEquals(1.5, series.getValueLinear(new TimeStamp(5L)));
+		assertEquals(2., series.getValueEarlierEqual(new TimeStamp(15L)));
+		assertEquals(3., series.getValueLaterEqual(new TimeStamp(15L)));
+	}
+
+	@Test
+	public void internAll_duplicates_mapsAllIdsToCanonicalSeries() {
+		Map<Integer, TimeSeries> seriesById = TimeSeriesRegistry.internAll(
+				List.of(createDao(1, TIME_STEPS, new double[] {1., 2., 3.}), createDao(2, TIME_STEPS, new double[] {5., 6., 7.}),
+						createDao(3, TIME_STEPS, new double[] {1., 2., 3.})));
+		assertEquals(3, seriesById.size());
+		assertSame(seriesById.get(1), seriesById.get(3));
+		assertNotSame(seriesById.get(1), seriesById.get(2));
+	}
+
+	@Test
+	public void clear_registeredContent_createsNewInstance() {
+		TimeSeries first = TimeSeriesRegistry.intern(createDao(1, TIME_STEPS, new double[] {1., 2., 3.}));
+		TimeSeriesRegistry.clear();
+		assertNotSame(first, TimeSeriesRegistry.intern(createDao(1, TIME_STEPS, new double[] {1., 2., 3.})));
+	}
+}
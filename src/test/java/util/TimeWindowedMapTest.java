@@ -0,0 +1,85 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import de.dlr.gitlab.fame.time.Constants;
+import de.dlr.gitlab.fame.time.TimeStamp;
+
+public class TimeWindowedMapTest {
+	private static final long HOUR = Constants.STEPS_PER_HOUR;
+	private static final long TEN_YEARS_IN_HOURS = 10L * Constants.DAYS_PER_YEAR * 24L;
+
+	@Test
+	public void put_longTimeline_sizeBoundedByHorizon() {
+		TimeWindowedMap<Long, Double> map = TimeWindowedMap.withSteps(24 * HOUR);
+		int maxSize = 0;
+		for (long hour = 0; hour < TEN_YEARS_IN_HOURS; hour++) {
+			map.put(hour * HOUR, (double) hour);
+			maxSize = Math.max(maxSize, map.size());
+		}
+		assertEquals(25, maxSize);
+		assertEquals((TEN_YEARS_IN_HOURS - 25) * HOUR, map.firstKey());
+	}
+
+	@Test
+	public void put_timeStamps_sizeBoundedByHorizon() {
+		TimeWindowedMap<TimeStamp, Integer> map = TimeWindowedMap.withTimeStamps(3 * HOUR);
+		for (long hour = 0; hour < 1000; hour++) {
+			map.put(new TimeStamp(hour * HOUR), 1);
+		}
+		assertEquals(4, map.size());
+		assertEquals(new TimeStamp(996 * HOUR), map.firstKey());
+	}
+
+	@Test
+	public void put_irregularSteps_keepsLatestEntryBeforeHorizon() {
+		TimeWindowedMap<Long, Double> map = TimeWindowedMap.withSteps(10L);
+		map.put(0L, 0.);
+		map.put(5L, 5.);
+		map.put(30L, 30.);
+		assertEquals(2, map.size());
+		assertEquals(5., map.floorEntry(20L).getValue());
+	}
+
+	@Test
+	public void put_olderKeys_onlyLatestBeforeHorizonRetained() {
+		TimeWindowedMap<Long, Double> map = TimeWindowedMap.withSteps(10L);
+		map.put(100L, 1.);
+		map.put(40L, 2.);
+		map.put(50L, 3.);
+		assertEquals(2, map.size());
+		assertEquals(3., map.floorEntry(95L).getValue());
+		assertEquals(1., map.get(100L));
+	}
+
+	@Test
+	public void sliceWithPadding_withinHorizon_equalsUnboundedHistory() {
+		int backwardSlices = 48;
+		TimeWindowedMap<Long, Double> bounded = TimeWindowedMap.withSteps(backwardSlices * HOUR);
+		TreeMap<Long, Double> unbounded = new TreeMap<>();
+		Random random = new Random(42);
+		for (long hour = 0; hour < 5000; hour++) {
+			if (random.nextDouble() < 0.8) {
+				double value = random.nextDouble();
+				bounded.put(hour * HOUR, value);
+				unbounded.put(hour * HOUR, value);
+			}
+			TimeStamp pivot = new TimeStamp((hour + 1) * HOUR);
+			assertEquals(SeriesManipulation.sliceWithPadding(unbounded, pivot, backwardSlices, 0, HOUR),
+					SeriesManipulation.sliceWithPadding(bounded, pivot, backwardSlices, 0, HOUR));
+		}
+		assertTrue(bounded.size() <= backwardSlices + 2);
+	}
+
+	@Test
+	public void constructor_negativeHorizon_throws() {
+		assertThrows(IllegalArgumentException.class, () -> TimeWindowedMap.withSteps(-1L));
+	}
+}
@@ -0,0 +1,177 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import com.sun.net.httpserver.HttpServer;
+import agents.flexibility.dynamicProgramming.Optimiser;
+import agents.flexibility.dynamicProgramming.Optimiser.Target;
+import agents.flexibility.dynamicProgramming.bidding.BidScheduler;
+import agents.flexibility.dynamicProgramming.states.StateManager;
+import agents.markets.meritOrder.Bid;
+import agents.markets.meritOrder.DemandBalancer;
+import agents.markets.meritOrder.MarketClearing;
+import agents.markets.meritOrder.books.DemandOrderBook;
+import agents.markets.meritOrder.books.OrderBook.DistributionMethod;
+import agents.markets.meritOrder.books.SupplyOrderBook;
+import de.dlr.gitlab.fame.agent.input.ParameterData;
+import de.dlr.gitlab.fame.time.Constants.Interval;
+import de.dlr.gitlab.fame.time.TimePeriod;
+import de.dlr.gitlab.fame.time.TimeSpan;
+import de.dlr.gitlab.fame.time.TimeStamp;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import util.JSONable;
+import util.UrlModelService;
+
+public class FlightRecorderEventsTest {
+	public static class Request implements JSONable {
+		public double getX() {
+			return 1.;
+		}
+	}
+
+	public static class Response {
+		double y = Double.NaN;
+
+		public void setY(double y) {
+			this.y = y;
+		}
+	}
+
+	/** Throwing variant of {@link Runnable} */
+	private interface Task {
+		void run() throws Exception;
+	}
+
+	/** @return all events of given type committed while running given task */
+	private List<RecordedEvent> record(Class<? extends Event> eventType, Task task) throws Exception {
+		Path file = Files.createTempFile("events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(eventType).withThreshold(Duration.ZERO);
+			recording.start();
+			task.run();
+			recording.stop();
+			recording.dump(file);
+			String name = eventType.getAnnotation(jdk.jfr.Name.class).value();
+			return RecordingFile.readAllEvents(file).stream().filter(event -> event.getEventType().getName().equals(name))
+					.collect(Collectors.toList());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void marketClearing_clear_commitsEventWithBookSizes() throws Exception {
+		ParameterData input = mock(ParameterData.class);
+		when(input.getEnum("DistributionMethod", DistributionMethod.class)).thenReturn(DistributionMethod.SAME_SHARES);
+		MarketClearing clearing = new MarketClearing(input);
+		SupplyOrderBook supplyBook = new SupplyOrderBook();
+		supplyBook.addBid(new Bid(10, 5), 1L);
+		supplyBook.addBid(new Bid(10, 20), 2L);
+		DemandOrderBook demandBook = new DemandOrderBook();
+		demandBook.addBid(new Bid(15, 100), 3L);
+		List<RecordedEvent> events = record(MarketClearingEvent.class,
+				() -> clearing.clear(supplyBook, demandBook, "Test"));
+		assertEquals(1, events.size());
+		RecordedEvent event = events.get(0);
+		assertEquals("Test", event.getString("clearingEventId"));
+		assertEquals(3, event.getInt("supplyBidCount"));
+		assertEquals(2, event.getInt("demandBidCount"));
+		assertEquals(20., event.getDouble("priceInEURperMWH"), 1E-12);
+	}
+
+	@Test
+	public void demandBalancer_balance_commitsEventWithZoneCount() throws Exception {
+		DemandBalancer balancer = new DemandBalancer(1.);
+		List<RecordedEvent> events = record(DemandBalancingEvent.class, () -> balancer.balance(new HashMap<>()));
+		assertEquals(1, events.size());
+		assertEquals(0, events.get(0).getInt("zoneCount"));
+		assertEquals(0, events.get(0).getInt("iterationCount"));
+	}
+
+	@Test
+	public void optimiser_createSchedule_commitsEventWithStateCount() throws Exception {
+		StateManager stateManager = mock(StateManager.class);
+		when(stateManager.getNumberOfForecastTimeSteps()).thenReturn(3);
+		when(stateManager.useStateList()).thenReturn(true);
+		when(stateManager.getInitialStates()).thenReturn(new int[] {0, 1});
+		when(stateManager.getFinalStates(anyInt())).thenReturn(new int[] {0});
+		when(stateManager.getBestValuesNextPeriod()).thenReturn(new double[] {0.});
+		BidScheduler bidScheduler = mock(BidScheduler.class);
+		when(bidScheduler.getScheduleHorizonInHours()).thenReturn(1.);
+		Optimiser optimiser = new Optimiser(stateManager, bidScheduler, Target.MAXIMISE);
+		TimePeriod period = new TimePeriod(new TimeStamp(0), new TimeSpan(1, Interval.HOURS));
+		List<RecordedEvent> events = record(DispatchOptimisationEvent.class, () -> optimiser.createSchedule(period));
+		assertEquals(1, events.size());
+		RecordedEvent event = events.get(0);
+		assertEquals("Optimiser", event.getString("optimiser"));
+		assertEquals(3, event.getInt("timeStepCount"));
+		assertEquals(6L, event.getLong("stateCount"));
+	}
+
+	@Test
+	public void urlModelService_call_commitsEventWithPayloadSizes() throws Exception {
+		String responseBody = "{\"y\":2.5}";
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/model", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream stream = exchange.getResponseBody()) {
+				stream.write(bytes);
+			}
+		});
+		server.start();
+		try {
+			String url = "http://localhost:" + server.getAddress().getPort() + "/model";
+			UrlModelService<Request, Response> service = new UrlModelService<Request, Response>(url) {};
+			List<RecordedEvent> events = record(ExternalServiceCallEvent.class, () -> {
+				assertEquals(2.5, service.call(new Request()).y, 1E-12);
+			});
+			assertEquals(1, events.size());
+			RecordedEvent event = events.get(0);
+			assertEquals(url, event.getString("serviceUrl"));
+			assertEquals(new Request().toJson().toString().length(), event.getLong("requestBytes"));
+			assertEquals(responseBody.length(), event.getLong("responseBytes"));
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void events_recordingDisabled_areNotCommitted() throws Exception {
+		DemandBalancer balancer = new DemandBalancer(1.);
+		try (Recording recording = new Recording()) {
+			recording.disable(DemandBalancingEvent.class);
+			recording.start();
+			balancer.balance(new HashMap<>());
+			recording.stop();
+			Path file = Files.createTempFile("events", ".jfr");
+			try {
+				recording.dump(file);
+				assertEquals(0, RecordingFile.readAllEvents(file).stream()
+						.filter(event -> event.getEventType().getName().equals("amiris.DemandBalancing")).count());
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+}
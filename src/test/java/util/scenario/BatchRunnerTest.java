@@ -0,0 +1,83 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static testUtils.Exceptions.assertThrowsMessage;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import de.dlr.gitlab.fame.protobuf.Services.Output;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import util.scenario.ScenarioVariant.Scaling;
+
+public class BatchRunnerTest {
+	@TempDir private File tempDir;
+
+	private DataStorage createBase() {
+		return new ScenarioGenerator(42).setZoneCount(2).setConventionalBlockCount(3).setRenewableOperatorCount(2)
+				.setFlexibilityAgentCount(3).setHorizonInHours(6).generate();
+	}
+
+	private List<ScenarioVariant> createVariants() {
+		return List.of(new ScenarioVariant("Base", null, List.of()),
+				new ScenarioVariant("HighFuelPrices", null,
+						List.of(new Scaling("FuelsMarket", null, "FuelPrices.Price", 3.))),
+				new ScenarioVariant("MoreRenewables", null,
+						List.of(new Scaling("VariableRenewableOperator", null, "InstalledPowerInMW", 2.))),
+				new ScenarioVariant("OtherSeed", 9L, List.of()));
+	}
+
+	/** @return output parts of all data storages in given FAME protobuf file, ignoring input and execution data */
+	private List<Output> readOutputs(String fileName) throws IOException {
+		List<Output> outputs = new ArrayList<>();
+		try (DataInputStream stream = new DataInputStream(new FileInputStream(fileName))) {
+			stream.readNBytes(ScenarioGenerator.FILE_HEADER.length());
+			while (stream.available() > 0) {
+				DataStorage storage = DataStorage.parseFrom(stream.readNBytes(stream.readInt()));
+				if (storage.hasOutput()) {
+					outputs.add(storage.getOutput());
+				}
+			}
+		}
+		return outputs;
+	}
+
+	@Test
+	public void runAll_eachVariant_outputsEqualIsolatedRun() throws IOException {
+		DataStorage base = createBase();
+		List<ScenarioVariant> variants = createVariants();
+		List<String> batchOutputs = new BatchRunner(base, 2).runAll(variants, new File(tempDir, "batch").getPath());
+
+		for (int index = 0; index < variants.size(); index++) {
+			String inputFile = new File(tempDir, "isolated" + index + ".pb").getPath();
+			String outputFile = new File(tempDir, "isolatedOutput" + index + ".pb").getPath();
+			ScenarioGenerator.write(variants.get(index).applyTo(base), inputFile);
+			BatchRunner.runIsolated(inputFile, outputFile, new File(tempDir, "isolated" + index + ".log").getPath());
+			List<Output> isolated = readOutputs(outputFile);
+			assertFalse(isolated.isEmpty());
+			assertEquals(isolated, readOutputs(batchOutputs.get(index)), variants.get(index).getName());
+		}
+	}
+
+	@Test
+	public void runAll_scaledFuelPrices_changeOutputs() throws IOException {
+		List<ScenarioVariant> variants = createVariants().subList(0, 2);
+		List<String> outputs = new BatchRunner(createBase(), 2).runAll(variants, tempDir.getPath());
+		assertNotEquals(readOutputs(outputs.get(0)), readOutputs(outputs.get(1)));
+	}
+
+	@Test
+	public void constructor_nonPositiveThreadCount_throws() {
+		DataStorage base = DataStorage.getDefaultInstance();
+		assertThrowsMessage(IllegalArgumentException.class, BatchRunner.ERR_THREAD_COUNT, () -> new BatchRunner(base, 0));
+	}
+}
@@ -0,0 +1,76 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import de.dlr.gitlab.fame.mpi.MpiFacade;
+import de.dlr.gitlab.fame.mpi.MpiFacade.MpiMode;
+import de.dlr.gitlab.fame.mpi.MpiInstantiator;
+import de.dlr.gitlab.fame.mpi.MpiManager;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import de.dlr.gitlab.fame.service.InputManager;
+import de.dlr.gitlab.fame.service.Simulator;
+import de.dlr.gitlab.fame.setup.Setup;
+import picocli.CommandLine;
+
+public class ScenarioGeneratorTest {
+	private static final String SCHEMA_FILE = "input/schema.yaml";
+
+	@TempDir private File tempDir;
+
+	private ScenarioGenerator createTinyGenerator(long seed) {
+		return new ScenarioGenerator(seed).setZoneCount(2).setConventionalBlockCount(3).setRenewableOperatorCount(2)
+				.setFlexibilityAgentCount(3).setHorizonInHours(6);
+	}
+
+	@Test
+	public void generate_sameSeed_yieldsIdenticalScenario() {
+		assertEquals(createTinyGenerator(7).generate(), createTinyGenerator(7).generate());
+	}
+
+	@Test
+	public void generate_otherSeed_yieldsOtherScenario() {
+		assertNotEquals(createTinyGenerator(7).generate(), createTinyGenerator(8).generate());
+	}
+
+	@Test
+	public void generate_variousSizes_compliesWithSchema() {
+		Map<String, Object> schema = SchemaChecker.readSchema(SCHEMA_FILE);
+		for (int zones = 1; zones <= 3; zones++) {
+			DataStorage scenario = new ScenarioGenerator(zones).setZoneCount(zones).setConventionalBlockCount(5)
+					.setRenewableOperatorCount(4).setFlexibilityAgentCount(6).setHorizonInHours(100).generate();
+			List<String> violations = SchemaChecker.findViolations(scenario.getInput(), schema);
+			assertTrue(violations.isEmpty(), violations.toString());
+		}
+	}
+
+	@Test
+	public void smokeTest_tinyScenario_runsToCompletion() {
+		String inputFile = new File(tempDir, "input.pb").getPath();
+		String outputFile = new File(tempDir, "output.pb").getPath();
+		ScenarioGenerator.write(createTinyGenerator(42).generate(), inputFile);
+
+		Setup setup = new Setup();
+		new CommandLine(setup).parseArgs("-f", inputFile, "-o", outputFile);
+		MpiFacade mpi = MpiInstantiator.getMpi(MpiMode.SINGLE_CORE);
+		mpi.initialise(new String[0]);
+		MpiManager mpiManager = new MpiManager(mpi);
+		InputManager inputManager = new InputManager(mpiManager);
+		inputManager.read(inputFile);
+		inputManager.distribute();
+		Simulator simulator = new Simulator(mpiManager, inputManager, setup);
+		simulator.warmUp();
+		simulator.run();
+		mpi.invokeFinalize();
+
+		assertTrue(new File(outputFile).length() > 0);
+	}
+}
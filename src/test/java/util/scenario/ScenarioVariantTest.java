@@ -0,0 +1,98 @@
+// SPDX-FileCopyrightText: 2025 German Aerospace Center <amiris@dlr.de>
+//
+// SPDX-License-Identifier: Apache-2.0
+package util.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import de.dlr.gitlab.fame.protobuf.Field.NestedField;
+import de.dlr.gitlab.fame.protobuf.Input.InputData;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.AgentDao;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.SimulationParam;
+import de.dlr.gitlab.fame.protobuf.Input.InputData.TimeSeriesDao;
+import de.dlr.gitlab.fame.protobuf.Storage.DataStorage;
+import util.scenario.ScenarioVariant.Scaling;
+
+public class ScenarioVariantTest {
+	@TempDir private File tempDir;
+
+	private DataStorage createBase() {
+		NestedField prices = NestedField.newBuilder().setFieldName("FuelPrices")
+				.addFields(NestedField.newBuilder().setFieldName("0")
+						.addFields(NestedField.newBuilder().setFieldName("Price").setSeriesId(0)))
+				.addFields(NestedField.newBuilder().setFieldName("1")
+						.addFields(NestedField.newBuilder().setFieldName("Price").setSeriesId(0)))
+				.build();
+		AgentDao fuels = AgentDao.newBuilder().setClassName("FuelsMarket").setId(1).addFields(prices).build();
+		AgentDao plant = AgentDao.newBuilder().setClassName("Plant").setId(2)
+				.addFields(NestedField.newBuilder().setFieldName("InstalledPowerInMW").addDoubleValues(100.)).build();
+		TimeSeriesDao series = TimeSeriesDao.newBuilder().setSeriesId(0).addTimeSteps(0L).addValues(10.).build();
+		InputData input = InputData.newBuilder().setRunId(1)
+				.setSimulation(SimulationParam.newBuilder().setStartTime(0).setStopTime(1).setRandomSeed(1))
+				.addAgents(fuels).addAgents(plant).addTimeSeries(series).build();
+		return DataStorage.newBuilder().setInput(input).build();
+	}
+
+	@Test
+	public void applyTo_scaledSeries_copiedOnceAndBaseUnchanged() {
+		DataStorage base = createBase();
+		DataStorage variant = new ScenarioVariant("v", null, List.of(new Scaling("FuelsMarket", null, "FuelPrices.Price", 2.)))
+				.applyTo(base);
+		InputData input = variant.getInput();
+		assertEquals(2, input.getTimeSeriesCount());
+		assertEquals(20., input.getTimeSeries(1).getValues(0));
+		NestedField prices = input.getAgents(0).getFields(0);
+		assertEquals(1, prices.getFields(0).getFields(0).getSeriesId());
+		assertEquals(1, prices.getFields(1).getFields(0).getSeriesId());
+		assertEquals(createBase(), base);
+		assertSame(base.getInput().getAgents(1), input.getAgents(1));
+	}
+
+	@Test
+	public void applyTo_scaledDoubleAndSeed_applied() {
+		DataStorage variant = new ScenarioVariant("v", 5L, List.of(new Scaling("Plant", 2L, "InstalledPowerInMW", 0.5)))
+				.applyTo(createBase());
+		assertEquals(50., variant.getInput().getAgents(1).getFields(0).getDoubleValues(0));
+		assertEquals(5L, variant.getInput().getSimulation().getRandomSeed());
+	}
+
+	@Test
+	public void applyTo_unknownAttribute_throws() {
+		ScenarioVariant variant = new ScenarioVariant("v", null, List.of(new Scaling("Plant", null, "Unknown", 2.)));
+		assertThrows(RuntimeException.class, () -> variant.applyTo(createBase()));
+	}
+
+	@Test
+	public void readVariants_file_returnsVariantsInOrder() throws IOException {
+		File file = new File(tempDir, "variants.yaml");
+		Files.writeString(file.toPath(), "Variants:\n  - Name: A\n    Seed: 3\n  - Name: B\n    Scalings:\n"
+				+ "      - AgentType: Plant\n        AgentId: 2\n        Attribute: InstalledPowerInMW\n        Factor: 2\n");
+		List<ScenarioVariant> variants = ScenarioVariant.readVariants(file.getPath());
+		assertEquals(2, variants.size());
+		assertEquals("A", variants.get(0).getName());
+		assertEquals(3L, variants.get(0).applyTo(createBase()).getInput().getSimulation().getRandomSeed());
+		assertEquals(200., variants.get(1).applyTo(createBase()).getInput().getAgents(1).getFields(0).getDoubleValues(0));
+	}
+
+	@Test
+	public void writeVariants_readVariants_yieldsEqualScenarios() {
+		List<ScenarioVariant> variants = List.of(new ScenarioVariant("A", 3L, List.of()),
+				new ScenarioVariant("B", null, List.of(new Scaling("Plant", 2L, "InstalledPowerInMW", 0.3),
+						new Scaling("Plant", null, "InstalledPowerInMW", 1.7))));
+		String fileName = new File(tempDir, "variants.yaml").getPath();
+		ScenarioVariant.writeVariants(variants, fileName);
+		List<ScenarioVariant> read = ScenarioVariant.readVariants(fileName);
+		assertEquals(variants.size(), read.size());
+		for (int index = 0; index < variants.size(); index++) {
+			assertEquals(variants.get(index).getName(), read.get(index).getName());
+			assertEquals(variants.get(index).applyTo(createBase()), read.get(index).applyTo(createBase()));
+		}
+	}
+}